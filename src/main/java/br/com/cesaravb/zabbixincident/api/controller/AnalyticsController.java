@@ -0,0 +1,98 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentAnalyticsService;
+import br.com.cesaravb.zabbixincident.application.service.IncidentTimelineService;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.GroupCountResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentHistogramResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.SlaResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.SuccessResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.analytics.AnalyticsDimension;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Endpoints analíticos servidos pela janela colunar em memória (sem consultar o MySQL).
+ *
+ * Endpoints:
+ * • GET /api/analytics/histogram - Incidentes por bucket de tempo (ex: a cada 5m nas últimas 24h)
+ * • GET /api/analytics/top - Top N por dimensão (host, source, severidade, status)
+ * • GET /api/analytics/sla - MTTA/MTTR por severidade (acumulados a partir da linha do tempo)
+ *
+ * Durações aceitam formato simples (5m, 24h, 30s) ou ISO-8601 (PT5M).
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final IncidentAnalyticsService analyticsService;
+    private final IncidentTimelineService timelineService;
+
+    // ====================================
+    // # GET /api/analytics/histogram - Histograma por tempo
+    // ====================================
+    @GetMapping("/histogram")
+    public ResponseEntity<SuccessResponse<IncidentHistogramResponse>> histogram(
+            @RequestParam(defaultValue = "24h") String range,
+            @RequestParam(defaultValue = "5m") String bucket,
+            @RequestParam(required = false) AnalyticsDimension groupBy,
+            @RequestParam(required = false) SeverityLevel severity,
+            @RequestParam(required = false) IncidentStatus status,
+            @RequestParam(required = false) String host,
+            @RequestParam(required = false) String source,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("🌐 [HTTP GET] /api/analytics/histogram - range: {}, bucket: {}, groupBy: {}", range, bucket, groupBy);
+
+        IncidentHistogramResponse response = analyticsService.histogram(DurationStyle.detectAndParse(range),
+                DurationStyle.detectAndParse(bucket), groupBy, severity, status, host, source, limit);
+
+        SuccessResponse<IncidentHistogramResponse> successResponse = new SuccessResponse<>(200, "Histograma calculado com sucesso", response, LocalDateTime.now());
+        return ResponseEntity.ok(successResponse);
+    }
+
+    // ====================================
+    // # GET /api/analytics/top - Agrupamento por dimensão
+    // ====================================
+    @GetMapping("/top")
+    public ResponseEntity<SuccessResponse<List<GroupCountResponse>>> top(
+            @RequestParam(defaultValue = "24h") String range,
+            @RequestParam AnalyticsDimension dimension,
+            @RequestParam(required = false) SeverityLevel severity,
+            @RequestParam(required = false) IncidentStatus status,
+            @RequestParam(required = false) String host,
+            @RequestParam(required = false) String source,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("🌐 [HTTP GET] /api/analytics/top - range: {}, dimension: {}", range, dimension);
+
+        List<GroupCountResponse> response = analyticsService.groupBy(DurationStyle.detectAndParse(range),
+                dimension, severity, status, host, source, limit);
+
+        SuccessResponse<List<GroupCountResponse>> successResponse = new SuccessResponse<>(200, "Agrupamento calculado com sucesso", response, LocalDateTime.now());
+        return ResponseEntity.ok(successResponse);
+    }
+
+    // ====================================
+    // # GET /api/analytics/sla - MTTA/MTTR por severidade
+    // ====================================
+    @GetMapping("/sla")
+    public ResponseEntity<SuccessResponse<List<SlaResponse>>> sla() {
+        log.info("🌐 [HTTP GET] /api/analytics/sla");
+
+        List<SlaResponse> response = timelineService.sla();
+
+        SuccessResponse<List<SlaResponse>> successResponse = new SuccessResponse<>(200, "Indicadores de SLA calculados com sucesso", response, LocalDateTime.now());
+        return ResponseEntity.ok(successResponse);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.application.service.DeadLetterService;
+import br.com.cesaravb.zabbixincident.dtos.response.DeadLetterQueueResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.DeadLetterReplayResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.SuccessResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Endpoints administrativos do parking lot (mensagens que esgotaram as retentativas).
+ *
+ * Endpoints:
+ * • GET /api/admin/dlq - Profundidade e primeiras mensagens estacionadas (sem remover)
+ * • POST /api/admin/dlq - Devolve até limit mensagens às filas de origem
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/dlq")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    // ====================================
+    // # GET /api/admin/dlq - Inspecionar parking lot
+    // ====================================
+    @GetMapping
+    public ResponseEntity<SuccessResponse<DeadLetterQueueResponse>> inspect(@RequestParam(defaultValue = "50") int limit) {
+        log.info("🌐 [HTTP GET] /api/admin/dlq - limit: {}", limit);
+
+        DeadLetterQueueResponse response = deadLetterService.inspect(limit);
+
+        SuccessResponse<DeadLetterQueueResponse> successResponse = new SuccessResponse<>(200, "Parking lot consultado com sucesso", response, LocalDateTime.now());
+        return ResponseEntity.ok(successResponse);
+    }
+
+    // ====================================
+    // # POST /api/admin/dlq - Replay em lote
+    // ====================================
+    @PostMapping
+    public ResponseEntity<SuccessResponse<DeadLetterReplayResponse>> replay(@RequestParam(defaultValue = "100") int limit) {
+        log.info("🌐 [HTTP POST] /api/admin/dlq - replay, limit: {}", limit);
+
+        DeadLetterReplayResponse response = deadLetterService.replay(limit);
+
+        SuccessResponse<DeadLetterReplayResponse> successResponse = new SuccessResponse<>(200, "Mensagens reprocessadas com sucesso", response, LocalDateTime.now());
+        return ResponseEntity.ok(successResponse);
+    }
+}
@@ -1,30 +1,48 @@
 package br.com.cesaravb.zabbixincident.api.controller;
 
+import br.com.cesaravb.zabbixincident.application.service.IncidentChangeTracker;
 import br.com.cesaravb.zabbixincident.application.service.IncidentService;
 import br.com.cesaravb.zabbixincident.dtos.request.CreateIncidentRequest;
 import br.com.cesaravb.zabbixincident.dtos.request.UpdateIncidentStatusRequest;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentPageResponse;
 import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentTimelineEntry;
+import br.com.cesaravb.zabbixincident.dtos.response.RecoveryResponse;
 import br.com.cesaravb.zabbixincident.dtos.response.SuccessResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Endpoints:
- * • POST /api/incidents - Criar novo incidente
+ * • POST /api/incidents - Criar novo incidente (ou resolver, se for recuperação do Zabbix)
  * • GET /api/incidents - Listar todos (paginado)
  * • GET /api/incidents/{id} - Buscar por ID
  * • GET /api/incidents/zabbix/{zabbixEventId} - Buscar por Zabbix Event ID
  * • GET /api/incidents/host/{hostids} - Buscar por Host ID
+ * • GET /api/incidents/{id}/timeline - Linha do tempo de status
  * • PUT /api/incidents/{id}/status - Atualizar status
  * • DELETE /api/incidents/{id} - Deletar incidente
+ *
+ * Respostas envolvidas em SuccessResponse; com Accept: application/vnd.incident.v2+json seguem
+ * sem envelope (só o payload, páginas como IncidentPageResponse).
+ *
+ * GET /{id}, GET / e GET /host/{hostids} respondem com ETag (IncidentChangeTracker): If-None-Match
+ * igual à versão atual recebe 304. A versão em memória só é usada quando todo nó recebe todos os
+ * eventos (broadcast); senão o 304 sai de um SELECT version (por ID) ou da consulta agregada da
+ * tabela (listas), sem carregar o incidente nem a página.
  */
 @Slf4j
 @RestController
@@ -32,13 +50,21 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class IncidentController {
 
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String V2_JSON_VALUE = "application/vnd.incident.v2+json";
+    public static final MediaType V2_JSON = MediaType.parseMediaType(V2_JSON_VALUE);
+
     private final IncidentService incidentService;
+    private final IncidentChangeTracker changeTracker;
 
     // ====================================
     // # POST /api/incidents - Criar novo incidente
     // ====================================
     @PostMapping
-    public ResponseEntity<SuccessResponse<IncidentResponse>> createIncident(@Valid @RequestBody CreateIncidentRequest request) {
+    public ResponseEntity<?> createIncident(@Valid @RequestBody CreateIncidentRequest request,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("=".repeat(80));
         log.info("🌐 [HTTP POST] /api/incidents");
         log.info("   - Content-Type: application/json");
@@ -54,6 +80,16 @@ public class IncidentController {
         log.info("   - severity: {}", request.severity());
         log.info("   - source: {}", request.source());
         
+        // ====================================
+        // # Recuperação do Zabbix → resolve o problema (HTTP 202)
+        // ====================================
+        if (incidentService.isRecovery(request)) {
+            RecoveryResponse recovery = incidentService.resolveRecovery(request);
+            log.info("📤 [HTTP RESPONSE] Retornando HTTP 202 Accepted - outcome: {}", recovery.outcome());
+            log.info("=".repeat(80));
+            return reply(accept, HttpStatus.ACCEPTED, "Recuperação processada", recovery);
+        }
+
         // ====================================
         // # Chamar Service
         // ====================================
@@ -65,67 +101,103 @@ public class IncidentController {
         // ====================================
         // # Montar Response
         // ====================================
-        log.info("📦 [RESPONSE] Montando SuccessResponse");
-        SuccessResponse<IncidentResponse> successResponse = new SuccessResponse<>(201, "Incidente criado com sucesso", response, LocalDateTime.now());
-        log.info("✅ [RESPONSE] Response montado");
+        log.info("📦 [RESPONSE] Montando resposta ({})", acceptsV2(accept) ? "v2 sem envelope" : "SuccessResponse");
         
         // ====================================
         // # Retornar HTTP 201 Created
         // ====================================
         log.info("📤 [HTTP RESPONSE] Retornando HTTP 201 Created");
-        log.info("   - Body: SuccessResponse<IncidentResponse>");
         log.info("   - Location: /api/incidents/{}", response.id());
         log.info("=".repeat(80));
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(successResponse);
+        return reply(accept, HttpStatus.CREATED, "Incidente criado com sucesso", response);
     }
 
     // ====================================
     // # GET /api/incidents - Listar todos
     // ====================================
-    public ResponseEntity<SuccessResponse<Page<IncidentResponse>>> getAllIncidents(Pageable pageable) {
+    @GetMapping
+    public ResponseEntity<?> getAllIncidents(Pageable pageable, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("🌐 [HTTP GET] /api/incidents");
         log.info("   - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
         log.info("   - Timestamp: {}", LocalDateTime.now());
+
+        IncidentChangeTracker.ListFingerprint fingerprint = changeTracker.listFingerprint(incidentService::getListFingerprint);
+        String eTag = IncidentChangeTracker.listTag(fingerprint.value(), variant(accept));
+        if (matches(ifNoneMatch, eTag)) {
+            return listNotModified(fingerprint, eTag);
+        }
         
         log.info("📌 [BUSINESS LOGIC] Chamando IncidentService.getAllIncidents()");
         Page<IncidentResponse> response = incidentService.getAllIncidents(pageable);
         log.info("✅ [BUSINESS LOGIC] Service retornou com sucesso");
         log.info("   - Total: {}, Atual: {}", response.getTotalElements(), response.getNumberOfElements());
         
-        SuccessResponse<Page<IncidentResponse>> successResponse = new SuccessResponse<>(200, "Incidentes listados com sucesso", response, LocalDateTime.now());
-        
         log.info("📤 [HTTP RESPONSE] Retornando HTTP 200 OK");
         log.info("=".repeat(80));
         
-        return ResponseEntity.ok(successResponse);
+        changeTracker.modified();
+        return replyPage(accept, "Incidentes listados com sucesso", response, eTag);
     }
 
     // ====================================
     // # GET /api/incidents/{id} - Buscar por ID
     // ====================================
     @GetMapping("/{id}")
-    public ResponseEntity<SuccessResponse<IncidentResponse>> getIncidentById(@PathVariable Long id) {
+    public ResponseEntity<?> getIncidentById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("🌐 [HTTP GET] /api/incidents/{}", id);
         log.info("   - Timestamp: {}", LocalDateTime.now());
+
+        // ====================================
+        // # Versão em memória → 304 sem consultar o banco
+        // ====================================
+        String variant = variant(accept);
+        Long known = changeTracker.version(id);
+        if (known != null && matches(ifNoneMatch, IncidentChangeTracker.incidentTag(id, known, variant))) {
+            changeTracker.notModified();
+            log.info("📤 [HTTP RESPONSE] Retornando HTTP 304 Not Modified (versão {} em memória)", known);
+            return notModified(IncidentChangeTracker.incidentTag(id, known, variant));
+        }
+
+        // ====================================
+        // # Só a versão no banco → 304 sem carregar o incidente
+        // ====================================
+        if (known == null && ifNoneMatch != null) {
+            Long current = incidentService.getIncidentVersion(id);
+            if (current != null && matches(ifNoneMatch, IncidentChangeTracker.incidentTag(id, current, variant))) {
+                changeTracker.revalidated();
+                log.info("📤 [HTTP RESPONSE] Retornando HTTP 304 Not Modified (versão {} no banco)", current);
+                return notModified(IncidentChangeTracker.incidentTag(id, current, variant));
+            }
+        }
         
         log.info("📌 [BUSINESS LOGIC] Buscando incidente com ID: {}", id);
+        long stamp = changeTracker.stamp(id);
         IncidentResponse response = incidentService.getIncidentById(id);
+        changeTracker.seen(id, response.seq(), stamp);
         log.info("✅ [BUSINESS LOGIC] Incidente encontrado: {}", response.title());
-        
-        SuccessResponse<IncidentResponse> successResponse = new SuccessResponse<>(200, "Incidente encontrado", response, LocalDateTime.now());
+
+        String eTag = response.seq() == null ? null : IncidentChangeTracker.incidentTag(id, response.seq(), variant);
+        if (matches(ifNoneMatch, eTag)) {
+            changeTracker.revalidated();
+            log.info("📤 [HTTP RESPONSE] Retornando HTTP 304 Not Modified (versão {} no banco)", response.seq());
+            return notModified(eTag);
+        }
+        changeTracker.modified();
         
         log.info("📤 [HTTP RESPONSE] Retornando HTTP 200 OK");
         log.info("=".repeat(80));
         
-        return ResponseEntity.ok(successResponse);
+        return reply(accept, HttpStatus.OK, "Incidente encontrado", response, eTag);
     }
 
     // ====================================
     // # GET /api/incidents/zabbix/{zabbixEventId} - Buscar por Zabbix Event ID
     // ====================================
     @GetMapping("/zabbix/{zabbixEventId}")
-    public ResponseEntity<SuccessResponse<IncidentResponse>> getIncidentByZabbixEventId(@PathVariable String zabbixEventId) {
+    public ResponseEntity<?> getIncidentByZabbixEventId(@PathVariable String zabbixEventId, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("🌐 [HTTP GET] /api/incidents/zabbix/{}", zabbixEventId);
         log.info("   - Timestamp: {}", LocalDateTime.now());
         
@@ -133,40 +205,58 @@ public class IncidentController {
         IncidentResponse response = incidentService.getIncidentByZabbixEventId(zabbixEventId);
         log.info("✅ [BUSINESS LOGIC] Incidente encontrado: {}", response.title());
         
-        SuccessResponse<IncidentResponse> successResponse = new SuccessResponse<>(200, "Incidente encontrado", response, LocalDateTime.now());
-        
         log.info("📤 [HTTP RESPONSE] Retornando HTTP 200 OK");
         log.info("=".repeat(80));
         
-        return ResponseEntity.ok(successResponse);
+        return reply(accept, HttpStatus.OK, "Incidente encontrado", response);
     }
 
     // ====================================
     // # GET /api/incidents/host/{hostids} - Buscar por Host ID
     // ====================================
     @GetMapping("/host/{hostids}")
-    public ResponseEntity<SuccessResponse<Page<IncidentResponse>>> getIncidentByHostids(@PathVariable String hostids, Pageable pageable) {
+    public ResponseEntity<?> getIncidentByHostids(@PathVariable String hostids, Pageable pageable, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("🌐 [HTTP GET] /api/incidents/host/{}", hostids);
         log.info("   - Page: {}, Size: {}", pageable.getPageNumber(), pageable.getPageSize());
         log.info("   - Timestamp: {}", LocalDateTime.now());
+
+        IncidentChangeTracker.ListFingerprint fingerprint = changeTracker.listFingerprint(incidentService::getListFingerprint);
+        String eTag = IncidentChangeTracker.listTag(fingerprint.value(), variant(accept));
+        if (matches(ifNoneMatch, eTag)) {
+            return listNotModified(fingerprint, eTag);
+        }
         
         log.info("📌 [BUSINESS LOGIC] Buscando incidentes do host: {}", hostids);
         Page<IncidentResponse> response = incidentService.getIncidentByHostids(hostids, pageable);
         log.info("✅ [BUSINESS LOGIC] Encontrados {} incidentes", response.getTotalElements());
         
-        SuccessResponse<Page<IncidentResponse>> successResponse = new SuccessResponse<>(200, "Incidentes do host encontrados", response, LocalDateTime.now());
-        
         log.info("📤 [HTTP RESPONSE] Retornando HTTP 200 OK");
         log.info("=".repeat(80));
         
-        return ResponseEntity.ok(successResponse);
+        changeTracker.modified();
+        return replyPage(accept, "Incidentes do host encontrados", response, eTag);
+    }
+
+    // ====================================
+    // # GET /api/incidents/{id}/timeline - Linha do tempo de status
+    // ====================================
+    @GetMapping("/{id}/timeline")
+    public ResponseEntity<?> getIncidentTimeline(@PathVariable Long id, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("🌐 [HTTP GET] /api/incidents/{}/timeline", id);
+
+        List<IncidentTimelineEntry> response = incidentService.getTimeline(id);
+
+        log.info("📤 [HTTP RESPONSE] Retornando HTTP 200 OK");
+        return reply(accept, HttpStatus.OK, "Linha do tempo encontrada", response);
     }
 
     // ====================================
     // # PUT /api/incidents/{id}/status - Atualizar status
     // ====================================
     @PutMapping("/{id}/status")
-    public ResponseEntity<SuccessResponse<IncidentResponse>> updateIncidentStatus(@PathVariable Long id, @Valid @RequestBody UpdateIncidentStatusRequest request) {
+    public ResponseEntity<?> updateIncidentStatus(@PathVariable Long id, @Valid @RequestBody UpdateIncidentStatusRequest request,
+                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("=".repeat(80));
         log.info("🌐 [HTTP PUT] /api/incidents/{}/status", id);
         log.info("   - Content-Type: application/json");
@@ -176,23 +266,21 @@ public class IncidentController {
         log.info("✅ [VALIDATION] @Valid passou na validação");
         
         log.info("📌 [BUSINESS LOGIC] Atualizando status do incidente");
-        IncidentResponse response = incidentService.updateIncidentStatus(id, request.status());
+        IncidentResponse response = incidentService.updateIncidentStatus(id, request.status(), request.actor());
         log.info("✅ [BUSINESS LOGIC] Status atualizado com sucesso");
         log.info("   - ID: {}, Novo Status: {}", response.id(), response.status());
         
-        SuccessResponse<IncidentResponse> successResponse = new SuccessResponse<>(200, "Status do incidente atualizado com sucesso", response, LocalDateTime.now());
-        
         log.info("📤 [HTTP RESPONSE] Retornando HTTP 200 OK");
         log.info("=".repeat(80));
         
-        return ResponseEntity.ok(successResponse);
+        return reply(accept, HttpStatus.OK, "Status do incidente atualizado com sucesso", response);
     }
 
     // ====================================
     // # DELETE /api/incidents/{id} - Deletar
     // ====================================
     @DeleteMapping("/{id}")
-    public ResponseEntity<SuccessResponse<Void>> deleteIncident(@PathVariable Long id) {
+    public ResponseEntity<?> deleteIncident(@PathVariable Long id, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("🌐 [HTTP DELETE] /api/incidents/{}", id);
         log.info("   - Timestamp: {}", LocalDateTime.now());
         
@@ -200,12 +288,96 @@ public class IncidentController {
         incidentService.deleteIncident(id);
         log.info("✅ [BUSINESS LOGIC] Incidente deletado com sucesso");
         
-        SuccessResponse<Void> successResponse = new SuccessResponse<>(204, "Incidente deletado com sucesso", null, LocalDateTime.now());
-        
         log.info("📤 [HTTP RESPONSE] Retornando HTTP 204 No Content");
         log.info("=".repeat(80));
         
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).body(successResponse);
+        if (acceptsV2(accept)) {
+            return ResponseEntity.noContent().build();
+        }
+        return reply(accept, HttpStatus.NO_CONTENT, "Incidente deletado com sucesso", null);
+    }
+
+    // ====================================
+    // # Resposta v1 (SuccessResponse) ou v2 (sem envelope)
+    // ====================================
+    /**
+     * Accept: application/vnd.incident.v2+json → só o payload (páginas como IncidentPageResponse);
+     * demais → SuccessResponse com status, mensagem e timestamp.
+     */
+    private static ResponseEntity<?> reply(String accept, HttpStatus status, String message, Object data) {
+        return reply(accept, status, message, data, null);
+    }
+
+    private static ResponseEntity<?> reply(String accept, HttpStatus status, String message, Object data, String eTag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (eTag != null) {
+            builder.eTag(eTag).cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT);
+        }
+        if (acceptsV2(accept)) {
+            return builder.contentType(V2_JSON).body(data);
+        }
+        return builder.body(new SuccessResponse<>(status.value(), message, data, LocalDateTime.now()));
+    }
+
+    private static ResponseEntity<?> replyPage(String accept, String message, Page<IncidentResponse> page, String eTag) {
+        return acceptsV2(accept)
+                ? reply(accept, HttpStatus.OK, message, IncidentPageResponse.of(page), eTag)
+                : reply(accept, HttpStatus.OK, message, page, eTag);
+    }
+
+    // ====================================
+    // # ETag / If-None-Match
+    // ====================================
+    private ResponseEntity<?> listNotModified(IncidentChangeTracker.ListFingerprint fingerprint, String eTag) {
+        if (fingerprint.cached()) {
+            changeTracker.notModified();
+        } else {
+            changeTracker.revalidated();
+        }
+        log.info("📤 [HTTP RESPONSE] Retornando HTTP 304 Not Modified (ETag {})", eTag);
+        return notModified(eTag);
+    }
+
+    private static ResponseEntity<?> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                .cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    /**
+     * If-None-Match usa comparação fraca (RFC 9110): W/"x" casa com "x"; "*" casa com qualquer ETag.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * v1 e v2 são representações diferentes do mesmo recurso: o ETag carrega o sufixo da variante.
+     */
+    private static String variant(String accept) {
+        return acceptsV2(accept) ? "-v2" : "";
+    }
+
+    private static boolean acceptsV2(String accept) {
+        if (accept == null || !accept.contains(V2_JSON.getSubtype())) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(V2_JSON::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
     }
 
     // ====================================
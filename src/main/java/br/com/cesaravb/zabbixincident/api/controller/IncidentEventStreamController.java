@@ -0,0 +1,71 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentSseBroadcaster;
+import br.com.cesaravb.zabbixincident.infrastructure.sse.SseConnection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stream de incidentes em Server-Sent Events, para clientes que só leem (TVs de NOC, CLI),
+ * sem SockJS nem STOMP.
+ *
+ * Endpoints:
+ * • GET /api/incidents/events - Stream text/event-stream (filtros opcionais severity e host)
+ *
+ * Eventos: snapshot (abertos, na primeira conexão ou após lacuna), created, status-changed e deleted,
+ * com o mesmo JSON dos frames WebSocket; o id é "{epoch}-{seq}" do stream e o navegador o devolve no
+ * Last-Event-ID ao reconectar (replay do IncidentReplayBuffer, ou snapshot se o epoch é de outro nó).
+ *
+ * Exemplo:
+ * curl -N 'http://localhost:8080/api/incidents/events?severity=CRITICAL,HIGH&host=OLT-01'
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/incidents")
+@RequiredArgsConstructor
+public class IncidentEventStreamController {
+
+    private final IncidentSseBroadcaster sseBroadcaster;
+
+    // ====================================
+    // # GET /api/incidents/events - Stream SSE
+    // ====================================
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> events(
+            @RequestParam(required = false) List<String> severity,
+            @RequestParam(required = false) String host,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+
+        Set<String> severities = severity == null ? null : severity.stream()
+                .map(value -> value.trim().toUpperCase(Locale.ROOT))
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        ResponseBodyEmitter emitter = sseBroadcaster.open(new SseConnection.Filter(severities,
+                host == null || host.isBlank() ? null : host), lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_EVENT_STREAM, StandardCharsets.UTF_8))
+                .cacheControl(CacheControl.noCache())
+                // Nginx: não segurar o stream no buffer do proxy
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Exportação de incidentes por período (auditorias e post-mortems), sem paginação.
+ *
+ * Endpoints:
+ * • GET /api/incidents/export?from=&to=&format=ndjson|csv - Incidentes criados em [from, to)
+ *
+ * A resposta é escrita direto no stream da requisição enquanto o cursor avança (memória constante);
+ * com Accept-Encoding: gzip, segue comprimida. 400 para formato desconhecido ou from >= to;
+ * 503 quando o limite de exportações simultâneas (app.export.max-concurrent) já foi atingido.
+ *
+ * Exemplo:
+ * curl --compressed -o incidentes.ndjson \
+ *   'http://localhost:8080/api/incidents/export?from=2025-01-01T00:00:00&to=2025-02-01T00:00:00&format=ndjson'
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/incidents")
+@RequiredArgsConstructor
+public class IncidentExportController {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final IncidentExportService exportService;
+
+    // ====================================
+    // # GET /api/incidents/export - Exportar período
+    // ====================================
+    @GetMapping("/export")
+    public void export(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        log.info("🌐 [HTTP GET] /api/incidents/export - from: {}, to: {}, format: {}", from, to, format);
+
+        IncidentExportService.Format exportFormat;
+        try {
+            exportFormat = IncidentExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Período de exportação inválido: from deve ser anterior a to");
+        }
+        if (!exportService.tryAcquire()) {
+            log.warn("⚠️ [EXPORT] Limite de {} exportações simultâneas atingido", exportService.maxConcurrent());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Limite de exportações simultâneas atingido");
+            return;
+        }
+        try {
+            boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+            response.setContentType(exportFormat.contentType());
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"incidents-"
+                    + FILE_DATE.format(from) + "-" + FILE_DATE.format(to) + "." + exportFormat.extension() + "\"");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            // Nginx: repassar os blocos assim que forem enviados
+            response.setHeader("X-Accel-Buffering", "no");
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            exportService.export(from, to, exportFormat, gzip, response.getOutputStream());
+        } finally {
+            exportService.release();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentQueryService;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentQueryResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Consultas pela sessão STOMP já aberta (prefixo app.websocket.app-prefix, ex: /app), sem
+ * uma requisição HTTP por pergunta: a resposta segue pela mesma conexão (compressão, fila da sessão).
+ *
+ * Endpoints (SEND; resposta só para a sessão que perguntou em /user/queue/incidents/replies):
+ * • /app/incidents/query/open - Incidentes abertos (header opcional x-limit)
+ * • /app/incidents/query/{id} - Incidente por ID
+ * • /app/incidents/query/host/{host} - Abertos e contagens por status/severidade do host (x-range, padrão 24h)
+ * • /app/incidents/query/stats - Abertos, contagens por status/severidade e SLA (x-range, padrão 24h)
+ *
+ * O header x-request-id do SEND volta em requestId para o cliente casar pergunta e resposta.
+ *
+ * Exemplo (cliente):
+ * stompClient.subscribe('/user/queue/incidents/replies', frame => { ... });
+ * stompClient.send('/app/incidents/query/42', { 'x-request-id': '7f3c' });
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class IncidentQueryController {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String REPLY_DESTINATION = "/queue/incidents/replies";
+    private static final String DEFAULT_RANGE = "24h";
+
+    private final IncidentQueryService queryService;
+
+    // ====================================
+    // # SEND /app/incidents/query/open - Incidentes abertos
+    // ====================================
+    @MessageMapping("/incidents/query/open")
+    @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+    public IncidentQueryResponse open(@Header(name = "x-request-id", required = false) String requestId,
+                                      @Header(SimpMessageHeaderAccessor.DESTINATION_HEADER) String query,
+                                      @Header(name = "x-limit", required = false) Integer limit) {
+        return reply(requestId, query, queryService.open(limit == null ? 0 : limit));
+    }
+
+    // ====================================
+    // # SEND /app/incidents/query/{id} - Incidente por ID
+    // ====================================
+    @MessageMapping("/incidents/query/{id:\\d+}")
+    @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+    public IncidentQueryResponse incident(@Header(name = "x-request-id", required = false) String requestId,
+                                          @Header(SimpMessageHeaderAccessor.DESTINATION_HEADER) String query,
+                                          @DestinationVariable Long id) {
+        return reply(requestId, query, queryService.incident(id));
+    }
+
+    // ====================================
+    // # SEND /app/incidents/query/host/{host} - Resumo do host
+    // ====================================
+    @MessageMapping("/incidents/query/host/{host}")
+    @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+    public IncidentQueryResponse host(@Header(name = "x-request-id", required = false) String requestId,
+                                      @Header(SimpMessageHeaderAccessor.DESTINATION_HEADER) String query,
+                                      @Header(name = "x-range", required = false) String range,
+                                      @DestinationVariable String host) {
+        return reply(requestId, query, queryService.host(host,
+                DurationStyle.detectAndParse(range == null ? DEFAULT_RANGE : range)));
+    }
+
+    // ====================================
+    // # SEND /app/incidents/query/stats - Estatísticas do painel
+    // ====================================
+    @MessageMapping("/incidents/query/stats")
+    @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+    public IncidentQueryResponse stats(@Header(name = "x-request-id", required = false) String requestId,
+                                       @Header(SimpMessageHeaderAccessor.DESTINATION_HEADER) String query,
+                                       @Header(name = "x-range", required = false) String range) {
+        return reply(requestId, query, queryService.stats(
+                DurationStyle.detectAndParse(range == null ? DEFAULT_RANGE : range)));
+    }
+
+    // ====================================
+    // # handleException - Erro da consulta vai para a mesma fila de respostas
+    // ====================================
+    /**
+     * Mesmo critério do GlobalExceptionHandler: exceções de negócio (RuntimeException) → 500 com a
+     * mensagem; demais → 500 "Erro interno do servidor".
+     */
+    @MessageExceptionHandler
+    @SendToUser(destinations = REPLY_DESTINATION, broadcast = false)
+    public IncidentQueryResponse handleException(Exception ex,
+                                                 @Header(name = "x-request-id", required = false) String requestId,
+                                                 @Header(SimpMessageHeaderAccessor.DESTINATION_HEADER) String query) {
+        log.warn("⚠️ [WEBSOCKET QUERY] Falha em {}: {}", query, ex.getMessage());
+        String message = ex instanceof RuntimeException ? ex.getMessage() : "Erro interno do servidor";
+        return new IncidentQueryResponse(requestId, query, HttpStatus.INTERNAL_SERVER_ERROR.value(), null, null, message);
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static IncidentQueryResponse reply(String requestId, String query, IncidentQueryService.Answer answer) {
+        log.debug("📨 [WEBSOCKET QUERY] {} respondido (seq {})", query, answer.seq());
+        return new IncidentQueryResponse(requestId, query, HttpStatus.OK.value(), answer.seq(), answer.data(), null);
+    }
+}
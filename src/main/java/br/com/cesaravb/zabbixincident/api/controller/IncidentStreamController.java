@@ -0,0 +1,39 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentResumeService;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResumeResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Endpoints STOMP do stream de incidentes (prefixo app.websocket.app-prefix, ex: /app).
+ *
+ * Endpoints:
+ * • SUBSCRIBE /app/incidents/resume - Replay dos eventos perdidos ou snapshot dos abertos
+ *   (headers opcionais x-epoch e x-last-seq; a resposta vai só para a sessão que assinou)
+ *
+ * Exemplo (cliente):
+ * stompClient.subscribe('/app/incidents/resume', frame => { ... },
+ *     { 'x-epoch': String(epoch), 'x-last-seq': String(lastSeq) });
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class IncidentStreamController {
+
+    private final IncidentResumeService resumeService;
+
+    // ====================================
+    // # SUBSCRIBE /app/incidents/resume - Retomada após reconexão
+    // ====================================
+    @SubscribeMapping("/incidents/resume")
+    public IncidentResumeResponse resume(@Header(name = "x-epoch", required = false) Long epoch,
+                                         @Header(name = "x-last-seq", required = false) Long lastSeq) {
+        IncidentResumeResponse response = resumeService.resume(epoch, lastSeq);
+        log.info("🔁 [WEBSOCKET RESUME] {} (seq cliente {}, seq atual {})", response.mode(), lastSeq, response.seq());
+        return response;
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.dtos.response.SuccessResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.WebSocketSessionResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.ConflatingSessionDecoratorFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Endpoint administrativo das filas de saída das sessões WebSocket.
+ *
+ * Endpoints:
+ * • GET /api/admin/websocket/sessions - Sessões mais atrasadas primeiro (profundidade, conflações, lag)
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/websocket/sessions")
+@RequiredArgsConstructor
+public class WebSocketSessionController {
+
+    private final ConflatingSessionDecoratorFactory sessionFactory;
+
+    // ====================================
+    // # GET /api/admin/websocket/sessions - Inspecionar filas de saída
+    // ====================================
+    @GetMapping
+    public ResponseEntity<SuccessResponse<List<WebSocketSessionResponse>>> sessions(@RequestParam(defaultValue = "50") int limit) {
+        log.info("🌐 [HTTP GET] /api/admin/websocket/sessions - limit: {}", limit);
+
+        List<WebSocketSessionResponse> response = sessionFactory.sessions().stream()
+                .map(session -> new WebSocketSessionResponse(session.getId(), session.depth(),
+                        session.conflatedCount(), session.lagMillis()))
+                .sorted(Comparator.comparingInt(WebSocketSessionResponse::depth).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+
+        SuccessResponse<List<WebSocketSessionResponse>> successResponse = new SuccessResponse<>(200, "Sessões WebSocket consultadas com sucesso", response, LocalDateTime.now());
+        return ResponseEntity.ok(successResponse);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.cesaravb.zabbixincident.application.listener;
+
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Listener em lote da fila de incidentes criados (incident.created.#).
+ *
+ * Fluxo:
+ * 1. O container acumula até batch-size mensagens (ou batch-receive-timeout-ms)
+ * 2. IncidentEventMessageConverter decodifica cada mensagem → List<IncidentEvent>
+ * 3. O lote inteiro é repassado ao WebSocketNotificationService de uma vez
+ * 4. O ack cobre o lote todo
+ *
+ * Ativo apenas com app.rabbitmq.listener.batch-enabled=true; substitui o IncidentListener.
+ * Não usa lanes (o lote já é confirmado de uma vez) nem vale com shards ou broadcast.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression("${app.rabbitmq.listener.batch-enabled:false} && " + RabbitMQConfig.TYPED_QUEUES_CONDITION)
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class IncidentBatchListener {
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final WebSocketNotificationService webSocketService;
+
+    // ====================================
+    // # Constante da queue
+    // ====================================
+    private static final String QUEUE_NAME = RabbitMQConfig.INCIDENT_QUEUE;
+
+    // ====================================
+    // # consumeIncidents - Consumir um lote da fila
+    // ====================================
+    @RabbitListener(queues = QUEUE_NAME, containerFactory = "incidentListenerContainerFactory")
+    public void consumeIncidents(List<IncidentEvent> events) {
+        log.debug("📨 [CONSUME FROM RABBITMQ] Lote de {} eventos recebido em {}",
+                events.size(), Thread.currentThread().getName());
+        // Exceções sobem para o IncidentRetryInterceptor: as mensagens que falharam (PartialBatchFailureException)
+        // ou, em outra falha, todas as do lote são retentadas ou estacionadas
+        webSocketService.notifyEvents(events);
+    }
+}
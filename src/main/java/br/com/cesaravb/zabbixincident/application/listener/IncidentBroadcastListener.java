@@ -0,0 +1,49 @@
+package br.com.cesaravb.zabbixincident.application.listener;
+
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.KeyedLaneDispatcher;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Listener da fila de broadcast do nó (app.rabbitmq.broadcast.enabled=true).
+ *
+ * Fluxo:
+ * 1. O fanout zabbix.incident.broadcast copia cada evento para a fila de cada nó
+ * 2. Este listener consome a fila do próprio nó (incidentBroadcastQueue)
+ * 3. WebSocketNotificationService despacha pelo tipo para as sessões conectadas a este nó
+ *
+ * Com N nós atrás de um load balancer, cada navegador recebe todos os eventos,
+ * qualquer que seja o nó em que está conectado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression(RabbitMQConfig.BROADCAST_CONDITION)
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class IncidentBroadcastListener {
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final WebSocketNotificationService webSocketService;
+    private final KeyedLaneDispatcher laneDispatcher;
+
+    // ====================================
+    // # consumeBroadcast - Consumir a fila do nó
+    // ====================================
+    @RabbitListener(queues = "#{incidentBroadcastQueue.name}", containerFactory = "incidentBroadcastListenerContainerFactory")
+    public void consumeBroadcast(IncidentEvent event, Message message, Channel channel) {
+        log.debug("📨 [CONSUME FROM RABBITMQ] Evento {} do incidente {} (seq {}) recebido via broadcast",
+                event.type(), event.incidentId(), event.sequence());
+        laneDispatcher.dispatch(event.incidentId(), message, channel, () -> webSocketService.notifyEvent(event));
+    }
+}
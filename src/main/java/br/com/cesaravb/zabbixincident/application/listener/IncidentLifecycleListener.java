@@ -0,0 +1,66 @@
+package br.com.cesaravb.zabbixincident.application.listener;
+
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.KeyedLaneDispatcher;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Listener das filas de ciclo de vida: mudanças de status e deleções.
+ *
+ * Fluxo:
+ * 1. IncidentService publica com incident.status.changed.<severidade> ou incident.deleted.<severidade>
+ * 2. Cada tipo chega em sua própria fila (RabbitMQConfig)
+ * 3. STATUS_CHANGED → /topic/incidents/updated (IncidentDelta)
+ * 4. DELETED → /topic/incidents/deleted (IncidentTombstone)
+ *
+ * Exceções sobem para o IncidentRetryInterceptor (retentativa com atraso / parking lot).
+ *
+ * Filas separadas da de criação: um pico de criações não atrasa a atualização de status
+ * nos painéis, e cada fila pode ser dimensionada de forma independente. Com lanes, cada
+ * incidente é processado em ordem na sua lane (KeyedLaneDispatcher).
+ *
+ * Inativo com app.rabbitmq.sharding.shards > 0 (IncidentShardListener) ou com
+ * app.rabbitmq.broadcast.enabled=true (IncidentBroadcastListener).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression(RabbitMQConfig.TYPED_QUEUES_CONDITION)
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class IncidentLifecycleListener {
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final WebSocketNotificationService webSocketService;
+    private final KeyedLaneDispatcher laneDispatcher;
+
+    // ====================================
+    // # consumeStatusChanged - Mudanças de status
+    // ====================================
+    @RabbitListener(queues = RabbitMQConfig.INCIDENT_STATUS_QUEUE, containerFactory = "incidentLifecycleListenerContainerFactory")
+    public void consumeStatusChanged(IncidentEvent event, Message message, Channel channel) {
+        log.debug("📨 [CONSUME FROM RABBITMQ] Status {} do incidente {} (seq {})",
+                event.status(), event.incidentId(), event.sequence());
+        laneDispatcher.dispatch(event.incidentId(), message, channel, () -> webSocketService.notifyStatusChanged(event));
+    }
+
+    // ====================================
+    // # consumeDeleted - Deleções
+    // ====================================
+    @RabbitListener(queues = RabbitMQConfig.INCIDENT_DELETED_QUEUE, containerFactory = "incidentLifecycleListenerContainerFactory")
+    public void consumeDeleted(IncidentEvent event, Message message, Channel channel) {
+        log.debug("📨 [CONSUME FROM RABBITMQ] Deleção do incidente {} (seq {})", event.incidentId(), event.sequence());
+        laneDispatcher.dispatch(event.incidentId(), message, channel,
+                () -> webSocketService.notifyIncidentDeleted(event));
+    }
+}
@@ -1,39 +1,55 @@
 package br.com.cesaravb.zabbixincident.application.listener;
 
-import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
 import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.KeyedLaneDispatcher;
+import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 /**
- * Listener que consome mensagens da fila RabbitMQ.
+ * Listener que consome a fila de incidentes criados (incident.created.#).
  *
  * Fluxo:
  * 1. RabbitMQ publica mensagem na queue
  * 2. @RabbitListener detecta nova mensagem
- * 3. Jackson2JsonMessageConverter desserializa JSON → Incident
+ * 3. IncidentEventMessageConverter decodifica o envelope → IncidentEvent (codec pelo content-type)
  * 4. Logger registra consumo
- * 5. WebSocketNotificationService envia para frontend
+ * 5. WebSocketNotificationService despacha pelo tipo (na prática CREATED; mensagens antigas,
+ *    publicadas antes da separação das routing keys, ainda podem trazer outros tipos)
  * 6. Frontend recebe via WebSocket em tempo real
  *
- * Logger rastreia cada etapa do processamento assíncrono
+ * Ativo quando app.rabbitmq.listener.batch-enabled=false (padrão). Em modo lote,
+ * o IncidentBatchListener assume o consumo da mesma fila. Mudanças de status e deleções
+ * têm filas próprias, consumidas pelo IncidentLifecycleListener. Com app.rabbitmq.sharding.shards > 0,
+ * o IncidentShardListener assume o consumo; com app.rabbitmq.broadcast.enabled=true, o
+ * IncidentBroadcastListener.
+ *
+ * Logs por mensagem ficam em DEBUG: em INFO, o caminho quente não gera linhas por incidente.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnExpression("!${app.rabbitmq.listener.batch-enabled:false} && " + RabbitMQConfig.TYPED_QUEUES_CONDITION)
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
 public class IncidentListener {
 
     // ====================================
     // # Dependências
     // ====================================
     private final WebSocketNotificationService webSocketService;
+    private final KeyedLaneDispatcher laneDispatcher;
 
     // ====================================
     // # Constante da queue
     // ====================================
-    private static final String QUEUE_NAME = "zabbix.incident.queue";
+    private static final String QUEUE_NAME = RabbitMQConfig.INCIDENT_QUEUE;
 
     // ====================================
     // # consumeIncident - Consumir da fila
@@ -46,60 +62,24 @@ public class IncidentListener {
      * - Executa em thread separada
      * - Pode ter múltiplas instâncias consumindo
      *
-     * Fluxo com Logger:
-     * 1. ✅ INFO - Mensagem recebida da fila
-     * 2. ✅ DEBUG - Dados da mensagem
-     * 3. ✅ INFO - Iniciando processamento WebSocket
-     * 4. ✅ DEBUG - Enviando para frontend
-     * 5. ✅ INFO - Concluído com sucesso
+     * Concorrência, prefetch e virtual threads vêm da incidentListenerContainerFactory
+     * (RabbitMQConfig, propriedades app.rabbitmq.listener.*). Com lanes, o envio roda na lane
+     * do incidente (KeyedLaneDispatcher), que faz o ack.
      *
-     * @param incident Entidade desserializada automaticamente do JSON
+     * @param event   Envelope IncidentEvent decodificado pelo IncidentEventMessageConverter
+     * @param message Mensagem AMQP original
+     * @param channel Canal do consumer (ack manual com lanes)
      */
-    @RabbitListener(queues = QUEUE_NAME)
-    public void consumeIncident(Incident incident) {
-        log.info("=".repeat(80));
-        log.info("📨 [CONSUME FROM RABBITMQ] Mensagem recebida da fila!");
-        log.info("   - Queue: {}", QUEUE_NAME);
-        log.info("   - Thread: {}", Thread.currentThread().getName());
-        log.info("   - Timestamp: {}", System.currentTimeMillis());
-        
-        // ====================================
-        // # Log dos dados do incidente
-        // ====================================
-        log.info("📋 [CONSUME FROM RABBITMQ] Dados do incidente:");
-        log.info("   - ID: {}", incident.getId());
-        log.info("   - Zabbix Event ID: {}", incident.getZabbixEventId());
-        log.info("   - Título: {}", incident.getTitle());
-        log.info("   - Status: {}", incident.getStatus());
-        log.info("   - Severidade: {}", incident.getSeverity());
-        log.info("   - Host: {}", incident.getHost());
-        log.info("   - Host IP: {}", incident.getHostIp());
-        log.debug("   - Descrição: {}", incident.getDescription());
-        log.debug("   - Created At: {}", incident.getCreatedAt());
-        
+    @RabbitListener(queues = QUEUE_NAME, containerFactory = "incidentListenerContainerFactory")
+    public void consumeIncident(IncidentEvent event, Message message, Channel channel) {
+        log.debug("📨 [CONSUME FROM RABBITMQ] Evento {} do incidente {} (seq {}) recebido em {}",
+                event.type(), event.incidentId(), event.sequence(), Thread.currentThread().getName());
+
         // ====================================
         // # Enviar notificação via WebSocket
         // ====================================
-        try {
-            log.info("📡 [WEBSOCKET NOTIFICATION] Iniciando envio de notificação");
-            log.debug("   - Tópico: /topic/incidents");
-            log.debug("   - Conversor: Jackson2JsonMessageConverter");
-            
-            webSocketService.notifyIncidentCreated(incident);
-            
-            log.info("✅ [WEBSOCKET NOTIFICATION] Notificação enviada com sucesso!");
-            log.info("   - Conectados e notificados via /topic/incidents");
-            log.info("   - Tempo de processamento completo ✅");
-            
-        } catch (Exception e) {
-            log.error("❌ [WEBSOCKET NOTIFICATION] Erro ao enviar notificação para WebSocket", e);
-            log.error("   - Detalhes: {}", e.getMessage());
-            log.error("   - Causa: {}", e.getCause());
-            // Não relança exceção para não fazer retry automático
-            // A mensagem já foi processada
-        }
-        
-        log.info("=".repeat(80));
+        // Exceções sobem para o IncidentRetryInterceptor (retentativa com atraso / parking lot)
+        laneDispatcher.dispatch(event.incidentId(), message, channel, () -> webSocketService.notifyEvent(event));
     }
 
     // ====================================
@@ -114,14 +94,16 @@ public class IncidentListener {
      *    - Zabbix recebe resposta imediatamente
      *
      * 2. FILA
-     *    - Se houver 100 mensagens, 100 threads processam
-     *    - Com prefetch=1, processa 1 por vez (mais controle)
+     *    - concurrency/max-concurrency definem quantos consumers processam em paralelo
+     *      (sem garantia de ordem entre eventos do mesmo incidente; para isso, use lanes)
+     *    - prefetch define quantas mensagens cada consumer recebe antes do ack
      *    - Mensagem é deletada apenas se não houver exceção
      *
      * 3. ERRO HANDLING
-     *    - Se lançar exceção, mensagem volta para fila
-     *    - Tenta novamente (retry automático)
-     *    - Se falhar N vezes, vai para Dead Letter Queue
+     *    - Se lançar exceção, a mensagem NÃO volta direto para a fila (requeue desativado)
+     *    - IncidentRetryInterceptor republica em uma fila de atraso (backoff exponencial)
+     *    - Se falhar app.rabbitmq.retry.max-attempts vezes, vai para o parking lot
+     *    - Erro de conversão vai direto para o parking lot (GET/POST /api/admin/dlq)
      *
      * 4. MONITORAMENTO
      *    - Logs rastreiam cada etapa
@@ -0,0 +1,54 @@
+package br.com.cesaravb.zabbixincident.application.listener;
+
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.KeyedLaneDispatcher;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Listener dos shards (app.rabbitmq.sharding.shards > 0; inativo com broadcast).
+ *
+ * Fluxo:
+ * 1. O exchange x-consistent-hash distribui os eventos pelo correlation_id (ID do incidente)
+ *    entre zabbix.incident.shard.0..N-1
+ * 2. Cada shard tem x-single-active-consumer: só um nó do cluster recebe cada shard por vez
+ * 3. Todos os tipos (CREATED, STATUS_CHANGED, DELETED) de um incidente chegam no mesmo shard,
+ *    em ordem → WebSocketNotificationService.notifyEvent despacha pelo tipo
+ * 4. Com lanes, o processamento dentro do nó é paralelo e ordenado por incidente
+ *
+ * Com vários nós, os shards se espalham entre eles e, se um nó cair, os shards dele passam
+ * para o próximo consumer registrado.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression(RabbitMQConfig.SHARDING_CONDITION)
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class IncidentShardListener {
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final WebSocketNotificationService webSocketService;
+    private final KeyedLaneDispatcher laneDispatcher;
+
+    // ====================================
+    // # consumeShard - Consumir de todos os shards
+    // ====================================
+    @RabbitListener(
+            queues = "#{T(br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig).shardQueues(${app.rabbitmq.sharding.shards:0})}",
+            containerFactory = "incidentShardListenerContainerFactory")
+    public void consumeShard(IncidentEvent event, Message message, Channel channel) {
+        log.debug("📨 [CONSUME FROM RABBITMQ] Evento {} do incidente {} (seq {}) recebido do {}",
+                event.type(), event.incidentId(), event.sequence(), message.getMessageProperties().getConsumerQueue());
+        laneDispatcher.dispatch(event.incidentId(), message, channel, () -> webSocketService.notifyEvent(event));
+    }
+}
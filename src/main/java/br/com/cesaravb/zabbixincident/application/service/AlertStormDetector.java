@@ -0,0 +1,183 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.dtos.response.StormModeEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.metrics.EwmaRate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detector de tempestade de alertas (alert storm).
+ *
+ * Fluxo:
+ * 1. WebSocketNotificationService chama record(source) para cada incidente recebido
+ * 2. A cada tick, as taxas EWMA (global e por source) são recalculadas
+ * 3. Se a taxa global ou de alguma source passar do limiar de entrada → modo STORM
+ * 4. Em STORM, os broadcasts individuais são substituídos por resumos periódicos
+ * 5. Quando todas as taxas caem abaixo do limiar de saída (e após o tempo mínimo) → modo NORMAL
+ *
+ * Limiares de entrada e saída diferentes (histerese) evitam oscilação entre os modos.
+ * Cada transição é publicada em /topic/incidents/control e contabilizada em métricas.
+ */
+@Slf4j
+@Service
+public class AlertStormDetector {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final String CONTROL_TOPIC = "/topic/incidents/control";
+    private static final double IDLE_RATE = 0.01;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final double tickSeconds;
+    private final double tauSeconds;
+    private final double globalEnterRate;
+    private final double globalExitRate;
+    private final double sourceEnterRate;
+    private final double sourceExitRate;
+    private final long minStormMillis;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final EwmaRate globalRate;
+    private final Map<String, EwmaRate> sourceRates = new ConcurrentHashMap<>();
+    private final Counter stormEntered;
+    private final Counter stormExited;
+    private volatile boolean stormActive;
+    private volatile long stormSince;
+
+    public AlertStormDetector(SimpMessagingTemplate messagingTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.storm.tick-ms:1000}") long tickMillis,
+                              @Value("${app.storm.ewma-tau-seconds:10}") double tauSeconds,
+                              @Value("${app.storm.global.enter-rate:50}") double globalEnterRate,
+                              @Value("${app.storm.global.exit-rate:10}") double globalExitRate,
+                              @Value("${app.storm.source.enter-rate:30}") double sourceEnterRate,
+                              @Value("${app.storm.source.exit-rate:5}") double sourceExitRate,
+                              @Value("${app.storm.min-duration-seconds:30}") long minStormSeconds) {
+        this.messagingTemplate = messagingTemplate;
+        this.tickSeconds = tickMillis / 1000.0;
+        this.tauSeconds = tauSeconds;
+        this.globalEnterRate = globalEnterRate;
+        this.globalExitRate = globalExitRate;
+        this.sourceEnterRate = sourceEnterRate;
+        this.sourceExitRate = sourceExitRate;
+        this.minStormMillis = minStormSeconds * 1000;
+        this.globalRate = new EwmaRate(tickSeconds, tauSeconds);
+
+        // ====================================
+        // # Métricas
+        // ====================================
+        Gauge.builder("incident.storm.active", this, d -> d.stormActive ? 1 : 0)
+                .description("1 quando o modo tempestade está ativo")
+                .register(meterRegistry);
+        Gauge.builder("incident.storm.rate", this, d -> d.globalRate.rate())
+                .description("Taxa global EWMA de incidentes por segundo")
+                .register(meterRegistry);
+        this.stormEntered = Counter.builder("incident.storm.transitions").tag("mode", "STORM").register(meterRegistry);
+        this.stormExited = Counter.builder("incident.storm.transitions").tag("mode", "NORMAL").register(meterRegistry);
+    }
+
+    // ====================================
+    // # record - Registra um incidente (caminho quente)
+    // ====================================
+    /**
+     * O mark da source acontece dentro do compute: a remoção de sources ociosas no tick usa o
+     * mesmo bin do mapa, então nenhum mark cai em uma taxa que acabou de ser removida.
+     */
+    public void record(String source) {
+        globalRate.mark();
+        sourceRates.compute(source == null ? "" : source, (s, rate) -> {
+            EwmaRate current = rate != null ? rate : new EwmaRate(tickSeconds, tauSeconds);
+            current.mark();
+            return current;
+        });
+    }
+
+    // ====================================
+    // # isStormActive - Modo atual
+    // ====================================
+    public boolean isStormActive() {
+        return stormActive;
+    }
+
+    public double globalRate() {
+        return globalRate.rate();
+    }
+
+    // ====================================
+    // # tick - Recalcula taxas e avalia transições
+    // ====================================
+    @Scheduled(fixedRateString = "${app.storm.tick-ms:1000}")
+    public void tick() {
+        globalRate.tick();
+
+        String hottestSource = null;
+        double hottestRate = 0;
+        for (Map.Entry<String, EwmaRate> entry : sourceRates.entrySet()) {
+            EwmaRate rate = entry.getValue();
+            rate.tick();
+            if (rate.rate() > hottestRate) {
+                hottestRate = rate.rate();
+                hottestSource = entry.getKey();
+            }
+            if (rate.rate() < IDLE_RATE) {
+                sourceRates.computeIfPresent(entry.getKey(),
+                        (s, current) -> current == rate && !current.hasPending() ? null : current);
+            }
+        }
+
+        double global = globalRate.rate();
+        if (!stormActive) {
+            if (global >= globalEnterRate) {
+                transition(true, String.format("taxa global acima de %.1f/s", globalEnterRate), global);
+            } else if (hottestRate >= sourceEnterRate) {
+                transition(true, String.format("source %s acima de %.1f/s", hottestSource, sourceEnterRate), global);
+            }
+        } else if (global < globalExitRate
+                && hottestRate < sourceExitRate
+                && System.currentTimeMillis() - stormSince >= minStormMillis) {
+            transition(false, "taxas abaixo dos limiares de saída", global);
+        }
+    }
+
+    // ====================================
+    // # transition - Troca de modo + evento de controle
+    // ====================================
+    private void transition(boolean storm, String reason, double global) {
+        stormActive = storm;
+        String mode = storm ? "STORM" : "NORMAL";
+        if (storm) {
+            stormSince = System.currentTimeMillis();
+            stormEntered.increment();
+            log.warn("🌩️  [ALERT STORM] Modo tempestade ATIVADO - {} (global: {}/s)", reason, String.format("%.1f", global));
+        } else {
+            stormExited.increment();
+            log.info("🌤️  [ALERT STORM] Modo tempestade DESATIVADO - {} (global: {}/s)", reason, String.format("%.1f", global));
+        }
+
+        try {
+            messagingTemplate.convertAndSend(CONTROL_TOPIC, new StormModeEvent(mode, reason, global, LocalDateTime.now()));
+        } catch (Exception e) {
+            log.error("❌ [ALERT STORM] Erro ao publicar evento de controle", e);
+        }
+    }
+}
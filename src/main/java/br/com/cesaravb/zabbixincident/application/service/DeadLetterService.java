@@ -0,0 +1,187 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.dtos.response.DeadLetterQueueResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.DeadLetterReplayResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.dtos.response.ParkedMessageResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentRetryInterceptor;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serviço responsável por inspecionar e reprocessar o parking lot do RabbitMQ.
+ *
+ * Fluxo:
+ * 1. inspect: basicGet sem ack das primeiras mensagens → monta o resumo → nack com requeue
+ *    (as mensagens continuam no parking lot, na mesma ordem)
+ * 2. replay: basicGet → republica na fila de origem (default exchange) com os headers de
+ *    retentativa zerados → ack; uma mensagem por vez, então nada se perde se o replay falhar no meio
+ *
+ * A fila de origem vem do header x-origin-queue (ou do x-death, para mensagens rejeitadas pelo
+ * container); origens desconhecidas voltam para zabbix.incident.queue. Mensagens de filas de
+ * broadcast voltam pelo fanout zabbix.incident.broadcast (todos os nós recebem de novo).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class DeadLetterService {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int MAX_INSPECT = 500;
+    private static final int MAX_REPLAY = 1000;
+    private static final List<String> RETRY_HEADERS = List.of(IncidentRetryInterceptor.ATTEMPTS_HEADER,
+            IncidentRetryInterceptor.EXCEPTION_CLASS_HEADER, IncidentRetryInterceptor.EXCEPTION_MESSAGE_HEADER,
+            IncidentRetryInterceptor.PARKED_AT_HEADER, "x-death", "x-first-death-exchange",
+            "x-first-death-queue", "x-first-death-reason", "x-last-death-exchange",
+            "x-last-death-queue", "x-last-death-reason");
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    // ====================================
+    // # inspect - Primeiras mensagens do parking lot (sem remover)
+    // ====================================
+    public DeadLetterQueueResponse inspect(int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_INSPECT));
+        return rabbitTemplate.execute(channel -> {
+            long depth = channel.messageCount(RabbitMQConfig.PARKING_LOT_QUEUE);
+            List<ParkedMessageResponse> messages = new ArrayList<>();
+            long lastTag = -1;
+            try {
+                for (int i = 0; i < max; i++) {
+                    GetResponse response = channel.basicGet(RabbitMQConfig.PARKING_LOT_QUEUE, false);
+                    if (response == null) {
+                        break;
+                    }
+                    lastTag = response.getEnvelope().getDeliveryTag();
+                    messages.add(describe(toMessage(response)));
+                }
+            } finally {
+                if (lastTag >= 0) {
+                    channel.basicNack(lastTag, true, true);
+                }
+            }
+            return new DeadLetterQueueResponse(depth, messages);
+        });
+    }
+
+    // ====================================
+    // # replay - Devolve mensagens do parking lot às filas de origem
+    // ====================================
+    public DeadLetterReplayResponse replay(int limit) {
+        int max = Math.max(1, Math.min(limit, MAX_REPLAY));
+        return rabbitTemplate.execute(channel -> {
+            int replayed = 0;
+            for (int i = 0; i < max; i++) {
+                GetResponse response = channel.basicGet(RabbitMQConfig.PARKING_LOT_QUEUE, false);
+                if (response == null) {
+                    break;
+                }
+                long tag = response.getEnvelope().getDeliveryTag();
+                try {
+                    MessageProperties properties = toMessage(response).getMessageProperties();
+                    String origin = originQueue(properties);
+                    RETRY_HEADERS.forEach(properties.getHeaders()::remove);
+                    // Filas de broadcast são do nó que estacionou a mensagem: o replay passa pelo fanout
+                    boolean broadcast = origin.startsWith(RabbitMQConfig.BROADCAST_QUEUE_PREFIX);
+                    if (broadcast) {
+                        properties.getHeaders().remove(IncidentRetryInterceptor.ORIGIN_QUEUE_HEADER);
+                    } else {
+                        properties.setHeader(IncidentRetryInterceptor.ORIGIN_QUEUE_HEADER, origin);
+                    }
+                    AMQP.BasicProperties basicProperties =
+                            propertiesConverter.fromMessageProperties(properties, StandardCharsets.UTF_8.name());
+                    channel.basicPublish(broadcast ? RabbitMQConfig.BROADCAST_EXCHANGE : "", broadcast ? "" : origin,
+                            false, basicProperties, response.getBody());
+                    channel.basicAck(tag, false);
+                    replayed++;
+                } catch (Exception e) {
+                    channel.basicNack(tag, false, true);
+                    log.error("❌ [DLQ REPLAY] Erro ao reprocessar mensagem; replay interrompido após {}", replayed, e);
+                    break;
+                }
+            }
+            long remaining = channel.messageCount(RabbitMQConfig.PARKING_LOT_QUEUE);
+            log.info("♻️  [DLQ REPLAY] {} mensagens devolvidas às filas de origem ({} restantes)", replayed, remaining);
+            return new DeadLetterReplayResponse(replayed, remaining);
+        });
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private Message toMessage(GetResponse response) {
+        MessageProperties properties = propertiesConverter.toMessageProperties(response.getProps(),
+                response.getEnvelope(), StandardCharsets.UTF_8.name());
+        return new Message(response.getBody(), properties);
+    }
+
+    private ParkedMessageResponse describe(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String eventType = null;
+        Long incidentId = null;
+        try {
+            if (messageConverter.fromMessage(message) instanceof IncidentEvent event) {
+                eventType = event.type().name();
+                incidentId = event.incidentId();
+            }
+        } catch (Exception e) {
+            // Corpo inválido (ex: motivo do estacionamento foi erro de conversão)
+        }
+        Object parkedAt = properties.getHeader(IncidentRetryInterceptor.PARKED_AT_HEADER);
+        return new ParkedMessageResponse(
+                originQueue(properties),
+                properties.getHeader(IncidentRetryInterceptor.ATTEMPTS_HEADER),
+                properties.getHeader(IncidentRetryInterceptor.EXCEPTION_CLASS_HEADER),
+                toText(properties.getHeader(IncidentRetryInterceptor.EXCEPTION_MESSAGE_HEADER)),
+                parkedAt instanceof Number millis
+                        ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis.longValue()), ZoneId.systemDefault())
+                        : null,
+                properties.getContentType(),
+                message.getBody().length,
+                eventType,
+                incidentId);
+    }
+
+    private static String originQueue(MessageProperties properties) {
+        Object origin = properties.getHeader(IncidentRetryInterceptor.ORIGIN_QUEUE_HEADER);
+        if (origin == null) {
+            List<Map<String, ?>> deaths = properties.getXDeathHeader();
+            if (deaths != null && !deaths.isEmpty()) {
+                origin = deaths.get(deaths.size() - 1).get("queue");
+            }
+        }
+        String queue = toText(origin);
+        return RabbitMQConfig.isIncidentQueue(queue) ? queue : RabbitMQConfig.INCIDENT_QUEUE;
+    }
+
+    private static String toText(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,321 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEscalationEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.scheduling.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Motor de escalonamento de incidentes não reconhecidos.
+ *
+ * Fluxo:
+ * 1. IncidentService cria um incidente → arm() agenda um timer conforme a regra (severidade + source)
+ * 2. Mudança de status via updateIncidentStatus → onStatusChanged() cancela (ou re-arma se voltou a OPEN)
+ * 3. O timer vence → reivindica o nível com um UPDATE condicional (incidente OPEN e nível ainda
+ *    não publicado) e publica IncidentEscalationEvent no RabbitMQ (incident.escalated) e no
+ *    WebSocket (/topic/incidents/escalations)
+ * 4. Se houver uma regra de nível seguinte (prazo maior), o próximo timer é armado
+ * 5. Após um restart, os timers são restaurados a partir dos incidentes não resolvidos,
+ *    continuando do nível seguinte ao último publicado (escalation_level)
+ *
+ * Com vários nós, todos restauram e armam os mesmos timers; a reivindicação no banco garante
+ * que cada nível seja publicado por um único nó. Os demais seguem acompanhando o próximo nível.
+ *
+ * Os timers ficam em um HierarchicalTimingWheel: armar e cancelar são O(1) e não há
+ * polling no banco de dados.
+ *
+ * Formato das regras (app.escalation.rules): SEVERIDADE:source:prazo separados por vírgula.
+ * Use * para qualquer source. Ex: CRITICAL:*:5m,CRITICAL:*:15m,HIGH:zabbix:30m
+ * Regras específicas de uma source têm precedência sobre as regras com *.
+ */
+@Slf4j
+@Service
+public class EscalationService {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final String ESCALATION_TOPIC = "/topic/incidents/escalations";
+    private static final String ANY_SOURCE = "*";
+    private static final int RESTORE_PAGE_SIZE = 1000;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentRepository incidentRepository;
+    private final ObjectProvider<RabbitTemplate> rabbitTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Map<SeverityLevel, List<EscalationRule>> rulesBySeverity = new EnumMap<>(SeverityLevel.class);
+    private final HierarchicalTimingWheel wheel;
+    private final Map<Long, EscalationTimer> timers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> new Thread(r, "escalation-dispatcher"));
+    private final Counter fired;
+
+    public EscalationService(IncidentRepository incidentRepository,
+                             ObjectProvider<RabbitTemplate> rabbitTemplate,
+                             SimpMessagingTemplate messagingTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.escalation.rules:CRITICAL:*:5m,HIGH:*:15m}") String rules,
+                             @Value("${app.escalation.tick-ms:1000}") long tickMillis,
+                             @Value("${app.escalation.wheel-size:512}") int wheelSize) {
+        this.incidentRepository = incidentRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.wheel = new HierarchicalTimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+        parseRules(rules);
+
+        Gauge.builder("incident.escalation.pending", wheel, HierarchicalTimingWheel::pending)
+                .description("Timers de escalonamento armados")
+                .register(meterRegistry);
+        this.fired = Counter.builder("incident.escalation.fired")
+                .description("Escalonamentos publicados")
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # restore - Restaura os timers após restart
+    // ====================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        log.info("⏰ [ESCALATION] Restaurando timers dos incidentes não resolvidos");
+        try {
+            int pageNumber = 0;
+            Page<Incident> page;
+            do {
+                page = incidentRepository.findAllUnresolved(PageRequest.of(pageNumber++, RESTORE_PAGE_SIZE));
+                page.forEach(this::arm);
+            } while (page.hasNext());
+            log.info("✅ [ESCALATION] {} timers armados", timers.size());
+        } catch (Exception e) {
+            log.error("❌ [ESCALATION] Erro ao restaurar timers: {}", e.getMessage(), e);
+        }
+    }
+
+    // ====================================
+    // # tick - Avança a roda de timers
+    // ====================================
+    @Scheduled(fixedRateString = "${app.escalation.tick-ms:1000}")
+    public void tick() {
+        wheel.advance(System.currentTimeMillis());
+    }
+
+    // ====================================
+    // # arm - Arma o timer de um incidente (prazo contado a partir do createdAt)
+    // ====================================
+    public void arm(Incident incident) {
+        Integer escalated = incident.getEscalationLevel();
+        armFrom(incident, toMillis(incident.getCreatedAt()), escalated == null ? 0 : escalated);
+    }
+
+    // ====================================
+    // # onStatusChanged - Cancela ou re-arma conforme o novo status
+    // ====================================
+    /**
+     * Qualquer status diferente de OPEN significa que alguém reconheceu o incidente.
+     * Se voltar para OPEN, o prazo recomeça a contar a partir de agora.
+     */
+    public void onStatusChanged(Incident incident) {
+        if (incident.getStatus() == IncidentStatus.OPEN) {
+            armFrom(incident, System.currentTimeMillis(), 0);
+        } else {
+            disarm(incident.getId());
+        }
+    }
+
+    // ====================================
+    // # disarm - Cancela o timer em O(1)
+    // ====================================
+    public void disarm(Long incidentId) {
+        EscalationTimer timer = timers.remove(incidentId);
+        if (timer != null && timer.timeout != null) {
+            wheel.cancel(timer.timeout);
+            log.debug("⏰ [ESCALATION] Timer do incidente {} cancelado", incidentId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    // ====================================
+    // # Agendamento
+    // ====================================
+    /**
+     * @param level Primeiro nível a armar (níveis já publicados são pulados)
+     */
+    private void armFrom(Incident incident, long baseMillis, int level) {
+        if (incident.getStatus() != IncidentStatus.OPEN || incident.getSeverity() == null) {
+            disarm(incident.getId());
+            return;
+        }
+        List<EscalationRule> rules = rulesFor(incident.getSeverity(), incident.getSource());
+        if (level >= rules.size()) {
+            return;
+        }
+        EscalationTarget target = new EscalationTarget(incident.getId(), incident.getZabbixEventId(), incident.getTitle(),
+                incident.getHost(), incident.getSeverity(), incident.getSource(), toMillis(incident.getCreatedAt()));
+        schedule(target, rules, level, baseMillis);
+    }
+
+    private void schedule(EscalationTarget target, List<EscalationRule> rules, int level, long baseMillis) {
+        // Registra antes de agendar: um disparo nunca encontra o mapa desatualizado
+        EscalationTimer timer = new EscalationTimer(target, rules, level, baseMillis);
+        EscalationTimer previous = timers.put(target.id(), timer);
+        if (previous != null && previous.timeout != null) {
+            wheel.cancel(previous.timeout);
+        }
+        timer.timeout = wheel.schedule(baseMillis + rules.get(level).after().toMillis(),
+                () -> dispatcher.execute(timer::fire));
+    }
+
+    private List<EscalationRule> rulesFor(SeverityLevel severity, String source) {
+        List<EscalationRule> candidates = rulesBySeverity.getOrDefault(severity, List.of());
+        List<EscalationRule> specific = candidates.stream().filter(r -> r.source().equals(source)).toList();
+        return specific.isEmpty()
+                ? candidates.stream().filter(r -> ANY_SOURCE.equals(r.source())).toList()
+                : specific;
+    }
+
+    // ====================================
+    // # parseRules - Lê as regras da configuração
+    // ====================================
+    private void parseRules(String rules) {
+        for (String expression : rules.split(",")) {
+            String trimmed = expression.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":");
+            if (parts.length != 3) {
+                throw new IllegalStateException("Regra de escalonamento inválida: " + trimmed);
+            }
+            EscalationRule rule = new EscalationRule(SeverityLevel.valueOf(parts[0].trim().toUpperCase()),
+                    parts[1].trim(), DurationStyle.detectAndParse(parts[2].trim()), trimmed);
+            rulesBySeverity.computeIfAbsent(rule.severity(), s -> new ArrayList<>()).add(rule);
+        }
+        rulesBySeverity.values().forEach(list -> list.sort(Comparator.comparing(EscalationRule::after)));
+        log.info("⏰ [ESCALATION] Regras carregadas: {}", rulesBySeverity);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        LocalDateTime value = dateTime != null ? dateTime : LocalDateTime.now();
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocal(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    // ====================================
+    // # Tipos internos
+    // ====================================
+    private record EscalationRule(SeverityLevel severity, String source, Duration after, String expression) {
+        @Override
+        public String toString() {
+            return expression;
+        }
+    }
+
+    /**
+     * Dados mínimos do incidente guardados no timer (não retém a entidade JPA).
+     */
+    private record EscalationTarget(Long id, String zabbixEventId, String title, String host,
+                                    SeverityLevel severity, String source, long createdAtMillis) {}
+
+    private final class EscalationTimer {
+        private final EscalationTarget target;
+        private final List<EscalationRule> rules;
+        private final int level;
+        private final long baseMillis;
+        private volatile HierarchicalTimingWheel.Timeout timeout;
+
+        private EscalationTimer(EscalationTarget target, List<EscalationRule> rules, int level, long baseMillis) {
+            this.target = target;
+            this.rules = rules;
+            this.level = level;
+            this.baseMillis = baseMillis;
+        }
+
+        // ====================================
+        // # fire - Publica o escalonamento (thread escalation-dispatcher)
+        // ====================================
+        private void fire() {
+            // Cancelado ou substituído enquanto estava na fila do dispatcher
+            if (!timers.remove(target.id(), this)) {
+                return;
+            }
+            try {
+                if (incidentRepository.claimEscalation(target.id(), level + 1, IncidentStatus.OPEN) == 0) {
+                    IncidentStatus status = incidentRepository.findStatusById(target.id()).orElse(null);
+                    if (status != IncidentStatus.OPEN) {
+                        log.debug("⏰ [ESCALATION] Incidente {} não está mais OPEN ({}), ignorando", target.id(), status);
+                        return;
+                    }
+                    // Outro nó já publicou este nível: segue acompanhando o próximo
+                    log.debug("⏰ [ESCALATION] Nível {} do incidente {} já publicado por outro nó", level + 1, target.id());
+                    scheduleNext();
+                    return;
+                }
+
+                EscalationRule rule = rules.get(level);
+                IncidentEscalationEvent event = new IncidentEscalationEvent(target.id(), target.zabbixEventId(),
+                        target.title(), target.host(), target.severity().name(), target.source(), level + 1,
+                        rule.expression(), toLocal(target.createdAtMillis()), LocalDateTime.now());
+
+                log.warn("🚨 [ESCALATION] Incidente {} ({}) OPEN há mais de {} - nível {}",
+                        target.id(), target.severity(), rule.after(), level + 1);
+                // Sem broker (perfil single-node), o escalonamento segue só pelo WebSocket
+                rabbitTemplate.ifAvailable(template -> template.convertAndSend(
+                        RabbitMQConfig.INCIDENT_EXCHANGE, RabbitMQConfig.ESCALATION_ROUTING_KEY, event));
+                messagingTemplate.convertAndSend(ESCALATION_TOPIC, event);
+                fired.increment();
+                scheduleNext();
+            } catch (Exception e) {
+                log.error("❌ [ESCALATION] Erro ao escalonar incidente {}: {}", target.id(), e.getMessage(), e);
+            }
+        }
+
+        private void scheduleNext() {
+            if (level + 1 < rules.size()) {
+                schedule(target, rules, level + 1, baseMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.response.GroupCountResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentHistogramResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.analytics.AnalyticsDimension;
+import br.com.cesaravb.zabbixincident.infrastructure.analytics.ColumnarIncidentWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Serviço responsável pelas consultas analíticas sobre os incidentes recentes.
+ *
+ * Fluxo:
+ * 1. Na inicialização, carrega as últimas N horas do MySQL para a janela colunar (uma única vez)
+ * 2. IncidentService alimenta a janela a cada criação/atualização/deleção
+ * 3. AnalyticsController consulta histogramas e agrupamentos direto da memória
+ * 4. Nenhuma consulta analítica faz varredura na tabela incidents
+ *
+ * Memória: ~50 bytes por incidente (colunas primitivas + índice), nunca o objeto Incident.
+ */
+@Slf4j
+@Service
+public class IncidentAnalyticsService {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int WARM_UP_PAGE_SIZE = 1000;
+    private static final int MAX_BUCKETS = 10_000;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentRepository incidentRepository;
+    private final ColumnarIncidentWindow window;
+    private final Duration retention;
+
+    public IncidentAnalyticsService(IncidentRepository incidentRepository,
+                                    @Value("${app.analytics.window-hours:24}") long windowHours,
+                                    @Value("${app.analytics.capacity:262144}") int capacity) {
+        this.incidentRepository = incidentRepository;
+        this.retention = Duration.ofHours(windowHours);
+        this.window = new ColumnarIncidentWindow(capacity);
+        log.info("📊 [ANALYTICS] Janela colunar criada: {} linhas x {} bytes, retenção de {}h",
+                window.capacity(), ColumnarIncidentWindow.bytesPerRow(), windowHours);
+    }
+
+    // ====================================
+    // # warmUp - Carrega a janela a partir do banco na inicialização
+    // ====================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minus(retention);
+        log.info("📊 [ANALYTICS] Carregando incidentes de {} até {}", start, end);
+
+        try {
+            int pageNumber = 0;
+            long loaded = 0;
+            Page<Incident> page;
+            do {
+                page = incidentRepository.findByCreatedAtBetween(start, end,
+                        PageRequest.of(pageNumber++, WARM_UP_PAGE_SIZE, Sort.by("createdAt")));
+                page.forEach(this::record);
+                loaded += page.getNumberOfElements();
+            } while (page.hasNext());
+            log.info("✅ [ANALYTICS] Janela carregada com {} incidentes", loaded);
+        } catch (Exception e) {
+            log.error("❌ [ANALYTICS] Erro ao carregar janela analítica: {}", e.getMessage(), e);
+        }
+    }
+
+    // ====================================
+    // # Alimentação da janela (chamado pelo IncidentService)
+    // ====================================
+    public void record(Incident incident) {
+        window.append(incident.getId(), toMillis(incident.getCreatedAt()), incident.getSeverity(),
+                incident.getStatus(), incident.getHost(), incident.getSource());
+    }
+
+    public void recordStatus(Long incidentId, IncidentStatus status) {
+        window.updateStatus(incidentId, status);
+    }
+
+    public void forget(Long incidentId) {
+        window.remove(incidentId);
+    }
+
+    // ====================================
+    // # histogram - Contagem por bucket de tempo
+    // ====================================
+    public IncidentHistogramResponse histogram(Duration range, Duration bucket, AnalyticsDimension groupBy,
+                                               SeverityLevel severity, IncidentStatus status,
+                                               String host, String source, int limit) {
+        long to = System.currentTimeMillis();
+        long from = to - clamp(range).toMillis();
+        long bucketMillis = Math.max(1000, bucket.toMillis());
+        if ((to - from) / bucketMillis > MAX_BUCKETS) {
+            throw new RuntimeException("Bucket muito pequeno para o intervalo (máximo de " + MAX_BUCKETS + " buckets)");
+        }
+
+        ColumnarIncidentWindow.Histogram histogram = window.histogram(from, to, bucketMillis, groupBy,
+                new ColumnarIncidentWindow.Filter(severity, status, host, source), limit);
+
+        List<IncidentHistogramResponse.Series> series = histogram.series().stream()
+                .map(s -> new IncidentHistogramResponse.Series(s.key(), s.total(), s.counts()))
+                .toList();
+        return new IncidentHistogramResponse(toLocal(from), toLocal(to), bucketMillis / 1000,
+                groupBy == null ? null : groupBy.name(), series);
+    }
+
+    // ====================================
+    // # groupBy - Top N por dimensão
+    // ====================================
+    public List<GroupCountResponse> groupBy(Duration range, AnalyticsDimension dimension,
+                                            SeverityLevel severity, IncidentStatus status,
+                                            String host, String source, int limit) {
+        long to = System.currentTimeMillis();
+        long from = to - clamp(range).toMillis();
+        return window.groupBy(from, to, dimension, new ColumnarIncidentWindow.Filter(severity, status, host, source), limit)
+                .stream()
+                .map(g -> new GroupCountResponse(g.key(), g.count()))
+                .toList();
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private Duration clamp(Duration range) {
+        return range.compareTo(retention) > 0 ? retention : range;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        LocalDateTime value = dateTime != null ? dateTime : LocalDateTime.now();
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocal(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
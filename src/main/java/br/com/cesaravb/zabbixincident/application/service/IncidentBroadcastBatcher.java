@@ -0,0 +1,146 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupador dos broadcasts de incidentes criados em frames-array (/topic/incidents/batch).
+ *
+ * Fluxo:
+ * 1. WebSocketNotificationService envia o frame individual em /topic/incidents (clientes legados)
+ *    e entrega o mesmo IncidentResponse aqui
+ * 2. Os incidentes se acumulam até a janela (window-ms) expirar ou max-items ser atingido
+ * 3. Um único frame com o array é enviado em /topic/incidents/batch
+ * 4. CRITICAL esvazia o buffer na hora (junto com o que já estava acumulado, mantendo a ordem)
+ *
+ * Clientes escolhem o formato no SUBSCRIBE (header x-incident-batch: true, ver
+ * BatchSubscriptionInterceptor); cada sessão recebe só um dos dois formatos.
+ *
+ * Em tempestade, milhares de frames por segundo viram poucos frames por janela por navegador.
+ * O header x-seq do frame é o seq do último incidente do array (IncidentReplayBuffer).
+ */
+@Slf4j
+@Service
+public class IncidentBroadcastBatcher {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String BATCH_TOPIC = "/topic/incidents/batch";
+    private static final String FRAMES_METRIC = "incident.websocket.batch.frames";
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final boolean enabled;
+    private final int maxItems;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<IncidentResponse> buffer;
+    private long lastSeq;
+    private final Counter sizeFrames;
+    private final Counter windowFrames;
+    private final Counter criticalFrames;
+    private final DistributionSummary batchSize;
+
+    public IncidentBroadcastBatcher(SimpMessagingTemplate messagingTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.websocket.batch.enabled:true}") boolean enabled,
+                                    @Value("${app.websocket.batch.max-items:500}") int maxItems) {
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+        this.maxItems = Math.max(1, maxItems);
+        this.buffer = new ArrayList<>(this.maxItems);
+
+        // ====================================
+        // # Métricas (taxa de frames = rate() do contador)
+        // ====================================
+        this.sizeFrames = Counter.builder(FRAMES_METRIC).tag("trigger", "size")
+                .description("Frames-array enviados em /topic/incidents/batch").register(meterRegistry);
+        this.windowFrames = Counter.builder(FRAMES_METRIC).tag("trigger", "window")
+                .description("Frames-array enviados em /topic/incidents/batch").register(meterRegistry);
+        this.criticalFrames = Counter.builder(FRAMES_METRIC).tag("trigger", "critical")
+                .description("Frames-array enviados em /topic/incidents/batch").register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("incident.websocket.batch.size")
+                .description("Incidentes por frame-array")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # add - Acumula um incidente (CRITICAL esvazia na hora)
+    // ====================================
+    public void add(IncidentResponse response, SeverityLevel severity, long seq) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            buffer.add(response);
+            lastSeq = Math.max(lastSeq, seq);
+            if (severity == SeverityLevel.CRITICAL) {
+                send(criticalFrames);
+            } else if (buffer.size() >= maxItems) {
+                send(sizeFrames);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====================================
+    // # flush - Fim da janela
+    // ====================================
+    @Scheduled(fixedRateString = "${app.websocket.batch.window-ms:100}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            send(windowFrames);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Envia o buffer atual (chamado com o lock, para que os frames saiam na ordem dos incidentes).
+     */
+    private void send(Counter trigger) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<IncidentResponse> frame = buffer;
+        buffer = new ArrayList<>(maxItems);
+        try {
+            messagingTemplate.convertAndSend(BATCH_TOPIC, frame, Map.of(IncidentReplayBuffer.SEQ_HEADER, lastSeq));
+            trigger.increment();
+            batchSize.record(frame.size());
+            log.debug("📦 [WEBSOCKET BATCH] Frame com {} incidentes enviado para {}", frame.size(), BATCH_TOPIC);
+        } catch (Exception e) {
+            log.error("❌ [WEBSOCKET BATCH] Erro ao enviar frame com {} incidentes: {}", frame.size(), e.getMessage());
+        }
+    }
+}
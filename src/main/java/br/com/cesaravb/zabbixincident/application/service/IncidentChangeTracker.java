@@ -0,0 +1,237 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Rastreador em memória das alterações de incidentes, base dos ETags do IncidentController.
+ *
+ * • Incidente → ETag "{id}-{version}" (Incident.version, o seq do IncidentResponse)
+ * • Listas → ETag "L{count}-{soma das versões}-{última alteração}" da tabela
+ *   (IncidentService.getListFingerprint), igual em todos os nós e depois de restarts
+ *
+ * A memória só responde sozinha quando todo nó recebe todos os eventos (coherent: broadcast
+ * RabbitMQ ou barramento em memória). Com consumidores concorrentes (padrão), cada evento chega
+ * a um único nó e a versão em memória dos demais ficaria velha: version() devolve null e o
+ * controller revalida com SELECT version (por ID) ou com a consulta agregada (listas).
+ *
+ * Os caminhos de escrita (IncidentService, RecoveryCorrelationService) e os eventos do stream
+ * (WebSocketNotificationService, inclusive os vindos de outros nós) chamam changed()/deleted()
+ * depois de gravar. Leituras do banco só registram a versão lida se nenhuma escrita do mesmo
+ * incidente ocorreu durante a consulta (stamp por faixa de IDs), então uma leitura lenta nunca
+ * grava uma versão anterior à de uma escrita concorrente.
+ */
+@Slf4j
+@Service
+public class IncidentChangeTracker {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int STRIPES = 64;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int maxTracked;
+    private final boolean coherent;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final AtomicLong listSequence = new AtomicLong();
+    private volatile CachedFingerprint listFingerprint;
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    // ====================================
+    // # Métricas
+    // ====================================
+    private final Counter notModified;
+    private final Counter revalidated;
+    private final Counter modified;
+
+    @Autowired
+    public IncidentChangeTracker(MeterRegistry meterRegistry,
+                                 @Value("${app.http.etag.max-tracked:100000}") int maxTracked,
+                                 @Value(RabbitMQConfig.BROADCAST_CONDITION) boolean broadcast,
+                                 @Value("${app.messaging.transport:amqp}") String transport) {
+        this(meterRegistry, maxTracked, broadcast || "in-process".equals(transport));
+    }
+
+    /**
+     * @param coherent Todo nó recebe todos os eventos (a memória pode responder 304 sozinha)
+     */
+    public IncidentChangeTracker(MeterRegistry meterRegistry, int maxTracked, boolean coherent) {
+        this.maxTracked = maxTracked;
+        this.coherent = coherent;
+        this.notModified = conditional(meterRegistry, "not-modified");
+        this.revalidated = conditional(meterRegistry, "revalidated");
+        this.modified = conditional(meterRegistry, "modified");
+
+        Gauge.builder("incident.http.not-modified.ratio", this, IncidentChangeTracker::notModifiedRatio)
+                .description("Fração das leituras (por ID e listas) respondidas com 304")
+                .register(meterRegistry);
+        Gauge.builder("incident.http.etag.tracked", versions, Map::size)
+                .description("Incidentes com versão conhecida em memória")
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # Escritas
+    // ====================================
+    /**
+     * Incidente criado/alterado.
+     *
+     * @param version Versão gravada, ou null quando desconhecida (UPDATE em massa): a próxima
+     *                leitura vai ao banco
+     */
+    public void changed(Long id, Long version) {
+        if (id == null) {
+            return;
+        }
+        stamps.incrementAndGet(stripe(id));
+        if (version == null) {
+            versions.remove(id);
+        } else {
+            track(id, version);
+        }
+        listSequence.incrementAndGet();
+    }
+
+    public void deleted(Long id) {
+        if (id == null) {
+            return;
+        }
+        stamps.incrementAndGet(stripe(id));
+        versions.remove(id);
+        listSequence.incrementAndGet();
+    }
+
+    // ====================================
+    // # Leituras
+    // ====================================
+    /**
+     * Versão conhecida do incidente, ou null (ainda não lido/escrito neste nó, ou memória não
+     * confiável sem broadcast).
+     */
+    public Long version(Long id) {
+        return coherent ? versions.get(id) : null;
+    }
+
+    /**
+     * Stamp da faixa do incidente, capturado antes de consultar o banco (ver seen()).
+     */
+    public long stamp(Long id) {
+        return stamps.get(stripe(id));
+    }
+
+    /**
+     * Registra a versão lida do banco, se nenhuma escrita da faixa ocorreu desde o stamp.
+     */
+    public void seen(Long id, Long version, long stamp) {
+        if (id != null && version != null && stamps.get(stripe(id)) == stamp) {
+            track(id, version);
+        }
+    }
+
+    /**
+     * Estado da tabela para o ETag das listas. Com coherent, a última consulta é reaproveitada até
+     * a próxima escrita (a sequência é capturada antes da consulta, então uma escrita concorrente
+     * força outra consulta na leitura seguinte); sem coherent, toda leitura consulta o banco.
+     *
+     * @param query Consulta agregada (IncidentService.getListFingerprint)
+     */
+    public ListFingerprint listFingerprint(Supplier<String> query) {
+        if (!coherent) {
+            return new ListFingerprint(query.get(), false);
+        }
+        long sequence = listSequence.get();
+        CachedFingerprint cached = listFingerprint;
+        if (cached != null && cached.sequence() == sequence) {
+            return new ListFingerprint(cached.value(), true);
+        }
+        String value = query.get();
+        listFingerprint = new CachedFingerprint(sequence, value);
+        return new ListFingerprint(value, false);
+    }
+
+    // ====================================
+    // # ETags
+    // ====================================
+    public static String incidentTag(Long id, long version, String variant) {
+        return "\"" + id + "-" + version + variant + "\"";
+    }
+
+    public static String listTag(String fingerprint, String variant) {
+        return "\"L" + fingerprint + variant + "\"";
+    }
+
+    // ====================================
+    // # Resultado das leituras condicionais
+    // ====================================
+    /** 304 a partir da memória, sem consultar o banco. */
+    public void notModified() {
+        notModified.increment();
+    }
+
+    /** 304 depois de consultar o banco (versão não estava em memória). */
+    public void revalidated() {
+        revalidated.increment();
+    }
+
+    /** Resposta completa (200). */
+    public void modified() {
+        modified.increment();
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private void track(Long id, long version) {
+        if (!coherent) {
+            return;
+        }
+        if (versions.size() >= maxTracked && !versions.containsKey(id)) {
+            versions.clear();
+            log.debug("🏷️  [ETAG] Limite de {} versões em memória atingido; recomeçando", maxTracked);
+        }
+        versions.merge(id, version, Math::max);
+    }
+
+    private double notModifiedRatio() {
+        double hits = notModified.count() + revalidated.count();
+        double total = hits + modified.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static int stripe(Long id) {
+        return (int) (id ^ (id >>> 32)) & (STRIPES - 1);
+    }
+
+    /**
+     * @param cached true quando veio da memória, sem consultar o banco
+     */
+    public record ListFingerprint(String value, boolean cached) {}
+
+    private record CachedFingerprint(long sequence, String value) {}
+
+    private static Counter conditional(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("incident.http.conditional")
+                .description("Leituras de incidentes por resultado do ETag")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,330 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.infrastructure.persistence.IncidentExportCursor;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação de incidentes por período em NDJSON ou CSV, com memória constante.
+ *
+ * Fluxo:
+ * 1. IncidentExportCursor percorre os incidentes criados em [from, to) com um cursor forward-only
+ *    (streaming no MySQL), sem entidades nem OFFSET
+ * 2. Cada linha do ResultSet é escrita direto no stream de saída (JsonGenerator no NDJSON,
+ *    Writer com buffer no CSV); nenhuma lista é acumulada
+ * 3. A cada flush-rows linhas o buffer segue para o cliente (com gzip, em modo sync flush)
+ *
+ * O heap usado não depende do número de linhas: só os buffers de saída e a linha corrente.
+ * Cada exportação ocupa uma conexão do pool até o fim; max-concurrent limita quantas rodam juntas.
+ *
+ * NDJSON: um objeto por linha, com os mesmos campos e formatos do IncidentResponse.
+ * CSV: cabeçalho com os mesmos nomes de campo, RFC 4180 (aspas quando necessário, null vazio).
+ */
+@Slf4j
+@Service
+public class IncidentExportService {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final String[] COLUMNS = IncidentExportCursor.COLUMNS;
+    private static final SerializableString[] JSON_NAMES = new SerializableString[COLUMNS.length];
+
+    static {
+        for (int i = 0; i < COLUMNS.length; i++) {
+            JSON_NAMES[i] = new SerializedString(COLUMNS[i]);
+        }
+    }
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentExportCursor cursor;
+    private final ObjectMapper objectMapper;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int flushRows;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final Counter exportedRows;
+
+    public IncidentExportService(IncidentExportCursor cursor,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.export.flush-rows:1000}") int flushRows,
+                                 @Value("${app.export.max-concurrent:2}") int maxConcurrent) {
+        this.cursor = cursor;
+        this.objectMapper = objectMapper;
+        this.flushRows = Math.max(1, flushRows);
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+
+        Gauge.builder("incident.export.active", permits, available -> maxConcurrent - available.availablePermits())
+                .description("Exportações em andamento")
+                .register(meterRegistry);
+        this.exportedRows = Counter.builder("incident.export.rows")
+                .description("Incidentes exportados (NDJSON/CSV)")
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # Formatos
+    // ====================================
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * @throws IllegalArgumentException se o formato não for ndjson nem csv
+         */
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de exportação inválido: " + value + " (use ndjson ou csv)");
+            }
+        }
+    }
+
+    // ====================================
+    // # Limite de exportações simultâneas
+    // ====================================
+    /**
+     * @return false se max-concurrent exportações já estão em andamento
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    // ====================================
+    // # export - Escreve os incidentes criados em [from, to)
+    // ====================================
+    /**
+     * @return quantidade de incidentes exportados
+     */
+    public long export(LocalDateTime from, LocalDateTime to, Format format, boolean gzip, OutputStream out) throws IOException {
+        log.info("📦 [EXPORT] Exportando incidentes de {} a {} ({}{})", from, to, format, gzip ? ", gzip" : "");
+        long start = System.nanoTime();
+
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_BYTES, true) : null;
+        RowWriter writer = format == Format.NDJSON
+                ? new NdjsonWriter(compressed != null ? compressed : out)
+                : new CsvWriter(compressed != null ? compressed : out);
+        long[] rows = {0};
+        try {
+            writer.header();
+            cursor.stream(from, to, rs -> {
+                try {
+                    writer.row(rs);
+                    if (++rows[0] % flushRows == 0) {
+                        writer.flush();
+                        exportedRows.increment(flushRows);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+            out.flush();
+        } catch (UncheckedIOException e) {
+            log.warn("⚠️ [EXPORT] Exportação interrompida após {} incidentes: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        } finally {
+            exportedRows.increment(rows[0] % flushRows);
+        }
+
+        log.info("✅ [EXPORT] {} incidentes exportados em {} ms", rows[0], (System.nanoTime() - start) / 1_000_000);
+        return rows[0];
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    // ====================================
+    // # Escritores por formato
+    // ====================================
+    private interface RowWriter {
+        void header() throws IOException;
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * Uma linha JSON por incidente, nomes de campo pré-codificados.
+     */
+    private final class NdjsonWriter implements RowWriter {
+
+        private final JsonGenerator gen;
+
+        private NdjsonWriter(OutputStream out) throws IOException {
+            this.gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.gen.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void header() {
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            gen.writeStartObject();
+            for (int column = 1; column <= COLUMNS.length; column++) {
+                gen.writeFieldName(JSON_NAMES[column - 1]);
+                if (column == IncidentExportCursor.ID || column == IncidentExportCursor.SEQ) {
+                    long value = rs.getLong(column);
+                    if (rs.wasNull()) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeNumber(value);
+                    }
+                } else {
+                    String value = text(rs, column);
+                    if (value == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeString(value);
+                    }
+                }
+            }
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            gen.flush();
+        }
+    }
+
+    /**
+     * CSV RFC 4180 com cabeçalho.
+     */
+    private static final class CsvWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_BYTES);
+        }
+
+        @Override
+        public void header() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int column = 1; column <= COLUMNS.length; column++) {
+                if (column > 1) {
+                    writer.write(',');
+                }
+                String value = column == IncidentExportCursor.ID || column == IncidentExportCursor.SEQ
+                        ? rs.getString(column)
+                        : text(rs, column);
+                if (value != null) {
+                    quote(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void quote(String value) throws IOException {
+            boolean quoted = false;
+            for (int i = 0; i < value.length() && !quoted; i++) {
+                char c = value.charAt(i);
+                quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quoted) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            int from = 0;
+            for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', from)) {
+                writer.write(value, from, i + 1 - from);
+                writer.write('"');
+                from = i + 1;
+            }
+            writer.write(value, from, value.length() - from);
+            writer.write('"');
+        }
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    /**
+     * Texto da coluna; datas em ISO-8601 (como no IncidentResponse).
+     */
+    private static String text(ResultSet rs, int column) throws SQLException {
+        if (column == IncidentExportCursor.CREATED_AT || column == IncidentExportCursor.UPDATED_AT) {
+            LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+            return value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+        }
+        return rs.getString(column);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.dtos.response.HostSummaryResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentStatsResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.analytics.AnalyticsDimension;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serviço das consultas feitas pela sessão STOMP já aberta (IncidentQueryController).
+ *
+ * Fontes (nenhuma consulta ao MySQL no caminho comum):
+ * • Abertos e busca por ID → snapshot em cache do IncidentResumeService (uma consulta por TTL,
+ *   compartilhada com o resume); ID fora do snapshot (resolvido) → IncidentService (MySQL)
+ * • Resumo do host e estatísticas → janela colunar do IncidentAnalyticsService
+ * • SLA → acumuladores em memória do IncidentTimelineService
+ *
+ * Cada resposta leva o seq do stream em que os dados valem: o cliente aplica por cima os frames
+ * ao vivo com seq maior, como já faz com o snapshot do resume.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncidentQueryService {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int GROUP_LIMIT = 20;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentResumeService resumeService;
+    private final IncidentReplayBuffer replayBuffer;
+    private final IncidentService incidentService;
+    private final IncidentAnalyticsService analyticsService;
+    private final IncidentTimelineService timelineService;
+
+    // ====================================
+    // # open - Incidentes abertos
+    // ====================================
+    public Answer open(int limit) {
+        IncidentResumeService.Snapshot snapshot = resumeService.openIncidents();
+        List<IncidentResponse> incidents = snapshot.incidents();
+        return new Answer(snapshot.seq(), limit > 0 && limit < incidents.size() ? incidents.subList(0, limit) : incidents);
+    }
+
+    // ====================================
+    // # incident - Busca por ID
+    // ====================================
+    public Answer incident(Long id) {
+        IncidentResumeService.Snapshot snapshot = resumeService.openIncidents();
+        IncidentResponse incident = snapshot.find(id);
+        if (incident != null) {
+            return new Answer(snapshot.seq(), incident);
+        }
+        // Fora do snapshot (resolvido ou além de snapshot-max): seq lido antes da consulta
+        long seq = replayBuffer.head();
+        log.debug("🔍 [WEBSOCKET QUERY] Incidente {} fora do snapshot, consultando o MySQL", id);
+        return new Answer(seq, incidentService.getIncidentById(id));
+    }
+
+    // ====================================
+    // # host - Resumo de um host
+    // ====================================
+    public Answer host(String host, Duration range) {
+        IncidentResumeService.Snapshot snapshot = resumeService.openIncidents();
+        List<IncidentResponse> open = snapshot.incidents().stream()
+                .filter(incident -> host.equals(incident.host()))
+                .toList();
+        return new Answer(snapshot.seq(), new HostSummaryResponse(host, open,
+                analyticsService.groupBy(range, AnalyticsDimension.STATUS, null, null, host, null, GROUP_LIMIT),
+                analyticsService.groupBy(range, AnalyticsDimension.SEVERITY, null, null, host, null, GROUP_LIMIT)));
+    }
+
+    // ====================================
+    // # stats - Estatísticas do painel
+    // ====================================
+    public Answer stats(Duration range) {
+        IncidentResumeService.Snapshot snapshot = resumeService.openIncidents();
+        return new Answer(snapshot.seq(), new IncidentStatsResponse(snapshot.incidents().size(),
+                analyticsService.groupBy(range, AnalyticsDimension.STATUS, null, null, null, null, GROUP_LIMIT),
+                analyticsService.groupBy(range, AnalyticsDimension.SEVERITY, null, null, null, null, GROUP_LIMIT),
+                timelineService.sla()));
+    }
+
+    /**
+     * Resultado de uma consulta e o seq do stream em que ele vale.
+     */
+    public record Answer(long seq, Object data) {}
+}
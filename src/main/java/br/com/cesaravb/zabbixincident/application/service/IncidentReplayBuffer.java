@@ -0,0 +1,136 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentStreamEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffer circular com os eventos recentes do stream WebSocket, para o resume após reconexões.
+ *
+ * Fluxo:
+ * 1. WebSocketNotificationService chama appendOnce() antes de cada envio (criação, delta, tombstone)
+ *    e coloca o seq devolvido no header x-seq do frame; a retentativa de um envio que falhou
+ *    reaproveita o seq já registrado para o mesmo incidente e revisão (sem evento duplicado)
+ * 2. Ao reconectar, o cliente informa epoch + último seq (IncidentStreamController)
+ * 3. since() devolve os eventos posteriores, ou null se algum já foi sobrescrito
+ *    (o cliente recebe um snapshot)
+ *
+ * A sequência é global do nó e começa em epoch millis * 1000 (como o IncidentEventSequencer);
+ * o epoch identifica o stream: após um restart, ou ao reconectar em outro nó, o epoch
+ * do cliente não confere e o resume vira snapshot.
+ */
+@Service
+public class IncidentReplayBuffer {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String SEQ_HEADER = "x-seq";
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final long epoch;
+    private final IncidentStreamEvent[] ring;
+    private final String[] ringKeys;
+    private final Map<String, Long> seqByKey = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long head;
+
+    public IncidentReplayBuffer(MeterRegistry meterRegistry,
+                                @Value("${app.websocket.replay.capacity:10000}") int capacity) {
+        this.epoch = System.currentTimeMillis() * 1000;
+        this.head = epoch;
+        this.ring = new IncidentStreamEvent[Math.max(1, capacity)];
+        this.ringKeys = new String[ring.length];
+
+        Gauge.builder("incident.websocket.replay.size", this, b -> Math.min(b.head - b.epoch, b.ring.length))
+                .description("Eventos disponíveis para resume no buffer circular")
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # append - Registra um evento e devolve o seq dele
+    // ====================================
+    public long append(IncidentEventType type, Object payload) {
+        return appendOnce(type, payload, null).seq();
+    }
+
+    // ====================================
+    // # appendOnce - append() deduplicado por chave (tipo|incidente|revisão)
+    // ====================================
+    /**
+     * @param key Identidade do evento, ou null quando a revisão é desconhecida (sem deduplicação)
+     * @return seq do evento; duplicate = true se a chave ainda está no buffer (nada foi registrado)
+     */
+    public Appended appendOnce(IncidentEventType type, Object payload, String key) {
+        lock.lock();
+        try {
+            Long existing = key == null ? null : seqByKey.get(key);
+            if (existing != null) {
+                return new Appended(existing, true);
+            }
+            long seq = head + 1;
+            int index = index(seq);
+            if (ringKeys[index] != null) {
+                seqByKey.remove(ringKeys[index]);
+            }
+            ring[index] = new IncidentStreamEvent(seq, type, payload);
+            ringKeys[index] = key;
+            if (key != null) {
+                seqByKey.put(key, seq);
+            }
+            head = seq;
+            return new Appended(seq, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====================================
+    // # since - Eventos com seq maior que after (null se houver lacuna)
+    // ====================================
+    /**
+     * @param after Último seq que o cliente recebeu
+     * @return eventos em ordem de seq, ou null se after for de outro stream ou mais antigo que o buffer
+     */
+    public List<IncidentStreamEvent> since(long after) {
+        lock.lock();
+        try {
+            long oldest = Math.max(epoch + 1, head - ring.length + 1);
+            if (after > head || after + 1 < oldest) {
+                return null;
+            }
+            List<IncidentStreamEvent> events = new ArrayList<>((int) (head - after));
+            for (long seq = after + 1; seq <= head; seq++) {
+                events.add(ring[index(seq)]);
+            }
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long head() {
+        return head;
+    }
+
+    private int index(long seq) {
+        return (int) Math.floorMod(seq, (long) ring.length);
+    }
+
+    public record Appended(long seq, boolean duplicate) {}
+}
@@ -0,0 +1,169 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResumeResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentStreamEvent;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serviço do resume do stream WebSocket: replay dos eventos perdidos ou snapshot dos abertos.
+ *
+ * Fluxo:
+ * 1. O cliente assina os tópicos e depois /app/incidents/resume com x-epoch e x-last-seq
+ * 2. Mesmo epoch e seq ainda no IncidentReplayBuffer → REPLAY (só os eventos perdidos, sem MySQL)
+ * 3. Senão → SNAPSHOT: incidentes abertos + eventos do buffer posteriores ao snapshot
+ *
+ * O snapshot é compartilhado por snapshot-ttl-ms: após um deploy, as reconexões simultâneas
+ * fazem uma única consulta ao MySQL (as demais esperam a primeira e reaproveitam o resultado).
+ * O seq do snapshot é lido antes da consulta; os eventos posteriores seguem em events, então
+ * nada se perde entre o snapshot e os frames ao vivo (repetições são descartadas pelo seq do incidente).
+ *
+ * O mesmo snapshot responde às consultas STOMP de incidentes abertos (IncidentQueryService).
+ */
+@Slf4j
+@Service
+public class IncidentResumeService {
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentReplayBuffer replayBuffer;
+    private final IncidentRepository incidentRepository;
+    private final IncidentMapper incidentMapper;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int snapshotMax;
+    private final long snapshotTtlNanos;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    private final Counter replays;
+    private final Counter snapshots;
+    private final Counter snapshotQueries;
+
+    public IncidentResumeService(IncidentReplayBuffer replayBuffer,
+                                 IncidentRepository incidentRepository,
+                                 IncidentMapper incidentMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.websocket.replay.snapshot-max:2000}") int snapshotMax,
+                                 @Value("${app.websocket.replay.snapshot-ttl-ms:1000}") long snapshotTtlMillis) {
+        this.replayBuffer = replayBuffer;
+        this.incidentRepository = incidentRepository;
+        this.incidentMapper = incidentMapper;
+        this.snapshotMax = Math.max(1, snapshotMax);
+        this.snapshotTtlNanos = TimeUnit.MILLISECONDS.toNanos(snapshotTtlMillis);
+
+        this.replays = Counter.builder("incident.websocket.resume").tag("mode", "replay")
+                .description("Resumes do stream WebSocket").register(meterRegistry);
+        this.snapshots = Counter.builder("incident.websocket.resume").tag("mode", "snapshot")
+                .description("Resumes do stream WebSocket").register(meterRegistry);
+        this.snapshotQueries = Counter.builder("incident.websocket.resume.queries")
+                .description("Consultas ao MySQL para montar snapshots").register(meterRegistry);
+    }
+
+    // ====================================
+    // # resume - Replay ou snapshot
+    // ====================================
+    /**
+     * @param epoch   Epoch informado pelo cliente (null na primeira conexão)
+     * @param lastSeq Último seq recebido pelo cliente (null na primeira conexão)
+     */
+    public IncidentResumeResponse resume(Long epoch, Long lastSeq) {
+        if (epoch != null && lastSeq != null && epoch == replayBuffer.epoch()) {
+            List<IncidentStreamEvent> events = replayBuffer.since(lastSeq);
+            if (events != null) {
+                replays.increment();
+                log.debug("⏩ [WEBSOCKET RESUME] Replay de {} eventos após seq {}", events.size(), lastSeq);
+                return new IncidentResumeResponse(IncidentResumeResponse.REPLAY, replayBuffer.epoch(),
+                        lastSeq(events, lastSeq), null, events);
+            }
+        }
+
+        Snapshot current = snapshot();
+        List<IncidentStreamEvent> events = replayBuffer.since(current.seq());
+        if (events == null) {
+            // Buffer girou desde o snapshot em cache: monta outro
+            current = snapshot(current);
+            events = replayBuffer.since(current.seq());
+        }
+        snapshots.increment();
+        log.debug("📸 [WEBSOCKET RESUME] Snapshot com {} incidentes abertos (epoch {}, seq {})",
+                current.incidents().size(), epoch, lastSeq);
+        return new IncidentResumeResponse(IncidentResumeResponse.SNAPSHOT, replayBuffer.epoch(),
+                lastSeq(events, current.seq()), current.incidents(), events == null ? List.of() : events);
+    }
+
+    // ====================================
+    // # openIncidents - Snapshot dos abertos em cache (sem contar como resume)
+    // ====================================
+    public Snapshot openIncidents() {
+        return snapshot();
+    }
+
+    // ====================================
+    // # snapshot - Incidentes abertos, uma consulta por janela de TTL
+    // ====================================
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - current.takenAt() < snapshotTtlNanos) {
+            return current;
+        }
+        return snapshot(current);
+    }
+
+    private Snapshot snapshot(Snapshot stale) {
+        snapshotLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != stale) {
+                return current;
+            }
+            long seq = replayBuffer.head();
+            List<IncidentResponse> incidents = incidentRepository.findAllUnresolved(PageRequest.of(0, snapshotMax))
+                    .map(incidentMapper::toResponse)
+                    .getContent();
+            snapshotQueries.increment();
+            Map<Long, IncidentResponse> byId = new HashMap<>(incidents.size() * 2);
+            for (IncidentResponse incident : incidents) {
+                byId.put(incident.id(), incident);
+            }
+            current = new Snapshot(System.nanoTime(), seq, incidents, byId);
+            snapshot = current;
+            return current;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private static long lastSeq(List<IncidentStreamEvent> events, long fallback) {
+        return events == null || events.isEmpty() ? fallback : events.get(events.size() - 1).seq();
+    }
+
+    /**
+     * Incidentes abertos no seq do stream em que a consulta foi feita.
+     */
+    public record Snapshot(long takenAt, long seq, List<IncidentResponse> incidents, Map<Long, IncidentResponse> byId) {
+
+        public IncidentResponse find(Long id) {
+            return byId.get(id);
+        }
+    }
+}
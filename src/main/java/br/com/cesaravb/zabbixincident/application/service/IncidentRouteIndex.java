@@ -0,0 +1,56 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória ID → severidade/host/hostids/source dos incidentes em aberto.
+ *
+ * Deltas e tombstones trazem só o ID; a rota gravada na criação (ou no snapshot do resume SSE)
+ * decide os destinos WebSocket hierárquicos (IncidentTopicFanout) e os filtros das conexões SSE
+ * (IncidentSseBroadcaster). O WebSocketNotificationService grava a rota no CREATED e a remove
+ * depois de publicar a resolução, o fechamento ou a deleção.
+ *
+ * Limitado a route-index-max entradas: incidentes fora do índice (ex: criados antes do restart)
+ * seguem só para os destinos gerais.
+ */
+@Component
+public class IncidentRouteIndex {
+
+    private final int maxRoutes;
+    private final Map<Long, Route> routes = new ConcurrentHashMap<>();
+
+    public IncidentRouteIndex(@Value("${app.sse.route-index-max:100000}") int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    public void record(IncidentResponse incident) {
+        if (incident.id() != null && (routes.size() < maxRoutes || routes.containsKey(incident.id()))) {
+            routes.put(incident.id(), new Route(incident.severity(), incident.host(), incident.hostids(),
+                    incident.source()));
+        }
+    }
+
+    /**
+     * @return rota do incidente, ou null se não está no índice
+     */
+    public Route get(Long incidentId) {
+        return incidentId == null ? null : routes.get(incidentId);
+    }
+
+    public void forget(Long incidentId) {
+        if (incidentId != null) {
+            routes.remove(incidentId);
+        }
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    public record Route(String severity, String host, String hostids, String source) {}
+}
@@ -1,18 +1,27 @@
 package br.com.cesaravb.zabbixincident.application.service;
 
 import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
 import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
 import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
 import br.com.cesaravb.zabbixincident.dtos.request.CreateIncidentRequest;
 import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentTimelineEntry;
+import br.com.cesaravb.zabbixincident.dtos.response.RecoveryResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventPublisher;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventSequencer;
 import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
 /**
  * Serviço responsável por gerenciar incidentes.
  *
@@ -20,9 +29,13 @@ import org.springframework.stereotype.Service;
  * 1. Recebe CreateIncidentRequest do Controller
  * 2. Valida e converte para Entity
  * 3. Salva no banco de dados
- * 4. PUBLICA na fila RabbitMQ
+ * 4. PUBLICA o envelope IncidentEvent, não a entidade (IncidentEventPublisher: RabbitMQ ou
+ *    barramento em memória no perfil single-node)
  * 5. Retorna IncidentResponse
  *
+ * Payloads de recuperação (resolve) não criam incidente: são correlacionados
+ * com o problema aberto pelo RecoveryCorrelationService.
+ *
  * Logger rastreia cada etapa do processo
  */
 @Slf4j
@@ -35,13 +48,19 @@ public class IncidentService {
     // ====================================
     private final IncidentRepository incidentRepository;
     private final IncidentMapper incidentMapper;
-    private final RabbitTemplate rabbitTemplate;
+    private final IncidentEventPublisher eventPublisher;
+    private final IncidentAnalyticsService analyticsService;
+    private final EscalationService escalationService;
+    private final RecoveryCorrelationService recoveryCorrelationService;
+    private final IncidentTimelineService timelineService;
+    private final IncidentEventSequencer eventSequencer;
+    private final IncidentChangeTracker changeTracker;
 
     // ====================================
     // # Constantes RabbitMQ
     // ====================================
-    private static final String EXCHANGE = "zabbix.incident.exchange";
-    private static final String ROUTING_KEY = "incident.created";
+    private static final String EXCHANGE = RabbitMQConfig.INCIDENT_EXCHANGE;
+    private static final String DEFAULT_ACTOR = "api";
 
     // ====================================
     // # createIncident - Criar novo incidente
@@ -103,20 +122,27 @@ public class IncidentService {
         log.info("   - ID gerado: {}", saved.getId());
         log.info("   - Created At: {}", saved.getCreatedAt());
         log.info("   - Updated At: {}", saved.getUpdatedAt());
+        changeTracker.changed(saved.getId(), saved.getVersion());
+        analyticsService.record(saved);
+        timelineService.opened(saved);
+        escalationService.arm(saved);
+        recoveryCorrelationService.register(saved);
         
         // ====================================
         // # PUBLICAR na fila RabbitMQ
         // ====================================
         log.info("📤 [PUBLISH TO RABBITMQ] Publicando incidente na fila");
         log.info("   - Exchange: {}", EXCHANGE);
-        log.info("   - Routing Key: {}", ROUTING_KEY);
+        String routingKey = RabbitMQConfig.routingKey(IncidentEventType.CREATED, saved.getSeverity());
+        log.info("   - Routing Key: {}", routingKey);
         log.info("   - Incident ID: {}", saved.getId());
         log.debug("   - Payload: {}", saved);
         
         try {
-            rabbitTemplate.convertAndSend(EXCHANGE, ROUTING_KEY, saved);
+            // Broker fora do ar → o evento vai para o spool em disco e é publicado quando ele voltar
+            eventPublisher.publish(routingKey, incidentMapper.toCreatedEvent(saved, eventSequencer.next()), saved.getSeverity());
             log.info("✅ [PUBLISH TO RABBITMQ] Publicado com sucesso!");
-            log.info("   - Mensagem enfileirada em: zabbix.incident.queue");
+            log.info("   - Mensagem enfileirada em: {}", RabbitMQConfig.INCIDENT_QUEUE);
         } catch (Exception e) {
             log.error("❌ [PUBLISH TO RABBITMQ] Erro ao publicar: {}", e.getMessage(), e);
             throw new RuntimeException("Erro ao publicar na fila RabbitMQ", e);
@@ -133,6 +159,26 @@ public class IncidentService {
         return response;
     }
 
+    // ====================================
+    // # resolveRecovery - Correlacionar evento de recuperação do Zabbix
+    // ====================================
+    /**
+     * Trata um payload de recuperação: resolve o problema correspondente sem criar
+     * um novo incidente e sem publicar no RabbitMQ.
+     *
+     * @param request DTO de recuperação do Zabbix
+     * @return RecoveryResponse com o resultado da correlação
+     */
+    public RecoveryResponse resolveRecovery(CreateIncidentRequest request) {
+        log.info("🔗 [RECOVERY] Recebida recuperação do Zabbix - Event ID: {}, Problem Event ID: {}",
+                request.zabbixEventId(), request.problemEventId());
+        return recoveryCorrelationService.correlate(request);
+    }
+
+    public boolean isRecovery(CreateIncidentRequest request) {
+        return recoveryCorrelationService.isRecovery(request);
+    }
+
     // ====================================
     // # getIncidentById - Buscar por ID
     // ====================================
@@ -148,6 +194,30 @@ public class IncidentService {
         return incidentMapper.toResponse(incident);
     }
 
+    // ====================================
+    // # getIncidentVersion - Só a versão (revalidação do ETag)
+    // ====================================
+    /**
+     * @return versão gravada, ou null se o incidente não existe
+     */
+    public Long getIncidentVersion(Long id) {
+        return incidentRepository.findVersionById(id).orElse(null);
+    }
+
+    // ====================================
+    // # getListFingerprint - Estado da tabela para o ETag das listas
+    // ====================================
+    /**
+     * "{count}-{soma das versões}-{última alteração em µs}": igual em todos os nós e depois de restarts.
+     */
+    public String getListFingerprint() {
+        IncidentRepository.TableVersion table = incidentRepository.tableVersion();
+        LocalDateTime lastUpdate = table.getLastUpdate();
+        long micros = lastUpdate == null ? 0
+                : lastUpdate.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastUpdate.getNano() / 1_000;
+        return table.getCount() + "-" + table.getVersionSum() + "-" + micros;
+    }
+
     // ====================================
     // # getIncidentByZabbixEventId - Buscar por Zabbix Event ID
     // ====================================
@@ -192,7 +262,7 @@ public class IncidentService {
     // ====================================
     // # updateIncidentStatus - Atualizar status
     // ====================================
-    public IncidentResponse updateIncidentStatus(Long id, String newStatus) {
+    public IncidentResponse updateIncidentStatus(Long id, String newStatus, String actor) {
         log.info("=".repeat(80));
         log.info("🔄 [UPDATE STATUS] Atualizando status do incidente");
         log.info("   - ID: {}", id);
@@ -208,16 +278,26 @@ public class IncidentService {
         
         incident.setStatus(IncidentStatus.valueOf(newStatus));
         log.debug("✅ [UPDATE STATUS] Status convertido para Enum");
+        if (incident.getStatus() == IncidentStatus.OPEN && oldStatus != IncidentStatus.OPEN) {
+            // Reaberto: os níveis de escalonamento recomeçam
+            incident.setEscalationLevel(0);
+        }
         
         Incident updated = incidentRepository.save(incident);
         log.info("✅ [UPDATE STATUS] Salvo no banco com novo status");
+        changeTracker.changed(updated.getId(), updated.getVersion());
+        analyticsService.recordStatus(updated.getId(), updated.getStatus());
+        timelineService.transitioned(updated, oldStatus, actor != null && !actor.isBlank() ? actor : DEFAULT_ACTOR);
+        escalationService.onStatusChanged(updated);
+        recoveryCorrelationService.onStatusChanged(updated);
         
         // ====================================
         // # PUBLICAR alteração na fila
         // ====================================
         log.info("📤 [PUBLISH TO RABBITMQ] Publicando atualização na fila");
         try {
-            rabbitTemplate.convertAndSend(EXCHANGE, ROUTING_KEY, updated);
+            eventPublisher.publish(RabbitMQConfig.routingKey(IncidentEventType.STATUS_CHANGED, updated.getSeverity()),
+                    incidentMapper.toStatusChangedEvent(updated, eventSequencer.next()), updated.getSeverity());
             log.info("✅ [PUBLISH TO RABBITMQ] Atualização publicada com sucesso!");
         } catch (Exception e) {
             log.error("❌ [PUBLISH TO RABBITMQ] Erro ao publicar atualização", e);
@@ -227,6 +307,22 @@ public class IncidentService {
         return incidentMapper.toResponse(updated);
     }
 
+    // ====================================
+    // # getTimeline - Linha do tempo de status
+    // ====================================
+    public List<IncidentTimelineEntry> getTimeline(Long id) {
+        log.info("🕒 [TIMELINE] Buscando linha do tempo do incidente com ID: {}", id);
+
+        if (!incidentRepository.existsById(id)) {
+            log.error("❌ [TIMELINE] Incidente com ID {} não encontrado", id);
+            throw new RuntimeException("Incidente não encontrado");
+        }
+
+        List<IncidentTimelineEntry> timeline = timelineService.timeline(id);
+        log.info("✅ [TIMELINE] {} transições encontradas", timeline.size());
+        return timeline;
+    }
+
     // ====================================
     // # deleteIncident - Deletar
     // ====================================
@@ -239,6 +335,22 @@ public class IncidentService {
                 });
         
         incidentRepository.delete(incident);
+        changeTracker.deleted(id);
+        analyticsService.forget(id);
+        escalationService.disarm(id);
+        recoveryCorrelationService.forget(incident);
+        timelineService.forget(id);
         log.info("✅ [DELETE INCIDENT] Deletado com sucesso!");
+
+        // ====================================
+        // # PUBLICAR deleção na fila
+        // ====================================
+        try {
+            eventPublisher.publish(RabbitMQConfig.routingKey(IncidentEventType.DELETED, incident.getSeverity()),
+                    incidentMapper.toDeletedEvent(incident, eventSequencer.next()), incident.getSeverity());
+            log.debug("📤 [PUBLISH TO RABBITMQ] Deleção do incidente {} publicada", id);
+        } catch (Exception e) {
+            log.error("❌ [PUBLISH TO RABBITMQ] Erro ao publicar deleção", e);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,267 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentDelta;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResumeResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentStreamEvent;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentTombstone;
+import br.com.cesaravb.zabbixincident.infrastructure.sse.SseConnection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stream de incidentes em Server-Sent Events (GET /api/incidents/events), alimentado pelo
+ * mesmo pipeline do WebSocket: WebSocketNotificationService chama publish() com o mesmo
+ * evento que entra no IncidentReplayBuffer.
+ *
+ * Fluxo:
+ * 1. open() registra a conexão e monta o resume com o IncidentResumeService: Last-Event-ID do mesmo
+ *    epoch e ainda no buffer → replay; senão (primeira conexão, restart ou outro nó atrás do
+ *    balanceador) → evento snapshot com os abertos
+ * 2. publish() formata o frame SSE uma vez por evento e o enfileira nas conexões cujo filtro aceita
+ * 3. Cada conexão escreve na própria thread virtual (SseConnection); quem publica nunca espera um socket
+ * 4. heartbeat() envia um comentário às conexões ociosas (proxies não derrubam a conexão)
+ *
+ * Filtros por severidade e host: o evento CREATED traz os dois; deltas e tombstones só o ID,
+ * então a rota vem do IncidentRouteIndex (o mesmo dos destinos WebSocket hierárquicos). Deltas
+ * de incidentes fora do índice seguem para todas as conexões (o cliente ignora IDs que não conhece).
+ *
+ * Métricas:
+ * • incident.sse.connections → Conexões abertas
+ * • incident.sse.lagging → Conexões encerradas por atraso (max-pending)
+ */
+@Slf4j
+@Service
+public class IncidentSseBroadcaster implements SseConnection.Listener {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final String HEARTBEAT = ":keepalive\n\n";
+    private static final String SNAPSHOT_EVENT = "snapshot";
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentResumeService resumeService;
+    private final IncidentReplayBuffer replayBuffer;
+    private final ObjectMapper objectMapper;
+    private final IncidentRouteIndex routeIndex;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int maxConnections;
+    private final int maxPending;
+    private final long timeoutMillis;
+    private final long retryMillis;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Set<SseConnection> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sse-writer-", 0).factory());
+    private final Counter lagging;
+
+    public IncidentSseBroadcaster(IncidentResumeService resumeService,
+                                  IncidentReplayBuffer replayBuffer,
+                                  ObjectMapper objectMapper,
+                                  IncidentRouteIndex routeIndex,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.sse.max-connections:5000}") int maxConnections,
+                                  @Value("${app.sse.max-pending:1000}") int maxPending,
+                                  @Value("${app.sse.timeout-ms:1800000}") long timeoutMillis,
+                                  @Value("${app.sse.retry-ms:3000}") long retryMillis) {
+        this.resumeService = resumeService;
+        this.replayBuffer = replayBuffer;
+        this.objectMapper = objectMapper;
+        this.routeIndex = routeIndex;
+        this.maxConnections = maxConnections;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+        this.retryMillis = retryMillis;
+
+        Gauge.builder("incident.sse.connections", connections, Set::size)
+                .description("Conexões Server-Sent Events abertas")
+                .register(meterRegistry);
+        this.lagging = Counter.builder("incident.sse.lagging")
+                .description("Conexões SSE encerradas por excesso de frames pendentes")
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # open - Nova conexão (resume + eventos ao vivo)
+    // ====================================
+    /**
+     * @param lastEventId Header Last-Event-ID ("{epoch}-{seq}" do último evento recebido) ou null
+     * @return emitter da conexão, ou null se o limite de conexões foi atingido
+     */
+    public ResponseBodyEmitter open(SseConnection.Filter filter, String lastEventId) {
+        if (connections.size() >= maxConnections) {
+            log.warn("⚠️ [SSE] Limite de {} conexões atingido", maxConnections);
+            return null;
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        SseConnection connection = new SseConnection(emitter, writers, filter, maxPending, this);
+        emitter.onCompletion(() -> connections.remove(connection));
+        emitter.onTimeout(() -> connections.remove(connection));
+        emitter.onError(e -> connections.remove(connection));
+        connections.add(connection);
+
+        // Registrada antes do resume: nada publicado entre o resume e o registro se perde
+        EventId last = EventId.parse(lastEventId);
+        IncidentResumeResponse resume = last == null ? resumeService.resume(null, null)
+                : resumeService.resume(last.epoch(), last.seq());
+        List<String> frames = new ArrayList<>();
+        frames.add("retry: " + retryMillis + "\n\n");
+        if (IncidentResumeResponse.SNAPSHOT.equals(resume.mode())) {
+            List<IncidentResponse> open = resume.snapshot().stream()
+                    .peek(routeIndex::record)
+                    .filter(incident -> filter.matches(incident.severity(), incident.host()))
+                    .toList();
+            long snapshotSeq = resume.events().isEmpty() ? resume.seq() : resume.events().get(0).seq() - 1;
+            frames.add(frame(snapshotSeq, SNAPSHOT_EVENT, open));
+        }
+        for (IncidentStreamEvent event : resume.events()) {
+            if (accepts(filter, event)) {
+                frames.add(frame(event));
+            }
+        }
+        connection.start(frames, resume.seq());
+        log.info("📡 [SSE] Conexão aberta ({}, {} frames de resume, {} conexões)",
+                resume.mode(), frames.size() - 1, connections.size());
+        return emitter;
+    }
+
+    // ====================================
+    // # publish - Evento do pipeline (mesmo seq do IncidentReplayBuffer)
+    // ====================================
+    public void publish(IncidentStreamEvent event) {
+        if (!connections.isEmpty()) {
+            String frame = null;
+            for (SseConnection connection : connections) {
+                if (accepts(connection.filter(), event)) {
+                    if (frame == null) {
+                        frame = frame(event);
+                    }
+                    connection.offer(event.seq(), frame);
+                }
+            }
+        }
+    }
+
+    // ====================================
+    // # heartbeat - Comentário SSE nas conexões ociosas
+    // ====================================
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (SseConnection connection : connections) {
+            if (connection.idle()) {
+                connection.offer(0, HEARTBEAT);
+            }
+        }
+    }
+
+    @Override
+    public void lagging() {
+        lagging.increment();
+    }
+
+    public int connections() {
+        return connections.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.forEach(SseConnection::close);
+        writers.shutdownNow();
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private boolean accepts(SseConnection.Filter filter, IncidentStreamEvent event) {
+        if (filter.isEmpty()) {
+            return true;
+        }
+        if (event.payload() instanceof IncidentResponse incident) {
+            return filter.matches(incident.severity(), incident.host());
+        }
+        IncidentRouteIndex.Route route = routeIndex.get(incidentId(event));
+        return route == null || filter.matches(route.severity(), route.host());
+    }
+
+    private static Long incidentId(IncidentStreamEvent event) {
+        return switch (event.payload()) {
+            case IncidentResponse incident -> incident.id();
+            case IncidentDelta delta -> delta.id();
+            case IncidentTombstone tombstone -> tombstone.id();
+            default -> null;
+        };
+    }
+
+    private String frame(IncidentStreamEvent event) {
+        return frame(event.seq(), event.type().name().toLowerCase().replace('_', '-'), event.payload());
+    }
+
+    /**
+     * id = "{epoch}-{seq}" do stream (volta no Last-Event-ID), event = tipo, data = o mesmo JSON do
+     * frame WebSocket. O epoch identifica o buffer do nó: reconectar em outro nó ou após um restart
+     * vira snapshot, mesmo que o seq exista por coincidência no buffer novo.
+     */
+    private String frame(long seq, String name, Object payload) {
+        try {
+            return "id: " + new EventId(replayBuffer.epoch(), seq) + "\nevent: " + name + "\ndata: "
+                    + objectMapper.writeValueAsString(payload) + "\n\n";
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar evento SSE", e);
+        }
+    }
+
+    /**
+     * id de um evento SSE: epoch do IncidentReplayBuffer + seq do stream.
+     */
+    record EventId(long epoch, long seq) {
+
+        /**
+         * @return null para Last-Event-ID ausente ou fora do formato "{epoch}-{seq}" (vira snapshot)
+         */
+        static EventId parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            int dash = value.indexOf('-');
+            if (dash <= 0) {
+                return null;
+            }
+            try {
+                return new EventId(Long.parseLong(value.substring(0, dash).trim()),
+                        Long.parseLong(value.substring(dash + 1).trim()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return epoch + "-" + seq;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.entity.IncidentStatusTransition;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentStatusTransitionRepository;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentTimelineEntry;
+import br.com.cesaravb.zabbixincident.dtos.response.SlaResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.persistence.TransitionBatchWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serviço responsável pela linha do tempo de status dos incidentes e pelos indicadores de SLA.
+ *
+ * Fluxo:
+ * 1. IncidentService (e a correlação de recuperações) informa cada transição de status
+ * 2. A transição é enfileirada no TransitionBatchWriter (tabela append-only incident_events)
+ * 3. MTTA/MTTR por severidade são atualizados na hora, em memória, a partir da transição
+ * 4. GET /api/incidents/{id}/timeline junta as linhas gravadas com as ainda pendentes no lote
+ *
+ * MTTA = tempo até o primeiro IN_PROGRESS; MTTR = tempo até o primeiro RESOLVED/CLOSED.
+ * Na inicialização, os acumuladores são semeados por uma única consulta agregada em
+ * incident_events e os relógios dos incidentes em aberto são restaurados.
+ */
+@Slf4j
+@Service
+public class IncidentTimelineService {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int RESTORE_PAGE_SIZE = 1000;
+    private static final String SEED_SQL = """
+            SELECT i.severity, COUNT(*), COALESCE(SUM(TIMESTAMPDIFF(MICROSECOND, i.created_at, f.first_at)), 0)
+            FROM incidents i
+            JOIN (SELECT incident_id, MIN(occurred_at) AS first_at
+                  FROM incident_events
+                  WHERE to_status IN (%s)
+                  GROUP BY incident_id) f ON f.incident_id = i.id
+            GROUP BY i.severity
+            """;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final TransitionBatchWriter writer;
+    private final IncidentStatusTransitionRepository transitionRepository;
+    private final IncidentRepository incidentRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Map<Long, OpenClock> clocks = new ConcurrentHashMap<>();
+    private final SlaAccumulator[] acknowledged = SlaAccumulator.perSeverity();
+    private final SlaAccumulator[] resolved = SlaAccumulator.perSeverity();
+
+    public IncidentTimelineService(TransitionBatchWriter writer,
+                                   IncidentStatusTransitionRepository transitionRepository,
+                                   IncidentRepository incidentRepository,
+                                   JdbcTemplate jdbcTemplate) {
+        this.writer = writer;
+        this.transitionRepository = transitionRepository;
+        this.incidentRepository = incidentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ====================================
+    // # restore - Semeia MTTA/MTTR e restaura os relógios em aberto
+    // ====================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        log.info("🕒 [TIMELINE] Semeando indicadores de SLA a partir de incident_events");
+        try {
+            seed("'IN_PROGRESS'", acknowledged);
+            seed("'RESOLVED', 'CLOSED'", resolved);
+
+            int pageNumber = 0;
+            Page<Incident> page;
+            do {
+                page = incidentRepository.findAllUnresolved(PageRequest.of(pageNumber++, RESTORE_PAGE_SIZE));
+                page.forEach(incident -> clocks.put(incident.getId(), new OpenClock(toMillis(incident.getCreatedAt()),
+                        incident.getSeverity(), incident.getStatus() == IncidentStatus.IN_PROGRESS)));
+            } while (page.hasNext());
+            log.info("✅ [TIMELINE] {} relógios de SLA restaurados", clocks.size());
+        } catch (Exception e) {
+            log.error("❌ [TIMELINE] Erro ao semear indicadores de SLA: {}", e.getMessage(), e);
+        }
+    }
+
+    // ====================================
+    // # opened - Criação do incidente (null → OPEN)
+    // ====================================
+    public void opened(Incident incident) {
+        clocks.put(incident.getId(), new OpenClock(toMillis(incident.getCreatedAt()), incident.getSeverity(), false));
+        append(incident.getId(), null, incident.getStatus(), incident.getSource());
+    }
+
+    // ====================================
+    // # transitioned - Mudança de status via API
+    // ====================================
+    public void transitioned(Incident incident, IncidentStatus fromStatus, String actor) {
+        if (fromStatus == incident.getStatus()) {
+            return;
+        }
+        append(incident.getId(), fromStatus, incident.getStatus(), actor);
+        account(incident.getId(), incident.getStatus());
+    }
+
+    // ====================================
+    // # resolvedByRecovery - Resolução automática (UPDATE condicional, sem SELECT)
+    // ====================================
+    public void resolvedByRecovery(Long incidentId) {
+        OpenClock clock = clocks.get(incidentId);
+        IncidentStatus fromStatus = clock == null ? null : clock.acknowledged.get() ? IncidentStatus.IN_PROGRESS : IncidentStatus.OPEN;
+        append(incidentId, fromStatus, IncidentStatus.RESOLVED, "zabbix-recovery");
+        account(incidentId, IncidentStatus.RESOLVED);
+    }
+
+    public void forget(Long incidentId) {
+        clocks.remove(incidentId);
+    }
+
+    // ====================================
+    // # timeline - Linha do tempo (gravadas + pendentes no lote)
+    // ====================================
+    public List<IncidentTimelineEntry> timeline(Long incidentId) {
+        // Pendentes primeiro: uma linha gravada entre as duas leituras aparece nas duas e é deduplicada
+        List<IncidentStatusTransition> pending = writer.pending(incidentId);
+        List<IncidentStatusTransition> stored = transitionRepository.findByIncidentIdOrderByOccurredAtAscIdAsc(incidentId);
+
+        List<IncidentTimelineEntry> entries = new ArrayList<>(stored.size() + pending.size());
+        Set<String> seen = new HashSet<>();
+        for (IncidentStatusTransition transition : stored) {
+            seen.add(key(transition));
+            entries.add(toEntry(transition, false));
+        }
+        for (IncidentStatusTransition transition : pending) {
+            if (!seen.contains(key(transition))) {
+                entries.add(toEntry(transition, true));
+            }
+        }
+        entries.sort(Comparator.comparing(IncidentTimelineEntry::occurredAt));
+        return entries;
+    }
+
+    // ====================================
+    // # sla - MTTA/MTTR por severidade
+    // ====================================
+    public List<SlaResponse> sla() {
+        List<SlaResponse> result = new ArrayList<>();
+        for (SeverityLevel severity : SeverityLevel.values()) {
+            SlaAccumulator ack = acknowledged[severity.ordinal()];
+            SlaAccumulator res = resolved[severity.ordinal()];
+            result.add(new SlaResponse(severity.name(), ack.count.sum(), ack.averageSeconds(),
+                    res.count.sum(), res.averageSeconds()));
+        }
+        return result;
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private void append(Long incidentId, IncidentStatus fromStatus, IncidentStatus toStatus, String actor) {
+        writer.append(IncidentStatusTransition.builder()
+                .incidentId(incidentId)
+                .fromStatus(fromStatus)
+                .toStatus(toStatus)
+                .actor(actor)
+                .occurredAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build());
+    }
+
+    /**
+     * Atualiza os acumuladores apenas na primeira ocorrência de cada marco; reaberturas
+     * não geram um novo relógio, então cada incidente conta no máximo uma vez.
+     */
+    private void account(Long incidentId, IncidentStatus toStatus) {
+        long now = System.currentTimeMillis();
+        if (toStatus == IncidentStatus.IN_PROGRESS) {
+            OpenClock clock = clocks.get(incidentId);
+            if (clock != null && clock.acknowledged.compareAndSet(false, true)) {
+                acknowledged[clock.severity.ordinal()].add(now - clock.openedAtMillis);
+            }
+        } else if (toStatus == IncidentStatus.RESOLVED || toStatus == IncidentStatus.CLOSED) {
+            OpenClock clock = clocks.remove(incidentId);
+            if (clock != null) {
+                resolved[clock.severity.ordinal()].add(now - clock.openedAtMillis);
+            }
+        }
+    }
+
+    private void seed(String statuses, SlaAccumulator[] target) {
+        jdbcTemplate.query(SEED_SQL.formatted(statuses), rs -> {
+            SeverityLevel severity = SeverityLevel.valueOf(rs.getString(1));
+            target[severity.ordinal()].count.add(rs.getLong(2));
+            target[severity.ordinal()].totalMillis.add(rs.getLong(3) / 1000);
+        });
+    }
+
+    private static String key(IncidentStatusTransition transition) {
+        return transition.getFromStatus() + ">" + transition.getToStatus() + "@" + transition.getOccurredAt();
+    }
+
+    private static IncidentTimelineEntry toEntry(IncidentStatusTransition transition, boolean pending) {
+        return new IncidentTimelineEntry(
+                transition.getFromStatus() == null ? null : transition.getFromStatus().name(),
+                transition.getToStatus().name(),
+                transition.getActor(),
+                transition.getOccurredAt(),
+                pending);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        LocalDateTime value = dateTime != null ? dateTime : LocalDateTime.now();
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // ====================================
+    // # Tipos internos
+    // ====================================
+    private static final class OpenClock {
+        private final long openedAtMillis;
+        private final SeverityLevel severity;
+        private final AtomicBoolean acknowledged;
+
+        private OpenClock(long openedAtMillis, SeverityLevel severity, boolean acknowledged) {
+            this.openedAtMillis = openedAtMillis;
+            this.severity = severity;
+            this.acknowledged = new AtomicBoolean(acknowledged);
+        }
+    }
+
+    private static final class SlaAccumulator {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+
+        private static SlaAccumulator[] perSeverity() {
+            SlaAccumulator[] accumulators = new SlaAccumulator[SeverityLevel.values().length];
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i] = new SlaAccumulator();
+            }
+            return accumulators;
+        }
+
+        private void add(long millis) {
+            count.increment();
+            totalMillis.add(Math.max(0, millis));
+        }
+
+        private double averageSeconds() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalMillis.sum() / 1000.0 / n;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.ConflatingWebSocketSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publicação de incidentes nos destinos hierárquicos do WebSocket.
+ *
+ * Destinos (além do geral /topic/incidents):
+ * • /topic/incidents/severity/{level} → ex: /topic/incidents/severity/CRITICAL
+ * • /topic/incidents/host/{hostids}   → um destino por ID quando hostids tem vários (separados por vírgula)
+ * • /topic/incidents/source/{source}  → ex: /topic/incidents/source/zabbix
+ *
+ * Deltas e tombstones seguem a mesma hierarquia sob /topic/incidents/updated e
+ * /topic/incidents/deleted (ex: /topic/incidents/updated/severity/CRITICAL), com a rota do
+ * incidente vinda do IncidentRouteIndex. Ficam em destinos próprios para que a conflação por
+ * incidente (ConflatingWebSocketSession) nunca troque o frame completo da criação por um delta.
+ *
+ * O IncidentResponse é serializado uma única vez: todos os destinos recebem o mesmo byte[]
+ * (o SimpMessagingTemplate só copia os headers para trocar o destino). Destinos sem
+ * inscritos custam apenas uma consulta ao registro de inscrições do broker. O seq do stream
+ * (IncidentReplayBuffer) segue no header STOMP x-seq e o ID no x-incident-id (conflação).
+ * A versão binária do evento, quando há assinaturas binárias, segue anexada ao mesmo frame
+ * (BinaryFrameInterceptor).
+ *
+ * Segmentos com caracteres fora de [A-Za-z0-9._-] viram "_" (evita "/" e curingas no destino).
+ */
+@Slf4j
+@Service
+public class IncidentTopicFanout {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String TOPIC = "/topic/incidents";
+    public static final String SEVERITY_TOPIC = TOPIC + "/severity/";
+    public static final String HOST_TOPIC = TOPIC + "/host/";
+    public static final String SOURCE_TOPIC = TOPIC + "/source/";
+    public static final String UPDATED_TOPIC = TOPIC + "/updated";
+    public static final String DELETED_TOPIC = TOPIC + "/deleted";
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final boolean enabled;
+
+    public IncidentTopicFanout(SimpMessagingTemplate messagingTemplate,
+                               @Value("${app.websocket.topics.fine-grained:true}") boolean enabled) {
+        this.messagingTemplate = messagingTemplate;
+        this.enabled = enabled;
+    }
+
+    // ====================================
+    // # send - Serializa uma vez e envia para todos os destinos do incidente
+    // ====================================
+    public void send(IncidentResponse response, long seq) {
+        send(response, seq, null);
+    }
+
+    /**
+     * @param binary IncidentEvent codificado para as assinaturas binárias (null quando não há nenhuma)
+     */
+    public void send(IncidentResponse response, long seq, byte[] binary) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setNativeHeader(IncidentReplayBuffer.SEQ_HEADER, String.valueOf(seq));
+        if (response.id() != null) {
+            headers.setNativeHeader(ConflatingWebSocketSession.INCIDENT_HEADER, String.valueOf(response.id()));
+        }
+        BinaryFrameInterceptor.attach(headers, binary);
+        send(enabled ? destinations(response) : List.of(TOPIC), response, headers.getMessageHeaders());
+    }
+
+    // ====================================
+    // # sendChange - Delta ou tombstone nos destinos da rota do incidente
+    // ====================================
+    /**
+     * @param topic   UPDATED_TOPIC ou DELETED_TOPIC
+     * @param route   Rota do incidente no IncidentRouteIndex (null → só o destino geral)
+     * @param headers Headers do frame (x-seq, x-incident-id, binário)
+     */
+    public void sendChange(String topic, Object payload, IncidentRouteIndex.Route route, MessageHeaders headers) {
+        List<String> destinations = enabled && route != null
+                ? destinations(topic, route.severity(), route.hostids(), route.source())
+                : List.of(topic);
+        send(destinations, payload, headers);
+    }
+
+    private void send(List<String> destinations, Object payload, MessageHeaders headers) {
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(payload, headers);
+        if (message == null) {
+            throw new MessageConversionException("Nenhum conversor disponível para " + payload.getClass().getSimpleName());
+        }
+        for (String destination : destinations) {
+            messagingTemplate.send(destination, message);
+        }
+    }
+
+    // ====================================
+    // # destinations - Destinos de um incidente (o geral primeiro)
+    // ====================================
+    public static List<String> destinations(IncidentResponse response) {
+        return destinations(TOPIC, response.severity(), response.hostids(), response.source());
+    }
+
+    /**
+     * @param topic Destino geral (TOPIC, UPDATED_TOPIC ou DELETED_TOPIC), base da hierarquia
+     */
+    public static List<String> destinations(String topic, String severity, String hostids, String source) {
+        List<String> destinations = new ArrayList<>(4);
+        destinations.add(topic);
+        if (severity != null) {
+            destinations.add(topic + "/severity/" + segment(severity));
+        }
+        if (hostids != null) {
+            for (String hostid : hostids.split(",")) {
+                if (!hostid.isBlank()) {
+                    destinations.add(topic + "/host/" + segment(hostid.trim()));
+                }
+            }
+        }
+        if (source != null && !source.isBlank()) {
+            destinations.add(topic + "/source/" + segment(source));
+        }
+        return destinations;
+    }
+
+    private static String segment(String value) {
+        StringBuilder segment = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '_' || c == '-';
+            if (!safe && segment == null) {
+                segment = new StringBuilder(value.substring(0, i));
+            }
+            if (segment != null) {
+                segment.append(safe ? c : '_');
+            }
+        }
+        return segment == null ? value : segment.toString();
+    }
+}
@@ -0,0 +1,405 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.request.CreateIncidentRequest;
+import br.com.cesaravb.zabbixincident.dtos.response.RecoveryResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventPublisher;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventSequencer;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Correlação automática entre eventos de problema e de recuperação do Zabbix.
+ *
+ * Fluxo:
+ * 1. IncidentService cria um incidente OPEN → register() indexa o problema em memória
+ *    (por zabbixEventId e pela impressão digital do trigger: hostids|trigger|itemKey)
+ * 2. Chega um payload de recuperação (recovery=true ou eventOpdata/valor casando com o padrão)
+ * 3. correlate() localiza o problema no índice e resolve com um único UPDATE condicional
+ *    (status IN OPEN/IN_PROGRESS) → nenhuma linha nova; o STATUS_CHANGED é publicado com a
+ *    versão relida do banco após o UPDATE (outro nó pode ter alterado o incidente)
+ * 4. Fora do índice (problema recebido por outro nó, consumidores concorrentes), o problema é
+ *    buscado no banco pelo zabbixEventId antes de a recuperação entrar em espera
+ * 5. Se o problema ainda não chegou (entrega fora de ordem), a recuperação fica em espera por
+ *    uma janela de tolerância; o register() do problema neste nó consome a espera na hora, e a
+ *    varredura periódica procura no banco (uma consulta por lote) os problemas gravados por outros nós
+ * 6. Recuperações que não encontram o problema dentro da janela são descartadas (com métrica)
+ *
+ * O índice é reconstruído na inicialização a partir dos incidentes não resolvidos.
+ */
+@Slf4j
+@Service
+public class RecoveryCorrelationService {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int RESTORE_PAGE_SIZE = 1000;
+    private static final Set<IncidentStatus> RESOLVABLE = EnumSet.of(IncidentStatus.OPEN, IncidentStatus.IN_PROGRESS);
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentRepository incidentRepository;
+    private final IncidentAnalyticsService analyticsService;
+    private final EscalationService escalationService;
+    private final IncidentTimelineService timelineService;
+    private final IncidentChangeTracker changeTracker;
+    private final IncidentEventPublisher eventPublisher;
+    private final IncidentMapper incidentMapper;
+    private final IncidentEventSequencer eventSequencer;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final Pattern recoveryPattern;
+    private final long graceMillis;
+    private final int maxPending;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Map<String, OpenProblem> problemsByEventId = new ConcurrentHashMap<>();
+    private final Map<String, OpenProblem> problemsByFingerprint = new ConcurrentHashMap<>();
+    private final Map<String, PendingRecovery> pendingByEventId = new ConcurrentHashMap<>();
+    private final Map<String, PendingRecovery> pendingByFingerprint = new ConcurrentHashMap<>();
+    private final Counter resolved;
+    private final Counter alreadyResolved;
+    private final Counter buffered;
+    private final Counter expired;
+
+    public RecoveryCorrelationService(IncidentRepository incidentRepository,
+                                      IncidentAnalyticsService analyticsService,
+                                      EscalationService escalationService,
+                                      IncidentTimelineService timelineService,
+                                      IncidentChangeTracker changeTracker,
+                                      IncidentEventPublisher eventPublisher,
+                                      IncidentMapper incidentMapper,
+                                      IncidentEventSequencer eventSequencer,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.recovery.value-pattern:(?i)^\\s*(resolved|recovered|ok)\\b.*}") String valuePattern,
+                                      @Value("${app.recovery.grace-seconds:60}") long graceSeconds,
+                                      @Value("${app.recovery.max-pending:10000}") int maxPending) {
+        this.incidentRepository = incidentRepository;
+        this.analyticsService = analyticsService;
+        this.escalationService = escalationService;
+        this.timelineService = timelineService;
+        this.changeTracker = changeTracker;
+        this.eventPublisher = eventPublisher;
+        this.incidentMapper = incidentMapper;
+        this.eventSequencer = eventSequencer;
+        this.recoveryPattern = valuePattern.isBlank() ? null : Pattern.compile(valuePattern);
+        this.graceMillis = graceSeconds * 1000;
+        this.maxPending = maxPending;
+
+        // ====================================
+        // # Métricas
+        // ====================================
+        Gauge.builder("incident.recovery.open", problemsByEventId, Map::size)
+                .description("Problemas abertos indexados para correlação")
+                .register(meterRegistry);
+        Gauge.builder("incident.recovery.pending", pendingByEventId, Map::size)
+                .description("Recuperações aguardando o problema correspondente")
+                .register(meterRegistry);
+        this.resolved = Counter.builder("incident.recovery").tag("outcome", "RESOLVED").register(meterRegistry);
+        this.alreadyResolved = Counter.builder("incident.recovery").tag("outcome", "ALREADY_RESOLVED").register(meterRegistry);
+        this.buffered = Counter.builder("incident.recovery").tag("outcome", "BUFFERED").register(meterRegistry);
+        this.expired = Counter.builder("incident.recovery").tag("outcome", "EXPIRED").register(meterRegistry);
+    }
+
+    // ====================================
+    // # restore - Reconstrói o índice após restart
+    // ====================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        log.info("🔗 [RECOVERY] Indexando problemas não resolvidos");
+        try {
+            int pageNumber = 0;
+            Page<Incident> page;
+            do {
+                page = incidentRepository.findAllUnresolved(PageRequest.of(pageNumber++, RESTORE_PAGE_SIZE));
+                page.forEach(this::index);
+            } while (page.hasNext());
+            log.info("✅ [RECOVERY] {} problemas indexados", problemsByEventId.size());
+        } catch (Exception e) {
+            log.error("❌ [RECOVERY] Erro ao indexar problemas: {}", e.getMessage(), e);
+        }
+    }
+
+    // ====================================
+    // # isRecovery - Identifica um payload de recuperação
+    // ====================================
+    public boolean isRecovery(CreateIncidentRequest request) {
+        if (request.recovery() != null) {
+            return request.recovery();
+        }
+        return recoveryPattern != null
+                && (matches(request.eventOpdata()) || matches(request.valor()));
+    }
+
+    // ====================================
+    // # register - Indexa um problema recém-criado (e consome recuperação em espera)
+    // ====================================
+    public void register(Incident incident) {
+        if (!RESOLVABLE.contains(incident.getStatus())) {
+            return;
+        }
+        OpenProblem problem = index(incident);
+
+        PendingRecovery pending = pendingByEventId.get(problem.zabbixEventId());
+        if (pending == null && problem.fingerprint() != null) {
+            pending = pendingByFingerprint.get(problem.fingerprint());
+        }
+        if (pending != null && claim(pending)) {
+            log.info("🔗 [RECOVERY] Recuperação em espera aplicada ao incidente {}", problem.incidentId());
+            resolve(problem);
+        }
+    }
+
+    // ====================================
+    // # onStatusChanged - Mantém o índice coerente com o status
+    // ====================================
+    public void onStatusChanged(Incident incident) {
+        if (RESOLVABLE.contains(incident.getStatus())) {
+            index(incident);
+        } else {
+            unindex(incident.getId(), incident.getZabbixEventId(), fingerprint(incident.getHostids(), incident.getHost(),
+                    incident.getTrigger(), incident.getEventName(), incident.getItemKey()));
+        }
+    }
+
+    public void forget(Incident incident) {
+        unindex(incident.getId(), incident.getZabbixEventId(), fingerprint(incident.getHostids(), incident.getHost(),
+                incident.getTrigger(), incident.getEventName(), incident.getItemKey()));
+    }
+
+    // ====================================
+    // # correlate - Resolve o problema correspondente a uma recuperação
+    // ====================================
+    public RecoveryResponse correlate(CreateIncidentRequest request) {
+        String eventId = request.problemEventId() != null && !request.problemEventId().isBlank()
+                ? request.problemEventId()
+                : request.zabbixEventId();
+        String fingerprint = fingerprint(request.hostids(), request.host(), request.trigger(),
+                request.eventName(), request.itemKey());
+
+        OpenProblem problem = lookup(eventId, fingerprint);
+        if (problem != null) {
+            return resolve(problem);
+        }
+
+        // ====================================
+        // # Fora do índice → problema gravado por outro nó?
+        // ====================================
+        Incident stored = eventId != null ? incidentRepository.findByZabbixEventId(eventId).orElse(null) : null;
+        if (stored != null) {
+            return RESOLVABLE.contains(stored.getStatus()) ? resolve(index(stored)) : alreadyResolved(stored.getId(), eventId);
+        }
+
+        // ====================================
+        // # Problema ainda não chegou → espera pela janela de tolerância
+        // ====================================
+        if (pendingByEventId.size() >= maxPending) {
+            log.warn("⚠️  [RECOVERY] Limite de recuperações em espera atingido; descartando evento {}", eventId);
+            expired.increment();
+            return new RecoveryResponse("DISCARDED", null, eventId);
+        }
+        PendingRecovery pending = new PendingRecovery(eventId, fingerprint, System.currentTimeMillis());
+        pendingByEventId.put(eventId, pending);
+        if (fingerprint != null) {
+            pendingByFingerprint.put(fingerprint, pending);
+        }
+
+        // Reconsulta após publicar a espera: cobre o problema indexado entre o lookup e o put
+        problem = lookup(eventId, fingerprint);
+        if (problem != null && claim(pending)) {
+            return resolve(problem);
+        }
+
+        buffered.increment();
+        log.info("⏳ [RECOVERY] Recuperação do evento {} aguardando o problema (janela de {}s)", eventId, graceMillis / 1000);
+        return new RecoveryResponse("BUFFERED", null, eventId);
+    }
+
+    // ====================================
+    // # expirePending - Descarta recuperações fora da janela
+    // ====================================
+    @Scheduled(fixedRateString = "${app.recovery.sweep-ms:5000}")
+    public void expirePending() {
+        resolveStored();
+        long deadline = System.currentTimeMillis() - graceMillis;
+        for (PendingRecovery pending : pendingByEventId.values()) {
+            if (pending.receivedAtMillis() < deadline && claim(pending)) {
+                expired.increment();
+                log.warn("⚠️  [RECOVERY] Recuperação do evento {} descartada: problema não encontrado", pending.eventId());
+            }
+        }
+    }
+
+    // ====================================
+    // # resolveStored - Recuperações em espera cujo problema foi gravado por outro nó
+    // ====================================
+    private void resolveStored() {
+        if (pendingByEventId.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> eventIds = List.copyOf(pendingByEventId.keySet());
+            for (int from = 0; from < eventIds.size(); from += RESTORE_PAGE_SIZE) {
+                List<String> chunk = eventIds.subList(from, Math.min(from + RESTORE_PAGE_SIZE, eventIds.size()));
+                for (Incident incident : incidentRepository.findByZabbixEventIdIn(chunk)) {
+                    PendingRecovery pending = pendingByEventId.get(incident.getZabbixEventId());
+                    if (pending == null || !claim(pending)) {
+                        continue;
+                    }
+                    if (RESOLVABLE.contains(incident.getStatus())) {
+                        log.info("🔗 [RECOVERY] Recuperação em espera aplicada ao incidente {} (gravado por outro nó)",
+                                incident.getId());
+                        resolve(index(incident));
+                    } else {
+                        alreadyResolved(incident.getId(), incident.getZabbixEventId());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ [RECOVERY] Erro ao buscar problemas das recuperações em espera: {}", e.getMessage(), e);
+        }
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private RecoveryResponse resolve(OpenProblem problem) {
+        unindex(problem.incidentId(), problem.zabbixEventId(), problem.fingerprint());
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = incidentRepository.updateStatusIfIn(problem.incidentId(), IncidentStatus.RESOLVED,
+                now, RESOLVABLE);
+        if (updated == 0) {
+            return alreadyResolved(problem.incidentId(), problem.zabbixEventId());
+        }
+
+        // Versão gravada pelo UPDATE; a indexada fica desatualizada se outro nó alterou o incidente
+        Incident resolvedIncident = Incident.builder()
+                .id(problem.incidentId())
+                .status(IncidentStatus.RESOLVED)
+                .updatedAt(now)
+                .version(incidentRepository.findVersionById(problem.incidentId()).orElse(null))
+                .build();
+        changeTracker.changed(problem.incidentId(), resolvedIncident.getVersion());
+        analyticsService.recordStatus(problem.incidentId(), IncidentStatus.RESOLVED);
+        escalationService.disarm(problem.incidentId());
+        timelineService.resolvedByRecovery(problem.incidentId());
+        resolved.increment();
+        log.info("✅ [RECOVERY] Incidente {} resolvido automaticamente (evento {})", problem.incidentId(), problem.zabbixEventId());
+
+        // STATUS_CHANGED para os clientes e os demais nós (ETags, caches)
+        try {
+            eventPublisher.publish(RabbitMQConfig.routingKey(IncidentEventType.STATUS_CHANGED, problem.severity()),
+                    incidentMapper.toStatusChangedEvent(resolvedIncident, eventSequencer.next()), problem.severity());
+        } catch (Exception e) {
+            log.error("❌ [RECOVERY] Erro ao publicar a resolução do incidente {}", problem.incidentId(), e);
+        }
+        return new RecoveryResponse("RESOLVED", problem.incidentId(), problem.zabbixEventId());
+    }
+
+    private RecoveryResponse alreadyResolved(Long incidentId, String eventId) {
+        alreadyResolved.increment();
+        log.info("🔗 [RECOVERY] Incidente {} já estava resolvido", incidentId);
+        return new RecoveryResponse("ALREADY_RESOLVED", incidentId, eventId);
+    }
+
+    private OpenProblem lookup(String eventId, String fingerprint) {
+        OpenProblem problem = eventId != null ? problemsByEventId.get(eventId) : null;
+        if (problem == null && fingerprint != null) {
+            problem = problemsByFingerprint.get(fingerprint);
+        }
+        return problem;
+    }
+
+    private OpenProblem index(Incident incident) {
+        OpenProblem problem = new OpenProblem(incident.getId(), incident.getZabbixEventId(),
+                fingerprint(incident.getHostids(), incident.getHost(), incident.getTrigger(),
+                        incident.getEventName(), incident.getItemKey()),
+                incident.getSeverity());
+        problemsByEventId.put(problem.zabbixEventId(), problem);
+        if (problem.fingerprint() != null) {
+            problemsByFingerprint.put(problem.fingerprint(), problem);
+        }
+        return problem;
+    }
+
+    private void unindex(Long incidentId, String eventId, String fingerprint) {
+        if (eventId != null) {
+            problemsByEventId.computeIfPresent(eventId, (k, p) -> p.incidentId().equals(incidentId) ? null : p);
+        }
+        if (fingerprint != null) {
+            problemsByFingerprint.computeIfPresent(fingerprint, (k, p) -> p.incidentId().equals(incidentId) ? null : p);
+        }
+    }
+
+    private boolean claim(PendingRecovery pending) {
+        if (!pending.claimed().compareAndSet(false, true)) {
+            return false;
+        }
+        pendingByEventId.remove(pending.eventId(), pending);
+        if (pending.fingerprint() != null) {
+            pendingByFingerprint.remove(pending.fingerprint(), pending);
+        }
+        return true;
+    }
+
+    private boolean matches(String value) {
+        return value != null && recoveryPattern.matcher(value).matches();
+    }
+
+    /**
+     * Impressão digital do trigger: identifica o mesmo problema mesmo quando o Zabbix
+     * envia a recuperação com outro event ID. Retorna null se não houver dados suficientes.
+     */
+    static String fingerprint(String hostids, String host, String trigger, String eventName, String itemKey) {
+        String hostKey = hostids != null && !hostids.isBlank() ? hostids : host;
+        String triggerKey = trigger != null && !trigger.isBlank() ? trigger : eventName;
+        if (hostKey == null || hostKey.isBlank() || triggerKey == null || triggerKey.isBlank()) {
+            return null;
+        }
+        return (hostKey.trim() + "|" + triggerKey.trim() + "|" + (itemKey == null ? "" : itemKey.trim()))
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // ====================================
+    // # Tipos internos
+    // ====================================
+    private record OpenProblem(Long incidentId, String zabbixEventId, String fingerprint, SeverityLevel severity) {}
+
+    private record PendingRecovery(String eventId, String fingerprint, long receivedAtMillis, AtomicBoolean claimed) {
+        private PendingRecovery(String eventId, String fingerprint, long receivedAtMillis) {
+            this(eventId, fingerprint, receivedAtMillis, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.GroupCountResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentStormSummary;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentSummary;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregador dos incidentes suprimidos durante o modo tempestade.
+ *
+ * Fluxo:
+ * 1. Em modo STORM, WebSocketNotificationService entrega o incidente aqui em vez de fazer broadcast
+ * 2. Os incidentes são contados por severidade e por host (contadores sem lock)
+ * 3. Os CRITICAL mais recentes são guardados como IncidentSummary (limitado)
+ * 4. Periodicamente, um único IncidentStormSummary é enviado em /topic/incidents/summary
+ *
+ * Assim cada navegador recebe um frame a cada poucos segundos em vez de milhares.
+ */
+@Slf4j
+@Service
+public class StormSummaryAggregator {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final String SUMMARY_TOPIC = "/topic/incidents/summary";
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final SimpMessagingTemplate messagingTemplate;
+    private final IncidentMapper incidentMapper;
+    private final AlertStormDetector stormDetector;
+    private final int topHosts;
+    private final int topCriticals;
+    private final Counter suppressed;
+    private final Counter summaries;
+    private final AtomicReference<Window> current = new AtomicReference<>(new Window());
+
+    public StormSummaryAggregator(SimpMessagingTemplate messagingTemplate,
+                                  IncidentMapper incidentMapper,
+                                  AlertStormDetector stormDetector,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.storm.summary.top-hosts:10}") int topHosts,
+                                  @Value("${app.storm.summary.top-criticals:10}") int topCriticals) {
+        this.messagingTemplate = messagingTemplate;
+        this.incidentMapper = incidentMapper;
+        this.stormDetector = stormDetector;
+        this.topHosts = topHosts;
+        this.topCriticals = topCriticals;
+        this.suppressed = Counter.builder("incident.storm.suppressed")
+                .description("Broadcasts individuais substituídos por resumo")
+                .register(meterRegistry);
+        this.summaries = Counter.builder("incident.storm.summaries")
+                .description("Resumos enviados em modo tempestade")
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # add - Agrega um incidente suprimido
+    // ====================================
+    public void add(Incident incident) {
+        Window window = current.get();
+        window.total.increment();
+        if (incident.getSeverity() != null) {
+            window.bySeverity[incident.getSeverity().ordinal()].increment();
+        }
+        String host = incident.getHost() != null ? incident.getHost() : incident.getHostids();
+        if (host != null) {
+            window.byHost.computeIfAbsent(host, h -> new LongAdder()).increment();
+        }
+        if (incident.getSeverity() == SeverityLevel.CRITICAL) {
+            window.criticals.addFirst(incidentMapper.toSummary(incident));
+            if (window.criticalCount.incrementAndGet() > topCriticals) {
+                window.criticals.pollLast();
+                window.criticalCount.decrementAndGet();
+            }
+        }
+        suppressed.increment();
+    }
+
+    // ====================================
+    // # flush - Envia o resumo do intervalo
+    // ====================================
+    /**
+     * Troca a janela atual por uma nova e publica o resumo da anterior.
+     * Incrementos concorrentes à troca podem cair na janela antiga depois do envio;
+     * durante uma tempestade essa perda é desprezível e evita qualquer lock no add().
+     */
+    @Scheduled(fixedRateString = "${app.storm.summary-interval-ms:5000}")
+    public void flush() {
+        Window window = current.getAndSet(new Window());
+        long total = window.total.sum();
+        if (total == 0) {
+            return;
+        }
+
+        Map<String, Long> bySeverity = new LinkedHashMap<>();
+        for (SeverityLevel severity : SeverityLevel.values()) {
+            long count = window.bySeverity[severity.ordinal()].sum();
+            if (count > 0) {
+                bySeverity.put(severity.name(), count);
+            }
+        }
+
+        List<GroupCountResponse> hosts = window.byHost.entrySet().stream()
+                .map(e -> new GroupCountResponse(e.getKey(), e.getValue().sum()))
+                .sorted(Comparator.comparingLong(GroupCountResponse::count).reversed())
+                .limit(topHosts)
+                .toList();
+
+        IncidentStormSummary summary = new IncidentStormSummary(
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(window.startMillis), ZoneId.systemDefault()),
+                LocalDateTime.now(),
+                total,
+                bySeverity,
+                hosts,
+                new ArrayList<IncidentSummary>(window.criticals),
+                stormDetector.globalRate()
+        );
+
+        try {
+            messagingTemplate.convertAndSend(SUMMARY_TOPIC, summary);
+            summaries.increment();
+            log.info("📊 [ALERT STORM] Resumo enviado: {} incidentes agregados", total);
+        } catch (Exception e) {
+            log.error("❌ [ALERT STORM] Erro ao enviar resumo", e);
+        }
+    }
+
+    // ====================================
+    // # Window - Acumuladores de um intervalo
+    // ====================================
+    private static final class Window {
+        private final long startMillis = System.currentTimeMillis();
+        private final LongAdder total = new LongAdder();
+        private final LongAdder[] bySeverity = new LongAdder[SeverityLevel.values().length];
+        private final Map<String, LongAdder> byHost = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedDeque<IncidentSummary> criticals = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger criticalCount = new AtomicInteger();
+
+        private Window() {
+            for (int i = 0; i < bySeverity.length; i++) {
+                bySeverity[i] = new LongAdder();
+            }
+        }
+    }
+}
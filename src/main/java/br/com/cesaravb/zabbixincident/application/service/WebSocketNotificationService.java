@@ -1,22 +1,57 @@
 package br.com.cesaravb.zabbixincident.application.service;
 
 import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentDelta;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
 import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentStreamEvent;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentTombstone;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.PartialBatchFailureException;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.ConflatingWebSocketSession;
 import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
 /**
  * Serviço responsável por enviar notificações em tempo real via WebSocket.
  *
  * Fluxo:
- * 1. IncidentListener chama este serviço
- * 2. Converte Incident em IncidentResponse
- * 3. Envia para topic /topic/incidents
- * 4. STOMP distribui para todos os clientes inscritos
- * 5. Frontend React recebe em tempo real
+ * 1. IncidentListener (criações) e IncidentLifecycleListener (status/deleções) chamam este serviço
+ * 2. CREATED: converte em IncidentResponse e envia para /topic/incidents e para os destinos
+ *    hierárquicos severity/host/source (IncidentTopicFanout, serializado uma vez) e para o
+ *    IncidentBroadcastBatcher (/topic/incidents/batch, frames-array)
+ * 3. STATUS_CHANGED: envia IncidentDelta ({id, seq, changed}) para /topic/incidents/updated
+ * 4. DELETED: envia IncidentTombstone ({id, seq}) para /topic/incidents/deleted
+ *    (deltas e tombstones também seguem para os destinos hierárquicos do incidente, com a rota
+ *    do IncidentRouteIndex gravada na criação)
+ * 5. STOMP distribui para todos os clientes inscritos
+ * 6. Frontend React recebe em tempo real
+ *
+ * Payload completo só na criação; depois disso o cliente recebe apenas deltas numerados
+ * pela sequência do incidente (seq) e detecta lacunas pela numeração.
+ *
+ * Todo evento entra antes no IncidentReplayBuffer e o frame leva o seq global do stream
+ * no header x-seq (retomada após reconexão, ver IncidentStreamController). Se o envio falha,
+ * a retentativa do mesmo evento reaproveita o seq (deduplicação por incidente + revisão).
+ *
+ * O mesmo evento segue para as conexões Server-Sent Events (IncidentSseBroadcaster), com o
+ * mesmo seq como id do evento SSE, e atualiza o IncidentChangeTracker (ETags da API REST),
+ * inclusive para escritas feitas em outros nós.
+ *
+ * Com assinaturas binárias no endpoint nativo, o IncidentEvent é codificado uma vez por evento
+ * e anexado ao frame (BinaryFrameInterceptor troca o corpo JSON só para essas assinaturas).
  *
  * Logger rastreia conectividade e envio de mensagens
  */
@@ -30,12 +65,80 @@ public class WebSocketNotificationService {
     // ====================================
     private final SimpMessagingTemplate messagingTemplate;
     private final IncidentMapper incidentMapper;
+    private final AlertStormDetector stormDetector;
+    private final StormSummaryAggregator stormSummaryAggregator;
+    private final IncidentBroadcastBatcher broadcastBatcher;
+    private final IncidentTopicFanout topicFanout;
+    private final IncidentReplayBuffer replayBuffer;
+    private final BinaryFrameInterceptor binaryFrames;
+    private final IncidentSseBroadcaster sseBroadcaster;
+    private final IncidentChangeTracker changeTracker;
+    private final IncidentRouteIndex routeIndex;
 
     // ====================================
     // # Constantes WebSocket
     // ====================================
-    private static final String TOPIC = "/topic/incidents";
-    private static final String ENDPOINT = "/ws/incidents";
+    private static final String TOPIC = IncidentTopicFanout.TOPIC;
+    private static final String UPDATED_TOPIC = IncidentTopicFanout.UPDATED_TOPIC;
+    private static final String DELETED_TOPIC = IncidentTopicFanout.DELETED_TOPIC;
+
+    // ====================================
+    // # notifyEvent - Despacha um IncidentEvent consumido da fila
+    // ====================================
+    /**
+     * Encaminha o envelope conforme o tipo:
+     * • CREATED → /topic/incidents (IncidentResponse completo)
+     * • STATUS_CHANGED → /topic/incidents/updated (IncidentDelta)
+     * • DELETED → /topic/incidents/deleted (IncidentTombstone)
+     *
+     * @param event Envelope consumido do RabbitMQ
+     */
+    public void notifyEvent(IncidentEvent event) {
+        switch (event.type()) {
+            case CREATED -> notifyIncidentCreated(incidentMapper.fromEvent(event));
+            case STATUS_CHANGED -> notifyStatusChanged(event);
+            case DELETED -> notifyIncidentDeleted(event);
+        }
+    }
+
+    /**
+     * Versão em lote: os CREATED seguem juntos para notifyIncidentsCreated.
+     *
+     * @param events Lote consumido do RabbitMQ
+     * @throws PartialBatchFailureException com as posições (em events) cujo envio falhou
+     */
+    public void notifyEvents(List<IncidentEvent> events) {
+        List<Incident> created = new ArrayList<>(events.size());
+        List<Integer> createdIndexes = new ArrayList<>(events.size());
+        List<Integer> failed = new ArrayList<>();
+        Throwable firstFailure = null;
+        for (int i = 0; i < events.size(); i++) {
+            IncidentEvent event = events.get(i);
+            if (event.type() == IncidentEventType.CREATED) {
+                created.add(incidentMapper.fromEvent(event));
+                createdIndexes.add(i);
+                continue;
+            }
+            try {
+                notifyEvent(event);
+            } catch (Exception e) {
+                failed.add(i);
+                firstFailure = firstFailure == null ? e : firstFailure;
+            }
+        }
+        if (!created.isEmpty()) {
+            try {
+                notifyIncidentsCreated(created);
+            } catch (PartialBatchFailureException e) {
+                e.failedIndexes().forEach(index -> failed.add(createdIndexes.get(index)));
+                firstFailure = firstFailure == null ? e.getCause() : firstFailure;
+            }
+        }
+        if (!failed.isEmpty()) {
+            failed.sort(null);
+            throw new PartialBatchFailureException(failed, events.size(), firstFailure);
+        }
+    }
 
     // ====================================
     // # notifyIncidentCreated - Notificar novo incidente
@@ -43,99 +146,200 @@ public class WebSocketNotificationService {
     /**
      * Envia notificação de novo incidente para todos os clientes conectados.
      *
-     * Fluxo com Logger:
-     * 1. ✅ INFO - Iniciando envio
-     * 2. ✅ DEBUG - Convertendo para DTO
-     * 3. ✅ INFO - Enviando para topic
-     * 4. ✅ DEBUG - Monitorando sessões ativas
-     * 5. ✅ INFO - Concluído com sucesso
+     * Em modo tempestade (AlertStormDetector), o incidente não é enviado
+     * individualmente: entra no StormSummaryAggregator e segue no próximo resumo.
      *
      * @param incident Entidade que será enviada para frontend
      */
     public void notifyIncidentCreated(Incident incident) {
-        log.info("=".repeat(80));
-        log.info("🔔 [WEBSOCKET SEND] Preparando envio de notificação");
-        log.info("   - Topic: {}", TOPIC);
-        log.info("   - Endpoint: {}", ENDPOINT);
-        log.info("   - Protocolo: STOMP");
-        
-        // ====================================
-        // # Converter para Response DTO
-        // ====================================
-        log.debug("🔄 [WEBSOCKET SEND] Convertendo Incident → IncidentResponse");
+        stormDetector.record(incident.getSource());
+        if (stormDetector.isStormActive()) {
+            stormSummaryAggregator.add(incident);
+            stream(IncidentEventType.CREATED, incidentMapper.toResponse(incident));
+            log.debug("🌩️  [WEBSOCKET SEND] Modo tempestade: incidente {} agregado ao resumo", incident.getId());
+            return;
+        }
+        send(incident);
+    }
+
+    // ====================================
+    // # notifyIncidentsCreated - Notificar um lote de incidentes
+    // ====================================
+    /**
+     * Versão em lote usada pelo IncidentBatchListener: um único log por lote e a
+     * decisão de modo tempestade tomada uma vez, depois de registrar todo o lote.
+     *
+     * Cada incidente continua sendo um frame em /topic/incidents (mesmo contrato do frontend).
+     * Uma falha não interrompe o lote; ao final, as posições que falharam seguem na
+     * PartialBatchFailureException para serem retentadas (só elas, sem duplicar as demais).
+     *
+     * @param incidents Lote consumido da fila
+     * @throws PartialBatchFailureException se algum envio falhou
+     */
+    public void notifyIncidentsCreated(List<Incident> incidents) {
+        for (Incident incident : incidents) {
+            stormDetector.record(incident.getSource());
+        }
+        if (stormDetector.isStormActive()) {
+            for (Incident incident : incidents) {
+                stormSummaryAggregator.add(incident);
+                stream(IncidentEventType.CREATED, incidentMapper.toResponse(incident));
+            }
+            log.debug("🌩️  [WEBSOCKET SEND] Modo tempestade: lote de {} incidentes agregado ao resumo", incidents.size());
+            return;
+        }
+
+        List<Integer> failed = new ArrayList<>();
+        Throwable firstFailure = null;
+        for (int i = 0; i < incidents.size(); i++) {
+            try {
+                send(incidents.get(i));
+            } catch (Exception e) {
+                failed.add(i);
+                firstFailure = firstFailure == null ? e : firstFailure;
+            }
+        }
+        if (!failed.isEmpty()) {
+            log.error("❌ [WEBSOCKET SEND] {} de {} notificações do lote falharam", failed.size(), incidents.size());
+            throw new PartialBatchFailureException(failed, incidents.size(), firstFailure);
+        }
+        log.debug("✅ [WEBSOCKET SEND] Lote de {} incidentes enviado para {}", incidents.size(), TOPIC);
+    }
+
+    // ====================================
+    // # send - Converte e envia um incidente (caminho quente, logs em DEBUG)
+    // ====================================
+    private void send(Incident incident) {
         IncidentResponse response = incidentMapper.toResponse(incident);
-        log.debug("✅ [WEBSOCKET SEND] Conversão concluída");
-        log.debug("   - Response ID: {}", response.id());
-        log.debug("   - Response Title: {}", response.title());
-        
-        // ====================================
-        // # Enviar via STOMP/WebSocket
-        // ====================================
+        long seq = stream(IncidentEventType.CREATED, response);
         try {
-            log.info("📤 [WEBSOCKET SEND] Enviando para clientes inscritos em {}", TOPIC);
-            log.debug("   - Serializando em JSON");
-            log.debug("   - Payload size: {} bytes", response.toString().length());
-            
-            messagingTemplate.convertAndSend(TOPIC, response);
-            
-            log.info("✅ [WEBSOCKET SEND] Notificação enviada com sucesso!");
-            log.info("   - Todos os clientes inscritos receberam a mensagem");
-            log.info("   - Frontend React deve atualizar em tempo real");
-            
+            topicFanout.send(response, seq, binaryFrames.encode(() -> incidentMapper.toCreatedEvent(incident, seq)));
+            broadcastBatcher.add(response, incident.getSeverity(), seq);
+            log.debug("📤 [WEBSOCKET SEND] Incidente {} enviado para {}", response.id(), TOPIC);
         } catch (Exception e) {
-            log.error("❌ [WEBSOCKET SEND] Erro ao enviar notificação WebSocket", e);
-            log.error("   - Erro: {}", e.getMessage());
-            log.error("   - Causa: {}", e.getCause());
-            log.error("   - Stack trace:", e);
+            log.error("❌ [WEBSOCKET SEND] Erro ao enviar incidente {} via WebSocket: {}", response.id(), e.getMessage());
             throw new RuntimeException("Erro ao enviar notificação via WebSocket", e);
         }
-        
-        log.info("=".repeat(80));
     }
 
     // ====================================
-    // # notifyIncidentUpdated - Notificar atualização
+    // # notifyStatusChanged - Notificar mudança de status (delta)
     // ====================================
     /**
-     * Envia notificação de atualização de incidente.
+     * Envia {id, seq, changed: {status, updatedAt}} em /topic/incidents/updated.
      *
-     * @param incident Incidente atualizado
+     * @param event Envelope STATUS_CHANGED
      */
-    public void notifyIncidentUpdated(Incident incident) {
-        log.info("🔄 [WEBSOCKET SEND] Notificando atualização de incidente");
-        log.info("   - ID: {}", incident.getId());
-        log.info("   - Novo Status: {}", incident.getStatus());
-        log.info("   - Topic: {}", TOPIC);
-        
+    public void notifyStatusChanged(IncidentEvent event) {
+        sendDelta(new IncidentDelta(event.incidentId(), event.revision(),
+                event.status() == null ? null : event.status().name(),
+                incidentMapper.toLocalDateTime(event.updatedAt())), () -> event);
+    }
+
+    private void sendDelta(IncidentDelta delta, Supplier<IncidentEvent> event) {
+        long seq = stream(IncidentEventType.STATUS_CHANGED, delta);
         try {
-            IncidentResponse response = incidentMapper.toResponse(incident);
-            messagingTemplate.convertAndSend(TOPIC, response);
-            log.info("✅ [WEBSOCKET SEND] Atualização notificada com sucesso!");
+            topicFanout.sendChange(UPDATED_TOPIC, delta, routeIndex.get(delta.id()),
+                    streamHeaders(seq, delta.id(), binaryFrames.encode(event)));
+            if (terminal(delta)) {
+                // Resolvido/fechado: a rota só sai depois do envio (a retentativa ainda a usa)
+                routeIndex.forget(delta.id());
+            }
+            log.debug("📤 [WEBSOCKET SEND] Delta do incidente {} (seq {}) enviado para {}", delta.id(), delta.seq(), UPDATED_TOPIC);
         } catch (Exception e) {
-            log.error("❌ [WEBSOCKET SEND] Erro ao notificar atualização", e);
-            throw new RuntimeException("Erro ao enviar notificação de atualização", e);
+            log.error("❌ [WEBSOCKET SEND] Erro ao notificar status do incidente {}: {}", delta.id(), e.getMessage());
+            throw new RuntimeException("Erro ao enviar notificação de status", e);
         }
     }
 
     // ====================================
-    // # notifyIncidentDeleted - Notificar deleção
+    // # notifyIncidentDeleted - Notificar deleção (tombstone)
     // ====================================
     /**
-     * Envia notificação de deleção de incidente.
+     * Envia {id, seq} em /topic/incidents/deleted.
      *
-     * @param incidentId ID do incidente deletado
+     * @param event Envelope DELETED
      */
-    public void notifyIncidentDeleted(Long incidentId) {
-        log.info("🗑️  [WEBSOCKET SEND] Notificando deleção de incidente");
-        log.info("   - ID: {}", incidentId);
-        log.info("   - Topic: {}/deleted", TOPIC);
-        
+    public void notifyIncidentDeleted(IncidentEvent event) {
+        IncidentTombstone tombstone = new IncidentTombstone(event.incidentId(), event.revision());
+        long seq = stream(IncidentEventType.DELETED, tombstone);
         try {
-            messagingTemplate.convertAndSend(TOPIC + "/deleted", incidentId);
-            log.info("✅ [WEBSOCKET SEND] Deleção notificada com sucesso!");
+            topicFanout.sendChange(DELETED_TOPIC, tombstone, routeIndex.get(tombstone.id()),
+                    streamHeaders(seq, tombstone.id(), binaryFrames.encode(() -> event)));
+            routeIndex.forget(tombstone.id());
+            log.debug("🗑️  [WEBSOCKET SEND] Tombstone do incidente {} (seq {}) enviado para {}",
+                    tombstone.id(), tombstone.seq(), DELETED_TOPIC);
         } catch (Exception e) {
-            log.error("❌ [WEBSOCKET SEND] Erro ao notificar deleção", e);
+            log.error("❌ [WEBSOCKET SEND] Erro ao notificar deleção do incidente {}: {}", tombstone.id(), e.getMessage());
+            throw new RuntimeException("Erro ao enviar notificação de deleção", e);
+        }
+    }
+
+    /**
+     * Registra o evento no IncidentReplayBuffer, o publica nas conexões SSE e atualiza os ETags
+     * e a rota do incidente criado (IncidentRouteIndex); devolve o seq do stream.
+     *
+     * A retentativa de um envio que falhou (mesmo incidente e revisão ainda no buffer) devolve o
+     * seq já registrado sem repetir o evento no buffer, no SSE e nos ETags.
+     */
+    private long stream(IncidentEventType type, Object payload) {
+        Long id;
+        Long revision;
+        switch (payload) {
+            case IncidentResponse response -> {
+                id = response.id();
+                revision = response.seq();
+            }
+            case IncidentDelta delta -> {
+                id = delta.id();
+                revision = delta.seq();
+            }
+            case IncidentTombstone tombstone -> {
+                id = tombstone.id();
+                revision = tombstone.seq();
+            }
+            default -> {
+                id = null;
+                revision = null;
+            }
+        }
+        String key = id == null || revision == null ? null : type.name() + '|' + id + '|' + revision;
+        IncidentReplayBuffer.Appended appended = replayBuffer.appendOnce(type, payload, key);
+        if (appended.duplicate()) {
+            return appended.seq();
+        }
+
+        switch (payload) {
+            case IncidentResponse response -> {
+                changeTracker.changed(response.id(), response.seq());
+                routeIndex.record(response);
+            }
+            case IncidentDelta delta -> changeTracker.changed(delta.id(), delta.seq());
+            case IncidentTombstone tombstone -> changeTracker.deleted(tombstone.id());
+            default -> { }
+        }
+        sseBroadcaster.publish(new IncidentStreamEvent(appended.seq(), type, payload));
+        return appended.seq();
+    }
+
+    private static boolean terminal(IncidentDelta delta) {
+        return delta.changed() != null && (IncidentStatus.RESOLVED.name().equals(delta.changed().status())
+                || IncidentStatus.CLOSED.name().equals(delta.changed().status()));
+    }
+
+    /**
+     * x-seq (resume), x-incident-id (conflação de frames pendentes em sessões lentas) e,
+     * quando há assinaturas binárias, o IncidentEvent codificado.
+     */
+    private static MessageHeaders streamHeaders(long seq, Long incidentId, byte[] binary) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setNativeHeader(IncidentReplayBuffer.SEQ_HEADER, String.valueOf(seq));
+        if (incidentId != null) {
+            headers.setNativeHeader(ConflatingWebSocketSession.INCIDENT_HEADER, String.valueOf(incidentId));
         }
+        BinaryFrameInterceptor.attach(headers, binary);
+        headers.setLeaveMutable(true);
+        return headers.getMessageHeaders();
     }
 
     // ====================================
@@ -14,11 +14,13 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "incidents")
@@ -92,10 +94,24 @@ public class Incident {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Sequência por incidente: 0 na criação, +1 a cada mudança (lock otimista e detecção de lacunas no WebSocket)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Último nível de escalonamento publicado (0 = nenhum); reivindicado por UPDATE condicional entre os nós
+    @ColumnDefault("0")
+    @Column(name = "escalation_level", nullable = false)
+    private Integer escalationLevel;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        if (escalationLevel == null) {
+            escalationLevel = 0;
+        }
     }
 
     @PreUpdate
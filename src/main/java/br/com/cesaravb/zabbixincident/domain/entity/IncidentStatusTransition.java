@@ -0,0 +1,57 @@
+package br.com.cesaravb.zabbixincident.domain.entity;
+
+import java.time.LocalDateTime;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Linha do histórico append-only de transições de status (tabela incident_events).
+ *
+ * As linhas nunca são atualizadas: cada mudança de status gera uma nova linha,
+ * escrita em lote pelo TransitionBatchWriter. fromStatus é nulo na criação do incidente.
+ */
+@Entity
+@Table(name = "incident_events", indexes = @Index(name = "idx_incident_events_incident", columnList = "incident_id, occurred_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IncidentStatusTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "incident_id", nullable = false)
+    private Long incidentId;
+
+    @Column(name = "from_status", nullable = true)
+    @Enumerated(EnumType.STRING)
+    private IncidentStatus fromStatus;
+
+    @Column(name = "to_status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private IncidentStatus toStatus;
+
+    @Column(nullable = true)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+}
@@ -0,0 +1,7 @@
+package br.com.cesaravb.zabbixincident.domain.enums;
+
+public enum IncidentEventType {
+    CREATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -1,9 +1,26 @@
 package br.com.cesaravb.zabbixincident.domain.enums;
 
+/**
+ * Severidade do incidente.
+ *
+ * messagePriority é a prioridade AMQP usada na publicação (fila com x-max-priority):
+ * sob backlog, CRITICAL e HIGH são entregues antes das demais.
+ * A ordem das constantes faz parte do codec binário do IncidentEvent; não reordenar.
+ */
 public enum SeverityLevel {
-    CRITICAL,
-    HIGH,
-    MEDIUM,
-    LOW,
-    INFO
-}
\ No newline at end of file
+    CRITICAL(9),
+    HIGH(7),
+    MEDIUM(5),
+    LOW(3),
+    INFO(1);
+
+    private final int messagePriority;
+
+    SeverityLevel(int messagePriority) {
+        this.messagePriority = messagePriority;
+    }
+
+    public int messagePriority() {
+        return messagePriority;
+    }
+}
@@ -1,14 +1,18 @@
 package br.com.cesaravb.zabbixincident.domain.repository;
 
 import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,11 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
     // ====================================
     Optional<Incident> findByZabbixEventId(String zabbixEventId);
 
+    // ====================================
+    // # findByZabbixEventIdIn - Buscar vários Zabbix Event IDs em uma consulta
+    // ====================================
+    List<Incident> findByZabbixEventIdIn(Collection<String> zabbixEventIds);
+
     // ====================================
     // # findByHostids - Buscar por Host ID com paginação
     // ====================================
@@ -50,6 +59,66 @@ public interface IncidentRepository extends JpaRepository<Incident, Long> {
     @Query("SELECT i FROM Incident i WHERE i.status IN ('OPEN', 'IN_PROGRESS') ORDER BY i.createdAt DESC")
     Page<Incident> findAllUnresolved(Pageable pageable);
 
+    // ====================================
+    // # findStatusById - Buscar apenas o status (projeção leve)
+    // ====================================
+    @Query("SELECT i.status FROM Incident i WHERE i.id = :id")
+    Optional<IncidentStatus> findStatusById(@Param("id") Long id);
+
+    // ====================================
+    // # findVersionById - Buscar apenas a versão (projeção leve)
+    // ====================================
+    @Query("SELECT i.version FROM Incident i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // ====================================
+    // # tableVersion - Contagem, última alteração e soma das versões (ETag das listas)
+    // ====================================
+    @Query("SELECT COUNT(i) AS count, MAX(i.updatedAt) AS lastUpdate, COALESCE(SUM(i.version), 0) AS versionSum FROM Incident i")
+    TableVersion tableVersion();
+
+    /**
+     * Projeção de tableVersion(): muda a cada criação, alteração (version sobe) e deleção.
+     */
+    interface TableVersion {
+        Long getCount();
+        LocalDateTime getLastUpdate();
+        Long getVersionSum();
+    }
+
+    // ====================================
+    // # claimEscalation - Reivindica um nível de escalonamento (UPDATE condicional)
+    // ====================================
+    /**
+     * Só um nó consegue publicar cada nível: o UPDATE passa apenas se o incidente segue OPEN
+     * e o nível ainda não foi publicado. Não altera a version (não é uma mudança do incidente).
+     *
+     * @return 1 se este nó reivindicou o nível; 0 se outro nó já publicou ou o incidente saiu de OPEN
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Incident i SET i.escalationLevel = :level WHERE i.id = :id AND i.status = :status AND i.escalationLevel < :level")
+    int claimEscalation(@Param("id") Long id,
+                        @Param("level") int level,
+                        @Param("status") IncidentStatus status);
+
+    // ====================================
+    // # updateStatusIfIn - UPDATE condicional (sem SELECT prévio)
+    // ====================================
+    /**
+     * Atualiza o status somente se o status atual estiver entre os informados.
+     * Incrementa a versão (UPDATE em massa não passa pelo @Version do JPA).
+     *
+     * @return quantidade de linhas afetadas (0 se já estava em outro status ou não existe)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Incident i SET i.status = :status, i.updatedAt = :updatedAt, i.version = i.version + 1 WHERE i.id = :id AND i.status IN :currentStatuses")
+    int updateStatusIfIn(@Param("id") Long id,
+                         @Param("status") IncidentStatus status,
+                         @Param("updatedAt") LocalDateTime updatedAt,
+                         @Param("currentStatuses") Collection<IncidentStatus> currentStatuses);
+
     // ====================================
     // # findBySeverity - Buscar por Severidade (JPQL)
     // ====================================
@@ -0,0 +1,16 @@
+package br.com.cesaravb.zabbixincident.domain.repository;
+
+import br.com.cesaravb.zabbixincident.domain.entity.IncidentStatusTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IncidentStatusTransitionRepository extends JpaRepository<IncidentStatusTransition, Long> {
+
+    // ====================================
+    // # findByIncidentId - Linha do tempo de um incidente (índice incident_id, occurred_at)
+    // ====================================
+    List<IncidentStatusTransition> findByIncidentIdOrderByOccurredAtAscIdAsc(Long incidentId);
+}
@@ -39,6 +39,13 @@ import jakarta.validation.constraints.NotNull;
  *   "severity": "High",
  *   "source": "zabbix"
  * }
+ *
+ * Eventos de recuperação (resolve) do Zabbix:
+ *
+ * • recovery: true indica explicitamente que o payload é a recuperação de um problema
+ * • problemEventId: ID do evento de problema original ({EVENT.ID}), quando diferente de zabbixEventId
+ * • Sem o campo explícito, eventOpdata/valor são comparados com app.recovery.value-pattern
+ * • Recuperações não criam incidente: o problema correspondente é resolvido (HTTP 202)
  */
 public record CreateIncidentRequest(
 		
@@ -76,5 +83,9 @@ public record CreateIncidentRequest(
         String severity,
 
         @NotBlank(message = "source não pode estar vazio")
-        String source
+        String source,
+
+        Boolean recovery,
+
+        String problemEventId
 ) {}
\ No newline at end of file
@@ -25,10 +25,15 @@ import jakarta.validation.constraints.NotNull;
  * Content-Type: application/json
  *
  * {
- *   "status": "RESOLVED"
+ *   "status": "RESOLVED",
+ *   "actor": "joao.silva"
  * }
+ *
+ * actor é opcional e fica registrado na linha do tempo do incidente (padrão: api).
  */
 public record UpdateIncidentStatusRequest(
         @NotNull(message = "status não pode ser nulo")
-        String status
+        String status,
+
+        String actor
 ) {}
\ No newline at end of file
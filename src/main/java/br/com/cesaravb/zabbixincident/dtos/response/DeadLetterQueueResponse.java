@@ -0,0 +1,14 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.util.List;
+
+/**
+ * DTO responsável por retornar o estado do parking lot: profundidade total e as primeiras mensagens.
+ *
+ * • depth → Mensagens no parking lot no momento da consulta
+ * • messages → Até limit mensagens, na ordem da fila (a inspeção não as remove)
+ */
+public record DeadLetterQueueResponse(
+        long depth,
+        List<ParkedMessageResponse> messages
+) {}
@@ -0,0 +1,15 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+/**
+ * DTO responsável por retornar o resultado de um replay do parking lot.
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "replayed": 120,
+ *   "remaining": 0
+ * }
+ */
+public record DeadLetterReplayResponse(
+        int replayed,
+        long remaining
+) {}
@@ -0,0 +1,12 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+/**
+ * DTO responsável por retornar a contagem de incidentes de um grupo (host, source, severidade...).
+ *
+ * Exemplo de resposta JSON:
+ * { "key": "ENERGIA POP - SEROPEDICA", "count": 42 }
+ */
+public record GroupCountResponse(
+        String key,
+        long count
+) {}
@@ -0,0 +1,24 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.util.List;
+
+/**
+ * Resumo de um host (consulta STOMP /app/incidents/query/host/{host}).
+ *
+ * • open → Incidentes abertos do host no snapshot em cache
+ * • byStatus / bySeverity → Contagens da janela analítica em memória no intervalo pedido
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "host": "ENERGIA POP - SEROPEDICA",
+ *   "open": [ { "id": 42, ... } ],
+ *   "byStatus": [ { "key": "OPEN", "count": 3 } ],
+ *   "bySeverity": [ { "key": "HIGH", "count": 2 } ]
+ * }
+ */
+public record HostSummaryResponse(
+        String host,
+        List<IncidentResponse> open,
+        List<GroupCountResponse> byStatus,
+        List<GroupCountResponse> bySeverity
+) {}
@@ -0,0 +1,41 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mensagem delta enviada via WebSocket em /topic/incidents/updated quando o status muda.
+ *
+ * Carrega só o que mudou: o frontend aplica changed ao incidente que já possui (pelo id).
+ * seq é a sequência do incidente (Incident.version, 0 na criação); se o cliente recebe
+ * seq maior que a última conhecida + 1, perdeu alguma mudança e deve buscar o incidente
+ * de novo em GET /api/incidents/{id}. seq menor ou igual à conhecida é repetição e pode ser ignorada.
+ *
+ * Exemplo:
+ * {
+ *   "type": "STATUS_CHANGED",
+ *   "id": 1,
+ *   "seq": 2,
+ *   "changed": {
+ *     "status": "RESOLVED",
+ *     "updatedAt": "2026-02-05T05:20:41"
+ *   }
+ * }
+ */
+public record IncidentDelta(
+        IncidentEventType type,
+        Long id,
+        Long seq,
+        Changes changed
+) {
+
+    public IncidentDelta(Long id, Long seq, String status, LocalDateTime updatedAt) {
+        this(IncidentEventType.STATUS_CHANGED, id, seq, new Changes(status, updatedAt));
+    }
+
+    public record Changes(
+            String status,
+            LocalDateTime updatedAt
+    ) {}
+}
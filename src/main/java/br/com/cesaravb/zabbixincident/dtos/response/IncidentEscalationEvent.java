@@ -0,0 +1,38 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de escalonamento publicado quando um incidente permanece OPEN além do
+ * prazo da regra configurada.
+ *
+ * Destinos:
+ * • RabbitMQ: exchange zabbix.incident.exchange, routing key incident.escalated
+ * • WebSocket: /topic/incidents/escalations
+ *
+ * Exemplo de JSON:
+ * {
+ *   "incidentId": 1,
+ *   "zabbixEventId": "28316936",
+ *   "title": "ICMP Ping Down",
+ *   "host": "ENERGIA POP - SEROPEDICA",
+ *   "severity": "CRITICAL",
+ *   "source": "zabbix",
+ *   "level": 1,
+ *   "rule": "CRITICAL:*:5m",
+ *   "openSince": "2026-02-05T04:45:17",
+ *   "escalatedAt": "2026-02-05T04:50:17"
+ * }
+ */
+public record IncidentEscalationEvent(
+        Long incidentId,
+        String zabbixEventId,
+        String title,
+        String host,
+        String severity,
+        String source,
+        int level,
+        String rule,
+        LocalDateTime openSince,
+        LocalDateTime escalatedAt
+) {}
@@ -0,0 +1,67 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Envelope versionado publicado no RabbitMQ para cada mudança de um incidente.
+ *
+ * Substitui a publicação da entidade JPA Incident: os consumidores não dependem mais
+ * da entidade e cada mensagem carrega apenas os campos que mudaram.
+ *
+ * • type → CREATED (todos os campos), STATUS_CHANGED (status + updatedAt) ou DELETED (nenhum campo)
+ * • version → Versão do esquema do envelope (SCHEMA_VERSION)
+ * • sequence → Sequência monotônica do nó publicador (IncidentEventSequencer)
+ * • revision → Sequência do próprio incidente (Incident.version; DELETED = última versão + 1),
+ *   repassada ao WebSocket para o cliente detectar lacunas
+ * • occurredAt, createdAt, updatedAt → Epoch em milissegundos
+ * • Campos nulos não são serializados
+ *
+ * O formato no fio (JSON, Smile, CBOR ou binário próprio) é escolhido pelo content-type
+ * da mensagem (IncidentEventMessageConverter).
+ *
+ * Exemplo (codec JSON, STATUS_CHANGED):
+ * {
+ *   "type": "STATUS_CHANGED",
+ *   "version": 1,
+ *   "sequence": 1738730717000123,
+ *   "incidentId": 1,
+ *   "occurredAt": 1738730717102,
+ *   "status": "RESOLVED",
+ *   "updatedAt": 1738730717102,
+ *   "revision": 2
+ * }
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IncidentEvent(
+        IncidentEventType type,
+        int version,
+        long sequence,
+        long incidentId,
+        long occurredAt,
+        String zabbixEventId,
+        String hostids,
+        String title,
+        String description,
+        String alertMessage,
+        String eventName,
+        String eventOpdata,
+        String host,
+        String hostIp,
+        String item,
+        String itemKey,
+        String trigger,
+        String urlZabbix,
+        String valor,
+        SeverityLevel severity,
+        IncidentStatus status,
+        String source,
+        Long createdAt,
+        Long updatedAt,
+        Long revision
+) {
+
+    public static final int SCHEMA_VERSION = 1;
+}
@@ -0,0 +1,41 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO responsável por retornar um histograma de incidentes por janela de tempo.
+ *
+ * Fluxo completo de processamento:
+ *
+ * 1. O dashboard chama GET /api/analytics/histogram
+ * 2. O IncidentAnalyticsService consulta a janela colunar em memória (sem acesso ao MySQL)
+ * 3. Cada série contém um contador por bucket, na ordem cronológica a partir de "from"
+ * 4. O início do bucket N é calculado por: from + N * bucketSeconds
+ *
+ * Exemplo de resposta JSON (groupBy=SEVERITY, bucket=5m):
+ * {
+ *   "from": "2026-02-05T00:00:00",
+ *   "to": "2026-02-06T00:00:00",
+ *   "bucketSeconds": 300,
+ *   "groupBy": "SEVERITY",
+ *   "series": [
+ *     { "key": "CRITICAL", "total": 12, "counts": [0, 3, 9, ...] },
+ *     { "key": "HIGH", "total": 40, "counts": [2, 5, 1, ...] }
+ *   ]
+ * }
+ */
+public record IncidentHistogramResponse(
+        LocalDateTime from,
+        LocalDateTime to,
+        long bucketSeconds,
+        String groupBy,
+        List<Series> series
+) {
+
+    public record Series(
+            String key,
+            long total,
+            int[] counts
+    ) {}
+}
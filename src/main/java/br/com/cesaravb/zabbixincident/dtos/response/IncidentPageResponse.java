@@ -0,0 +1,35 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Página de incidentes sem envelope (Accept: application/vnd.incident.v2+json).
+ *
+ * Mesmo formato do PagedModel do Spring Data: só o conteúdo e os metadados da página,
+ * sem pageable/sort serializados por reflexão a partir do PageImpl.
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "content": [ { "id": 1, "title": "...", ... } ],
+ *   "page": { "size": 20, "number": 0, "totalElements": 42, "totalPages": 3 }
+ * }
+ */
+public record IncidentPageResponse(
+        List<IncidentResponse> content,
+        PageMetadata page
+) {
+
+    public static IncidentPageResponse of(Page<IncidentResponse> page) {
+        return new IncidentPageResponse(page.getContent(),
+                new PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages()));
+    }
+
+    public record PageMetadata(
+            long size,
+            long number,
+            long totalElements,
+            long totalPages
+    ) {}
+}
@@ -0,0 +1,33 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resposta das consultas STOMP (IncidentQueryController), entregue só à sessão que perguntou
+ * em /user/queue/incidents/replies.
+ *
+ * • requestId → Header x-request-id do SEND, devolvido para o cliente casar pergunta e resposta
+ * • query → Destino consultado (ex: /app/incidents/query/open)
+ * • status → 200 ou o status equivalente ao do GlobalExceptionHandler
+ * • seq → Seq do stream em que os dados valem (frames ao vivo com seq maior já estão à frente)
+ * • data → Resultado da consulta (ausente em erro)
+ * • error → Mensagem de erro (ausente em sucesso)
+ *
+ * Exemplo:
+ * {
+ *   "requestId": "7f3c",
+ *   "query": "/app/incidents/query/42",
+ *   "status": 200,
+ *   "seq": 1738730717000044,
+ *   "data": { "id": 42, "status": "OPEN", ... }
+ * }
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IncidentQueryResponse(
+        String requestId,
+        String query,
+        int status,
+        Long seq,
+        Object data,
+        String error
+) {}
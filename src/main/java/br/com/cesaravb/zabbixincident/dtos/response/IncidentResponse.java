@@ -21,6 +21,9 @@ import java.time.LocalDateTime;
  * • PUT /api/incidents/{id}/status → Retorna HTTP 200 OK com IncidentResponse atualizado
  * • WebSocket /topic/incidents → Envia IncidentResponse em tempo real para clientes inscritos
  *
+ * seq é a sequência do incidente (Incident.version): as mensagens delta do WebSocket
+ * (IncidentDelta / IncidentTombstone) continuam a partir dela.
+ *
  * Exemplo de resposta JSON:
  * {
  *   "status": 201,
@@ -45,7 +48,8 @@ import java.time.LocalDateTime;
  *     "status": "OPEN",
  *     "source": "zabbix",
  *     "createdAt": "2026-02-05T04:45:17",
- *     "updatedAt": "2026-02-05T04:45:17"
+ *     "updatedAt": "2026-02-05T04:45:17",
+ *     "seq": 0
  *   },
  *   "timestamp": "2026-02-05T04:45:17"
  * }
@@ -70,5 +74,6 @@ public record IncidentResponse(
         String status,
         String source,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long seq
 ) {}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Resposta do SUBSCRIBE em /app/incidents/resume (IncidentStreamController).
+ *
+ * • mode → REPLAY (só os eventos perdidos) ou SNAPSHOT (incidentes abertos + eventos posteriores)
+ * • epoch → Identificador do stream deste nó; o cliente o envia de volta no próximo resume
+ * • seq → Último seq incluído na resposta (ponto de retomada)
+ * • snapshot → Incidentes abertos (apenas em SNAPSHOT)
+ * • events → Eventos com seq posterior ao do cliente (REPLAY) ou ao do snapshot (SNAPSHOT)
+ *
+ * Exemplo (REPLAY):
+ * {
+ *   "mode": "REPLAY",
+ *   "epoch": 1738730717000000,
+ *   "seq": 1738730717000044,
+ *   "events": [ { "seq": 1738730717000043, "type": "CREATED", "payload": { ... } }, ... ]
+ * }
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IncidentResumeResponse(
+        String mode,
+        long epoch,
+        long seq,
+        List<IncidentResponse> snapshot,
+        List<IncidentStreamEvent> events
+) {
+
+    public static final String REPLAY = "REPLAY";
+    public static final String SNAPSHOT = "SNAPSHOT";
+}
@@ -0,0 +1,17 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.util.List;
+
+/**
+ * Estatísticas do painel (consulta STOMP /app/incidents/query/stats).
+ *
+ * • open → Incidentes abertos no snapshot em cache (limitado a app.websocket.replay.snapshot-max)
+ * • byStatus / bySeverity → Contagens da janela analítica em memória no intervalo pedido
+ * • sla → Tempos médios de reconhecimento e resolução por severidade (acumuladores em memória)
+ */
+public record IncidentStatsResponse(
+        int open,
+        List<GroupCountResponse> byStatus,
+        List<GroupCountResponse> bySeverity,
+        List<SlaResponse> sla
+) {}
@@ -0,0 +1,30 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo agregado enviado em /topic/incidents/summary enquanto o modo tempestade
+ * está ativo, no lugar de um frame por incidente.
+ *
+ * Exemplo de JSON:
+ * {
+ *   "from": "2026-02-05T04:45:12",
+ *   "to": "2026-02-05T04:45:17",
+ *   "total": 3912,
+ *   "bySeverity": { "CRITICAL": 40, "HIGH": 812, "INFO": 3060 },
+ *   "topHosts": [ { "key": "CORE-SW-01", "count": 1200 } ],
+ *   "topCriticals": [ { IncidentSummary } ],
+ *   "globalRate": 782.5
+ * }
+ */
+public record IncidentStormSummary(
+        LocalDateTime from,
+        LocalDateTime to,
+        long total,
+        Map<String, Long> bySeverity,
+        List<GroupCountResponse> topHosts,
+        List<IncidentSummary> topCriticals,
+        double globalRate
+) {}
@@ -0,0 +1,23 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+
+/**
+ * Evento do stream WebSocket guardado no IncidentReplayBuffer e devolvido no resume.
+ *
+ * • seq → Sequência global do stream deste nó (a mesma do header x-seq dos frames ao vivo)
+ * • type → CREATED, STATUS_CHANGED ou DELETED
+ * • payload → O mesmo corpo do frame ao vivo (IncidentResponse, IncidentDelta ou IncidentTombstone)
+ *
+ * Exemplo:
+ * {
+ *   "seq": 1738730717000042,
+ *   "type": "STATUS_CHANGED",
+ *   "payload": { "type": "STATUS_CHANGED", "id": 1, "seq": 2, "changed": { "status": "RESOLVED", ... } }
+ * }
+ */
+public record IncidentStreamEvent(
+        long seq,
+        IncidentEventType type,
+        Object payload
+) {}
@@ -0,0 +1,35 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO compacto de um incidente, sem os campos TEXT (description, alertMessage, urlZabbix).
+ *
+ * Usado quando muitos incidentes são enviados de uma vez e o cliente só precisa
+ * identificar o incidente (ex: top críticos no resumo do modo tempestade).
+ * O detalhe completo continua disponível em GET /api/incidents/{id}.
+ *
+ * Exemplo de JSON:
+ * {
+ *   "id": 1,
+ *   "zabbixEventId": "28316936",
+ *   "hostids": "10084",
+ *   "title": "ICMP Ping Down",
+ *   "host": "ENERGIA POP - SEROPEDICA",
+ *   "severity": "CRITICAL",
+ *   "status": "OPEN",
+ *   "source": "zabbix",
+ *   "createdAt": "2026-02-05T04:45:17"
+ * }
+ */
+public record IncidentSummary(
+        Long id,
+        String zabbixEventId,
+        String hostids,
+        String title,
+        String host,
+        String severity,
+        String status,
+        String source,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,28 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO responsável por representar uma transição de status na linha do tempo do incidente.
+ *
+ * • fromStatus → Status anterior (nulo na criação)
+ * • toStatus → Novo status
+ * • actor → Quem ou o que fez a transição (ex: zabbix, zabbix-recovery, operador)
+ * • pending → true enquanto a transição ainda aguarda o próximo lote de escrita
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "fromStatus": "OPEN",
+ *   "toStatus": "IN_PROGRESS",
+ *   "actor": "joao.silva",
+ *   "occurredAt": "2026-02-05T04:47:02.318",
+ *   "pending": false
+ * }
+ */
+public record IncidentTimelineEntry(
+        String fromStatus,
+        String toStatus,
+        String actor,
+        LocalDateTime occurredAt,
+        boolean pending
+) {}
@@ -0,0 +1,27 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+
+/**
+ * Tombstone enviado via WebSocket em /topic/incidents/deleted quando um incidente é removido.
+ *
+ * seq é a última sequência do incidente + 1: fecha a sequência das mensagens delta
+ * (IncidentDelta) e qualquer delta atrasado com seq menor deve ser descartado.
+ *
+ * Exemplo:
+ * {
+ *   "type": "DELETED",
+ *   "id": 1,
+ *   "seq": 3
+ * }
+ */
+public record IncidentTombstone(
+        IncidentEventType type,
+        Long id,
+        Long seq
+) {
+
+    public IncidentTombstone(Long id, Long seq) {
+        this(IncidentEventType.DELETED, id, seq);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO responsável por descrever uma mensagem estacionada no parking lot do RabbitMQ.
+ *
+ * • originQueue → Fila que não conseguiu processar a mensagem (para onde o replay a devolve)
+ * • attempts / exceptionClass / exceptionMessage → Tentativas feitas e a última causa
+ * • eventType / incidentId → Preenchidos quando o corpo ainda pode ser decodificado
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "originQueue": "zabbix.incident.queue",
+ *   "attempts": 5,
+ *   "exceptionClass": "java.lang.IllegalStateException",
+ *   "exceptionMessage": "Erro ao enviar notificação via WebSocket",
+ *   "parkedAt": "2026-02-05T04:47:02",
+ *   "contentType": "application/vnd.zabbix-incident.event.v1+binary",
+ *   "bodyBytes": 467,
+ *   "eventType": "CREATED",
+ *   "incidentId": 1234
+ * }
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ParkedMessageResponse(
+        String originQueue,
+        Integer attempts,
+        String exceptionClass,
+        String exceptionMessage,
+        LocalDateTime parkedAt,
+        String contentType,
+        int bodyBytes,
+        String eventType,
+        Long incidentId
+) {}
@@ -0,0 +1,29 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+/**
+ * DTO responsável por retornar o resultado da correlação de um evento de recuperação do Zabbix.
+ *
+ * Resultados possíveis (outcome):
+ *
+ * • RESOLVED → O problema correspondente foi resolvido (UPDATE condicional)
+ * • ALREADY_RESOLVED → O problema já estava resolvido/fechado ou foi removido
+ * • BUFFERED → O problema ainda não chegou; a recuperação aguarda a janela de tolerância
+ * • DISCARDED → Limite de recuperações em espera atingido; o evento foi ignorado
+ *
+ * Exemplo de resposta JSON (HTTP 202 Accepted):
+ * {
+ *   "status": 202,
+ *   "message": "Recuperação processada",
+ *   "data": {
+ *     "outcome": "RESOLVED",
+ *     "incidentId": 1,
+ *     "zabbixEventId": "28316936"
+ *   },
+ *   "timestamp": "2026-02-05T04:45:17"
+ * }
+ */
+public record RecoveryResponse(
+        String outcome,
+        Long incidentId,
+        String zabbixEventId
+) {}
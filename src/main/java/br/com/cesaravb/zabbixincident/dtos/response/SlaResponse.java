@@ -0,0 +1,24 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+/**
+ * DTO responsável por retornar os indicadores de SLA de uma severidade.
+ *
+ * • acknowledged / mttaSeconds → Incidentes reconhecidos (primeiro IN_PROGRESS) e tempo médio até o reconhecimento
+ * • resolved / mttrSeconds → Incidentes resolvidos (primeiro RESOLVED/CLOSED) e tempo médio até a resolução
+ *
+ * Exemplo de resposta JSON:
+ * {
+ *   "severity": "CRITICAL",
+ *   "acknowledged": 42,
+ *   "mttaSeconds": 183.5,
+ *   "resolved": 40,
+ *   "mttrSeconds": 2710.0
+ * }
+ */
+public record SlaResponse(
+        String severity,
+        long acknowledged,
+        double mttaSeconds,
+        long resolved,
+        double mttrSeconds
+) {}
@@ -0,0 +1,22 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de controle publicado em /topic/incidents/control quando o pipeline
+ * entra ou sai do modo tempestade (alert storm).
+ *
+ * Exemplo de JSON:
+ * {
+ *   "mode": "STORM",
+ *   "reason": "source zabbix-core acima de 30.0/s",
+ *   "globalRate": 812.4,
+ *   "timestamp": "2026-02-05T04:45:17"
+ * }
+ */
+public record StormModeEvent(
+        String mode,
+        String reason,
+        double globalRate,
+        LocalDateTime timestamp
+) {}
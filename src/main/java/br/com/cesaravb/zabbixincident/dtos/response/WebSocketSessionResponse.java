@@ -0,0 +1,16 @@
+package br.com.cesaravb.zabbixincident.dtos.response;
+
+/**
+ * DTO responsável por retornar a fila de saída de uma sessão WebSocket.
+ *
+ * • sessionId → ID da sessão (o mesmo do simpSessionId)
+ * • depth → Frames aguardando o socket
+ * • conflated → Frames substituídos por um mais recente do mesmo incidente desde a conexão
+ * • lagMs → Idade do frame pendente mais antigo (0 quando a fila está vazia)
+ */
+public record WebSocketSessionResponse(
+        String sessionId,
+        int depth,
+        long conflated,
+        long lagMs
+) {}
@@ -0,0 +1,11 @@
+package br.com.cesaravb.zabbixincident.infrastructure.analytics;
+
+/**
+ * Colunas da janela analítica que podem ser usadas em agrupamentos.
+ */
+public enum AnalyticsDimension {
+    SEVERITY,
+    STATUS,
+    HOST,
+    SOURCE
+}
@@ -0,0 +1,383 @@
+package br.com.cesaravb.zabbixincident.infrastructure.analytics;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Janela colunar em memória (ring buffer) com os incidentes mais recentes.
+ *
+ * Layout por linha (slot):
+ * • ids[]        → long  (8 bytes) ID do incidente
+ * • timestamps[] → long  (8 bytes) createdAt em epoch millis
+ * • severities[] → byte  (1 byte)  ordinal de SeverityLevel
+ * • statuses[]   → byte  (1 byte)  ordinal de IncidentStatus
+ * • hosts[]      → int   (4 bytes) código no dicionário de hosts
+ * • sources[]    → int   (4 bytes) código no dicionário de sources
+ *
+ * Total: 26 bytes por incidente + ~24 bytes do índice ID → slot.
+ * Quando o ring enche, a linha mais antiga é sobrescrita; a cada volta completa os dicionários
+ * de host/source são compactados para os valores ainda presentes na janela.
+ *
+ * Um ID que já está na janela (reprocessamento, restore) marca a linha antiga como removida
+ * antes de ocupar a nova, então cada incidente é contado uma única vez.
+ *
+ * Consultas fazem varredura sequencial das colunas primitivas (cache-friendly),
+ * sem tocar no banco de dados nem materializar entidades.
+ */
+public final class ColumnarIncidentWindow {
+
+    private static final long DELETED = Long.MIN_VALUE;
+    private static final String NONE_KEY = "(nenhum)";
+    private static final String OTHERS_KEY = "(outros)";
+
+    // ====================================
+    // # Colunas
+    // ====================================
+    private final long[] ids;
+    private final long[] timestamps;
+    private final byte[] severities;
+    private final byte[] statuses;
+    private final int[] hosts;
+    private final int[] sources;
+
+    // ====================================
+    // # Estruturas auxiliares
+    // ====================================
+    private final int capacity;
+    private final int mask;
+    private final LongIntHashIndex slotById;
+    private final StringDictionary hostDictionary = new StringDictionary();
+    private final StringDictionary sourceDictionary = new StringDictionary();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long cursor;
+
+    // ====================================
+    // # Construtor - Capacidade arredondada para potência de 2
+    // ====================================
+    public ColumnarIncidentWindow(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(16, requestedCapacity) - 1) << 1;
+        this.mask = capacity - 1;
+        this.ids = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.severities = new byte[capacity];
+        this.statuses = new byte[capacity];
+        this.hosts = new int[capacity];
+        this.sources = new int[capacity];
+        this.slotById = new LongIntHashIndex(capacity);
+    }
+
+    // ====================================
+    // # append - Adiciona um incidente (sobrescreve o mais antigo se cheio)
+    // ====================================
+    public void append(long id, long createdAtMillis, SeverityLevel severity, IncidentStatus status, String host, String source) {
+        lock.writeLock().lock();
+        try {
+            int slot = (int) (cursor & mask);
+            if (cursor >= capacity && timestamps[slot] != DELETED) {
+                slotById.remove(ids[slot], slot);
+            }
+            int previous = slotById.get(id);
+            if (previous != LongIntHashIndex.MISSING && previous != slot) {
+                timestamps[previous] = DELETED;
+            }
+            ids[slot] = id;
+            timestamps[slot] = createdAtMillis;
+            severities[slot] = (byte) severity.ordinal();
+            statuses[slot] = (byte) status.ordinal();
+            hosts[slot] = hostDictionary.encode(host);
+            sources[slot] = sourceDictionary.encode(source);
+            slotById.put(id, slot);
+            cursor++;
+            if ((cursor & mask) == 0) {
+                hostDictionary.compact(hosts, capacity);
+                sourceDictionary.compact(sources, capacity);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ====================================
+    // # updateStatus - Atualiza o status de um incidente ainda na janela
+    // ====================================
+    public boolean updateStatus(long id, IncidentStatus status) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotById.get(id);
+            if (slot == LongIntHashIndex.MISSING) {
+                return false;
+            }
+            statuses[slot] = (byte) status.ordinal();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ====================================
+    // # remove - Marca a linha como removida (incidente deletado)
+    // ====================================
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotById.get(id);
+            if (slot == LongIntHashIndex.MISSING) {
+                return false;
+            }
+            slotById.remove(id, slot);
+            timestamps[slot] = DELETED;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ====================================
+    // # histogram - Contagem por bucket de tempo (opcionalmente agrupada)
+    // ====================================
+    /**
+     * Conta incidentes criados em [fromMillis, toMillis) por bucket de tempo.
+     *
+     * Se groupBy for informado, retorna uma série por valor da dimensão.
+     * Para HOST e SOURCE apenas os "limit" grupos com maior total viram séries;
+     * o restante é somado na série "(outros)".
+     */
+    public Histogram histogram(long fromMillis, long toMillis, long bucketMillis, AnalyticsDimension groupBy, Filter filter, int limit) {
+        int bucketCount = (int) Math.max(1, (toMillis - fromMillis + bucketMillis - 1) / bucketMillis);
+        lock.readLock().lock();
+        try {
+            ResolvedFilter resolved = resolve(filter);
+            if (resolved == null) {
+                return new Histogram(fromMillis, bucketMillis, bucketCount, List.of());
+            }
+
+            // ====================================
+            // # Mapeia código do grupo → linha da série
+            // ====================================
+            int cardinality = groupBy == null ? 1 : cardinality(groupBy);
+            int[] rowOfGroup = new int[cardinality];
+            List<String> keys = new ArrayList<>();
+            if (groupBy == null) {
+                keys.add("total");
+            } else {
+                long[] totals = new long[cardinality];
+                int live = live();
+                for (int slot = 0; slot < live; slot++) {
+                    if (matches(slot, fromMillis, toMillis, resolved)) {
+                        totals[groupCode(groupBy, slot, cardinality)]++;
+                    }
+                }
+                int[] selected = topGroups(totals, limit);
+                Arrays.fill(rowOfGroup, -1);
+                for (int group : selected) {
+                    rowOfGroup[group] = keys.size();
+                    keys.add(groupKey(groupBy, group, cardinality));
+                }
+                boolean hasOthers = false;
+                for (int group = 0; group < cardinality; group++) {
+                    if (rowOfGroup[group] == -1 && totals[group] > 0) {
+                        hasOthers = true;
+                        break;
+                    }
+                }
+                if (hasOthers) {
+                    for (int group = 0; group < cardinality; group++) {
+                        if (rowOfGroup[group] == -1) {
+                            rowOfGroup[group] = keys.size();
+                        }
+                    }
+                    keys.add(OTHERS_KEY);
+                }
+            }
+
+            // ====================================
+            // # Varredura principal
+            // ====================================
+            int[][] counts = new int[keys.size()][bucketCount];
+            long[] totals = new long[keys.size()];
+            int live = live();
+            for (int slot = 0; slot < live; slot++) {
+                if (!matches(slot, fromMillis, toMillis, resolved)) {
+                    continue;
+                }
+                int row = groupBy == null ? 0 : rowOfGroup[groupCode(groupBy, slot, cardinality)];
+                if (row < 0) {
+                    continue;
+                }
+                int bucket = (int) ((timestamps[slot] - fromMillis) / bucketMillis);
+                counts[row][bucket]++;
+                totals[row]++;
+            }
+
+            List<Series> series = new ArrayList<>(keys.size());
+            for (int row = 0; row < keys.size(); row++) {
+                series.add(new Series(keys.get(row), totals[row], counts[row]));
+            }
+            return new Histogram(fromMillis, bucketMillis, bucketCount, series);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================================
+    // # groupBy - Contagem total por valor da dimensão (top N)
+    // ====================================
+    public List<GroupCount> groupBy(long fromMillis, long toMillis, AnalyticsDimension dimension, Filter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            ResolvedFilter resolved = resolve(filter);
+            if (resolved == null) {
+                return List.of();
+            }
+            int cardinality = cardinality(dimension);
+            long[] totals = new long[cardinality];
+            int live = live();
+            for (int slot = 0; slot < live; slot++) {
+                if (matches(slot, fromMillis, toMillis, resolved)) {
+                    totals[groupCode(dimension, slot, cardinality)]++;
+                }
+            }
+            List<GroupCount> result = new ArrayList<>();
+            for (int group : topGroups(totals, limit)) {
+                result.add(new GroupCount(groupKey(dimension, group, cardinality), totals[group]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================================
+    // # Estatísticas da janela
+    // ====================================
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Valores distintos nos dicionários de host e source (limitados pelo conteúdo da janela).
+     */
+    public int dictionarySize() {
+        lock.readLock().lock();
+        try {
+            return hostDictionary.size() + sourceDictionary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static int bytesPerRow() {
+        return Long.BYTES * 2 + 2 + Integer.BYTES * 2;
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private int live() {
+        return (int) Math.min(cursor, capacity);
+    }
+
+    private boolean matches(int slot, long fromMillis, long toMillis, ResolvedFilter filter) {
+        long ts = timestamps[slot];
+        return ts != DELETED
+                && ts >= fromMillis && ts < toMillis
+                && (filter.severity < 0 || severities[slot] == filter.severity)
+                && (filter.status < 0 || statuses[slot] == filter.status)
+                && (filter.host == StringDictionary.NULL_CODE || hosts[slot] == filter.host)
+                && (filter.source == StringDictionary.NULL_CODE || sources[slot] == filter.source);
+    }
+
+    /**
+     * Para HOST/SOURCE o código -1 (valor nulo) ocupa a última posição do array.
+     */
+    private int groupCode(AnalyticsDimension dimension, int slot, int cardinality) {
+        return switch (dimension) {
+            case SEVERITY -> severities[slot];
+            case STATUS -> statuses[slot];
+            case HOST -> hosts[slot] == StringDictionary.NULL_CODE ? cardinality - 1 : hosts[slot];
+            case SOURCE -> sources[slot] == StringDictionary.NULL_CODE ? cardinality - 1 : sources[slot];
+        };
+    }
+
+    private int cardinality(AnalyticsDimension dimension) {
+        return switch (dimension) {
+            case SEVERITY -> SeverityLevel.values().length;
+            case STATUS -> IncidentStatus.values().length;
+            case HOST -> hostDictionary.size() + 1;
+            case SOURCE -> sourceDictionary.size() + 1;
+        };
+    }
+
+    private String groupKey(AnalyticsDimension dimension, int group, int cardinality) {
+        return switch (dimension) {
+            case SEVERITY -> SeverityLevel.values()[group].name();
+            case STATUS -> IncidentStatus.values()[group].name();
+            case HOST -> group == cardinality - 1 ? NONE_KEY : hostDictionary.decode(group);
+            case SOURCE -> group == cardinality - 1 ? NONE_KEY : sourceDictionary.decode(group);
+        };
+    }
+
+    /**
+     * Seleciona os índices com maior total (> 0), em ordem decrescente.
+     */
+    private static int[] topGroups(long[] totals, int limit) {
+        return IntStream.range(0, totals.length)
+                .filter(group -> totals[group] > 0)
+                .boxed()
+                .sorted((a, b) -> Long.compare(totals[b], totals[a]))
+                .limit(Math.max(1, limit))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Resolve os filtros para códigos. Retorna null quando um filtro de host/source
+     * não existe no dicionário (nenhuma linha pode casar).
+     */
+    private ResolvedFilter resolve(Filter filter) {
+        if (filter == null) {
+            return new ResolvedFilter(-1, -1, StringDictionary.NULL_CODE, StringDictionary.NULL_CODE);
+        }
+        int host = hostDictionary.lookup(filter.host());
+        int source = sourceDictionary.lookup(filter.source());
+        if ((filter.host() != null && host == StringDictionary.NULL_CODE)
+                || (filter.source() != null && source == StringDictionary.NULL_CODE)) {
+            return null;
+        }
+        return new ResolvedFilter(
+                filter.severity() == null ? -1 : filter.severity().ordinal(),
+                filter.status() == null ? -1 : filter.status().ordinal(),
+                host,
+                source
+        );
+    }
+
+    // ====================================
+    // # Tipos de entrada/saída
+    // ====================================
+    public record Filter(SeverityLevel severity, IncidentStatus status, String host, String source) {}
+
+    public record Histogram(long fromMillis, long bucketMillis, int bucketCount, List<Series> series) {}
+
+    public record Series(String key, long total, int[] counts) {}
+
+    public record GroupCount(String key, long count) {}
+
+    private record ResolvedFilter(int severity, int status, int host, int source) {}
+}
@@ -0,0 +1,119 @@
+package br.com.cesaravb.zabbixincident.infrastructure.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Índice long → int com endereçamento aberto (linear probing) sobre arrays primitivos.
+ *
+ * Usado para localizar o slot de um incidente (ID → posição no ring) sem
+ * alocar um objeto por entrada como faria um HashMap<Long, Integer>.
+ * Remoções usam backward-shift, então não há tombstones degradando a busca.
+ *
+ * Não é thread-safe: o acesso é protegido pelo lock da ColumnarIncidentWindow.
+ */
+public final class LongIntHashIndex {
+
+    public static final int MISSING = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long[] keys;
+    private final int[] values;
+    private final int mask;
+    private int size;
+
+    // ====================================
+    // # Construtor - Capacidade arredondada para potência de 2 (fator de carga <= 0.5)
+    // ====================================
+    public LongIntHashIndex(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedEntries * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // ====================================
+    // # put - Insere ou substitui
+    // ====================================
+    public void put(long key, int value) {
+        int i = slotOf(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    // ====================================
+    // # get - Retorna o valor ou MISSING
+    // ====================================
+    public int get(long key) {
+        int i = slotOf(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    // ====================================
+    // # remove - Remove somente se o valor ainda for o esperado
+    // ====================================
+    /**
+     * Remove a chave apenas se ela ainda apontar para o valor informado.
+     * Evita que a expulsão de um slot antigo apague a entrada de uma
+     * reinserção mais recente do mesmo ID.
+     */
+    public void remove(long key, int expectedValue) {
+        int i = slotOf(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                if (values[i] == expectedValue) {
+                    deleteAt(i);
+                }
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ====================================
+    // # deleteAt - Backward-shift deletion
+    // ====================================
+    private void deleteAt(int hole) {
+        size--;
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == EMPTY) {
+                break;
+            }
+            int home = slotOf(keys[i]);
+            // Move a entrada para o buraco se o buraco estiver entre "home" e "i" (circular)
+            boolean shift = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (shift) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.cesaravb.zabbixincident.infrastructure.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dicionário que codifica Strings repetidas (host, source) em inteiros compactos.
+ *
+ * Cada valor distinto é armazenado uma única vez; as colunas da janela guardam
+ * apenas o código (int). Valores nulos ou vazios são codificados como -1.
+ *
+ * Os códigos só crescem entre compactações: a ColumnarIncidentWindow chama compact() a cada
+ * volta do ring, mantendo apenas os valores ainda referenciados pelas linhas da janela.
+ *
+ * Não é thread-safe: o acesso é protegido pelo lock da ColumnarIncidentWindow.
+ */
+public final class StringDictionary {
+
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    // ====================================
+    // # encode - Retorna (ou cria) o código do valor
+    // ====================================
+    public int encode(String value) {
+        if (value == null || value.isEmpty()) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            values.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    // ====================================
+    // # lookup - Retorna o código sem criar (ou -1)
+    // ====================================
+    public int lookup(String value) {
+        if (value == null || value.isEmpty()) {
+            return NULL_CODE;
+        }
+        return codes.getOrDefault(value, NULL_CODE);
+    }
+
+    // ====================================
+    // # decode - Retorna o valor original do código
+    // ====================================
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    // ====================================
+    // # compact - Descarta os valores que a coluna não referencia mais
+    // ====================================
+    /**
+     * Recria o dicionário só com os códigos usados em column[0, length) e reescreve a coluna
+     * com os novos códigos (mesma ordem de primeira ocorrência).
+     */
+    public void compact(int[] column, int length) {
+        int[] remap = new int[values.size()];
+        Arrays.fill(remap, NULL_CODE);
+        List<String> kept = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            int code = column[i];
+            if (code == NULL_CODE) {
+                continue;
+            }
+            if (remap[code] == NULL_CODE) {
+                remap[code] = kept.size();
+                kept.add(values.get(code));
+            }
+            column[i] = remap[code];
+        }
+        values.clear();
+        values.addAll(kept);
+        codes.clear();
+        for (int code = 0; code < values.size(); code++) {
+            codes.put(values.get(code), code);
+        }
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
@@ -1,24 +1,68 @@
 package br.com.cesaravb.zabbixincident.infrastructure.config;
 
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventMessageConverter;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentRetryInterceptor;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentRetryPolicy;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.CborIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.IncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.JsonIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.SmileIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Configuração do RabbitMQ para processamento assíncrono de incidentes.
  *
  * Fluxo:
- * 1. Service publica Incident na fila
- * 2. RabbitMQ serializa para JSON
- * 3. Listener consome a mensagem
- * 4. RabbitMQ desserializa de JSON para Incident
- * 5. Listener processa e envia via WebSocket
+ * 1. Service publica um IncidentEvent (envelope compacto) com a routing key do tipo do evento
+ * 2. IncidentEventMessageConverter serializa com o codec configurado
+ * 3. O TopicExchange entrega em uma fila por tipo (criados, mudanças de status, deleções)
+ * 4. O codec é identificado pelo content-type e o IncidentEvent é reconstruído
+ * 5. Cada listener processa apenas o seu tipo e envia via WebSocket
+ *
+ * Routing keys: incident.created, incident.status.changed e incident.deleted, seguidas
+ * do segmento de severidade quando conhecido (ex: incident.created.critical). Consumidores
+ * externos podem declarar suas próprias filas e fazer bind só no que precisam
+ * (ex: incident.*.critical, incident.status.changed.#).
+ *
+ * Prioridade: as filas são declaradas com x-max-priority e cada mensagem leva a prioridade
+ * da severidade (SeverityLevel.messagePriority), então sob backlog CRITICAL/HIGH furam a fila.
+ *
+ * Falhas: nenhuma mensagem volta direto para a fila (requeue desativado). O IncidentRetryInterceptor
+ * republica em filas de atraso (TTL) que devolvem a mensagem à origem, e estaciona no parking lot
+ * (zabbix.incident.parking-lot) após esgotar as tentativas ou em erro de conversão.
+ *
+ * Ordem por incidente: com app.rabbitmq.listener.lanes > 0, o KeyedLaneDispatcher processa em
+ * paralelo mantendo a ordem por ID. Com app.rabbitmq.sharding.shards > 0, as filas por tipo dão
+ * lugar a shards (exchange x-consistent-hash pelo correlation_id = ID do incidente) com
+ * single-active-consumer: cada incidente é processado por um único nó, em ordem.
+ *
+ * Broadcast (app.rabbitmq.broadcast.enabled=true): cada nó declara uma fila própria e temporária
+ * ligada ao exchange fanout zabbix.incident.broadcast, então todo nó recebe todo evento e o
+ * entrega às suas sessões WebSocket (o simple broker só alcança as sessões locais).
  */
 @Configuration
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
 public class RabbitMQConfig {
 
     // ====================================
@@ -26,7 +70,28 @@ public class RabbitMQConfig {
     // ====================================
     public static final String INCIDENT_EXCHANGE = "zabbix.incident.exchange";
     public static final String INCIDENT_QUEUE = "zabbix.incident.queue";
+    public static final String INCIDENT_STATUS_QUEUE = "zabbix.incident.status.queue";
+    public static final String INCIDENT_DELETED_QUEUE = "zabbix.incident.deleted.queue";
     public static final String INCIDENT_ROUTING_KEY = "incident.created";
+    public static final String STATUS_CHANGED_ROUTING_KEY = "incident.status.changed";
+    public static final String DELETED_ROUTING_KEY = "incident.deleted";
+    public static final String ESCALATION_ROUTING_KEY = "incident.escalated";
+    public static final int DEFAULT_MAX_PRIORITY = 10;
+    public static final String RETRY_RETURN_EXCHANGE = "zabbix.incident.retry.return";
+    public static final String PARKING_LOT_EXCHANGE = "zabbix.incident.parking-lot.exchange";
+    public static final String PARKING_LOT_QUEUE = "zabbix.incident.parking-lot";
+    public static final List<String> INCIDENT_QUEUES = List.of(INCIDENT_QUEUE, INCIDENT_STATUS_QUEUE, INCIDENT_DELETED_QUEUE);
+    public static final String SHARDED_EXCHANGE = "zabbix.incident.sharded";
+    public static final String SHARD_QUEUE_PREFIX = "zabbix.incident.shard.";
+    public static final String BROADCAST_EXCHANGE = "zabbix.incident.broadcast";
+    public static final String BROADCAST_QUEUE_PREFIX = "zabbix.incident.broadcast.";
+
+    // ====================================
+    // # Modos de consumo (filas por tipo, shards ou broadcast)
+    // ====================================
+    public static final String BROADCAST_CONDITION = "${app.rabbitmq.broadcast.enabled:false}";
+    public static final String TYPED_QUEUES_CONDITION = "${app.rabbitmq.sharding.shards:0} == 0 && !" + BROADCAST_CONDITION;
+    public static final String SHARDING_CONDITION = "${app.rabbitmq.sharding.shards:0} > 0 && !" + BROADCAST_CONDITION;
 
     // ====================================
     // # Exchange - Ponto de entrada para mensagens
@@ -52,10 +117,39 @@ public class RabbitMQConfig {
      * - durable: true → Persiste mensagens se RabbitMQ cair
      * - exclusive: false → Pode ser acessada por múltiplos consumers
      * - autoDelete: false → Não deleta quando não tem consumers
+     * - x-max-priority: app.rabbitmq.max-priority (0 desativa)
+     * - x-dead-letter-exchange: parking lot (mensagens rejeitadas sem requeue)
+     *
+     * ATENÇÃO: argumentos de fila não mudam depois de declarada. Uma fila já existente sem
+     * x-max-priority precisa ser removida (ou drenada e recriada) antes do deploy.
+     */
+    @Bean
+    public Queue incidentQueue(@Value("${app.rabbitmq.max-priority:" + DEFAULT_MAX_PRIORITY + "}") int maxPriority) {
+        return durableQueue(INCIDENT_QUEUE, maxPriority);
+    }
+
+    /**
+     * Fila das mudanças de status (incident.status.changed.#).
      */
     @Bean
-    public Queue incidentQueue() {
-        return new Queue(INCIDENT_QUEUE, true, false, false);
+    public Queue incidentStatusQueue(@Value("${app.rabbitmq.max-priority:" + DEFAULT_MAX_PRIORITY + "}") int maxPriority) {
+        return durableQueue(INCIDENT_STATUS_QUEUE, maxPriority);
+    }
+
+    /**
+     * Fila das deleções (incident.deleted.#).
+     */
+    @Bean
+    public Queue incidentDeletedQueue(@Value("${app.rabbitmq.max-priority:" + DEFAULT_MAX_PRIORITY + "}") int maxPriority) {
+        return durableQueue(INCIDENT_DELETED_QUEUE, maxPriority);
+    }
+
+    private static Queue durableQueue(String name, int maxPriority) {
+        QueueBuilder builder = QueueBuilder.durable(name).deadLetterExchange(PARKING_LOT_EXCHANGE);
+        if (maxPriority > 0) {
+            builder.maxPriority(maxPriority);
+        }
+        return builder.build();
     }
 
     // ====================================
@@ -65,14 +159,222 @@ public class RabbitMQConfig {
      * Cria o binding entre exchange e queue.
      *
      * Fluxo:
-     * 1. Mensagem chega no exchange com routing key "incident.created"
-     * 2. Binding verifica se routing key bate
+     * 1. Mensagem chega no exchange com routing key "incident.created" ou "incident.created.<severidade>"
+     * 2. Binding verifica se routing key bate ("#" aceita zero ou mais segmentos)
      * 3. Se bater, mensagem vai para a queue
      * 4. Listener consome da queue
      */
     @Bean
+    @ConditionalOnExpression(TYPED_QUEUES_CONDITION)
     public Binding incidentBinding(TopicExchange incidentExchange, Queue incidentQueue) {
-        return BindingBuilder.bind(incidentQueue).to(incidentExchange).with(INCIDENT_ROUTING_KEY);
+        return BindingBuilder.bind(incidentQueue).to(incidentExchange).with(INCIDENT_ROUTING_KEY + ".#");
+    }
+
+    @Bean
+    @ConditionalOnExpression(TYPED_QUEUES_CONDITION)
+    public Binding incidentStatusBinding(TopicExchange incidentExchange, Queue incidentStatusQueue) {
+        return BindingBuilder.bind(incidentStatusQueue).to(incidentExchange).with(STATUS_CHANGED_ROUTING_KEY + ".#");
+    }
+
+    @Bean
+    @ConditionalOnExpression(TYPED_QUEUES_CONDITION)
+    public Binding incidentDeletedBinding(TopicExchange incidentExchange, Queue incidentDeletedQueue) {
+        return BindingBuilder.bind(incidentDeletedQueue).to(incidentExchange).with(DELETED_ROUTING_KEY + ".#");
+    }
+
+    // ====================================
+    // # Shards - Particionamento por incidente entre nós
+    // ====================================
+    /**
+     * Topologia de shards (app.rabbitmq.sharding.shards > 0; requer o plugin
+     * rabbitmq_consistent_hash_exchange).
+     *
+     * Fluxo:
+     * 1. O topic exchange encaminha incident.created.#, incident.status.changed.# e
+     *    incident.deleted.# para o exchange x-consistent-hash (binding exchange → exchange)
+     * 2. O hash do correlation_id (ID do incidente) escolhe o shard: todos os eventos de um
+     *    incidente caem na mesma fila
+     * 3. Cada shard tem x-single-active-consumer: entre todos os nós, só um consome cada shard
+     *    por vez (os demais ficam de reserva e assumem se ele cair)
+     *
+     * Os bindings das filas por tipo não são declarados nesse modo (ver TYPED_QUEUES_CONDITION).
+     */
+    @Bean
+    @ConditionalOnExpression(SHARDING_CONDITION)
+    public Declarables incidentShardTopology(TopicExchange incidentExchange,
+                                             @Value("${app.rabbitmq.sharding.shards:0}") int shards,
+                                             @Value("${app.rabbitmq.max-priority:" + DEFAULT_MAX_PRIORITY + "}") int maxPriority) {
+        List<Declarable> declarables = new ArrayList<>();
+        CustomExchange sharded = new CustomExchange(SHARDED_EXCHANGE, "x-consistent-hash", true, false,
+                Map.of("hash-property", "correlation_id"));
+        declarables.add(sharded);
+        for (String prefix : List.of(INCIDENT_ROUTING_KEY, STATUS_CHANGED_ROUTING_KEY, DELETED_ROUTING_KEY)) {
+            declarables.add(BindingBuilder.bind(sharded).to(incidentExchange).with(prefix + ".#"));
+        }
+        for (String name : shardQueues(shards)) {
+            QueueBuilder builder = QueueBuilder.durable(name)
+                    .deadLetterExchange(PARKING_LOT_EXCHANGE)
+                    .singleActiveConsumer();
+            if (maxPriority > 0) {
+                builder.maxPriority(maxPriority);
+            }
+            Queue queue = builder.build();
+            declarables.add(queue);
+            // No x-consistent-hash, a routing key do binding é o peso do shard
+            declarables.add(BindingBuilder.bind(queue).to(sharded).with("1").noargs());
+        }
+        return new Declarables(declarables);
+    }
+
+    // ====================================
+    // # Broadcast - Todo nó recebe todo evento
+    // ====================================
+    /**
+     * Fila do nó no modo broadcast: nome único (zabbix.incident.broadcast.<aleatório>),
+     * exclusiva e auto-delete; some quando o nó desconecta e é redeclarada na reconexão.
+     */
+    @Bean
+    @ConditionalOnExpression(BROADCAST_CONDITION)
+    public Queue incidentBroadcastQueue(@Value("${app.rabbitmq.max-priority:" + DEFAULT_MAX_PRIORITY + "}") int maxPriority) {
+        Map<String, Object> arguments = maxPriority > 0 ? Map.of("x-max-priority", maxPriority) : Map.of();
+        return new AnonymousQueue(new Base64UrlNamingStrategy(BROADCAST_QUEUE_PREFIX), arguments);
+    }
+
+    /**
+     * Topologia do broadcast.
+     *
+     * Fluxo:
+     * 1. O topic exchange encaminha incident.created.#, incident.status.changed.# e
+     *    incident.deleted.# para o fanout zabbix.incident.broadcast (binding exchange → exchange)
+     * 2. O fanout copia cada evento para a fila de cada nó
+     * 3. O IncidentBroadcastListener do nó entrega às sessões WebSocket locais
+     *
+     * A fila do nó também é ligada ao exchange de retorno das retentativas (x-origin-queue).
+     * Os bindings das filas por tipo e os shards não são declarados nesse modo.
+     */
+    @Bean
+    @ConditionalOnExpression(BROADCAST_CONDITION)
+    public Declarables incidentBroadcastTopology(TopicExchange incidentExchange, Queue incidentBroadcastQueue) {
+        List<Declarable> declarables = new ArrayList<>();
+        FanoutExchange broadcast = new FanoutExchange(BROADCAST_EXCHANGE, true, false);
+        declarables.add(broadcast);
+        for (String prefix : List.of(INCIDENT_ROUTING_KEY, STATUS_CHANGED_ROUTING_KEY, DELETED_ROUTING_KEY)) {
+            declarables.add(BindingBuilder.bind(broadcast).to(incidentExchange).with(prefix + ".#"));
+        }
+        declarables.add(BindingBuilder.bind(incidentBroadcastQueue).to(broadcast));
+        declarables.add(new Binding(incidentBroadcastQueue.getName(), Binding.DestinationType.QUEUE, RETRY_RETURN_EXCHANGE, "",
+                Map.of("x-match", "all", IncidentRetryInterceptor.ORIGIN_QUEUE_HEADER, incidentBroadcastQueue.getName())));
+        return new Declarables(declarables);
+    }
+
+    public static String[] shardQueues(int shards) {
+        String[] names = new String[Math.max(0, shards)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = SHARD_QUEUE_PREFIX + i;
+        }
+        return names;
+    }
+
+    /**
+     * Filas que recebem eventos de incidente (destinos válidos de retentativa e replay).
+     */
+    public static boolean isIncidentQueue(String name) {
+        return name != null && (INCIDENT_QUEUES.contains(name) || name.startsWith(SHARD_QUEUE_PREFIX)
+                || name.startsWith(BROADCAST_QUEUE_PREFIX));
+    }
+
+    // ====================================
+    // # Retentativa e Parking Lot
+    // ====================================
+    /**
+     * Política de backoff exponencial (app.rabbitmq.retry.*).
+     */
+    @Bean
+    public IncidentRetryPolicy incidentRetryPolicy(
+            @Value("${app.rabbitmq.retry.max-attempts:5}") int maxAttempts,
+            @Value("${app.rabbitmq.retry.initial-interval-ms:1000}") long initialIntervalMs,
+            @Value("${app.rabbitmq.retry.multiplier:4}") double multiplier,
+            @Value("${app.rabbitmq.retry.max-interval-ms:300000}") long maxIntervalMs) {
+        return new IncidentRetryPolicy(maxAttempts, initialIntervalMs, multiplier, maxIntervalMs);
+    }
+
+    /**
+     * Topologia de retentativa.
+     *
+     * Fluxo:
+     * 1. IncidentRetryInterceptor publica a mensagem em zabbix.incident.retry.<delay>ms
+     * 2. A fila de atraso não tem consumers: a mensagem expira após x-message-ttl
+     * 3. Ao expirar, vai para o exchange de retorno (headers), que a entrega à fila
+     *    indicada no header x-origin-queue
+     * 4. Rejeições sem requeue e tentativas esgotadas terminam no parking lot (fanout)
+     */
+    @Bean
+    public Declarables incidentRetryTopology(IncidentRetryPolicy incidentRetryPolicy,
+                                             @Value("${app.rabbitmq.sharding.shards:0}") int shards) {
+        List<Declarable> declarables = new ArrayList<>();
+
+        HeadersExchange returnExchange = new HeadersExchange(RETRY_RETURN_EXCHANGE, true, false);
+        declarables.add(returnExchange);
+        List<String> origins = new ArrayList<>(INCIDENT_QUEUES);
+        origins.addAll(List.of(shardQueues(shards)));
+        for (String queue : origins) {
+            declarables.add(new Binding(queue, Binding.DestinationType.QUEUE, RETRY_RETURN_EXCHANGE, "",
+                    Map.of("x-match", "all", IncidentRetryInterceptor.ORIGIN_QUEUE_HEADER, queue)));
+        }
+        for (long delay : incidentRetryPolicy.delays()) {
+            declarables.add(QueueBuilder.durable(IncidentRetryPolicy.RETRY_QUEUE_PREFIX + delay + "ms")
+                    .ttl((int) delay)
+                    .deadLetterExchange(RETRY_RETURN_EXCHANGE)
+                    .build());
+        }
+
+        FanoutExchange parkingExchange = new FanoutExchange(PARKING_LOT_EXCHANGE, true, false);
+        Queue parkingQueue = QueueBuilder.durable(PARKING_LOT_QUEUE).build();
+        declarables.add(parkingExchange);
+        declarables.add(parkingQueue);
+        declarables.add(BindingBuilder.bind(parkingQueue).to(parkingExchange));
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public IncidentRetryInterceptor incidentRetryInterceptor(RabbitTemplate rabbitTemplate,
+                                                             IncidentRetryPolicy incidentRetryPolicy,
+                                                             MeterRegistry meterRegistry) {
+        return new IncidentRetryInterceptor(rabbitTemplate, incidentRetryPolicy, meterRegistry);
+    }
+
+    // ====================================
+    // # routingKey - Routing key de um evento
+    // ====================================
+    /**
+     * Monta a routing key do evento: prefixo do tipo + severidade em minúsculas, quando conhecida.
+     *
+     * Exemplos: incident.created.critical, incident.status.changed.high, incident.deleted.info
+     */
+    public static String routingKey(IncidentEventType type, SeverityLevel severity) {
+        String prefix = switch (type) {
+            case CREATED -> INCIDENT_ROUTING_KEY;
+            case STATUS_CHANGED -> STATUS_CHANGED_ROUTING_KEY;
+            case DELETED -> DELETED_ROUTING_KEY;
+        };
+        return severity == null ? prefix : prefix + "." + severity.name().toLowerCase();
+    }
+
+    // ====================================
+    // # priority - Prioridade AMQP pela severidade
+    // ====================================
+    /**
+     * Post-processor que grava a prioridade da severidade na mensagem.
+     *
+     * Uso: rabbitTemplate.convertAndSend(exchange, routingKey, evento, RabbitMQConfig.priority(severity));
+     * Severidade desconhecida → prioridade de MEDIUM.
+     */
+    public static MessagePostProcessor priority(SeverityLevel severity) {
+        int priority = (severity != null ? severity : SeverityLevel.MEDIUM).messagePriority();
+        return message -> {
+            message.getMessageProperties().setPriority(priority);
+            return message;
+        };
     }
 
     // ====================================
@@ -81,16 +383,34 @@ public class RabbitMQConfig {
     /**
      * Configura como as mensagens são convertidas.
      *
-     * Jackson2JsonMessageConverter:
-     * - Entrada: Objeto Java → JSON String
-     * - Saída: JSON String → Objeto Java
+     * IncidentEventMessageConverter:
+     * - IncidentEvent → codec escolhido em app.rabbitmq.codec (binary, smile, cbor ou json)
+     * - Corpo acima de app.rabbitmq.compression-threshold-bytes → gzip
+     * - Na leitura, o codec é identificado pelo content-type de cada mensagem
+     * - Outros objetos (ex: IncidentEscalationEvent) → Jackson2JsonMessageConverter
      *
      * Sem isso, RabbitMQ não consegue processar objetos!
      * Erro comum: "SimpleMessageConverter only supports String, byte[] and Serializable"
      */
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter jsonMessageConverter(IncidentMapper incidentMapper,
+                                                 @Value("${app.rabbitmq.codec:binary}") String codec,
+                                                 @Value("${app.rabbitmq.compression-threshold-bytes:1024}") int compressionThreshold) {
+        List<IncidentEventCodec> codecs = List.of(new BinaryIncidentEventCodec(), new SmileIncidentEventCodec(),
+                new CborIncidentEventCodec(), new JsonIncidentEventCodec());
+        String publishContentType = switch (codec.toLowerCase()) {
+            case "binary" -> BinaryIncidentEventCodec.CONTENT_TYPE;
+            case "smile" -> SmileIncidentEventCodec.CONTENT_TYPE;
+            case "cbor" -> CborIncidentEventCodec.CONTENT_TYPE;
+            case "json" -> JsonIncidentEventCodec.CONTENT_TYPE;
+            default -> throw new IllegalArgumentException("app.rabbitmq.codec inválido: " + codec);
+        };
+
+        // Mensagens legadas (entidade Incident em JSON) são identificadas pelo __TypeId__
+        Jackson2JsonMessageConverter json = new Jackson2JsonMessageConverter();
+        json.setTypePrecedence(Jackson2JavaTypeMapper.TypePrecedence.TYPE_ID);
+        return new IncidentEventMessageConverter(codecs, publishContentType, compressionThreshold, json,
+                incident -> incidentMapper.toCreatedEvent(incident, 0));
     }
 
     // ====================================
@@ -112,4 +432,152 @@ public class RabbitMQConfig {
         rabbitTemplate.setMessageConverter(messageConverter);
         return rabbitTemplate;
     }
-}
\ No newline at end of file
+
+    // ====================================
+    // # Listener Container Factory - Consumo ajustável
+    // ====================================
+    /**
+     * Factory dos containers que consomem a fila de incidentes.
+     *
+     * Configuração (app.rabbitmq.listener.*):
+     * - concurrency / max-concurrency: consumers iniciais e máximos (escala sob demanda)
+     * - prefetch: mensagens entregues por consumer antes do ack
+     * - batch-enabled: entrega List<IncidentEvent> ao IncidentBatchListener (batch-size mensagens
+     *   ou batch-receive-timeout-ms, o que vier primeiro)
+     * - virtual-threads: consumers em virtual threads (útil com muitos consumers)
+     *
+     * Com mais de um consumer, a ordem entre mensagens do mesmo incidente não é garantida.
+     * Falhas passam pelo IncidentRetryInterceptor (retentativa com atraso / parking lot).
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory incidentListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            IncidentRetryInterceptor incidentRetryInterceptor,
+            @Value("${app.rabbitmq.listener.lanes:0}") int lanes,
+            @Value("${app.rabbitmq.listener.concurrency:1}") int concurrency,
+            @Value("${app.rabbitmq.listener.max-concurrency:1}") int maxConcurrency,
+            @Value("${app.rabbitmq.listener.prefetch:250}") int prefetch,
+            @Value("${app.rabbitmq.listener.batch-enabled:false}") boolean batchEnabled,
+            @Value("${app.rabbitmq.listener.batch-size:100}") int batchSize,
+            @Value("${app.rabbitmq.listener.batch-receive-timeout-ms:50}") long batchReceiveTimeoutMillis,
+            @Value("${app.rabbitmq.listener.virtual-threads:false}") boolean virtualThreads) {
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(connectionFactory, messageConverter,
+                new ListenerTuning(concurrency, maxConcurrency, prefetch, batchEnabled, batchSize,
+                        batchReceiveTimeoutMillis, virtualThreads));
+        factory.setAdviceChain(incidentRetryInterceptor);
+        if (lanes > 0 && !batchEnabled) {
+            useLanes(factory, incidentRetryInterceptor);
+        }
+        return factory;
+    }
+
+    /**
+     * Factory das filas de mudança de status e de deleção.
+     *
+     * Volume bem menor que o de criações: sempre entrega unitária (sem lote), com a
+     * concorrência e o prefetch de app.rabbitmq.listener.lifecycle.*.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory incidentLifecycleListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            IncidentRetryInterceptor incidentRetryInterceptor,
+            @Value("${app.rabbitmq.listener.lanes:0}") int lanes,
+            @Value("${app.rabbitmq.listener.lifecycle.concurrency:1}") int concurrency,
+            @Value("${app.rabbitmq.listener.lifecycle.prefetch:50}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(connectionFactory, messageConverter,
+                new ListenerTuning(concurrency, concurrency, prefetch, false, 1, 0, false));
+        factory.setAdviceChain(incidentRetryInterceptor);
+        if (lanes > 0) {
+            useLanes(factory, incidentRetryInterceptor);
+        }
+        return factory;
+    }
+
+    /**
+     * Factory dos shards: um consumer por nó assina todos os shards (o single-active-consumer
+     * decide quais ficam ativos neste nó). Sem lote; com lanes, o processamento é paralelo.
+     */
+    @Bean
+    @ConditionalOnExpression(SHARDING_CONDITION)
+    public SimpleRabbitListenerContainerFactory incidentShardListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            IncidentRetryInterceptor incidentRetryInterceptor,
+            @Value("${app.rabbitmq.listener.lanes:0}") int lanes,
+            @Value("${app.rabbitmq.listener.prefetch:250}") int prefetch) {
+        return singleConsumerFactory(connectionFactory, messageConverter, incidentRetryInterceptor, lanes, prefetch);
+    }
+
+    /**
+     * Factory da fila de broadcast do nó: um consumer (ordem da fila preservada); com lanes,
+     * o processamento é paralelo e ordenado por incidente.
+     */
+    @Bean
+    @ConditionalOnExpression(BROADCAST_CONDITION)
+    public SimpleRabbitListenerContainerFactory incidentBroadcastListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            IncidentRetryInterceptor incidentRetryInterceptor,
+            @Value("${app.rabbitmq.listener.lanes:0}") int lanes,
+            @Value("${app.rabbitmq.listener.prefetch:250}") int prefetch) {
+        return singleConsumerFactory(connectionFactory, messageConverter, incidentRetryInterceptor, lanes, prefetch);
+    }
+
+    private static SimpleRabbitListenerContainerFactory singleConsumerFactory(ConnectionFactory connectionFactory,
+                                                                              MessageConverter messageConverter,
+                                                                              IncidentRetryInterceptor incidentRetryInterceptor,
+                                                                              int lanes,
+                                                                              int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = listenerContainerFactory(connectionFactory, messageConverter,
+                new ListenerTuning(1, 1, prefetch, false, 1, 0, false));
+        factory.setAdviceChain(incidentRetryInterceptor);
+        if (lanes > 0) {
+            useLanes(factory, incidentRetryInterceptor);
+        }
+        return factory;
+    }
+
+    /**
+     * Monta a factory a partir de um ListenerTuning (também usado pelo benchmark do listener).
+     */
+    public static SimpleRabbitListenerContainerFactory listenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                               MessageConverter messageConverter,
+                                                                               ListenerTuning tuning) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        // Falha nunca devolve a mensagem para a mesma fila (evita hot loop de requeue)
+        factory.setDefaultRequeueRejected(false);
+        factory.setConcurrentConsumers(tuning.concurrency());
+        factory.setMaxConcurrentConsumers(Math.max(tuning.concurrency(), tuning.maxConcurrency()));
+        factory.setPrefetchCount(Math.max(tuning.prefetch(), tuning.batchEnabled() ? tuning.batchSize() : 1));
+        if (tuning.batchEnabled()) {
+            factory.setBatchListener(true);
+            factory.setConsumerBatchEnabled(true);
+            factory.setBatchSize(tuning.batchSize());
+            factory.setBatchReceiveTimeout(tuning.batchReceiveTimeoutMillis());
+        }
+        if (tuning.virtualThreads()) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("incident-consumer-"));
+        }
+        return factory;
+    }
+
+    /**
+     * Com lanes, o paralelismo vem do KeyedLaneDispatcher: um único consumer por fila entrega as
+     * mensagens às lanes na ordem da fila (dois consumers poderiam inverter eventos do mesmo
+     * incidente), e a lane confirma cada mensagem depois de processá-la (ack manual).
+     * Falhas antes do dispatch (ex.: conversão) são confirmadas pelo próprio interceptor.
+     */
+    private static void useLanes(SimpleRabbitListenerContainerFactory factory, IncidentRetryInterceptor incidentRetryInterceptor) {
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setAdviceChain(incidentRetryInterceptor.withManualAck());
+    }
+
+    public record ListenerTuning(int concurrency, int maxConcurrency, int prefetch, boolean batchEnabled,
+                                 int batchSize, long batchReceiveTimeoutMillis, boolean virtualThreads) {}
+}
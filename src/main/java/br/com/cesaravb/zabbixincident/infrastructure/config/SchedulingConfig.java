@@ -0,0 +1,17 @@
+package br.com.cesaravb.zabbixincident.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas periódicas (@Scheduled).
+ *
+ * Usado por:
+ * • AlertStormDetector → tick das taxas EWMA
+ * • StormSummaryAggregator → envio dos resumos em modo tempestade
+ * • IncidentBroadcastBatcher → fim da janela dos frames em lote
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,34 +1,59 @@
 package br.com.cesaravb.zabbixincident.infrastructure.config;
 
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BatchSubscriptionInterceptor;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.ConflatingSessionDecoratorFactory;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.NativeTransportHandshakeInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * Configuração do WebSocket para comunicação em tempo real.
  *
  * Fluxo completo:
- * 1. Cliente (frontend) conecta em /ws/incidents via SockJS
+ * 1. Cliente (frontend) conecta em /ws/incidents via SockJS ou em /ws/incidents-native (WebSocket puro)
  * 2. Negocia protocolo STOMP
- * 3. Subscribe em /topic/incidents
+ * 3. Subscribe em /topic/incidents (ou em /topic/incidents/severity|host|source/{valor})
  * 4. Recebe mensagens em tempo real quando publicadas
  *
  * Configurações:
- * • endpoint: URL onde o WebSocket escuta (/ws/incidents)
+ * • endpoint: URL onde o WebSocket escuta (/ws/incidents, SockJS para clientes legados)
+ * • native-endpoint: WebSocket puro (/ws/incidents-native), com permessage-deflate e payload binário
  * • allowed-origins: Domínios permitidos a conectar
  * • broker-prefix: Prefixo para broadcast (/topic)
+ * • queue-prefix: Prefixo das filas por sessão (/queue, respostas das consultas)
  * • app-prefix: Prefixo para handlers (/app)
  *
+ * Resume: SUBSCRIBE em /app/incidents/resume (IncidentStreamController) devolve os eventos
+ * perdidos desde o último x-seq ou o snapshot dos incidentes abertos.
+ *
+ * Consultas: SEND em /app/incidents/query/... (IncidentQueryController) responde só à sessão
+ * que perguntou em /user/queue/incidents/replies, pela mesma conexão do stream.
+ *
+ * Frames em lote: SUBSCRIBE em /topic/incidents com x-incident-batch: true recebe arrays
+ * (IncidentBroadcastBatcher) em vez de um frame por incidente.
+ *
+ * Consumidores lentos: cada sessão tem fila de saída própria com conflação por incidente
+ * (ConflatingSessionDecoratorFactory); sessões atrasadas demais são fechadas com 4000 "resync".
+ *
  * Ambiente Local:
  * • Origins: http://localhost:4200 (Angular), http://localhost:3000 (React)
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ConflatingSessionDecoratorFactory conflatingSessionDecoratorFactory;
+    private final BinaryFrameInterceptor binaryFrameInterceptor;
+
     // ====================================
     // # allowedOrigins - Domínios permitidos a conectar
     // ====================================
@@ -41,18 +66,48 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${app.websocket.endpoint}")
     private String endpoint;
 
+    // ====================================
+    // # nativeEndpoint - URL do WebSocket sem SockJS
+    // ====================================
+    @Value("${app.websocket.native-endpoint:/ws/incidents-native}")
+    private String nativeEndpoint;
+
     // ====================================
     // # brokerPrefix - Prefixo para broadcast
     // ====================================
     @Value("${app.websocket.broker-prefix}")
     private String brokerPrefix;
 
+    // ====================================
+    // # queuePrefix - Prefixo das filas por sessão
+    // ====================================
+    @Value("${app.websocket.queue-prefix:/queue}")
+    private String queuePrefix;
+
     // ====================================
     // # appPrefix - Prefixo para handlers
     // ====================================
     @Value("${app.websocket.app-prefix}")
     private String appPrefix;
 
+    // ====================================
+    // # cacheLimit - Destinos com inscritos em cache no broker
+    // ====================================
+    @Value("${app.websocket.broker.cache-limit:8192}")
+    private int cacheLimit;
+
+    // ====================================
+    // # Transporte - Limites por sessão
+    // ====================================
+    @Value("${app.websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${app.websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     // ====================================
     // # configureMessageBroker - Configurar broker de mensagens
     // ====================================
@@ -60,17 +115,23 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      * Configura o broker de mensagens STOMP.
      *
      * Broker Simples:
-     * • enableSimpleBroker(brokerPrefix): Ativa broker em memória
+     * • enableSimpleBroker(brokerPrefix, queuePrefix): Ativa broker em memória
      * • Prefixo /topic: Para broadcast (todos recebem)
+     * • Prefixo /queue: Para respostas a uma sessão (/user/queue/... resolvido pelo id da sessão)
      *
      * Application Prefix:
      * • setApplicationDestinationPrefixes(appPrefix): Prefixo para handlers
      * • Prefixo /app: Para rotas específicas da aplicação
+     *
+     * Registro de inscrições (milhares de sessões em destinos por severidade/host/origem):
+     * • setCacheLimit: cache destino → inscritos grande o bastante para um destino por host
+     * • setSelectorHeaderName(null): sem seletores SpEL por inscrição (nenhuma avaliação por mensagem)
      */
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker(brokerPrefix);
+        config.enableSimpleBroker(brokerPrefix, queuePrefix).setSelectorHeaderName(null);
         config.setApplicationDestinationPrefixes(appPrefix);
+        config.setCacheLimit(cacheLimit);
     }
 
     // ====================================
@@ -83,6 +144,11 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      * • SockJS habilitado para fallback (se WebSocket não funcionar)
      * • CORS habilitado para allowed-origins
      *
+     * Endpoint: /ws/incidents-native
+     * • WebSocket puro: sem o envelope a["..."] nem o escape de string JSON do SockJS
+     * • permessage-deflate negociado pelo Tomcat quando o cliente oferece a extensão
+     * • Payload binário por assinatura (accept: application/octet-stream, ver BinaryFrameInterceptor)
+     *
      * Fluxo de conexão:
      * 1. Cliente conecta em 
      * 2. Negocia protocolo (WebSocket ou SockJS fallback)
@@ -95,5 +161,51 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // ====================================
         String[] origins = allowedOrigins.split(",");
         registry.addEndpoint(endpoint).setAllowedOrigins(origins).withSockJS();
+        registry.addEndpoint(nativeEndpoint).setAllowedOrigins(origins)
+                .addInterceptors(new NativeTransportHandshakeInterceptor());
+    }
+
+    // ====================================
+    // # configureClientInboundChannel - Interceptores das mensagens do cliente
+    // ====================================
+    /**
+     * BatchSubscriptionInterceptor: opt-in dos frames em lote no SUBSCRIBE.
+     * BinaryFrameInterceptor: registra as assinaturas com accept: application/octet-stream.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(new BatchSubscriptionInterceptor(), binaryFrameInterceptor);
+    }
+
+    // ====================================
+    // # configureClientOutboundChannel - Interceptores das mensagens para o cliente
+    // ====================================
+    /**
+     * BinaryFrameInterceptor: troca o corpo JSON pelo IncidentEvent binário nas assinaturas binárias.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(binaryFrameInterceptor);
+    }
+
+    // ====================================
+    // # configureWebSocketTransport - Limites e isolamento de consumidores lentos
+    // ====================================
+    /**
+     * Limites do transporte:
+     * • send-time-limit-ms / send-buffer-size-limit: teto do envio de uma sessão antes de ser fechada
+     *   (com a conflação ligada, valem para os frames que já saíram da fila da sessão)
+     * • message-size-limit: maior frame STOMP aceito do cliente
+     *
+     * ConflatingSessionDecoratorFactory: as threads do clientOutboundChannel só enfileiram na
+     * sessão; o envio ao socket roda no escritor da própria sessão, então um navegador lento
+     * não trava a entrega para os demais.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(conflatingSessionDecoratorFactory);
     }
-}
\ No newline at end of file
+}
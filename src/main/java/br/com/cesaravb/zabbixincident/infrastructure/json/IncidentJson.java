@@ -0,0 +1,61 @@
+package br.com.cesaravb.zabbixincident.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escrita dos campos usada pelos serializadores manuais (mesma saída do Jackson por reflexão).
+ *
+ * • Nomes de campo pré-codificados (SerializedString guarda os bytes UTF-8 já escapados)
+ * • null escrito como null (os DTOs não usam @JsonInclude)
+ * • LocalDateTime em ISO-8601 (como o JavaTimeModule com WRITE_DATES_AS_TIMESTAMPS desligado);
+ *   com a feature ligada, delega ao serializador padrão
+ */
+final class IncidentJson {
+
+    private IncidentJson() {
+    }
+
+    static SerializableString name(String name) {
+        return new SerializedString(name);
+    }
+
+    static void string(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void number(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void dateTime(JsonGenerator gen, SerializerProvider provider, SerializableString name,
+                         LocalDateTime value) throws IOException {
+        if (value != null && provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeField(name.getValue(), value, gen);
+            return;
+        }
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+}
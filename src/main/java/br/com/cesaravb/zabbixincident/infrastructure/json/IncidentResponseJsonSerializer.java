@@ -0,0 +1,140 @@
+package br.com.cesaravb.zabbixincident.infrastructure.json;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.dateTime;
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.name;
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.number;
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.string;
+
+/**
+ * Serializador manual do IncidentResponse (REST, frames WebSocket e SSE usam o mesmo ObjectMapper).
+ *
+ * • Campos escritos em ordem fixa, sem introspecção do record nem busca de serializador por campo
+ * • Incidentes resolvidos ou fechados não mudam mais sem incrementar o seq (Incident.version):
+ *   o JSON deles fica em cache por ID + seq e é copiado como bytes UTF-8 prontos nas próximas respostas
+ *
+ * Cache limitado a app.serialization.closed-cache-max entradas (ao encher, recomeça vazio);
+ * 0 desliga o cache. Conversões em árvore (TokenBuffer) sempre escrevem campo a campo.
+ */
+@JsonComponent
+public class IncidentResponseJsonSerializer extends StdSerializer<IncidentResponse> {
+
+    // ====================================
+    // # Nomes dos campos (bytes pré-codificados)
+    // ====================================
+    private static final SerializableString ID = name("id");
+    private static final SerializableString ZABBIX_EVENT_ID = name("zabbixEventId");
+    private static final SerializableString HOSTIDS = name("hostids");
+    private static final SerializableString TITLE = name("title");
+    private static final SerializableString DESCRIPTION = name("description");
+    private static final SerializableString ALERT_MESSAGE = name("alertMessage");
+    private static final SerializableString EVENT_NAME = name("eventName");
+    private static final SerializableString EVENT_OPDATA = name("eventOpdata");
+    private static final SerializableString HOST = name("host");
+    private static final SerializableString HOST_IP = name("hostIp");
+    private static final SerializableString ITEM = name("item");
+    private static final SerializableString ITEM_KEY = name("itemKey");
+    private static final SerializableString TRIGGER = name("trigger");
+    private static final SerializableString URL_ZABBIX = name("urlZabbix");
+    private static final SerializableString VALOR = name("valor");
+    private static final SerializableString SEVERITY = name("severity");
+    private static final SerializableString STATUS = name("status");
+    private static final SerializableString SOURCE = name("source");
+    private static final SerializableString CREATED_AT = name("createdAt");
+    private static final SerializableString UPDATED_AT = name("updatedAt");
+    private static final SerializableString SEQ = name("seq");
+
+    private static final Set<String> TERMINAL = Set.of(IncidentStatus.RESOLVED.name(), IncidentStatus.CLOSED.name());
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final JsonFactory factory = new JsonFactory();
+    private final Map<Long, Cached> closed = new ConcurrentHashMap<>();
+    private final int closedCacheMax;
+
+    public IncidentResponseJsonSerializer(@Value("${app.serialization.closed-cache-max:20000}") int closedCacheMax) {
+        super(IncidentResponse.class);
+        this.closedCacheMax = closedCacheMax;
+    }
+
+    @Override
+    public void serialize(IncidentResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (gen instanceof TokenBuffer || !cacheable(value, provider)) {
+            write(value, gen, provider);
+            return;
+        }
+        Cached cached = closed.get(value.id());
+        if (cached == null || cached.seq() != value.seq()) {
+            StringWriter json = new StringWriter(1024);
+            try (JsonGenerator buffer = factory.createGenerator(json)) {
+                write(value, buffer, provider);
+            }
+            cached = new Cached(value.seq(), new SerializedString(json.toString()));
+            if (closed.size() >= closedCacheMax) {
+                closed.clear();
+            }
+            closed.put(value.id(), cached);
+        }
+        gen.writeRawValue(cached.json());
+    }
+
+    public int cachedCount() {
+        return closed.size();
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private boolean cacheable(IncidentResponse value, SerializerProvider provider) {
+        return closedCacheMax > 0 && value.status() != null && TERMINAL.contains(value.status())
+                && value.id() != null && value.seq() != null
+                && !provider.isEnabled(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    private static void write(IncidentResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        number(gen, ID, value.id());
+        string(gen, ZABBIX_EVENT_ID, value.zabbixEventId());
+        string(gen, HOSTIDS, value.hostids());
+        string(gen, TITLE, value.title());
+        string(gen, DESCRIPTION, value.description());
+        string(gen, ALERT_MESSAGE, value.alertMessage());
+        string(gen, EVENT_NAME, value.eventName());
+        string(gen, EVENT_OPDATA, value.eventOpdata());
+        string(gen, HOST, value.host());
+        string(gen, HOST_IP, value.hostIp());
+        string(gen, ITEM, value.item());
+        string(gen, ITEM_KEY, value.itemKey());
+        string(gen, TRIGGER, value.trigger());
+        string(gen, URL_ZABBIX, value.urlZabbix());
+        string(gen, VALOR, value.valor());
+        string(gen, SEVERITY, value.severity());
+        string(gen, STATUS, value.status());
+        string(gen, SOURCE, value.source());
+        dateTime(gen, provider, CREATED_AT, value.createdAt());
+        dateTime(gen, provider, UPDATED_AT, value.updatedAt());
+        number(gen, SEQ, value.seq());
+        gen.writeEndObject();
+    }
+
+    private record Cached(long seq, SerializedString json) {}
+}
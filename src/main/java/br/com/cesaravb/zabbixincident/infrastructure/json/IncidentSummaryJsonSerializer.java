@@ -0,0 +1,55 @@
+package br.com.cesaravb.zabbixincident.infrastructure.json;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.dateTime;
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.name;
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.number;
+import static br.com.cesaravb.zabbixincident.infrastructure.json.IncidentJson.string;
+
+/**
+ * Serializador manual do IncidentSummary (resumo de tempestade): campos escritos em ordem fixa,
+ * sem introspecção do record nem busca de serializador por campo.
+ */
+@JsonComponent
+public class IncidentSummaryJsonSerializer extends StdSerializer<IncidentSummary> {
+
+    // ====================================
+    // # Nomes dos campos (bytes pré-codificados)
+    // ====================================
+    private static final SerializableString ID = name("id");
+    private static final SerializableString ZABBIX_EVENT_ID = name("zabbixEventId");
+    private static final SerializableString HOSTIDS = name("hostids");
+    private static final SerializableString TITLE = name("title");
+    private static final SerializableString HOST = name("host");
+    private static final SerializableString SEVERITY = name("severity");
+    private static final SerializableString STATUS = name("status");
+    private static final SerializableString SOURCE = name("source");
+    private static final SerializableString CREATED_AT = name("createdAt");
+
+    public IncidentSummaryJsonSerializer() {
+        super(IncidentSummary.class);
+    }
+
+    @Override
+    public void serialize(IncidentSummary value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        number(gen, ID, value.id());
+        string(gen, ZABBIX_EVENT_ID, value.zabbixEventId());
+        string(gen, HOSTIDS, value.hostids());
+        string(gen, TITLE, value.title());
+        string(gen, HOST, value.host());
+        string(gen, SEVERITY, value.severity());
+        string(gen, STATUS, value.status());
+        string(gen, SOURCE, value.source());
+        dateTime(gen, provider, CREATED_AT, value.createdAt());
+        gen.writeEndObject();
+    }
+}
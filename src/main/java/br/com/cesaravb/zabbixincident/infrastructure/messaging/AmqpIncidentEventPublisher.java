@@ -0,0 +1,234 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.DiskSpool.SpooledMessage;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.PublishCircuitBreaker.State;
+import com.rabbitmq.client.ShutdownSignalException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publicador dos IncidentEvent no RabbitMQ, protegido por circuit breaker e com spool em disco.
+ *
+ * Fluxo:
+ * 1. O evento é serializado uma única vez (MessageConverter + prioridade da severidade +
+ *    correlation_id = ID do incidente, chave de hash dos shards)
+ * 2. Circuito fechado e spool vazio → publica direto no exchange
+ * 3. Circuito aberto, falha na publicação ou spool com pendências → grava no DiskSpool
+ *    (mmap, microssegundos) e a requisição HTTP segue normalmente
+ * 4. A thread incident-spool-drainer republica o spool em ordem quando o broker volta
+ *    (tentativa de teste no HALF_OPEN; cada registro só é marcado como drenado após o send)
+ *
+ * Enquanto houver pendências no spool, eventos novos também vão para o spool: a ordem de
+ * publicação é preservada. A queda da conexão com o broker abre o circuito na hora.
+ * Garantia: at-least-once (um crash entre o send e a marcação pode repetir um evento).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class AmqpIncidentEventPublisher implements IncidentEventPublisher {
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final RabbitTemplate rabbitTemplate;
+    private final PublishCircuitBreaker breaker;
+    private final DiskSpool spool;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final long idleNanos;
+    private final long fsyncNanos;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Thread drainer;
+    private final Counter spooled;
+    private final Counter drained;
+    private volatile boolean running = true;
+
+    public AmqpIncidentEventPublisher(RabbitTemplate rabbitTemplate,
+                                      ConnectionFactory connectionFactory,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.rabbitmq.spool.dir:data/spool}") String spoolDir,
+                                      @Value("${app.rabbitmq.spool.segment-bytes:16777216}") int segmentBytes,
+                                      @Value("${app.rabbitmq.spool.max-segments:64}") int maxSegments,
+                                      @Value("${app.rabbitmq.spool.drain-idle-ms:200}") long drainIdleMillis,
+                                      @Value("${app.rabbitmq.spool.fsync-ms:1000}") long fsyncMillis,
+                                      @Value("${app.rabbitmq.breaker.failure-threshold:3}") int failureThreshold,
+                                      @Value("${app.rabbitmq.breaker.open-ms:5000}") long openMillis) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.breaker = new PublishCircuitBreaker(failureThreshold, openMillis);
+        this.spool = new DiskSpool(Path.of(spoolDir), segmentBytes, maxSegments);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(drainIdleMillis);
+        this.fsyncNanos = TimeUnit.MILLISECONDS.toNanos(fsyncMillis);
+
+        // Queda da conexão → circuito aberto sem esperar timeouts no caminho da requisição
+        connectionFactory.addConnectionListener(new ConnectionListener() {
+            @Override
+            public void onCreate(Connection connection) {
+                // Nada a fazer: o drainer fecha o circuito na primeira publicação bem-sucedida
+            }
+
+            @Override
+            public void onShutDown(ShutdownSignalException signal) {
+                if (!signal.isInitiatedByApplication()) {
+                    breaker.trip();
+                    log.warn("⚡ [RABBITMQ PUBLISH] Conexão com o broker perdida; circuito aberto: {}", signal.getMessage());
+                }
+            }
+        });
+
+        // ====================================
+        // # Métricas
+        // ====================================
+        Gauge.builder("incident.spool.depth", spool, DiskSpool::depth)
+                .description("Eventos aguardando publicação no spool em disco")
+                .register(meterRegistry);
+        Gauge.builder("incident.spool.bytes", spool, DiskSpool::sizeBytes)
+                .description("Bytes pendentes no spool em disco")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("incident.spool.age", spool, s -> {
+                    long oldest = s.oldestAppendedAt();
+                    return oldest == 0 ? 0 : (System.currentTimeMillis() - oldest) / 1000.0;
+                })
+                .description("Idade do evento mais antigo no spool")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("incident.publish.breaker.state", breaker, b -> b.state().ordinal())
+                .description("Circuit breaker da publicação (0 CLOSED, 1 OPEN, 2 HALF_OPEN)")
+                .register(meterRegistry);
+        this.spooled = Counter.builder("incident.spool.appended").register(meterRegistry);
+        this.drained = Counter.builder("incident.spool.drained").register(meterRegistry);
+
+        this.drainer = new Thread(this::drain, "incident-spool-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    // ====================================
+    // # publish - Publica ou grava no spool (nunca lança por indisponibilidade do broker)
+    // ====================================
+    /**
+     * @throws RuntimeException apenas se o broker estiver indisponível e o spool estiver cheio
+     */
+    @Override
+    public void publish(String routingKey, IncidentEvent event, SeverityLevel severity) {
+        Message message = rabbitTemplate.getMessageConverter().toMessage(event, new MessageProperties());
+        RabbitMQConfig.priority(severity).postProcessMessage(message);
+        message.getMessageProperties().setCorrelationId(String.valueOf(event.incidentId()));
+
+        if (spool.isEmpty() && breaker.allowRequest()) {
+            try {
+                rabbitTemplate.send(RabbitMQConfig.INCIDENT_EXCHANGE, routingKey, message);
+                breaker.onSuccess();
+                return;
+            } catch (Exception e) {
+                breaker.onFailure();
+                log.warn("⚠️  [RABBITMQ PUBLISH] Falha ao publicar evento {} do incidente {}; gravando no spool: {}",
+                        event.type(), event.incidentId(), e.getMessage());
+            }
+        }
+
+        MessageProperties properties = message.getMessageProperties();
+        try {
+            spool.append(new SpooledMessage(System.currentTimeMillis(), RabbitMQConfig.INCIDENT_EXCHANGE, routingKey,
+                    properties.getContentType(), properties.getContentEncoding(), properties.getCorrelationId(),
+                    properties.getPriority(),
+                    message.getBody()));
+            spooled.increment();
+        } catch (RuntimeException e) {
+            log.error("❌ [RABBITMQ PUBLISH] Broker indisponível e spool sem espaço: {}", e.getMessage());
+            throw new RuntimeException("Erro ao publicar na fila RabbitMQ", e);
+        }
+    }
+
+    public State breakerState() {
+        return breaker.state();
+    }
+
+    public long spoolDepth() {
+        return spool.depth();
+    }
+
+    // ====================================
+    // # drain - Republica o spool em ordem
+    // ====================================
+    private void drain() {
+        long lastForce = System.nanoTime();
+        while (running) {
+            if (System.nanoTime() - lastForce >= fsyncNanos) {
+                spool.force();
+                lastForce = System.nanoTime();
+            }
+            SpooledMessage next = spool.peek();
+            if (next == null || !breaker.allowRequest()) {
+                LockSupport.parkNanos(idleNanos);
+                continue;
+            }
+            try {
+                rabbitTemplate.send(next.exchange() == null ? "" : next.exchange(), next.routingKey(), toMessage(next));
+                spool.commit();
+                breaker.onSuccess();
+                drained.increment();
+                if (spool.isEmpty()) {
+                    log.info("✅ [RABBITMQ PUBLISH] Spool drenado; publicação direta retomada");
+                }
+            } catch (Exception e) {
+                breaker.onFailure();
+                log.debug("🔌 [RABBITMQ PUBLISH] Broker ainda indisponível: {}", e.getMessage());
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+    }
+
+    private static Message toMessage(SpooledMessage spooled) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(spooled.contentType());
+        properties.setContentEncoding(spooled.contentEncoding());
+        properties.setCorrelationId(spooled.correlationId());
+        properties.setPriority(spooled.priority());
+        properties.setContentLength(spooled.body().length);
+        return new Message(spooled.body(), properties);
+    }
+
+    // ====================================
+    // # shutdown - Para o drainer e sincroniza o spool
+    // ====================================
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        drainer.interrupt();
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long pending = spool.depth();
+        spool.close();
+        if (pending > 0) {
+            log.warn("📦 [RABBITMQ PUBLISH] {} eventos permanecem no spool para o próximo start", pending);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Spool append-only em disco, segmentado e mapeado em memória (mmap), para mensagens que não
+ * puderam ser publicadas no RabbitMQ.
+ *
+ * Layout de cada segmento (spool-<id>.seg, tamanho fixo segmentBytes):
+ * ┌────────────┬────────┬───────┬──────────────────────────────────────────────────────────┐
+ * │ length (4) │ crc (4)│ st (1)│ payload: appendedAt, priority, exchange, routingKey,     │
+ * │            │ CRC32C │ 0 / 1 │ contentType, contentEncoding, correlationId, body        │
+ * └────────────┴────────┴───────┴──────────────────────────────────────────────────────────┘
+ *
+ * • length = 0 marca o fim dos dados (o arquivo nasce zerado); length é gravado por último
+ * • st = 1 indica registro já drenado (marcação feita no próprio arquivo)
+ * • Na abertura, os segmentos são varridos em ordem; um registro com CRC inválido encerra o
+ *   segmento (escrita interrompida por crash) e é descartado com aviso
+ * • Segmentos totalmente drenados são apagados
+ *
+ * Thread-safe: append/peek/commit serializados por um único lock (operações de microssegundos).
+ */
+@Slf4j
+public class DiskSpool implements AutoCloseable {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final int HEADER_BYTES = 9;
+    private static final int STATE_OFFSET = 8;
+    private static final byte PENDING = 0;
+    private static final byte CONSUMED = 1;
+    private static final String PREFIX = "spool-";
+    private static final String SUFFIX = ".seg";
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long depth;
+    private long corrupted;
+
+    public DiskSpool(Path directory, int segmentBytes, int maxSegments) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = Math.max(1, maxSegments);
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao abrir o spool em " + directory, e);
+        }
+    }
+
+    // ====================================
+    // # append - Acrescenta uma mensagem no fim do spool
+    // ====================================
+    /**
+     * @throws IllegalStateException se o spool atingiu maxSegments ou a mensagem não cabe em um segmento
+     */
+    public void append(SpooledMessage message) {
+        byte[] payload = encode(message);
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes + 4 > segmentBytes) {
+            throw new IllegalStateException("Mensagem de " + payload.length + " bytes não cabe em um segmento do spool");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        lock.lock();
+        try {
+            Segment tail = segments.peekLast();
+            if (tail == null || tail.writePosition + recordBytes + 4 > segmentBytes) {
+                if (segments.size() >= maxSegments) {
+                    throw new IllegalStateException("Spool cheio (" + maxSegments + " segmentos)");
+                }
+                tail = openSegment(tail == null ? 0 : tail.id + 1);
+                segments.addLast(tail);
+            }
+            MappedByteBuffer buffer = tail.buffer;
+            int position = tail.writePosition;
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.put(position + STATE_OFFSET, PENDING);
+            buffer.putInt(position, payload.length);
+            tail.writePosition += recordBytes;
+            tail.pending++;
+            depth++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====================================
+    // # peek / commit - Leitura em ordem pelo drainer
+    // ====================================
+    /**
+     * Próxima mensagem pendente (a mais antiga) ou null se o spool estiver vazio.
+     */
+    public SpooledMessage peek() {
+        lock.lock();
+        try {
+            Segment head = headWithPending();
+            if (head == null) {
+                return null;
+            }
+            int length = head.buffer.getInt(head.readPosition);
+            byte[] payload = new byte[length];
+            head.buffer.get(head.readPosition + HEADER_BYTES, payload);
+            return decode(payload);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marca a mensagem devolvida por peek() como drenada.
+     */
+    public void commit() {
+        lock.lock();
+        try {
+            Segment head = headWithPending();
+            if (head == null) {
+                return;
+            }
+            int length = head.buffer.getInt(head.readPosition);
+            head.buffer.put(head.readPosition + STATE_OFFSET, CONSUMED);
+            head.readPosition += HEADER_BYTES + length;
+            head.pending--;
+            depth--;
+            headWithPending();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====================================
+    // # Métricas
+    // ====================================
+    public long depth() {
+        lock.lock();
+        try {
+            return depth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return depth() == 0;
+    }
+
+    public long sizeBytes() {
+        lock.lock();
+        try {
+            long total = 0;
+            for (Segment segment : segments) {
+                total += segment.writePosition - segment.readPosition;
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Epoch millis da mensagem pendente mais antiga (0 se vazio).
+     */
+    public long oldestAppendedAt() {
+        lock.lock();
+        try {
+            Segment head = headWithPending();
+            return head == null ? 0 : head.buffer.getLong(head.readPosition + HEADER_BYTES);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long corrupted() {
+        return corrupted;
+    }
+
+    // ====================================
+    // # force / close - Durabilidade
+    // ====================================
+    public void force() {
+        lock.lock();
+        try {
+            Segment tail = segments.peekLast();
+            if (tail != null) {
+                tail.buffer.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.buffer.force();
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("⚠️  [SPOOL] Erro ao fechar segmentos: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====================================
+    // # Segmentos
+    // ====================================
+    /**
+     * Descarta segmentos totalmente drenados (exceto o último, que continua recebendo escritas)
+     * e devolve o primeiro com mensagens pendentes.
+     */
+    private Segment headWithPending() {
+        while (!segments.isEmpty()) {
+            Segment head = segments.peekFirst();
+            if (head.pending > 0) {
+                return head;
+            }
+            if (head == segments.peekLast()) {
+                return null;
+            }
+            segments.pollFirst();
+            delete(head);
+        }
+        return null;
+    }
+
+    private Segment openSegment(long id) {
+        Path path = directory.resolve(PREFIX + String.format("%020d", id) + SUFFIX);
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return new Segment(id, path, channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao criar segmento do spool " + path, e);
+        }
+    }
+
+    private void delete(Segment segment) {
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("⚠️  [SPOOL] Erro ao apagar segmento {}: {}", segment.path, e.getMessage());
+        }
+    }
+
+    // ====================================
+    // # recover - Reconstrói o estado a partir dos arquivos
+    // ====================================
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = new ArrayList<>(stream
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX) && p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList());
+        }
+        for (Path file : files) {
+            long id = Long.parseLong(file.getFileName().toString().substring(PREFIX.length(),
+                    file.getFileName().toString().length() - SUFFIX.length()));
+            if (Files.size(file) != segmentBytes) {
+                log.warn("⚠️  [SPOOL] Segmento {} com tamanho diferente de {} bytes ignorado", file, segmentBytes);
+                continue;
+            }
+            Segment segment = openSegment(id);
+            scan(segment);
+            segments.addLast(segment);
+            depth += segment.pending;
+        }
+        headWithPending();
+        if (depth > 0) {
+            log.warn("📦 [SPOOL] {} mensagens pendentes recuperadas de {}", depth, directory);
+        }
+    }
+
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        int firstPending = -1;
+        while (position + HEADER_BYTES <= segmentBytes) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || position + HEADER_BYTES + length > segmentBytes) {
+                corrupted++;
+                log.warn("⚠️  [SPOOL] Registro inválido em {}@{}; restante do segmento descartado", segment.path, position);
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                corrupted++;
+                log.warn("⚠️  [SPOOL] CRC inválido em {}@{}; restante do segmento descartado", segment.path, position);
+                break;
+            }
+            if (buffer.get(position + STATE_OFFSET) == PENDING) {
+                if (firstPending < 0) {
+                    firstPending = position;
+                }
+                segment.pending++;
+            }
+            position += HEADER_BYTES + length;
+        }
+        segment.writePosition = position;
+        segment.readPosition = firstPending < 0 ? position : firstPending;
+        // Zera o que sobrou de uma escrita interrompida para que novos registros não a herdem
+        for (int i = position; i < Math.min(segmentBytes, position + HEADER_BYTES); i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+
+    // ====================================
+    // # Codificação do payload
+    // ====================================
+    private static byte[] encode(SpooledMessage message) {
+        byte[] exchange = bytes(message.exchange());
+        byte[] routingKey = bytes(message.routingKey());
+        byte[] contentType = bytes(message.contentType());
+        byte[] contentEncoding = bytes(message.contentEncoding());
+        byte[] correlationId = bytes(message.correlationId());
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + 5 * 2 + exchange.length + routingKey.length
+                + contentType.length + contentEncoding.length + correlationId.length + 4 + message.body().length);
+        buffer.putLong(message.appendedAt());
+        buffer.putInt(message.priority() == null ? -1 : message.priority());
+        putShortString(buffer, exchange);
+        putShortString(buffer, routingKey);
+        putShortString(buffer, contentType);
+        putShortString(buffer, contentEncoding);
+        putShortString(buffer, correlationId);
+        buffer.putInt(message.body().length);
+        buffer.put(message.body());
+        return buffer.array();
+    }
+
+    private static SpooledMessage decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        long appendedAt = buffer.getLong();
+        int priority = buffer.getInt();
+        String exchange = getShortString(buffer);
+        String routingKey = getShortString(buffer);
+        String contentType = getShortString(buffer);
+        String contentEncoding = getShortString(buffer);
+        String correlationId = getShortString(buffer);
+        byte[] body = new byte[buffer.getInt()];
+        buffer.get(body);
+        return new SpooledMessage(appendedAt, exchange, routingKey, contentType, contentEncoding,
+                correlationId, priority < 0 ? null : priority, body);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putShortString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getShortString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    // ====================================
+    // # Tipos internos
+    // ====================================
+    /**
+     * Mensagem AMQP já serializada, com o destino original (correlationId = ID do incidente,
+     * usado no hash dos shards).
+     */
+    public record SpooledMessage(long appendedAt, String exchange, String routingKey, String contentType,
+                                 String contentEncoding, String correlationId, Integer priority, byte[] body) {}
+
+    private static final class Segment {
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+        private int pending;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Barramento de eventos em memória para implantações de um único nó (perfil single-node).
+ *
+ * Ring buffer pré-alocado no estilo Disruptor:
+ * ┌───┬───┬───┬───┬───┬───┬───┬───┐
+ * │ 0 │ 1 │ 2 │ 3 │ 4 │ 5 │ 6 │ 7 │   slot = sequência & (tamanho - 1)
+ * └───┴───┴───┴───┴───┴───┴───┴───┘
+ *   ▲ consumidor        ▲ cursor (próxima sequência reservada pelos produtores)
+ *
+ * Fluxo:
+ * 1. O produtor (thread HTTP) reserva uma sequência com getAndIncrement (sem lock)
+ * 2. Se o buffer estiver cheio, espera o consumidor liberar o slot (backpressure)
+ * 3. Grava o evento no slot e marca a sequência como disponível (release)
+ * 4. A thread incident-bus-consumer lê em lote todas as sequências disponíveis e contíguas
+ *    (até max-batch) e entrega ao WebSocketNotificationService na ordem de publicação
+ *
+ * Estratégias de espera do consumidor (app.messaging.in-process.wait-strategy):
+ * • busy-spin → menor latência, ocupa um núcleo inteiro
+ * • yielding  → spin com Thread.yield, latência baixa e CPU alta
+ * • sleeping  → spin curto e depois parkNanos (padrão: latência de microssegundos, CPU ociosa baixa)
+ * • blocking  → lock + condition, menor uso de CPU, latência maior
+ *
+ * Sem broker não há retentativa nem parking lot: falhas no envio são registradas e contadas por
+ * evento, e uma falha não impede a entrega dos demais eventos do lote.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "in-process")
+public class InProcessIncidentEventBus implements IncidentEventPublisher {
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int mask;
+    private final int maxBatch;
+    private final WaitStrategy waitStrategy;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final IncidentEvent[] slots;
+    private final AtomicLongArray published;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong(-1);
+    private final ToIntFunction<List<IncidentEvent>> handler;
+    private final Thread consumer;
+    private final Counter publishedCount;
+    private final Counter failed;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private volatile boolean running = true;
+
+    @Autowired
+    public InProcessIncidentEventBus(WebSocketNotificationService webSocketService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.messaging.in-process.buffer-size:65536}") int bufferSize,
+                                     @Value("${app.messaging.in-process.max-batch:256}") int maxBatch,
+                                     @Value("${app.messaging.in-process.wait-strategy:sleeping}") String waitStrategy) {
+        this(events -> dispatch(webSocketService, events), meterRegistry, bufferSize, maxBatch,
+                WaitStrategy.parse(waitStrategy));
+    }
+
+    /**
+     * @param handler Entrega um lote e devolve quantos eventos falharam
+     */
+    public InProcessIncidentEventBus(ToIntFunction<List<IncidentEvent>> handler,
+                                     MeterRegistry meterRegistry,
+                                     int bufferSize,
+                                     int maxBatch,
+                                     WaitStrategy waitStrategy) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("app.messaging.in-process.buffer-size deve ser potência de 2: " + bufferSize);
+        }
+        this.handler = handler;
+        this.mask = bufferSize - 1;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.waitStrategy = waitStrategy;
+        this.slots = new IncidentEvent[bufferSize];
+        this.published = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            published.set(i, -1);
+        }
+
+        // ====================================
+        // # Métricas
+        // ====================================
+        Gauge.builder("incident.bus.backlog", this, InProcessIncidentEventBus::backlog)
+                .description("Eventos publicados e ainda não entregues pelo barramento em memória")
+                .register(meterRegistry);
+        this.publishedCount = Counter.builder("incident.bus.published").register(meterRegistry);
+        this.failed = Counter.builder("incident.bus.failed")
+                .description("Eventos cujo envio WebSocket falhou (sem retentativa no modo em memória)")
+                .register(meterRegistry);
+
+        this.consumer = new Thread(this::consume, "incident-bus-consumer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+        log.info("🚌 [IN-PROCESS BUS] Barramento em memória ativo (buffer {}, lote {}, espera {})",
+                bufferSize, this.maxBatch, waitStrategy);
+    }
+
+    // ====================================
+    // # publish - Reserva um slot e publica (sem lock)
+    // ====================================
+    @Override
+    public void publish(String routingKey, IncidentEvent event, SeverityLevel severity) {
+        if (!running) {
+            throw new RuntimeException("Barramento de eventos encerrado");
+        }
+        long sequence = cursor.getAndIncrement();
+        // Backpressure: o slot só é reutilizado depois que o consumidor passou da volta anterior
+        while (sequence - consumed.get() > slots.length) {
+            LockSupport.parkNanos(1_000);
+        }
+        int index = (int) (sequence & mask);
+        slots[index] = event;
+        published.lazySet(index, sequence);
+        publishedCount.increment();
+        waitStrategy.signal(this);
+    }
+
+    public long backlog() {
+        return cursor.get() - 1 - consumed.get();
+    }
+
+    // ====================================
+    // # consume - Laço do consumidor em lote
+    // ====================================
+    private void consume() {
+        List<IncidentEvent> batch = new ArrayList<>(maxBatch);
+        int idle = 0;
+        while (running || backlog() > 0) {
+            long next = consumed.get() + 1;
+            long sequence = next;
+            while (sequence - next < maxBatch && published.get((int) (sequence & mask)) == sequence) {
+                int index = (int) (sequence & mask);
+                batch.add(slots[index]);
+                slots[index] = null;
+                sequence++;
+            }
+            if (batch.isEmpty()) {
+                waitStrategy.idle(this, idle++);
+                continue;
+            }
+            idle = 0;
+            int failures;
+            try {
+                failures = handler.applyAsInt(batch);
+            } catch (Exception e) {
+                failures = batch.size();
+                log.error("❌ [IN-PROCESS BUS] Erro ao entregar lote de {} eventos: {}", batch.size(), e.getMessage(), e);
+            }
+            if (failures > 0) {
+                failed.increment(failures);
+            }
+            batch.clear();
+            consumed.set(sequence - 1);
+        }
+    }
+
+    /**
+     * Entrega mantendo a ordem de publicação: sequências contíguas de CREATED seguem em lote
+     * (notifyEvents), os demais tipos um a um. Cada segmento e cada evento falham isoladamente.
+     *
+     * @return eventos cujo envio falhou
+     */
+    static int dispatch(WebSocketNotificationService webSocketService, List<IncidentEvent> events) {
+        int failures = 0;
+        int start = 0;
+        for (int i = 0; i <= events.size(); i++) {
+            boolean created = i < events.size() && events.get(i).type() == IncidentEventType.CREATED;
+            if (created) {
+                continue;
+            }
+            if (i > start) {
+                failures += deliverCreated(webSocketService, events.subList(start, i));
+            }
+            if (i < events.size()) {
+                IncidentEvent event = events.get(i);
+                try {
+                    webSocketService.notifyEvent(event);
+                } catch (RuntimeException e) {
+                    failures++;
+                    log.error("❌ [IN-PROCESS BUS] Erro ao entregar {} do incidente {}: {}",
+                            event.type(), event.incidentId(), e.getMessage(), e);
+                }
+            }
+            start = i + 1;
+        }
+        return failures;
+    }
+
+    private static int deliverCreated(WebSocketNotificationService webSocketService, List<IncidentEvent> created) {
+        try {
+            webSocketService.notifyEvents(created);
+            return 0;
+        } catch (PartialBatchFailureException e) {
+            log.error("❌ [IN-PROCESS BUS] {} (posições {}): {}", e.getMessage(), e.failedIndexes(),
+                    e.getCause() != null ? e.getCause().getMessage() : null);
+            return e.failedIndexes().size();
+        } catch (RuntimeException e) {
+            log.error("❌ [IN-PROCESS BUS] Erro ao entregar {} incidentes criados: {}", created.size(), e.getMessage(), e);
+            return created.size();
+        }
+    }
+
+    // ====================================
+    // # shutdown - Entrega o que já foi publicado
+    // ====================================
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        waitStrategy.signal(this);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ====================================
+    // # Estratégias de espera
+    // ====================================
+    public enum WaitStrategy {
+        BUSY_SPIN {
+            @Override
+            void idle(InProcessIncidentEventBus bus, int attempt) {
+                Thread.onSpinWait();
+            }
+        },
+        YIELDING {
+            @Override
+            void idle(InProcessIncidentEventBus bus, int attempt) {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        },
+        SLEEPING {
+            @Override
+            void idle(InProcessIncidentEventBus bus, int attempt) {
+                if (attempt < 100) {
+                    Thread.onSpinWait();
+                } else if (attempt < 200) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(50_000);
+                }
+            }
+        },
+        BLOCKING {
+            @Override
+            void idle(InProcessIncidentEventBus bus, int attempt) {
+                bus.lock.lock();
+                try {
+                    if (bus.running && bus.backlog() == 0) {
+                        bus.notEmpty.await(1, TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    bus.lock.unlock();
+                }
+            }
+
+            @Override
+            void signal(InProcessIncidentEventBus bus) {
+                bus.lock.lock();
+                try {
+                    bus.notEmpty.signal();
+                } finally {
+                    bus.lock.unlock();
+                }
+            }
+        };
+
+        abstract void idle(InProcessIncidentEventBus bus, int attempt);
+
+        void signal(InProcessIncidentEventBus bus) {
+            // Estratégias sem bloqueio: o consumidor percebe a publicação no próximo giro
+        }
+
+        public static WaitStrategy parse(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.IncidentEventCodec;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * MessageConverter do RabbitMQ que escolhe o codec do IncidentEvent pelo content-type.
+ *
+ * Fluxo:
+ * 1. Publicação de IncidentEvent → codec configurado (app.rabbitmq.codec)
+ * 2. Corpo maior que o limiar → gzip + content-encoding "gzip"
+ * 3. Consumo → codec identificado pelo content-type da mensagem (qualquer um dos registrados)
+ * 4. Demais objetos (ex: IncidentEscalationEvent) seguem pelo conversor JSON padrão
+ *
+ * Compatibilidade: mensagens antigas com a entidade Incident em JSON, ainda na fila durante
+ * o deploy, são convertidas em um IncidentEvent CREATED pelo legacyAdapter.
+ */
+public class IncidentEventMessageConverter implements MessageConverter {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String GZIP = "gzip";
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final Map<String, IncidentEventCodec> codecsByContentType = new LinkedHashMap<>();
+    private final IncidentEventCodec publishCodec;
+    private final int compressionThreshold;
+    private final MessageConverter fallback;
+    private final Function<Incident, IncidentEvent> legacyAdapter;
+
+    public IncidentEventMessageConverter(List<IncidentEventCodec> codecs,
+                                         String publishContentType,
+                                         int compressionThreshold,
+                                         MessageConverter fallback,
+                                         Function<Incident, IncidentEvent> legacyAdapter) {
+        codecs.forEach(codec -> codecsByContentType.put(codec.contentType(), codec));
+        this.publishCodec = codecsByContentType.get(publishContentType);
+        if (publishCodec == null) {
+            throw new IllegalArgumentException("Codec não registrado: " + publishContentType
+                    + " (disponíveis: " + codecsByContentType.keySet() + ")");
+        }
+        this.compressionThreshold = compressionThreshold;
+        this.fallback = fallback;
+        this.legacyAdapter = legacyAdapter;
+    }
+
+    // ====================================
+    // # toMessage - Objeto → mensagem AMQP
+    // ====================================
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!(object instanceof IncidentEvent event)) {
+            return fallback.toMessage(object, messageProperties);
+        }
+        byte[] body = publishCodec.encode(event);
+        messageProperties.setContentType(publishCodec.contentType());
+        if (body.length > compressionThreshold) {
+            body = gzip(body);
+            messageProperties.setContentEncoding(GZIP);
+        }
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    // ====================================
+    // # fromMessage - Mensagem AMQP → objeto
+    // ====================================
+    @Override
+    public Object fromMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        IncidentEventCodec codec = codecsByContentType.get(properties.getContentType());
+        if (codec == null) {
+            Object converted = fallback.fromMessage(message);
+            return converted instanceof Incident incident ? legacyAdapter.apply(incident) : converted;
+        }
+        byte[] body = GZIP.equals(properties.getContentEncoding()) ? gunzip(message.getBody()) : message.getBody();
+        try {
+            return codec.decode(body);
+        } catch (RuntimeException e) {
+            throw new MessageConversionException("Erro ao decodificar IncidentEvent (" + codec.contentType() + ")", e);
+        }
+    }
+
+    public IncidentEventCodec codec(String contentType) {
+        return codecsByContentType.get(contentType);
+    }
+
+    // ====================================
+    // # Compressão
+    // ====================================
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new MessageConversionException("Erro ao compactar mensagem", e);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] gunzip(byte[] body) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new MessageConversionException("Erro ao descompactar mensagem", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+
+/**
+ * Publicação dos IncidentEvent para a camada de notificação.
+ *
+ * Implementações (app.messaging.transport):
+ * • amqp (padrão) → AmqpIncidentEventPublisher: RabbitMQ com circuit breaker e spool em disco
+ * • in-process (perfil single-node) → InProcessIncidentEventBus: ring buffer na própria JVM,
+ *   sem broker
+ */
+public interface IncidentEventPublisher {
+
+    /**
+     * @param routingKey Routing key do evento (RabbitMQConfig.routingKey)
+     * @param event      Envelope do evento
+     * @param severity   Severidade do incidente (prioridade da mensagem; pode ser null)
+     * @throws RuntimeException se o evento não puder ser aceito
+     */
+    void publish(String routingKey, IncidentEvent event, SeverityLevel severity);
+}
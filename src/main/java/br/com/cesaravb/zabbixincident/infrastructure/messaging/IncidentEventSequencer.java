@@ -0,0 +1,21 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequência monotônica dos envelopes IncidentEvent publicados por este nó.
+ *
+ * Começa em epoch millis * 1000 para continuar crescendo após um restart
+ * (até 1000 eventos por milissegundo sem colidir com a sequência anterior).
+ */
+@Component
+public class IncidentEventSequencer {
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    public long next() {
+        return sequence.incrementAndGet();
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.util.List;
+
+/**
+ * Advice dos listeners de incidentes: transforma qualquer falha em retentativa com atraso
+ * ou em estacionamento no parking lot — a mensagem nunca volta direto para a fila de origem.
+ *
+ * Fluxo:
+ * 1. O listener lança exceção (decodificação, envio WebSocket, ...); em lotes, uma
+ *    PartialBatchFailureException limita a recuperação às mensagens que falharam
+ * 2. Falha de conversão → parking lot na hora (retentar não muda o resultado)
+ * 3. Tentativas restantes → republica na fila de atraso da tentativa (x-message-ttl); ao expirar,
+ *    o exchange de retorno devolve a mensagem para a fila de origem (header x-origin-queue)
+ * 4. Tentativas esgotadas → parking lot, com a causa nos headers
+ * 5. A entrega original é confirmada (ack) — sem requeue imediato, sem hot loop
+ *
+ * Se a republicação falhar, a mensagem é rejeitada sem requeue e o dead-letter-exchange da
+ * fila de origem a leva para o parking lot.
+ *
+ * Containers com ack MANUAL (lanes) não confirmam nem rejeitam sozinhos o que falha antes do
+ * KeyedLaneDispatcher: a variante withManualAck() faz basicAck após a recuperação e
+ * basicNack sem requeue se ela falhar, liberando o slot de prefetch.
+ */
+@Slf4j
+public class IncidentRetryInterceptor implements MethodInterceptor {
+
+    // ====================================
+    // # Headers
+    // ====================================
+    public static final String ORIGIN_QUEUE_HEADER = "x-origin-queue";
+    public static final String ATTEMPTS_HEADER = "x-retry-attempts";
+    public static final String EXCEPTION_CLASS_HEADER = "x-exception-class";
+    public static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+    public static final String PARKED_AT_HEADER = "x-parked-at";
+    private static final int MAX_EXCEPTION_MESSAGE = 500;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final RabbitTemplate rabbitTemplate;
+    private final IncidentRetryPolicy policy;
+    private final Counter retried;
+    private final Counter parkedConversion;
+    private final Counter parkedExhausted;
+    private final boolean manualAck;
+
+    public IncidentRetryInterceptor(RabbitTemplate rabbitTemplate, IncidentRetryPolicy policy, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.policy = policy;
+        this.retried = Counter.builder("incident.messaging.retried")
+                .description("Mensagens republicadas em uma fila de atraso")
+                .register(meterRegistry);
+        this.parkedConversion = Counter.builder("incident.messaging.parked").tag("reason", "conversion").register(meterRegistry);
+        this.parkedExhausted = Counter.builder("incident.messaging.parked").tag("reason", "exhausted").register(meterRegistry);
+        this.manualAck = false;
+    }
+
+    private IncidentRetryInterceptor(IncidentRetryInterceptor source) {
+        this.rabbitTemplate = source.rabbitTemplate;
+        this.policy = source.policy;
+        this.retried = source.retried;
+        this.parkedConversion = source.parkedConversion;
+        this.parkedExhausted = source.parkedExhausted;
+        this.manualAck = true;
+    }
+
+    // ====================================
+    // # withManualAck - Variante para containers com AcknowledgeMode.MANUAL
+    // ====================================
+    /**
+     * Mesmas métricas e política; confirma (ou rejeita) a entrega que ela mesma recuperou.
+     */
+    public IncidentRetryInterceptor withManualAck() {
+        return manualAck ? this : new IncidentRetryInterceptor(this);
+    }
+
+    // ====================================
+    // # invoke - Envolve a chamada do listener (invokeListener(channel, data))
+    // ====================================
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (Throwable failure) {
+            Object[] arguments = invocation.getArguments();
+            Channel channel = arguments.length > 0 && arguments[0] instanceof Channel c ? c : null;
+            Object data = arguments.length > 1 ? arguments[1] : null;
+            if (data instanceof Message message) {
+                settle(channel, message, failure);
+            } else if (data instanceof List<?> batch) {
+                PartialBatchFailureException partial = partialFailure(failure);
+                List<?> failed = partial == null ? batch : partial.failedIndexes().stream().map(batch::get).toList();
+                for (Object item : failed) {
+                    if (item instanceof Message message) {
+                        settle(channel, message, partial == null ? failure : partial.getCause());
+                    }
+                }
+            } else {
+                throw new AmqpRejectAndDontRequeueException("Falha no listener sem mensagem recuperável", failure);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Recupera a mensagem; com ack manual, confirma a entrega original (ou a rejeita sem
+     * requeue, levando-a ao dead-letter-exchange, se a recuperação falhar).
+     */
+    private void settle(Channel channel, Message message, Throwable failure) throws Exception {
+        if (!manualAck || channel == null) {
+            recover(message, failure);
+            return;
+        }
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        try {
+            recover(message, failure);
+        } catch (AmqpRejectAndDontRequeueException e) {
+            channel.basicNack(deliveryTag, false, false);
+            return;
+        }
+        channel.basicAck(deliveryTag, false);
+    }
+
+    // ====================================
+    // # recover - Retentativa com atraso ou parking lot
+    // ====================================
+    /**
+     * Também usado pelo KeyedLaneDispatcher, que processa fora da thread do container.
+     *
+     * @throws AmqpRejectAndDontRequeueException se não foi possível republicar a mensagem
+     */
+    public void recover(Message message, Throwable failure) {
+        MessageProperties properties = message.getMessageProperties();
+        Integer previous = properties.getHeader(ATTEMPTS_HEADER);
+        int failures = (previous == null ? 0 : previous) + 1;
+        if (properties.getHeader(ORIGIN_QUEUE_HEADER) == null && properties.getConsumerQueue() != null) {
+            properties.setHeader(ORIGIN_QUEUE_HEADER, properties.getConsumerQueue());
+        }
+        properties.setHeader(ATTEMPTS_HEADER, failures);
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+
+        Throwable cause = rootCause(failure);
+        boolean conversion = isConversionFailure(failure);
+        try {
+            if (conversion || policy.exhausted(failures)) {
+                properties.setHeader(EXCEPTION_CLASS_HEADER, cause.getClass().getName());
+                properties.setHeader(EXCEPTION_MESSAGE_HEADER, truncate(cause.getMessage()));
+                properties.setHeader(PARKED_AT_HEADER, System.currentTimeMillis());
+                rabbitTemplate.send(RabbitMQConfig.PARKING_LOT_EXCHANGE, "", message);
+                (conversion ? parkedConversion : parkedExhausted).increment();
+                log.error("🅿️  [RABBITMQ RETRY] Mensagem de {} enviada ao parking lot após {} tentativa(s): {}",
+                        properties.getHeader(ORIGIN_QUEUE_HEADER), failures, cause.toString());
+            } else {
+                String retryQueue = policy.retryQueue(failures);
+                rabbitTemplate.send("", retryQueue, message);
+                retried.increment();
+                log.warn("🔁 [RABBITMQ RETRY] Falha {}/{} em {}; nova tentativa em {} ms: {}", failures,
+                        policy.maxAttempts(), properties.getHeader(ORIGIN_QUEUE_HEADER),
+                        policy.delayMillis(failures), cause.toString());
+            }
+        } catch (Exception e) {
+            log.error("❌ [RABBITMQ RETRY] Erro ao republicar mensagem; rejeitando para o dead-letter-exchange", e);
+            throw new AmqpRejectAndDontRequeueException("Falha ao republicar mensagem", e);
+        }
+    }
+
+    /**
+     * Falha parcial do lote: só as mensagens nas posições indicadas são retentadas.
+     */
+    private static PartialBatchFailureException partialFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof PartialBatchFailureException partial) {
+                return partial;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isConversionFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof MessageConversionException
+                    || t instanceof org.springframework.messaging.converter.MessageConversionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String truncate(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() <= MAX_EXCEPTION_MESSAGE ? value : value.substring(0, MAX_EXCEPTION_MESSAGE);
+    }
+}
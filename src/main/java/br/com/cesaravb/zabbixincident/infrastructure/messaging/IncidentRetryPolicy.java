@@ -0,0 +1,52 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Política de retentativa das filas de incidentes (backoff exponencial no broker).
+ *
+ * • maxAttempts: entregas totais, contando a primeira; ao esgotar, a mensagem vai para o parking lot
+ * • delay da tentativa n = min(initialIntervalMs * multiplier^(n-1), maxIntervalMs)
+ * • cada delay distinto vira uma fila zabbix.incident.retry.<delay>ms com x-message-ttl
+ *
+ * Exemplo (padrão): 5 tentativas, 1s x4 → esperas de 1s, 4s, 16s e 64s.
+ */
+public record IncidentRetryPolicy(int maxAttempts, long initialIntervalMs, double multiplier, long maxIntervalMs) {
+
+    public static final String RETRY_QUEUE_PREFIX = "zabbix.incident.retry.";
+
+    public IncidentRetryPolicy {
+        if (maxAttempts < 1 || initialIntervalMs < 1 || multiplier < 1 || maxIntervalMs < initialIntervalMs) {
+            throw new IllegalArgumentException("Política de retentativa inválida: maxAttempts=" + maxAttempts
+                    + ", initialIntervalMs=" + initialIntervalMs + ", multiplier=" + multiplier
+                    + ", maxIntervalMs=" + maxIntervalMs);
+        }
+    }
+
+    /**
+     * @param failures Falhas já ocorridas (1 = primeira entrega falhou)
+     */
+    public boolean exhausted(int failures) {
+        return failures >= maxAttempts;
+    }
+
+    public long delayMillis(int failures) {
+        double delay = initialIntervalMs * Math.pow(multiplier, Math.max(0, failures - 1));
+        return (long) Math.min(delay, maxIntervalMs);
+    }
+
+    public String retryQueue(int failures) {
+        return RETRY_QUEUE_PREFIX + delayMillis(failures) + "ms";
+    }
+
+    /**
+     * Delays distintos usados entre a primeira falha e a última retentativa.
+     */
+    public List<Long> delays() {
+        return IntStream.range(1, maxAttempts)
+                .mapToObj(this::delayMillis)
+                .distinct()
+                .toList();
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatcher paralelo com ordem por chave: cada chave (ID do incidente) cai sempre na mesma
+ * lane, e cada lane é uma única thread processando em ordem de chegada.
+ *
+ * Fluxo (app.rabbitmq.listener.lanes > 0):
+ * 1. O consumer do RabbitMQ só decodifica a mensagem e chama dispatch() (ack MANUAL)
+ * 2. A mensagem entra na fila da lane hash(chave) % lanes
+ * 3. A lane executa o trabalho (envio WebSocket) e confirma (basicAck) a entrega
+ * 4. Falha → IncidentRetryInterceptor.recover (retentativa com atraso / parking lot) + ack;
+ *    se nem isso der certo, basicReject sem requeue (dead-letter para o parking lot)
+ *
+ * Throughput escala com o número de lanes, e um RESOLVED nunca ultrapassa o OPEN do mesmo
+ * incidente. O volume em trânsito é limitado pelo prefetch do container.
+ *
+ * Com lanes = 0 (padrão), dispatch() executa o trabalho na própria thread do consumer,
+ * como antes (ack automático pelo container).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.messaging.transport", havingValue = "amqp", matchIfMissing = true)
+public class KeyedLaneDispatcher {
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final IncidentRetryInterceptor retryInterceptor;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Lane[] lanes;
+    private volatile boolean running = true;
+
+    public KeyedLaneDispatcher(IncidentRetryInterceptor retryInterceptor,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.rabbitmq.listener.lanes:0}") int laneCount) {
+        this.retryInterceptor = retryInterceptor;
+        this.lanes = new Lane[Math.max(0, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = new Lane(i);
+            lanes[i] = lane;
+            Gauge.builder("incident.lanes.depth", lane.queue, BlockingQueue::size)
+                    .description("Mensagens aguardando em cada lane")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+            lane.thread.start();
+        }
+        if (lanes.length > 0) {
+            Gauge.builder("incident.lanes.imbalance", this, KeyedLaneDispatcher::imbalance)
+                    .description("Mensagens da lane mais carregada / média das lanes (1 = distribuição perfeita)")
+                    .register(meterRegistry);
+            log.info("🛣️  [LANES] {} lanes ordenadas por incidente ativas (ack manual)", lanes.length);
+        }
+    }
+
+    public boolean enabled() {
+        return lanes.length > 0;
+    }
+
+    // ====================================
+    // # dispatch - Encaminha o trabalho para a lane da chave
+    // ====================================
+    /**
+     * @param key     Chave de ordenação (ID do incidente)
+     * @param message Mensagem AMQP original (ack / retentativa)
+     * @param channel Canal do consumer (ack manual)
+     * @param work    Processamento da mensagem
+     */
+    public void dispatch(long key, Message message, Channel channel, Runnable work) {
+        if (!enabled()) {
+            work.run();
+            return;
+        }
+        lanes[laneOf(key, lanes.length)].queue.add(new Task(message, channel, work));
+    }
+
+    /**
+     * Lane de uma chave (fmix64 do MurmurHash3 para espalhar IDs sequenciais).
+     */
+    public static int laneOf(long key, int laneCount) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) Math.floorMod(h, (long) laneCount);
+    }
+
+    public double imbalance() {
+        long max = 0;
+        long total = 0;
+        for (Lane lane : lanes) {
+            long processed = lane.processed.sum();
+            max = Math.max(max, processed);
+            total += processed;
+        }
+        return total == 0 ? 1.0 : max / ((double) total / lanes.length);
+    }
+
+    // ====================================
+    // # run - Laço de uma lane
+    // ====================================
+    private void run(Lane lane) {
+        while (running || !lane.queue.isEmpty()) {
+            Task task;
+            try {
+                task = lane.queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (task != null) {
+                execute(task);
+                lane.processed.increment();
+            }
+        }
+    }
+
+    private void execute(Task task) {
+        long deliveryTag = task.message().getMessageProperties().getDeliveryTag();
+        try {
+            try {
+                task.work().run();
+            } catch (Exception e) {
+                retryInterceptor.recover(task.message(), e);
+            }
+            task.channel().basicAck(deliveryTag, false);
+        } catch (Exception e) {
+            log.error("❌ [LANES] Erro ao confirmar/recuperar mensagem {}: {}", deliveryTag, e.getMessage());
+            try {
+                task.channel().basicReject(deliveryTag, false);
+            } catch (Exception rejectError) {
+                // Canal fechado: o broker devolve a mensagem à fila ao perder o consumer
+                log.warn("⚠️  [LANES] Canal indisponível para rejeitar {}: {}", deliveryTag, rejectError.getMessage());
+            }
+        }
+    }
+
+    // ====================================
+    // # shutdown - Processa o que já está nas lanes
+    // ====================================
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Lane lane : lanes) {
+            try {
+                lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ====================================
+    // # Tipos internos
+    // ====================================
+    private record Task(Message message, Channel channel, Runnable work) {}
+
+    private final class Lane {
+        private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+        private final LongAdder processed = new LongAdder();
+        private final Thread thread;
+
+        private Lane(int index) {
+            this.thread = new Thread(() -> KeyedLaneDispatcher.this.run(this), "incident-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+    }
+}
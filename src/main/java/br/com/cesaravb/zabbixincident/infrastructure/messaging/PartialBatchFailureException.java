@@ -0,0 +1,27 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import java.util.List;
+
+/**
+ * Falha parcial no processamento de um lote: só os itens nas posições informadas falharam.
+ *
+ * O IncidentRetryInterceptor retenta ou estaciona apenas as mensagens correspondentes; as
+ * demais já foram entregues e não podem ser republicadas (seriam duplicadas no frontend).
+ */
+public class PartialBatchFailureException extends RuntimeException {
+
+    private final List<Integer> failedIndexes;
+
+    /**
+     * @param failedIndexes Posições (no lote recebido) dos itens que falharam, em ordem crescente
+     * @param cause         Primeira falha do lote
+     */
+    public PartialBatchFailureException(List<Integer> failedIndexes, int batchSize, Throwable cause) {
+        super(failedIndexes.size() + " de " + batchSize + " itens do lote falharam", cause);
+        this.failedIndexes = List.copyOf(failedIndexes);
+    }
+
+    public List<Integer> failedIndexes() {
+        return failedIndexes;
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker do caminho de publicação no RabbitMQ.
+ *
+ * Estados:
+ * • CLOSED → publica direto; failureThreshold falhas seguidas abrem o circuito
+ * • OPEN → não tenta o broker (eventos vão para o spool em disco) até passar openMillis
+ * • HALF_OPEN → uma única tentativa de teste; sucesso fecha, falha reabre
+ *
+ * trip() abre o circuito na hora (ex: conexão com o broker caiu).
+ */
+public class PublishCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public PublishCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    // ====================================
+    // # allowRequest - Pode tentar o broker agora?
+    // ====================================
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            // Apenas quem vencer o CAS faz a tentativa de teste
+            return state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            trip();
+        }
+    }
+
+    public void trip() {
+        openedAt = System.nanoTime();
+        state.set(State.OPEN);
+    }
+
+    public State state() {
+        return state.get();
+    }
+}
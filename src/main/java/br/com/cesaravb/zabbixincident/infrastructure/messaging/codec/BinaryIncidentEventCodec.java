@@ -0,0 +1,234 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging.codec;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Codec binário próprio do envelope IncidentEvent (sem nomes de campos no fio).
+ *
+ * Layout v1:
+ * ┌─────────┬──────┬──────────┬────────────┬────────────┬──────────┬────────────────────┐
+ * │ version │ type │ sequence │ incidentId │ occurredAt │ presença │ campos presentes   │
+ * │ 1 byte  │ 1 b  │ varlong  │ varlong    │ varlong    │ varint   │ na ordem do bitmap │
+ * └─────────┴──────┴──────────┴────────────┴────────────┴──────────┴────────────────────┘
+ *
+ * • Strings: varint com o tamanho em bytes + UTF-8
+ * • severity/status: 1 byte com o ordinal do enum (por isso o envelope é versionado)
+ * • createdAt/updatedAt/revision: varlong (epoch millis / sequência do incidente)
+ * • revision entrou depois do v1 como bit opcional: mensagens sem o bit continuam válidas
+ *
+ * Mensagens com version diferente de IncidentEvent.SCHEMA_VERSION são rejeitadas.
+ */
+public class BinaryIncidentEventCodec implements IncidentEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.zabbix-incident.event.v1+binary";
+
+    // ====================================
+    // # Bits do mapa de presença (ordem no fio)
+    // ====================================
+    private static final int STRING_FIELDS = 14;
+    private static final int SEVERITY_BIT = 14;
+    private static final int STATUS_BIT = 15;
+    private static final int SOURCE_BIT = 16;
+    private static final int CREATED_AT_BIT = 17;
+    private static final int UPDATED_AT_BIT = 18;
+    private static final int REVISION_BIT = 19;
+
+    private static final IncidentEventType[] TYPES = IncidentEventType.values();
+    private static final SeverityLevel[] SEVERITIES = SeverityLevel.values();
+    private static final IncidentStatus[] STATUSES = IncidentStatus.values();
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE;
+    }
+
+    // ====================================
+    // # encode
+    // ====================================
+    @Override
+    public byte[] encode(IncidentEvent event) {
+        String[] strings = {
+                event.zabbixEventId(), event.hostids(), event.title(), event.description(), event.alertMessage(),
+                event.eventName(), event.eventOpdata(), event.host(), event.hostIp(), event.item(),
+                event.itemKey(), event.trigger(), event.urlZabbix(), event.valor()
+        };
+        byte[][] encoded = new byte[STRING_FIELDS][];
+        int presence = 0;
+        int estimate = 48;
+        for (int i = 0; i < STRING_FIELDS; i++) {
+            if (strings[i] != null) {
+                encoded[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+                presence |= 1 << i;
+                estimate += encoded[i].length + 5;
+            }
+        }
+        byte[] source = event.source() == null ? null : event.source().getBytes(StandardCharsets.UTF_8);
+        presence |= bit(event.severity() != null, SEVERITY_BIT)
+                | bit(event.status() != null, STATUS_BIT)
+                | bit(source != null, SOURCE_BIT)
+                | bit(event.createdAt() != null, CREATED_AT_BIT)
+                | bit(event.updatedAt() != null, UPDATED_AT_BIT)
+                | bit(event.revision() != null, REVISION_BIT);
+        if (source != null) {
+            estimate += source.length + 5;
+        }
+
+        Writer out = new Writer(estimate);
+        out.writeByte(IncidentEvent.SCHEMA_VERSION);
+        out.writeByte(event.type().ordinal());
+        out.writeVarLong(event.sequence());
+        out.writeVarLong(event.incidentId());
+        out.writeVarLong(event.occurredAt());
+        out.writeVarLong(presence);
+        for (int i = 0; i < STRING_FIELDS; i++) {
+            if (encoded[i] != null) {
+                out.writeBytes(encoded[i]);
+            }
+        }
+        if (event.severity() != null) {
+            out.writeByte(event.severity().ordinal());
+        }
+        if (event.status() != null) {
+            out.writeByte(event.status().ordinal());
+        }
+        if (source != null) {
+            out.writeBytes(source);
+        }
+        if (event.createdAt() != null) {
+            out.writeVarLong(event.createdAt());
+        }
+        if (event.updatedAt() != null) {
+            out.writeVarLong(event.updatedAt());
+        }
+        if (event.revision() != null) {
+            out.writeVarLong(event.revision());
+        }
+        return out.toByteArray();
+    }
+
+    // ====================================
+    // # decode
+    // ====================================
+    @Override
+    public IncidentEvent decode(byte[] body) {
+        Reader in = new Reader(body);
+        int version = in.readByte();
+        if (version != IncidentEvent.SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Versão do envelope não suportada: " + version);
+        }
+        IncidentEventType type = TYPES[in.readByte()];
+        long sequence = in.readVarLong();
+        long incidentId = in.readVarLong();
+        long occurredAt = in.readVarLong();
+        int presence = (int) in.readVarLong();
+
+        String[] strings = new String[STRING_FIELDS];
+        for (int i = 0; i < STRING_FIELDS; i++) {
+            if ((presence & (1 << i)) != 0) {
+                strings[i] = in.readString();
+            }
+        }
+        SeverityLevel severity = (presence & (1 << SEVERITY_BIT)) != 0 ? SEVERITIES[in.readByte()] : null;
+        IncidentStatus status = (presence & (1 << STATUS_BIT)) != 0 ? STATUSES[in.readByte()] : null;
+        String source = (presence & (1 << SOURCE_BIT)) != 0 ? in.readString() : null;
+        Long createdAt = (presence & (1 << CREATED_AT_BIT)) != 0 ? in.readVarLong() : null;
+        Long updatedAt = (presence & (1 << UPDATED_AT_BIT)) != 0 ? in.readVarLong() : null;
+        Long revision = (presence & (1 << REVISION_BIT)) != 0 ? in.readVarLong() : null;
+
+        return new IncidentEvent(type, version, sequence, incidentId, occurredAt,
+                strings[0], strings[1], strings[2], strings[3], strings[4], strings[5], strings[6],
+                strings[7], strings[8], strings[9], strings[10], strings[11], strings[12], strings[13],
+                severity, status, source, createdAt, updatedAt, revision);
+    }
+
+    private static int bit(boolean present, int position) {
+        return present ? 1 << position : 0;
+    }
+
+    // ====================================
+    // # Writer / Reader - Buffers com varint (LEB128)
+    // ====================================
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int readByte() {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("Envelope binário truncado");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint inválido no envelope binário");
+        }
+
+        private String readString() {
+            int length = (int) readVarLong();
+            if (length < 0 || position + length > buffer.length) {
+                throw new IllegalArgumentException("Envelope binário truncado");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
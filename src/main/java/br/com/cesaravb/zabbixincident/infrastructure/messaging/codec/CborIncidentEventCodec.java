@@ -0,0 +1,15 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+/**
+ * Codec CBOR (RFC 8949) do envelope IncidentEvent.
+ */
+public class CborIncidentEventCodec extends JacksonIncidentEventCodec {
+
+    public static final String CONTENT_TYPE = "application/cbor";
+
+    public CborIncidentEventCodec() {
+        super(new CBORMapper(), CONTENT_TYPE);
+    }
+}
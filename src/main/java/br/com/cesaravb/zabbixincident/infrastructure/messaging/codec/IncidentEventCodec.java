@@ -0,0 +1,21 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging.codec;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+
+/**
+ * Codec do envelope IncidentEvent, identificado pelo content-type da mensagem AMQP.
+ *
+ * Implementações:
+ * • JsonIncidentEventCodec → application/vnd.zabbix-incident.event+json (legível, maior)
+ * • SmileIncidentEventCodec → application/x-jackson-smile (JSON binário)
+ * • CborIncidentEventCodec → application/cbor
+ * • BinaryIncidentEventCodec → application/vnd.zabbix-incident.event.v1+binary (formato próprio, menor)
+ */
+public interface IncidentEventCodec {
+
+    String contentType();
+
+    byte[] encode(IncidentEvent event);
+
+    IncidentEvent decode(byte[] body);
+}
@@ -0,0 +1,46 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging.codec;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Base dos codecs Jackson (JSON, Smile, CBOR): muda apenas o formato do ObjectMapper.
+ * Propriedades desconhecidas são ignoradas para aceitar versões futuras do envelope.
+ */
+abstract class JacksonIncidentEventCodec implements IncidentEventCodec {
+
+    private final ObjectMapper mapper;
+    private final String contentType;
+
+    protected JacksonIncidentEventCodec(ObjectMapper mapper, String contentType) {
+        this.mapper = mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.contentType = contentType;
+    }
+
+    @Override
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public byte[] encode(IncidentEvent event) {
+        try {
+            return mapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao serializar IncidentEvent (" + contentType + ")", e);
+        }
+    }
+
+    @Override
+    public IncidentEvent decode(byte[] body) {
+        try {
+            return mapper.readValue(body, IncidentEvent.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao desserializar IncidentEvent (" + contentType + ")", e);
+        }
+    }
+}
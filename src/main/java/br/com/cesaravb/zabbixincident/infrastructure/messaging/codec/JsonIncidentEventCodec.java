@@ -0,0 +1,15 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Codec JSON textual do envelope IncidentEvent.
+ */
+public class JsonIncidentEventCodec extends JacksonIncidentEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.zabbix-incident.event+json";
+
+    public JsonIncidentEventCodec() {
+        super(new ObjectMapper(), CONTENT_TYPE);
+    }
+}
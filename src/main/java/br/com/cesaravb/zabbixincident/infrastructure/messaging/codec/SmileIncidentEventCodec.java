@@ -0,0 +1,15 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging.codec;
+
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Codec Smile (JSON binário com nomes de propriedades compartilhados) do envelope IncidentEvent.
+ */
+public class SmileIncidentEventCodec extends JacksonIncidentEventCodec {
+
+    public static final String CONTENT_TYPE = "application/x-jackson-smile";
+
+    public SmileIncidentEventCodec() {
+        super(new SmileMapper(), CONTENT_TYPE);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.cesaravb.zabbixincident.infrastructure.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Taxa de eventos por segundo suavizada exponencialmente (EWMA).
+ *
+ * • mark() é chamado no caminho quente e só incrementa um LongAdder (sem lock)
+ * • tick() é chamado periodicamente por uma única thread e atualiza a taxa:
+ *   rate += alpha * (instantRate - rate), com alpha = 1 - e^(-intervalo / tau)
+ *
+ * A taxa começa em 0 (não na primeira taxa instantânea): um pico isolado de uma fonte nova
+ * entra suavizado como qualquer outro. Quanto maior o tau, mais lenta a reação a picos (e menor o ruído).
+ */
+public final class EwmaRate {
+
+    private final LongAdder pending = new LongAdder();
+    private final double alpha;
+    private final double intervalSeconds;
+    private volatile double rate;
+
+    public EwmaRate(double intervalSeconds, double tauSeconds) {
+        this.intervalSeconds = intervalSeconds;
+        this.alpha = 1 - Math.exp(-intervalSeconds / tauSeconds);
+    }
+
+    // ====================================
+    // # mark - Registra um evento
+    // ====================================
+    public void mark() {
+        pending.increment();
+    }
+
+    // ====================================
+    // # tick - Atualiza a taxa com os eventos do último intervalo
+    // ====================================
+    public void tick() {
+        double instantRate = pending.sumThenReset() / intervalSeconds;
+        rate += alpha * (instantRate - rate);
+    }
+
+    /**
+     * @return true se há eventos marcados desde o último tick
+     */
+    public boolean hasPending() {
+        return pending.sum() > 0;
+    }
+
+    // ====================================
+    // # rate - Eventos por segundo
+    // ====================================
+    public double rate() {
+        return rate;
+    }
+}
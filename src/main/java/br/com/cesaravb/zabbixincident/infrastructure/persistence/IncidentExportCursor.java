@@ -0,0 +1,105 @@
+package br.com.cesaravb.zabbixincident.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Cursor forward-only sobre a tabela incidents para a exportação (IncidentExportService).
+ *
+ * • SELECT direto das colunas, sem entidade nem persistence context
+ * • MySQL: fetch size Integer.MIN_VALUE → o Connector/J entrega linha a linha (streaming), sem
+ *   carregar o resultado inteiro no heap; outros bancos usam app.export.fetch-size
+ * • A ordem das colunas é a dos campos do IncidentResponse (COLUMNS)
+ *
+ * Se o processamento de uma linha falhar (ex.: cliente HTTP desconectou), a consulta é cancelada
+ * antes de o ResultSet ser fechado: um ResultSet em streaming do MySQL leria até a última linha no close.
+ */
+@Slf4j
+@Component
+public class IncidentExportCursor {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String[] COLUMNS = {
+            "id", "zabbixEventId", "hostids", "title", "description", "alertMessage", "eventName", "eventOpdata",
+            "host", "hostIp", "item", "itemKey", "trigger", "urlZabbix", "valor", "severity", "status", "source",
+            "createdAt", "updatedAt", "seq"
+    };
+    public static final int ID = 1;
+    public static final int CREATED_AT = 19;
+    public static final int UPDATED_AT = 20;
+    public static final int SEQ = 21;
+
+    private static final String SELECT_SQL = """
+            SELECT id, zabbix_event_id, host_ids, title, description, alert_message, event_name, event_opdata,
+                   host, host_ip, item, item_key, trigger_name, url_zabbix, valor, severity, status, source,
+                   created_at, updated_at, version
+            FROM incidents
+            WHERE created_at >= ? AND created_at < ?
+            ORDER BY created_at, id
+            """;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final JdbcTemplate jdbcTemplate;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int fetchSize;
+
+    public IncidentExportCursor(JdbcTemplate jdbcTemplate,
+                                @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    // ====================================
+    // # stream - Percorre os incidentes criados em [from, to)
+    // ====================================
+    public void stream(LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : fetchSize);
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                handler.processRow(rs);
+            } catch (SQLException | RuntimeException e) {
+                cancel(rs.getStatement());
+                throw e;
+            }
+        });
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    private static void cancel(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            log.warn("⚠️ [EXPORT] Falha ao cancelar a consulta de exportação: {}", e.getMessage());
+        }
+    }
+}
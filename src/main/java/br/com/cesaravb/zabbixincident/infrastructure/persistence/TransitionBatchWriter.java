@@ -0,0 +1,302 @@
+package br.com.cesaravb.zabbixincident.infrastructure.persistence;
+
+import br.com.cesaravb.zabbixincident.domain.entity.IncidentStatusTransition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escritor em lote (group commit) da tabela append-only incident_events.
+ *
+ * Fluxo:
+ * 1. append() apenas enfileira a transição → nenhuma latência de banco na requisição HTTP
+ * 2. Uma thread dedicada acumula as transições até batch-size linhas ou flush-ms milissegundos
+ * 3. O lote é gravado com um único batchUpdate dentro de uma única transação
+ * 4. Até o commit, as transições ficam visíveis em pending() para a linha do tempo
+ *
+ * Se a fila estiver cheia, a transição é gravada na própria thread chamadora.
+ *
+ * Falhas: um lote que esgota as tentativas imediatas vai para a fila de retentativa (limitada a
+ * queue-capacity) e é regravado a cada retry-ms, continuando visível em pending() até o commit.
+ * Só há perda se a fila de retentativa transbordar ou se o banco seguir indisponível no shutdown:
+ * nesses casos as transições descartadas são registradas em ERROR com os IDs dos incidentes.
+ * No shutdown, a fila é drenada antes de a aplicação encerrar.
+ */
+@Slf4j
+@Component
+public class TransitionBatchWriter {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final String INSERT_SQL =
+            "INSERT INTO incident_events (incident_id, from_status, to_status, actor, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_ATTEMPTS = 3;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int batchSize;
+    private final long flushNanos;
+    private final long retryNanos;
+    private final int retryCapacity;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final BlockingQueue<IncidentStatusTransition> queue;
+    private final Set<IncidentStatusTransition> unflushed = ConcurrentHashMap.newKeySet();
+    private final Queue<IncidentStatusTransition> retries = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retrying = new AtomicInteger();
+    private final Thread worker;
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter failed;
+    private volatile boolean running = true;
+    private volatile long nextRetryNanos;
+
+    public TransitionBatchWriter(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.timeline.batch-size:200}") int batchSize,
+                                 @Value("${app.timeline.flush-ms:50}") long flushMillis,
+                                 @Value("${app.timeline.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.timeline.retry-ms:5000}") long retryMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(retryMillis);
+        this.retryCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        // ====================================
+        // # Métricas
+        // ====================================
+        Gauge.builder("incident.timeline.queue", queue, BlockingQueue::size)
+                .description("Transições aguardando gravação em lote")
+                .register(meterRegistry);
+        Gauge.builder("incident.timeline.retrying", retrying, AtomicInteger::get)
+                .description("Transições de lotes que falharam, aguardando nova gravação")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("incident.timeline.flush")
+                .description("Tempo de gravação de cada lote em incident_events")
+                .register(meterRegistry);
+        this.written = Counter.builder("incident.timeline.written").register(meterRegistry);
+        this.failed = Counter.builder("incident.timeline.failed").register(meterRegistry);
+
+        this.worker = new Thread(this::run, "incident-events-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // ====================================
+    // # append - Enfileira uma transição (não bloqueia)
+    // ====================================
+    public void append(IncidentStatusTransition transition) {
+        unflushed.add(transition);
+        if (!queue.offer(transition)) {
+            log.warn("⚠️  [TIMELINE] Fila cheia; gravando transição do incidente {} de forma síncrona", transition.getIncidentId());
+            write(List.of(transition));
+        }
+    }
+
+    // ====================================
+    // # pending - Transições ainda não gravadas de um incidente
+    // ====================================
+    public List<IncidentStatusTransition> pending(Long incidentId) {
+        List<IncidentStatusTransition> result = new ArrayList<>();
+        for (IncidentStatusTransition transition : unflushed) {
+            if (transition.getIncidentId().equals(incidentId)) {
+                result.add(transition);
+            }
+        }
+        return result;
+    }
+
+    // ====================================
+    // # run - Laço de group commit
+    // ====================================
+    private void run() {
+        List<IncidentStatusTransition> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                IncidentStatusTransition first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    retryFailed(false);
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    IncidentStatusTransition next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: grava o que já foi acumulado e continua drenando a fila
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+            retryFailed(false);
+        }
+        retryFailed(true);
+        if (retrying.get() > 0) {
+            List<IncidentStatusTransition> remaining = new ArrayList<>();
+            for (IncidentStatusTransition transition; (transition = retries.poll()) != null; ) {
+                remaining.add(transition);
+            }
+            retrying.addAndGet(-remaining.size());
+            discard(remaining, "banco indisponível no shutdown");
+        }
+    }
+
+    // ====================================
+    // # retryFailed - Regrava os lotes que falharam, a cada retry-ms
+    // ====================================
+    /**
+     * Para no primeiro lote que falhar de novo (o banco continua indisponível).
+     *
+     * @param now true no shutdown: ignora o intervalo entre retentativas
+     */
+    private void retryFailed(boolean now) {
+        if (retrying.get() == 0 || (!now && System.nanoTime() < nextRetryNanos)) {
+            return;
+        }
+        List<IncidentStatusTransition> batch = new ArrayList<>(batchSize);
+        while (retrying.get() > 0) {
+            for (IncidentStatusTransition transition; batch.size() < batchSize && (transition = retries.poll()) != null; ) {
+                batch.add(transition);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            retrying.addAndGet(-batch.size());
+            log.info("🔁 [TIMELINE] Regravando lote de {} transições que falhou", batch.size());
+            if (!write(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    // ====================================
+    // # write - Um batchUpdate por lote, em uma única transação
+    // ====================================
+    /**
+     * @return false se as tentativas se esgotaram (o lote foi para a fila de retentativa)
+     */
+    private boolean write(List<IncidentStatusTransition> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, t) -> {
+                            ps.setLong(1, t.getIncidentId());
+                            if (t.getFromStatus() != null) {
+                                ps.setString(2, t.getFromStatus().name());
+                            } else {
+                                ps.setNull(2, Types.VARCHAR);
+                            }
+                            ps.setString(3, t.getToStatus().name());
+                            ps.setString(4, t.getActor());
+                            ps.setTimestamp(5, Timestamp.valueOf(t.getOccurredAt()));
+                        })));
+                written.increment(batch.size());
+                log.debug("💾 [TIMELINE] Lote de {} transições gravado", batch.size());
+                batch.forEach(unflushed::remove);
+                return true;
+            } catch (Exception e) {
+                log.error("❌ [TIMELINE] Erro ao gravar lote de {} transições (tentativa {}/{}): {}",
+                        batch.size(), attempt, MAX_ATTEMPTS, e.getMessage());
+                if (attempt < MAX_ATTEMPTS) {
+                    try {
+                        Thread.sleep(100L * attempt);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+        defer(batch);
+        return false;
+    }
+
+    // ====================================
+    // # defer - Guarda o lote para a próxima retentativa
+    // ====================================
+    private void defer(List<IncidentStatusTransition> batch) {
+        nextRetryNanos = System.nanoTime() + retryNanos;
+        if (retrying.get() + batch.size() > retryCapacity) {
+            discard(batch, "fila de retentativa cheia");
+            return;
+        }
+        retries.addAll(batch);
+        retrying.addAndGet(batch.size());
+        log.warn("⚠️  [TIMELINE] {} transições aguardando nova gravação em {} ms",
+                retrying.get(), TimeUnit.NANOSECONDS.toMillis(retryNanos));
+    }
+
+    private void discard(List<IncidentStatusTransition> transitions, String reason) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        failed.increment(transitions.size());
+        transitions.forEach(unflushed::remove);
+        log.error("❌ [TIMELINE] {} transições descartadas ({}); incidentes: {}", transitions.size(), reason,
+                transitions.stream().map(IncidentStatusTransition::getIncidentId).distinct().toList());
+    }
+
+    // ====================================
+    // # shutdown - Drena a fila antes de encerrar
+    // ====================================
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("⚠️  [TIMELINE] {} transições não gravadas no shutdown", queue.size());
+        }
+    }
+}
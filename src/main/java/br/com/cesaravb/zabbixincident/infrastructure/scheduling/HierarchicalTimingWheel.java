@@ -0,0 +1,194 @@
+package br.com.cesaravb.zabbixincident.infrastructure.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing wheel hierárquico (no estilo Kafka/Netty) para milhares de timers de longa duração.
+ *
+ * Estrutura:
+ * • Nível 0: wheelSize buckets de tickMillis cada (ex: 512 x 1s ≈ 8,5 min)
+ * • Nível N+1: criado sob demanda, cada bucket cobre o intervalo inteiro do nível N
+ * • Cada bucket é uma lista duplamente encadeada → inserir e cancelar em O(1)
+ *
+ * Avanço do relógio:
+ * 1. advance(now) anda o nível 0 tick a tick até "now"
+ * 2. O bucket que vence é esvaziado; timers de níveis superiores descem (cascata)
+ * 3. Timers cujo prazo já passou são executados fora do lock
+ *
+ * Precisão: ±1 tick. Thread-safe (operações curtas sob o monitor da roda).
+ */
+public final class HierarchicalTimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final Level root;
+    private int pending;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMillis, startMillis);
+    }
+
+    // ====================================
+    // # schedule - Agenda uma tarefa para o prazo absoluto informado
+    // ====================================
+    /**
+     * Prazos no passado (ex: timers restaurados após um restart) vencem no próximo tick.
+     * A tarefa nunca é executada na thread chamadora.
+     */
+    public synchronized Timeout schedule(long deadlineMillis, Runnable task) {
+        Timeout timeout = new Timeout(Math.max(deadlineMillis, root.currentTime + tickMillis), task);
+        root.add(timeout);
+        pending++;
+        return timeout;
+    }
+
+    // ====================================
+    // # cancel - Remove o timer do seu bucket em O(1)
+    // ====================================
+    public synchronized boolean cancel(Timeout timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        pending--;
+        return true;
+    }
+
+    // ====================================
+    // # advance - Avança o relógio e executa os timers vencidos
+    // ====================================
+    public void advance(long nowMillis) {
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            List<Timeout> drained = new ArrayList<>();
+            while (root.currentTime + tickMillis <= nowMillis) {
+                root.advanceClock(root.currentTime + tickMillis, drained);
+                for (Timeout timeout : drained) {
+                    if (!root.add(timeout)) {
+                        expired.add(timeout);
+                        pending--;
+                    }
+                }
+                drained.clear();
+            }
+        }
+        for (Timeout timeout : expired) {
+            timeout.task.run();
+        }
+    }
+
+    public synchronized int pending() {
+        return pending;
+    }
+
+    // ====================================
+    // # Timeout - Handle de um timer agendado
+    // ====================================
+    public static final class Timeout {
+        private final long deadline;
+        private final Runnable task;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+    }
+
+    // ====================================
+    // # Level - Um nível da hierarquia
+    // ====================================
+    private final class Level {
+        private final long tick;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private Level overflow;
+
+        private Level(long tick, long startMillis) {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMillis - (startMillis % tick);
+        }
+
+        /**
+         * @return false se o prazo está dentro do tick atual (deve executar agora)
+         */
+        private boolean add(Timeout timeout) {
+            if (timeout.deadline < currentTime + tick) {
+                return false;
+            }
+            if (timeout.deadline < currentTime + interval) {
+                long virtualId = timeout.deadline / tick;
+                buckets[(int) (virtualId % wheelSize)].add(timeout);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+
+        private void advanceClock(long time, List<Timeout> drained) {
+            if (time >= currentTime + tick) {
+                currentTime = time - (time % tick);
+                buckets[(int) ((currentTime / tick) % wheelSize)].drainTo(drained);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime, drained);
+                }
+            }
+        }
+    }
+
+    // ====================================
+    // # Bucket - Lista duplamente encadeada com sentinela
+    // ====================================
+    private static final class Bucket {
+        private final Timeout head = new Timeout(0, null);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Timeout timeout) {
+            Timeout tail = head.prev;
+            timeout.prev = tail;
+            timeout.next = head;
+            tail.next = timeout;
+            head.prev = timeout;
+            timeout.bucket = this;
+        }
+
+        private void remove(Timeout timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private void drainTo(List<Timeout> target) {
+            Timeout current = head.next;
+            while (current != head) {
+                Timeout next = current.next;
+                remove(current);
+                target.add(current);
+                current = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.cesaravb.zabbixincident.infrastructure.sse;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uma conexão Server-Sent Events com fila de saída própria.
+ *
+ * Fluxo:
+ * 1. A conexão é registrada antes do resume: os eventos ao vivo já entram na fila
+ * 2. start() recebe os frames do resume (replay ou snapshot) e o seq em que terminam
+ * 3. O escritor (thread virtual) envia primeiro o resume e depois a fila, pulando os
+ *    eventos ao vivo com seq já coberto pelo resume
+ *
+ * Nenhuma thread fica presa a uma conexão ociosa: a requisição é assíncrona (servlet async)
+ * e o escritor só existe enquanto há frames pendentes. Com mais de max-pending frames na fila,
+ * a conexão é encerrada; o EventSource reconecta sozinho com Last-Event-ID.
+ *
+ * Os frames chegam prontos (texto SSE formatado uma vez por evento, compartilhado entre as conexões).
+ */
+@Slf4j
+public class SseConnection {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    private static final long NO_FLOOR = Long.MIN_VALUE;
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final ResponseBodyEmitter emitter;
+    private final Executor writers;
+    private final Filter filter;
+    private final int maxPending;
+    private final Listener listener;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Queue<Frame> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile List<String> initial;
+    private volatile long floor = NO_FLOOR;
+    private volatile boolean started;
+
+    public SseConnection(ResponseBodyEmitter emitter, Executor writers, Filter filter, int maxPending, Listener listener) {
+        this.emitter = emitter;
+        this.writers = writers;
+        this.filter = filter;
+        this.maxPending = maxPending;
+        this.listener = listener;
+    }
+
+    // ====================================
+    // # start - Resume primeiro, depois os eventos ao vivo
+    // ====================================
+    /**
+     * @param frames Frames do resume (replay ou snapshot), já filtrados
+     * @param seq    Último seq coberto pelo resume (eventos ao vivo até ele são descartados)
+     */
+    public void start(List<String> frames, long seq) {
+        this.initial = frames;
+        this.floor = seq;
+        this.started = true;
+        schedule();
+    }
+
+    // ====================================
+    // # offer - Enfileira um frame (nunca bloqueia quem publica)
+    // ====================================
+    /**
+     * @param seq Seq do stream (0 para heartbeats, que nunca são descartados pelo resume)
+     */
+    public void offer(long seq, String frame) {
+        if (closed.get()) {
+            return;
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            log.warn("🐢 [SSE] Conexão com {} frames pendentes; encerrando para reconexão", maxPending);
+            close();
+            listener.lagging();
+            return;
+        }
+        queue.offer(new Frame(seq, frame));
+        if (started) {
+            schedule();
+        }
+    }
+
+    public boolean idle() {
+        return pending.get() == 0;
+    }
+
+    public int depth() {
+        return pending.get();
+    }
+
+    public Filter filter() {
+        return filter;
+    }
+
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            pending.set(0);
+            emitter.complete();
+        }
+    }
+
+    // ====================================
+    // # Escritor
+    // ====================================
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            writers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            do {
+                List<String> frames = initial;
+                if (frames != null) {
+                    initial = null;
+                    for (String frame : frames) {
+                        write(frame);
+                    }
+                }
+                Frame frame;
+                while ((frame = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    if (frame.seq() == 0 || frame.seq() > floor) {
+                        write(frame.text());
+                    }
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && !closed.get() && draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // Cliente foi embora (ou o emitter já terminou): o callback de conclusão remove a conexão
+            log.debug("🔌 [SSE] Falha ao escrever: {}", e.getMessage());
+            draining.set(false);
+            closed.set(true);
+            queue.clear();
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void write(String frame) throws IOException {
+        if (!closed.get()) {
+            emitter.send(frame);
+        }
+    }
+
+    // ====================================
+    // # Tipos auxiliares
+    // ====================================
+    private record Frame(long seq, String text) {}
+
+    /**
+     * Filtros da conexão (query parameters). Conjuntos vazios/nulos não filtram.
+     */
+    public record Filter(Set<String> severities, String host) {
+
+        public boolean isEmpty() {
+            return (severities == null || severities.isEmpty()) && host == null;
+        }
+
+        public boolean matches(String severity, String incidentHost) {
+            return (severities == null || severities.isEmpty() || severities.contains(severity))
+                    && (host == null || host.equals(incidentHost));
+        }
+    }
+
+    /**
+     * Notificado quando a conexão é encerrada por atraso (métricas).
+     */
+    public interface Listener {
+        void lagging();
+    }
+}
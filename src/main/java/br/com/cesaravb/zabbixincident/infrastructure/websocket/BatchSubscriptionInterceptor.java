@@ -0,0 +1,44 @@
+package br.com.cesaravb.zabbixincident.infrastructure.websocket;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentBroadcastBatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Opt-in dos frames em lote no SUBSCRIBE.
+ *
+ * Fluxo:
+ * 1. O cliente assina /topic/incidents com o header STOMP x-incident-batch: true
+ * 2. Este interceptor (clientInboundChannel) troca o destino da assinatura para
+ *    /topic/incidents/batch, mantendo o id da assinatura
+ * 3. O cliente passa a receber arrays de IncidentResponse no mesmo handler
+ *
+ * Sem o header, nada muda: um frame por incidente em /topic/incidents.
+ */
+@Slf4j
+public class BatchSubscriptionInterceptor implements ChannelInterceptor {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String BATCH_HEADER = "x-incident-batch";
+    private static final String INCIDENTS_TOPIC = "/topic/incidents";
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        if (accessor.getCommand() != StompCommand.SUBSCRIBE
+                || !INCIDENTS_TOPIC.equals(accessor.getDestination())
+                || !Boolean.parseBoolean(accessor.getFirstNativeHeader(BATCH_HEADER))) {
+            return message;
+        }
+        accessor.setDestination(IncidentBroadcastBatcher.BATCH_TOPIC);
+        log.debug("📦 [WEBSOCKET BATCH] Sessão {} assinou {} em lote", accessor.getSessionId(), INCIDENTS_TOPIC);
+        return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+    }
+}
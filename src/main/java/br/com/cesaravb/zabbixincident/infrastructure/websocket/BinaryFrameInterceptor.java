@@ -0,0 +1,161 @@
+package br.com.cesaravb.zabbixincident.infrastructure.websocket;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Negociação do payload binário por assinatura (content-type STOMP).
+ *
+ * Fluxo:
+ * 1. O cliente conecta no endpoint nativo (sem SockJS) e assina com o header
+ *    accept: application/octet-stream
+ * 2. No clientInboundChannel, a assinatura é registrada (só sessões nativas: SockJS não transporta binário)
+ * 3. Os publicadores anexam ao frame o IncidentEvent já codificado (BinaryIncidentEventCodec, uma vez
+ *    por evento) no header interno BINARY_PAYLOAD_HEADER, que nunca vai para o fio
+ * 4. No clientOutboundChannel, o frame de uma assinatura binária troca o corpo JSON por esse byte[]
+ *    com content-type application/octet-stream;codec=incident-event-v1 (frame WebSocket binário)
+ *
+ * Frames sem versão binária (lotes, resume, resumo de tempestade) seguem em JSON: o cliente
+ * decide pelo content-type de cada frame.
+ */
+@Slf4j
+@Component
+public class BinaryFrameInterceptor implements ChannelInterceptor {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String ACCEPT_HEADER = "accept";
+    public static final String BINARY_PAYLOAD_HEADER = "incidentBinaryPayload";
+    public static final MimeType BINARY_CONTENT_TYPE = new MimeType(MimeTypeUtils.APPLICATION_OCTET_STREAM,
+            Map.of("codec", "incident-event-v1"));
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final BinaryIncidentEventCodec codec = new BinaryIncidentEventCodec();
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final boolean enabled;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Map<String, Set<String>> binarySubscriptions = new ConcurrentHashMap<>();
+
+    public BinaryFrameInterceptor(@Value("${app.websocket.binary.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Há alguma assinatura binária? Sem nenhuma, os publicadores não codificam o binário.
+     */
+    public boolean isActive() {
+        return enabled && !binarySubscriptions.isEmpty();
+    }
+
+    /**
+     * Codifica o evento para as assinaturas binárias (uma vez por evento, compartilhado entre as sessões).
+     *
+     * @return null quando não há assinatura binária
+     */
+    public byte[] encode(Supplier<IncidentEvent> event) {
+        return isActive() ? codec.encode(event.get()) : null;
+    }
+
+    /**
+     * Anexa o payload binário ao frame que será publicado (header interno, não vai para o fio).
+     */
+    public static void attach(SimpMessageHeaderAccessor headers, byte[] binary) {
+        if (binary != null) {
+            headers.setHeader(BINARY_PAYLOAD_HEADER, binary);
+        }
+    }
+
+    // ====================================
+    // # preSend - SUBSCRIBE/UNSUBSCRIBE/DISCONNECT (entrada) e MESSAGE (saída)
+    // ====================================
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!enabled) {
+            return message;
+        }
+        MessageHeaders headers = message.getHeaders();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+        if (sessionId == null || type == null) {
+            return message;
+        }
+        switch (type) {
+            case MESSAGE -> {
+                return headers.get(BINARY_PAYLOAD_HEADER) instanceof byte[] binary
+                        ? toBinary(message, binary, sessionId)
+                        : message;
+            }
+            case SUBSCRIBE -> subscribe(SimpMessageHeaderAccessor.wrap(message), sessionId);
+            case UNSUBSCRIBE -> {
+                Set<String> subscriptions = binarySubscriptions.get(sessionId);
+                if (subscriptions != null) {
+                    subscriptions.remove(SimpMessageHeaderAccessor.getSubscriptionId(headers));
+                }
+            }
+            case DISCONNECT -> binarySubscriptions.remove(sessionId);
+            default -> { }
+        }
+        return message;
+    }
+
+    private void subscribe(SimpMessageHeaderAccessor accessor, String sessionId) {
+        String accept = accessor.getFirstNativeHeader(ACCEPT_HEADER);
+        if (accept == null || accessor.getSubscriptionId() == null || !acceptsBinary(accept)) {
+            return;
+        }
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null || !Boolean.TRUE.equals(attributes.get(NativeTransportHandshakeInterceptor.NATIVE_ATTRIBUTE))) {
+            log.debug("📡 [WEBSOCKET BINARY] Sessão {} pediu binário fora do endpoint nativo; mantendo JSON", sessionId);
+            return;
+        }
+        binarySubscriptions.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(accessor.getSubscriptionId());
+        log.debug("📡 [WEBSOCKET BINARY] Sessão {} assinou {} em binário", sessionId, accessor.getDestination());
+    }
+
+    private Message<?> toBinary(Message<?> message, byte[] binary, String sessionId) {
+        Set<String> subscriptions = binarySubscriptions.get(sessionId);
+        if (subscriptions == null || !subscriptions.contains(SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()))) {
+            return message;
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(message);
+        headers.setContentType(BINARY_CONTENT_TYPE);
+        headers.setNativeHeader(StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER, BINARY_CONTENT_TYPE.toString());
+        return MessageBuilder.createMessage(binary, headers.getMessageHeaders());
+    }
+
+    private static boolean acceptsBinary(String accept) {
+        for (MimeType type : MimeTypeUtils.parseMimeTypes(accept)) {
+            if (type.equalsTypeAndSubtype(MimeTypeUtils.APPLICATION_OCTET_STREAM)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.cesaravb.zabbixincident.infrastructure.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decora o handler WebSocket para que cada sessão use uma ConflatingWebSocketSession.
+ *
+ * Isola consumidores lentos: as threads do clientOutboundChannel só enfileiram, cada sessão
+ * tem seu escritor (thread virtual, bloquear no socket não ocupa o pool), e uma sessão
+ * atrasada conflaciona os frames pendentes por incidente até ser desconectada para resync.
+ *
+ * Métricas:
+ * • incident.websocket.session.backlog (max / total) → Frames pendentes por sessão
+ * • incident.websocket.session.conflated → Frames substituídos por um mais recente
+ * • incident.websocket.session.dropped → Frames descartados (sessão fechada / desconectada)
+ * • incident.websocket.session.resync → Sessões desconectadas por atraso
+ *
+ * Detalhe por sessão: GET /api/admin/websocket/sessions (WebSocketSessionController).
+ */
+@Component
+public class ConflatingSessionDecoratorFactory implements WebSocketHandlerDecoratorFactory,
+        ConflatingWebSocketSession.ConflationListener {
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final boolean enabled;
+    private final int maxPending;
+    private final long maxLagMillis;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final Map<String, ConflatingWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ws-session-writer-", 0).factory());
+    private final Counter conflated;
+    private final Counter dropped;
+    private final Counter resyncs;
+
+    public ConflatingSessionDecoratorFactory(MeterRegistry meterRegistry,
+                                             @Value("${app.websocket.conflation.enabled:true}") boolean enabled,
+                                             @Value("${app.websocket.conflation.max-pending:1000}") int maxPending,
+                                             @Value("${app.websocket.conflation.max-lag-ms:15000}") long maxLagMillis) {
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.maxLagMillis = maxLagMillis;
+
+        Gauge.builder("incident.websocket.session.backlog", this, f -> f.backlog(true))
+                .description("Maior fila de saída entre as sessões WebSocket")
+                .tag("stat", "max")
+                .register(meterRegistry);
+        Gauge.builder("incident.websocket.session.backlog", this, f -> f.backlog(false))
+                .description("Frames pendentes somando todas as sessões WebSocket")
+                .tag("stat", "total")
+                .register(meterRegistry);
+        this.conflated = Counter.builder("incident.websocket.session.conflated")
+                .description("Frames pendentes substituídos por um mais recente do mesmo incidente")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("incident.websocket.session.dropped")
+                .description("Frames descartados por sessões fechadas ou desconectadas")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("incident.websocket.session.resync")
+                .description("Sessões desconectadas por atraso (código 4000)")
+                .register(meterRegistry);
+    }
+
+    // ====================================
+    // # decorate - Envolve o handler STOMP
+    // ====================================
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return enabled ? new ConflatingHandler(handler) : handler;
+    }
+
+    public Collection<ConflatingWebSocketSession> sessions() {
+        return sessions.values();
+    }
+
+    private double backlog(boolean max) {
+        long result = 0;
+        for (ConflatingWebSocketSession session : sessions.values()) {
+            int depth = session.depth();
+            result = max ? Math.max(result, depth) : result + depth;
+        }
+        return result;
+    }
+
+    // ====================================
+    // # ConflationListener
+    // ====================================
+    @Override
+    public void conflated() {
+        conflated.increment();
+    }
+
+    @Override
+    public void dropped(int frames) {
+        dropped.increment(frames);
+    }
+
+    @Override
+    public void disconnected(int droppedFrames) {
+        resyncs.increment();
+        dropped.increment(droppedFrames);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    // ====================================
+    // # ConflatingHandler - Troca a sessão em todos os callbacks
+    // ====================================
+    private final class ConflatingHandler extends WebSocketHandlerDecorator {
+
+        private ConflatingHandler(WebSocketHandler delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            ConflatingWebSocketSession conflating = new ConflatingWebSocketSession(session, writers,
+                    ConflatingSessionDecoratorFactory.this, maxPending, maxLagMillis);
+            sessions.put(session.getId(), conflating);
+            super.afterConnectionEstablished(conflating);
+        }
+
+        @Override
+        public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+            super.handleMessage(wrapped(session), message);
+        }
+
+        @Override
+        public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+            super.handleTransportError(wrapped(session), exception);
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+            ConflatingWebSocketSession conflating = sessions.remove(session.getId());
+            if (conflating != null) {
+                dropped.increment(conflating.discard());
+            }
+            super.afterConnectionClosed(conflating != null ? conflating : session, closeStatus);
+        }
+
+        private WebSocketSession wrapped(WebSocketSession session) {
+            ConflatingWebSocketSession conflating = sessions.get(session.getId());
+            return conflating != null ? conflating : session;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.cesaravb.zabbixincident.infrastructure.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sessão WebSocket com fila de saída própria e conflação por incidente.
+ *
+ * Fluxo:
+ * 1. sendMessage() só enfileira e retorna (a thread do clientOutboundChannel nunca espera o socket)
+ * 2. Um escritor (thread virtual) drena a fila em ordem para o socket real
+ * 3. Se a sessão está atrasada (fila não vazia), um frame MESSAGE com o header x-incident-id
+ *    substitui o frame pendente da mesma assinatura + destino + incidente, na mesma posição:
+ *    fica só o estado mais recente
+ * 4. Fila acima de max-pending ou frame mais antigo esperando mais que max-lag → a sessão é
+ *    fechada com o código 4000 ("resync"): o cliente reconecta e usa /app/incidents/resume
+ *
+ * Frames sem x-incident-id (CONNECTED, RECEIPT, ERROR, heartbeats, lotes) nunca são conflacionados.
+ * Frames binários (BinaryFrameInterceptor) também são conflacionados: os headers STOMP seguem em texto.
+ */
+@Slf4j
+public class ConflatingWebSocketSession extends WebSocketSessionDecorator {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String INCIDENT_HEADER = "x-incident-id";
+    public static final CloseStatus RESYNC = new CloseStatus(4000, "resync");
+
+    // ====================================
+    // # Dependências
+    // ====================================
+    private final Executor writer;
+    private final ConflationListener listener;
+
+    // ====================================
+    // # Configuração
+    // ====================================
+    private final int maxPending;
+    private final long maxLagNanos;
+
+    // ====================================
+    // # Estado
+    // ====================================
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Slot> queue = new ArrayDeque<>();
+    private final Map<String, Slot> pendingByKey = new HashMap<>();
+    private boolean draining;
+    private volatile boolean closed;
+    private volatile long conflated;
+
+    public ConflatingWebSocketSession(WebSocketSession delegate, Executor writer, ConflationListener listener,
+                                      int maxPending, long maxLagMillis) {
+        super(delegate);
+        this.writer = writer;
+        this.listener = listener;
+        this.maxPending = Math.max(1, maxPending);
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxLagMillis);
+    }
+
+    // ====================================
+    // # sendMessage - Enfileira (ou conflaciona) sem bloquear
+    // ====================================
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) {
+            listener.dropped(1);
+            return;
+        }
+        long now = System.nanoTime();
+        boolean startDrain = false;
+        boolean lagging;
+        lock.lock();
+        try {
+            // Fila vazia: ninguém para conflacionar, o frame vai direto para o escritor
+            String key = queue.isEmpty() ? null : conflationKey(message);
+            Slot pending = key == null ? null : pendingByKey.get(key);
+            if (pending != null) {
+                pending.message = message;
+                conflated++;
+                listener.conflated();
+            } else {
+                Slot slot = new Slot(message, key, now);
+                queue.addLast(slot);
+                if (key != null) {
+                    pendingByKey.put(key, slot);
+                }
+            }
+            if (!draining) {
+                draining = true;
+                startDrain = true;
+            }
+            Slot oldest = queue.peekFirst();
+            lagging = queue.size() > maxPending || (oldest != null && now - oldest.enqueuedAt > maxLagNanos);
+        } finally {
+            lock.unlock();
+        }
+        if (lagging) {
+            resync();
+        } else if (startDrain) {
+            writer.execute(this::drain);
+        }
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long conflatedCount() {
+        return conflated;
+    }
+
+    public long lagMillis() {
+        lock.lock();
+        try {
+            Slot oldest = queue.peekFirst();
+            return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====================================
+    // # drain - Escritor da sessão (um por vez)
+    // ====================================
+    private void drain() {
+        while (!closed) {
+            Slot slot;
+            lock.lock();
+            try {
+                slot = queue.pollFirst();
+                if (slot == null) {
+                    draining = false;
+                    return;
+                }
+                if (slot.key != null) {
+                    pendingByKey.remove(slot.key);
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                getDelegate().sendMessage(slot.message);
+            } catch (IOException | RuntimeException e) {
+                log.debug("🔌 [WEBSOCKET OUTBOUND] Falha ao enviar para a sessão {}: {}", getId(), e.getMessage());
+                listener.dropped(discard());
+                return;
+            }
+        }
+    }
+
+    // ====================================
+    // # resync - Fecha a sessão atrasada (o cliente reconecta e faz resume)
+    // ====================================
+    private void resync() {
+        if (closed) {
+            return;
+        }
+        int dropped = discard();
+        listener.disconnected(dropped);
+        log.warn("🐢 [WEBSOCKET OUTBOUND] Sessão {} atrasada ({} frames pendentes); desconectada para resync",
+                getId(), dropped);
+        writer.execute(() -> {
+            try {
+                getDelegate().close(RESYNC);
+            } catch (IOException | RuntimeException e) {
+                log.debug("🔌 [WEBSOCKET OUTBOUND] Erro ao fechar a sessão {}: {}", getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Marca a sessão como fechada e descarta a fila.
+     *
+     * @return frames descartados
+     */
+    int discard() {
+        lock.lock();
+        try {
+            closed = true;
+            int dropped = queue.size();
+            queue.clear();
+            pendingByKey.clear();
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ====================================
+    // # conflationKey - assinatura|destino|incidente de um frame MESSAGE
+    // ====================================
+    /**
+     * Lê só os headers do frame STOMP (até a linha em branco), sem tocar no corpo.
+     */
+    static String conflationKey(WebSocketMessage<?> message) {
+        String frame = switch (message) {
+            case TextMessage text -> text.getPayload();
+            case BinaryMessage binary -> headersOf(binary.getPayload());
+            default -> null;
+        };
+        if (frame == null || !frame.startsWith("MESSAGE\n")) {
+            return null;
+        }
+        String destination = null;
+        String subscription = null;
+        String incident = null;
+        int start = "MESSAGE\n".length();
+        while (start < frame.length()) {
+            int end = frame.indexOf('\n', start);
+            if (end < 0 || end == start) {
+                break;
+            }
+            int colon = frame.indexOf(':', start);
+            if (colon > start && colon < end) {
+                String name = frame.substring(start, colon);
+                switch (name) {
+                    case "destination" -> destination = frame.substring(colon + 1, end);
+                    case "subscription" -> subscription = frame.substring(colon + 1, end);
+                    case INCIDENT_HEADER -> incident = frame.substring(colon + 1, end);
+                    default -> { }
+                }
+            }
+            start = end + 1;
+        }
+        return incident == null || destination == null ? null : subscription + '|' + destination + '|' + incident;
+    }
+
+    /**
+     * Frame binário (payload binário negociado): só a parte de headers, que é texto.
+     */
+    private static String headersOf(ByteBuffer payload) {
+        int limit = payload.limit();
+        for (int i = payload.position(); i + 1 < limit; i++) {
+            if (payload.get(i) == '\n' && payload.get(i + 1) == '\n') {
+                byte[] headers = new byte[i + 1 - payload.position()];
+                payload.duplicate().get(headers);
+                return new String(headers, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    // ====================================
+    // # Tipos internos
+    // ====================================
+    private static final class Slot {
+        private WebSocketMessage<?> message;
+        private final String key;
+        private final long enqueuedAt;
+
+        private Slot(WebSocketMessage<?> message, String key, long enqueuedAt) {
+            this.message = message;
+            this.key = key;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * Contadores agregados (ConflatingSessionDecoratorFactory).
+     */
+    public interface ConflationListener {
+        void conflated();
+
+        void dropped(int frames);
+
+        void disconnected(int droppedFrames);
+    }
+}
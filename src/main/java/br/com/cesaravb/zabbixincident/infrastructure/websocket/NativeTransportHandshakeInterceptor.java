@@ -0,0 +1,42 @@
+package br.com.cesaravb.zabbixincident.infrastructure.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Marca as sessões abertas pelo endpoint WebSocket nativo (sem SockJS).
+ *
+ * Só essas sessões podem negociar payload binário (BinaryFrameInterceptor): o SockJS
+ * transporta apenas texto. A compressão permessage-deflate é negociada pelo container
+ * (Tomcat) no próprio handshake quando o cliente a oferece em Sec-WebSocket-Extensions.
+ */
+@Slf4j
+public class NativeTransportHandshakeInterceptor implements HandshakeInterceptor {
+
+    // ====================================
+    // # Constantes
+    // ====================================
+    public static final String NATIVE_ATTRIBUTE = "incidentNativeTransport";
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(NATIVE_ATTRIBUTE, Boolean.TRUE);
+        if (log.isDebugEnabled()) {
+            log.debug("🔌 [WEBSOCKET NATIVE] Handshake de {} (extensões: {})", request.getRemoteAddress(),
+                    request.getHeaders().get(WebSocketHttpHeaders.SEC_WEBSOCKET_EXTENSIONS));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.cesaravb.zabbixincident.infrastructure.websocket;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * Desliga o permessage-deflate no endpoint WebSocket nativo.
+ *
+ * O Tomcat negocia a extensão sozinho sempre que o navegador a oferece (todos oferecem), e o
+ * deflate custa CPU por frame em cada sessão (contexto de compressão próprio). Com
+ * app.websocket.native.permessage-deflate=false, o handshake do endpoint nativo chega ao
+ * Tomcat sem Sec-WebSocket-Extensions e os frames seguem sem compressão.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.native.permessage-deflate", havingValue = "false")
+public class PerMessageDeflateFilter extends OncePerRequestFilter {
+
+    private final String nativeEndpoint;
+
+    public PerMessageDeflateFilter(@Value("${app.websocket.native-endpoint:/ws/incidents-native}") String nativeEndpoint) {
+        this.nativeEndpoint = nativeEndpoint;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !nativeEndpoint.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(new HttpServletRequestWrapper(request) {
+            @Override
+            public String getHeader(String name) {
+                return isExtensions(name) ? null : super.getHeader(name);
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return isExtensions(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+            }
+        }, response);
+    }
+
+    private static boolean isExtensions(String name) {
+        return WebSocketHttpHeaders.SEC_WEBSOCKET_EXTENSIONS.equalsIgnoreCase(name);
+    }
+}
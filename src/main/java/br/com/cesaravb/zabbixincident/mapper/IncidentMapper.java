@@ -1,11 +1,18 @@
 package br.com.cesaravb.zabbixincident.mapper;
 
 import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
 import br.com.cesaravb.zabbixincident.dtos.request.CreateIncidentRequest;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
 import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 /**
  * Mapper responsável por converter entre DTOs e Entidades de Incidente.
  *
@@ -61,6 +68,7 @@ public interface IncidentMapper {
     @Mapping(target = "status", constant = "OPEN")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(source = "severity", target = "severity")
     @Mapping(source = "hostids", target = "hostids")
     @Mapping(source = "alertMessage", target = "alertMessage")
@@ -103,5 +111,100 @@ public interface IncidentMapper {
     @Mapping(source = "trigger", target = "trigger")
     @Mapping(source = "urlZabbix", target = "urlZabbix")
     @Mapping(source = "valor", target = "valor")
+    @Mapping(source = "version", target = "seq")
     IncidentResponse toResponse(Incident incident);
-}
\ No newline at end of file
+
+    // ====================================
+    // # toSummary - Converte Incident para IncidentSummary
+    // ====================================
+    /**
+     * Converte uma entidade de domínio em um DTO compacto (sem campos TEXT).
+     *
+     * @param incident Entity recuperada do banco de dados ou da fila
+     * @return DTO compacto para listas e resumos
+     */
+    IncidentSummary toSummary(Incident incident);
+
+    // ====================================
+    // # Envelope IncidentEvent (RabbitMQ)
+    // ====================================
+    /**
+     * Evento de criação: carrega todos os campos do incidente.
+     */
+    default IncidentEvent toCreatedEvent(Incident incident, long sequence) {
+        return new IncidentEvent(IncidentEventType.CREATED, IncidentEvent.SCHEMA_VERSION, sequence, incident.getId(),
+                System.currentTimeMillis(), incident.getZabbixEventId(), incident.getHostids(), incident.getTitle(),
+                incident.getDescription(), incident.getAlertMessage(), incident.getEventName(), incident.getEventOpdata(),
+                incident.getHost(), incident.getHostIp(), incident.getItem(), incident.getItemKey(), incident.getTrigger(),
+                incident.getUrlZabbix(), incident.getValor(), incident.getSeverity(), incident.getStatus(),
+                incident.getSource(), toEpochMillis(incident.getCreatedAt()), toEpochMillis(incident.getUpdatedAt()),
+                incident.getVersion());
+    }
+
+    /**
+     * Evento de mudança de status: apenas status, updatedAt e a versão do incidente.
+     */
+    default IncidentEvent toStatusChangedEvent(Incident incident, long sequence) {
+        return new IncidentEvent(IncidentEventType.STATUS_CHANGED, IncidentEvent.SCHEMA_VERSION, sequence, incident.getId(),
+                System.currentTimeMillis(), null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, incident.getStatus(), null, null, toEpochMillis(incident.getUpdatedAt()),
+                incident.getVersion());
+    }
+
+    /**
+     * Evento de deleção: apenas o ID.
+     */
+    default IncidentEvent toDeletedEvent(Long incidentId, long sequence) {
+        return toDeletedEvent(incidentId, null, sequence);
+    }
+
+    /**
+     * Evento de deleção com a revisão do tombstone (última versão do incidente + 1).
+     */
+    default IncidentEvent toDeletedEvent(Incident incident, long sequence) {
+        return toDeletedEvent(incident.getId(), incident.getVersion() == null ? null : incident.getVersion() + 1, sequence);
+    }
+
+    private IncidentEvent toDeletedEvent(Long incidentId, Long revision, long sequence) {
+        return new IncidentEvent(IncidentEventType.DELETED, IncidentEvent.SCHEMA_VERSION, sequence, incidentId,
+                System.currentTimeMillis(), null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, revision);
+    }
+
+    /**
+     * Reconstrói um Incident (não gerenciado pelo JPA) a partir de um evento CREATED.
+     */
+    default Incident fromEvent(IncidentEvent event) {
+        return Incident.builder()
+                .id(event.incidentId())
+                .zabbixEventId(event.zabbixEventId())
+                .hostids(event.hostids())
+                .title(event.title())
+                .description(event.description())
+                .alertMessage(event.alertMessage())
+                .eventName(event.eventName())
+                .eventOpdata(event.eventOpdata())
+                .host(event.host())
+                .hostIp(event.hostIp())
+                .item(event.item())
+                .itemKey(event.itemKey())
+                .trigger(event.trigger())
+                .urlZabbix(event.urlZabbix())
+                .valor(event.valor())
+                .severity(event.severity())
+                .status(event.status())
+                .source(event.source())
+                .createdAt(toLocalDateTime(event.createdAt()))
+                .updatedAt(toLocalDateTime(event.updatedAt()))
+                .version(event.revision())
+                .build();
+    }
+
+    default Long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    default LocalDateTime toLocalDateTime(Long epochMillis) {
+        return epochMillis == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.application.service.AlertStormDetector;
+import br.com.cesaravb.zabbixincident.application.service.EscalationService;
+import br.com.cesaravb.zabbixincident.application.service.IncidentAnalyticsService;
+import br.com.cesaravb.zabbixincident.application.service.IncidentBroadcastBatcher;
+import br.com.cesaravb.zabbixincident.application.service.IncidentChangeTracker;
+import br.com.cesaravb.zabbixincident.application.service.IncidentReplayBuffer;
+import br.com.cesaravb.zabbixincident.application.service.IncidentRouteIndex;
+import br.com.cesaravb.zabbixincident.application.service.IncidentService;
+import br.com.cesaravb.zabbixincident.application.service.IncidentSseBroadcaster;
+import br.com.cesaravb.zabbixincident.application.service.IncidentTimelineService;
+import br.com.cesaravb.zabbixincident.application.service.IncidentTopicFanout;
+import br.com.cesaravb.zabbixincident.application.service.RecoveryCorrelationService;
+import br.com.cesaravb.zabbixincident.application.service.StormSummaryAggregator;
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.request.CreateIncidentRequest;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventPublisher;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventSequencer;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * GET condicional: comparação fraca do If-None-Match e ETags coerentes entre nós. Com broadcast,
+ * uma escrita em um nó invalida a versão em memória dos demais pelo stream de eventos; com
+ * consumidores concorrentes (padrão), o nó que não recebeu o evento revalida no banco.
+ */
+class IncidentControllerTests {
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    // ====================================
+    // # matches - If-None-Match (RFC 9110)
+    // ====================================
+    @Test
+    void weakTagsMatchTheStrongTag() {
+        assertTrue(IncidentController.matches("W/\"42-3\"", "\"42-3\""));
+        assertTrue(IncidentController.matches("\"42-3\"", "\"42-3\""));
+        assertFalse(IncidentController.matches("W/\"42-3\"", "\"42-4\""));
+        assertFalse(IncidentController.matches("\"42-3-v2\"", "\"42-3\""), "variantes têm ETags diferentes");
+    }
+
+    @Test
+    void wildcardMatchesAnyTag() {
+        assertTrue(IncidentController.matches("*", "\"42-3\""));
+        assertTrue(IncidentController.matches(" * ", "\"L1-7\""));
+        assertFalse(IncidentController.matches("*", null), "sem ETag (versão desconhecida) não há 304");
+    }
+
+    @Test
+    void commaSeparatedListMatchesAnyMember() {
+        assertTrue(IncidentController.matches("\"1-1\", W/\"42-3\" ,\"7-0\"", "\"42-3\""));
+        assertTrue(IncidentController.matches("\"1-1\",\"42-3\"", "\"42-3\""));
+        assertFalse(IncidentController.matches("\"1-1\", W/\"42-2\"", "\"42-3\""));
+        assertFalse(IncidentController.matches(null, "\"42-3\""));
+        assertFalse(IncidentController.matches("", "\"42-3\""));
+    }
+
+    // ====================================
+    // # ETag entre nós
+    // ====================================
+    /**
+     * Broadcast: o nó B guarda a versão 3 em memória; a recuperação resolvida no nó A (UPDATE
+     * condicional, versão 4) chega a B pelo STATUS_CHANGED e o ETag antigo deixa de gerar 304 em B.
+     */
+    @Test
+    void recoveryOnAnotherNodeInvalidatesCachedVersionWithBroadcast() {
+        // Nó B: versão 3 lida do banco e servida com ETag
+        IncidentChangeTracker trackerB = new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, true);
+        IncidentService serviceB = mock(IncidentService.class);
+        IncidentController controllerB = new IncidentController(serviceB, trackerB);
+        WebSocketNotificationService streamB = webSocketService(trackerB);
+        when(serviceB.getIncidentById(42L)).thenReturn(response(42L, "OPEN", 3L));
+
+        ResponseEntity<?> first = controllerB.getIncidentById(42L, null, null);
+        String eTag = first.getHeaders().getETag();
+        assertEquals("\"42-3\"", eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, controllerB.getIncidentById(42L, null, eTag).getStatusCode());
+
+        // Nó A: recuperação resolve o incidente; o "broker" entrega o evento ao nó B
+        IncidentRepository repositoryA = mock(IncidentRepository.class);
+        IncidentEventPublisher brokerToB = mock(IncidentEventPublisher.class);
+        doAnswer(invocation -> {
+            streamB.notifyEvent(invocation.getArgument(1));
+            return null;
+        }).when(brokerToB).publish(any(), any(), any());
+        RecoveryCorrelationService recoveryA = new RecoveryCorrelationService(repositoryA,
+                mock(IncidentAnalyticsService.class), mock(EscalationService.class), mock(IncidentTimelineService.class),
+                new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, false), brokerToB, MAPPER,
+                new IncidentEventSequencer(), new SimpleMeterRegistry(), "", 60, 100);
+        recoveryA.register(Incident.builder().id(42L).zabbixEventId("ev-42").hostids("10084").trigger("Link down")
+                .severity(SeverityLevel.HIGH).status(IncidentStatus.OPEN).version(3L).build());
+        when(repositoryA.updateStatusIfIn(eq(42L), eq(IncidentStatus.RESOLVED), any(), any())).thenReturn(1);
+        when(repositoryA.findVersionById(42L)).thenReturn(Optional.of(4L));
+
+        assertEquals("RESOLVED", recoveryA.correlate(recovery("ev-42")).outcome());
+
+        // Nó B: a versão em memória avançou; o ETag antigo recebe a representação nova
+        assertEquals(4L, trackerB.version(42L));
+        when(serviceB.getIncidentById(42L)).thenReturn(response(42L, "RESOLVED", 4L));
+        ResponseEntity<?> after = controllerB.getIncidentById(42L, null, eTag);
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertEquals("\"42-4\"", after.getHeaders().getETag());
+    }
+
+    /**
+     * Consumidores concorrentes: o STATUS_CHANGED da escrita no nó A é consumido por outro nó e
+     * nunca chega a B. B não confia na memória: revalida com SELECT version, responde 304 sem
+     * carregar o incidente enquanto a versão confere e 200 assim que ela muda.
+     */
+    @Test
+    void competingConsumersRevalidateVersionInDatabase() {
+        IncidentChangeTracker trackerB = new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, false);
+        IncidentService serviceB = mock(IncidentService.class);
+        IncidentController controllerB = new IncidentController(serviceB, trackerB);
+        when(serviceB.getIncidentById(42L)).thenReturn(response(42L, "OPEN", 3L));
+        when(serviceB.getIncidentVersion(42L)).thenReturn(3L);
+
+        String eTag = controllerB.getIncidentById(42L, null, null).getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, controllerB.getIncidentById(42L, null, eTag).getStatusCode());
+        verify(serviceB, times(1)).getIncidentById(42L);
+
+        // Nó A grava a versão 4; nenhum evento chega a B
+        when(serviceB.getIncidentVersion(42L)).thenReturn(4L);
+        when(serviceB.getIncidentById(42L)).thenReturn(response(42L, "RESOLVED", 4L));
+
+        ResponseEntity<?> after = controllerB.getIncidentById(42L, null, eTag);
+        assertEquals(HttpStatus.OK, after.getStatusCode());
+        assertEquals("\"42-4\"", after.getHeaders().getETag());
+    }
+
+    /**
+     * ETag das listas vem do estado da tabela: dois nós sem broadcast geram o mesmo ETag, e uma
+     * escrita em qualquer nó muda o ETag nos dois.
+     */
+    @Test
+    void listTagIsDerivedFromTableAndSharedAcrossNodes() {
+        IncidentService service = mock(IncidentService.class);
+        when(service.getListFingerprint()).thenReturn("10-57-1767225600000000");
+        when(service.getAllIncidents(any())).thenReturn(new PageImpl<>(List.of(response(42L, "OPEN", 3L))));
+        IncidentController nodeA = new IncidentController(service,
+                new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, false));
+        IncidentController nodeB = new IncidentController(service,
+                new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, false));
+
+        String eTag = nodeA.getAllIncidents(PageRequest.of(0, 20), null, null).getHeaders().getETag();
+        assertEquals("\"L10-57-1767225600000000\"", eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, nodeB.getAllIncidents(PageRequest.of(0, 20), null, eTag).getStatusCode());
+
+        // Escrita no nó A: soma das versões e última alteração mudam no banco
+        when(service.getListFingerprint()).thenReturn("10-58-1767225601000000");
+        assertEquals(HttpStatus.OK, nodeB.getAllIncidents(PageRequest.of(0, 20), null, eTag).getStatusCode());
+    }
+
+    /**
+     * Com broadcast, a consulta agregada é reaproveitada até a próxima escrita vista pelo nó.
+     */
+    @Test
+    void listFingerprintIsCachedUntilNextChangeWithBroadcast() {
+        IncidentChangeTracker tracker = new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, true);
+        IncidentService service = mock(IncidentService.class);
+        when(service.getListFingerprint()).thenReturn("10-57-1767225600000000");
+        IncidentController controller = new IncidentController(service, tracker);
+        String eTag = "\"L10-57-1767225600000000\"";
+
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getAllIncidents(PageRequest.of(0, 20), null, eTag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getAllIncidents(PageRequest.of(0, 20), null, eTag).getStatusCode());
+        verify(service, times(1)).getListFingerprint();
+
+        tracker.changed(42L, 4L);
+        controller.getAllIncidents(PageRequest.of(0, 20), null, eTag);
+        verify(service, times(2)).getListFingerprint();
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static WebSocketNotificationService webSocketService(IncidentChangeTracker changeTracker) {
+        return new WebSocketNotificationService(mock(SimpMessagingTemplate.class), MAPPER, mock(AlertStormDetector.class),
+                mock(StormSummaryAggregator.class), mock(IncidentBroadcastBatcher.class), mock(IncidentTopicFanout.class),
+                new IncidentReplayBuffer(new SimpleMeterRegistry(), 64), mock(BinaryFrameInterceptor.class), mock(IncidentSseBroadcaster.class),
+                changeTracker, new IncidentRouteIndex(1000));
+    }
+
+    private static IncidentResponse response(Long id, String status, Long version) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return new IncidentResponse(id, "ev-" + id, "10084", "Link down", null, null, null, null, "OLT-1", null,
+                null, null, "Link down", null, null, "HIGH", status, "zabbix", createdAt, createdAt, version);
+    }
+
+    private static CreateIncidentRequest recovery(String problemEventId) {
+        return new CreateIncidentRequest("rec-" + problemEventId, "10084", "Link down", null, null, null, null,
+                null, null, null, null, "Link down", null, "RESOLVED", "HIGH", "zabbix", true, problemEventId);
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.cesaravb.zabbixincident.api.controller;
+
+import br.com.cesaravb.zabbixincident.api.handler.GlobalExceptionHandler;
+import br.com.cesaravb.zabbixincident.application.service.IncidentExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Parâmetros inválidos da exportação respondem 400 (não 500 pelo handler de RuntimeException)
+ * e não ocupam uma das exportações simultâneas.
+ */
+class IncidentExportControllerTests {
+
+    private final IncidentExportService exportService = mock(IncidentExportService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new IncidentExportController(exportService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void unknownFormatIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/incidents/export")
+                        .param("from", "2026-01-01T00:00:00")
+                        .param("to", "2026-02-01T00:00:00")
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Formato de exportação inválido: xml (use ndjson ou csv)"));
+
+        verify(exportService, never()).tryAcquire();
+    }
+
+    @Test
+    void emptyOrInvertedPeriodIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/incidents/export")
+                        .param("from", "2026-02-01T00:00:00")
+                        .param("to", "2026-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.path").value("/api/incidents/export"));
+        mockMvc.perform(get("/api/incidents/export")
+                        .param("from", "2026-01-01T00:00:00")
+                        .param("to", "2026-01-01T00:00:00")
+                        .param("format", "csv"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportService, never()).tryAcquire();
+    }
+}
@@ -0,0 +1,295 @@
+package br.com.cesaravb.zabbixincident.application.listener;
+
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.KeyedLaneDispatcher;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+
+/**
+ * Entrega multi-nó: dois contextos da aplicação (RabbitMQConfig + listeners reais) ligados a um
+ * substituto do broker que roteia pela topologia declarada por cada nó (topic, fanout e
+ * bindings exchange → exchange) e entrega às filas pelos listener containers de cada contexto.
+ *
+ * • Filas por tipo (padrão): os nós competem pela mesma fila e só um deles notifica
+ * • Broadcast: cada nó tem a sua fila ligada ao fanout e todos notificam
+ */
+class IncidentBroadcastListenerTests {
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    private final List<AnnotationConfigApplicationContext> contexts = new ArrayList<>();
+
+    @AfterEach
+    void closeContexts() {
+        contexts.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    void competingQueuesReachOnlyOneNode() {
+        Node first = startNode(false);
+        Node second = startNode(false);
+        BrokerStandIn broker = new BrokerStandIn(List.of(first, second));
+
+        broker.publish(first, event(1, IncidentEventType.CREATED), SeverityLevel.CRITICAL);
+
+        assertEquals(1, notifications(first) + notifications(second));
+    }
+
+    @Test
+    void broadcastReachesEveryNodeInOrder() {
+        Node first = startNode(true);
+        Node second = startNode(true);
+        assertNotEquals(first.context().getBean("incidentBroadcastQueue", Queue.class).getName(),
+                second.context().getBean("incidentBroadcastQueue", Queue.class).getName());
+        BrokerStandIn broker = new BrokerStandIn(List.of(first, second));
+
+        broker.publish(first, event(1, IncidentEventType.CREATED), SeverityLevel.CRITICAL);
+        broker.publish(second, event(2, IncidentEventType.STATUS_CHANGED), SeverityLevel.HIGH);
+        broker.publish(first, event(3, IncidentEventType.DELETED), SeverityLevel.HIGH);
+
+        for (Node node : List.of(first, second)) {
+            assertEquals(3, notifications(node));
+            ArgumentCaptor<IncidentEvent> delivered = ArgumentCaptor.forClass(IncidentEvent.class);
+            InOrder inOrder = inOrder(node.webSocketService());
+            inOrder.verify(node.webSocketService(), times(3)).notifyEvent(delivered.capture());
+            assertEquals(List.of(1L, 2L, 3L), delivered.getAllValues().stream().map(IncidentEvent::incidentId).toList());
+            assertEquals(List.of(IncidentEventType.CREATED, IncidentEventType.STATUS_CHANGED, IncidentEventType.DELETED),
+                    delivered.getAllValues().stream().map(IncidentEvent::type).toList());
+        }
+    }
+
+    // ====================================
+    // # Nó da aplicação
+    // ====================================
+    private Node startNode(boolean broadcast) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("node",
+                Map.of("app.rabbitmq.broadcast.enabled", String.valueOf(broadcast))));
+        context.register(NodeConfig.class);
+        context.refresh();
+        contexts.add(context);
+        return new Node(context, context.getBean(WebSocketNotificationService.class));
+    }
+
+    private static long notifications(Node node) {
+        return mockingDetails(node.webSocketService()).getInvocations().size();
+    }
+
+    private static IncidentEvent event(long id, IncidentEventType type) {
+        Incident incident = Incident.builder()
+                .id(id)
+                .zabbixEventId(String.valueOf(28_000_000 + id))
+                .title("Problem: ENERGIA POP - link " + id)
+                .host("POP-" + id)
+                .severity(SeverityLevel.CRITICAL)
+                .status(type == IncidentEventType.STATUS_CHANGED ? IncidentStatus.RESOLVED : IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        return switch (type) {
+            case CREATED -> MAPPER.toCreatedEvent(incident, id);
+            case STATUS_CHANGED -> MAPPER.toStatusChangedEvent(incident, id);
+            case DELETED -> MAPPER.toDeletedEvent(id, id);
+        };
+    }
+
+    @Configuration
+    @EnableRabbit
+    @Import({RabbitMQConfig.class, KeyedLaneDispatcher.class, IncidentListener.class,
+            IncidentLifecycleListener.class, IncidentBroadcastListener.class})
+    static class NodeConfig {
+
+        @Bean
+        ConnectionFactory connectionFactory() {
+            return mock(ConnectionFactory.class);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        IncidentMapper incidentMapper() {
+            return MAPPER;
+        }
+
+        @Bean
+        WebSocketNotificationService webSocketNotificationService() {
+            return mock(WebSocketNotificationService.class);
+        }
+
+        // O substituto do broker entrega direto aos listeners: os containers não conectam
+        @Bean
+        static BeanPostProcessor noAutoStartup() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof SimpleRabbitListenerContainerFactory factory) {
+                        factory.setAutoStartup(false);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private record Node(AnnotationConfigApplicationContext context, WebSocketNotificationService webSocketService) {}
+
+    // ====================================
+    // # Substituto do broker
+    // ====================================
+    /**
+     * Roteamento do RabbitMQ a partir das declarações (Exchange, Queue, Binding, Declarables) dos
+     * nós: topic com * e #, fanout, default exchange e bindings exchange → exchange. Uma fila
+     * consumida por vários nós entrega cada mensagem a um só (round robin), como no broker.
+     */
+    private static final class BrokerStandIn {
+
+        private final Map<String, String> exchangeTypes = new HashMap<>();
+        private final Set<Binding> bindings = new LinkedHashSet<>();
+        private final Map<String, List<AbstractMessageListenerContainer>> consumers = new LinkedHashMap<>();
+        private final Map<String, Integer> roundRobin = new HashMap<>();
+        private final Channel channel = mock(Channel.class);
+
+        private BrokerStandIn(List<Node> nodes) {
+            for (Node node : nodes) {
+                AnnotationConfigApplicationContext context = node.context();
+                List<Object> declarables = new ArrayList<>();
+                declarables.addAll(context.getBeansOfType(Exchange.class).values());
+                declarables.addAll(context.getBeansOfType(Binding.class).values());
+                context.getBeansOfType(Declarables.class).values()
+                        .forEach(d -> declarables.addAll(d.getDeclarables()));
+                for (Object declarable : declarables) {
+                    if (declarable instanceof Exchange exchange) {
+                        exchangeTypes.put(exchange.getName(), exchange.getType());
+                    } else if (declarable instanceof Binding binding && !binding.getExchange().isEmpty()) {
+                        bindings.add(binding);
+                    }
+                }
+                context.getBean(RabbitListenerEndpointRegistry.class).getListenerContainers().forEach(container -> {
+                    AbstractMessageListenerContainer listener = (AbstractMessageListenerContainer) container;
+                    for (String queue : listener.getQueueNames()) {
+                        consumers.computeIfAbsent(queue, q -> new ArrayList<>()).add(listener);
+                    }
+                });
+            }
+        }
+
+        private void publish(Node publisher, IncidentEvent event, SeverityLevel severity) {
+            MessageConverter converter = publisher.context().getBean(MessageConverter.class);
+            Message message = RabbitMQConfig.priority(severity)
+                    .postProcessMessage(converter.toMessage(event, new MessageProperties()));
+            Set<String> queues = new LinkedHashSet<>();
+            route(RabbitMQConfig.INCIDENT_EXCHANGE, RabbitMQConfig.routingKey(event.type(), severity), queues);
+            queues.forEach(queue -> deliver(queue, message));
+        }
+
+        private void route(String exchange, String routingKey, Set<String> queues) {
+            String type = exchangeTypes.get(exchange);
+            for (Binding binding : bindings) {
+                if (!binding.getExchange().equals(exchange)) {
+                    continue;
+                }
+                boolean matches = ExchangeTypes.FANOUT.equals(type)
+                        || (ExchangeTypes.TOPIC.equals(type) && topicMatches(binding.getRoutingKey(), routingKey));
+                if (!matches) {
+                    continue;
+                }
+                if (binding.getDestinationType() == Binding.DestinationType.QUEUE) {
+                    queues.add(binding.getDestination());
+                } else {
+                    route(binding.getDestination(), routingKey, queues);
+                }
+            }
+        }
+
+        private void deliver(String queue, Message message) {
+            List<AbstractMessageListenerContainer> queueConsumers = consumers.getOrDefault(queue, List.of());
+            if (queueConsumers.isEmpty()) {
+                return;
+            }
+            int next = roundRobin.merge(queue, 1, Integer::sum) % queueConsumers.size();
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType(message.getMessageProperties().getContentType());
+            properties.setContentEncoding(message.getMessageProperties().getContentEncoding());
+            properties.setConsumerQueue(queue);
+            try {
+                ((ChannelAwareMessageListener) queueConsumers.get(next).getMessageListener())
+                        .onMessage(new Message(message.getBody(), properties), channel);
+            } catch (Exception e) {
+                throw new IllegalStateException("Falha ao entregar na fila " + queue, e);
+            }
+        }
+
+        private static boolean topicMatches(String pattern, String routingKey) {
+            return topicMatches(pattern.split("\\."), 0, routingKey.split("\\."), 0);
+        }
+
+        private static boolean topicMatches(String[] pattern, int p, String[] words, int w) {
+            if (p == pattern.length) {
+                return w == words.length;
+            }
+            if (pattern[p].equals("#")) {
+                for (int skip = w; skip <= words.length; skip++) {
+                    if (topicMatches(pattern, p + 1, words, skip)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return w < words.length && (pattern[p].equals("*") || pattern[p].equals(words[w]))
+                    && topicMatches(pattern, p + 1, words, w + 1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.dtos.response.StormModeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Modo tempestade com EWMA: pico isolado de uma source nova não ativa, taxa sustentada ativa,
+ * taxa entre os limiares de saída e entrada mantém o modo (histerese) e a queda desativa.
+ */
+class AlertStormDetectorTests {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    // tick 1 s, tau 10 s, global 50/10, source 30/5, sem tempo mínimo em STORM
+    private final AlertStormDetector detector = new AlertStormDetector(messagingTemplate, new SimpleMeterRegistry(),
+            1000, 10, 50, 10, 30, 5, 0);
+
+    @Test
+    void burstFromQuietSourceIsSmoothed() {
+        // Source ociosa (removida do mapa) volta com 1 s de pico
+        tick("olt-norte", 40, 1);
+        tick("olt-norte", 0, 60);
+
+        tick("olt-norte", 40, 1);
+
+        assertFalse(detector.isStormActive(), "um pico de 1 s não passa do limiar suavizado");
+        assertTrue(detector.globalRate() < 5);
+    }
+
+    @Test
+    void enterAndExitWithHysteresis() {
+        int ticks = 0;
+        while (!detector.isStormActive() && ticks < 60) {
+            tick("olt-norte", 40, 1);
+            ticks++;
+        }
+        assertTrue(detector.isStormActive());
+        assertTrue(ticks > 5, "a taxa sustentada precisa de alguns ticks para passar do limiar: " + ticks);
+
+        // 8/s: abaixo da entrada (30) e acima da saída (5) → continua em STORM
+        tick("olt-norte", 8, 60);
+        assertTrue(detector.isStormActive());
+
+        tick("olt-norte", 1, 60);
+        assertFalse(detector.isStormActive());
+
+        ArgumentCaptor<StormModeEvent> events = ArgumentCaptor.forClass(StormModeEvent.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/incidents/control"), events.capture());
+        assertEquals(List.of("STORM", "NORMAL"), events.getAllValues().stream().map(StormModeEvent::mode).toList());
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private void tick(String source, int perTick, int ticks) {
+        for (int t = 0; t < ticks; t++) {
+            for (int i = 0; i < perTick; i++) {
+                detector.record(source);
+            }
+            detector.tick();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEscalationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Vários nós restauram os mesmos timers: cada nível é reivindicado no banco e publicado
+ * por um único nó; após um restart, os níveis já publicados não se repetem.
+ */
+class EscalationServiceTests {
+
+    private static final String RULES = "CRITICAL:*:1s,CRITICAL:*:2s";
+
+    private final IncidentRepository repository = mock(IncidentRepository.class);
+    private final Map<Long, Integer> escalationLevels = new ConcurrentHashMap<>();
+    private final AtomicBoolean open = new AtomicBoolean(true);
+    private final List<IncidentEscalationEvent> published = new ArrayList<>();
+    private final List<EscalationService> nodes = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        nodes.forEach(EscalationService::shutdown);
+    }
+
+    @Test
+    void eachLevelIsPublishedByOneNode() throws InterruptedException {
+        // Criado há 3 s: os dois níveis já venceram em todos os nós
+        unresolved(incident(42L, 3, 0));
+        List<EscalationService> cluster = List.of(node(), node(), node());
+        cluster.forEach(EscalationService::restore);
+
+        awaitPublished(2, cluster);
+
+        synchronized (published) {
+            assertEquals(List.of(1, 2), published.stream().map(IncidentEscalationEvent::level).sorted().toList());
+        }
+        assertEquals(2, escalationLevels.get(42L));
+    }
+
+    @Test
+    void restartContinuesAfterLastPublishedLevel() throws InterruptedException {
+        escalationLevels.put(42L, 1);
+        unresolved(incident(42L, 3, 1));
+        EscalationService restarted = node();
+        restarted.restore();
+
+        awaitPublished(1, List.of(restarted));
+
+        synchronized (published) {
+            assertEquals(2, published.get(0).level());
+        }
+    }
+
+    @Test
+    void incidentNoLongerOpenIsNotEscalated() throws InterruptedException {
+        unresolved(incident(42L, 3, 0));
+        open.set(false);
+        EscalationService node = node();
+        node.restore();
+
+        for (int i = 0; i < 20; i++) {
+            node.tick();
+            Thread.sleep(10);
+        }
+
+        synchronized (published) {
+            assertEquals(List.of(), published);
+        }
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    @SuppressWarnings("unchecked")
+    private EscalationService node() {
+        // UPDATE condicional do banco compartilhado: só passa se OPEN e o nível ainda não foi publicado
+        when(repository.claimEscalation(anyLong(), anyInt(), eq(IncidentStatus.OPEN))).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            int level = invocation.getArgument(1);
+            boolean[] claimed = {false};
+            escalationLevels.compute(id, (k, current) -> {
+                int value = current == null ? 0 : current;
+                claimed[0] = open.get() && value < level;
+                return claimed[0] ? level : value;
+            });
+            return claimed[0] ? 1 : 0;
+        });
+        when(repository.findStatusById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(open.get() ? IncidentStatus.OPEN : IncidentStatus.RESOLVED));
+
+        SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+        doAnswer(invocation -> {
+            synchronized (published) {
+                published.add(invocation.getArgument(1));
+            }
+            return null;
+        }).when(messagingTemplate).convertAndSend(eq("/topic/incidents/escalations"), any(Object.class));
+
+        EscalationService node = new EscalationService(repository, mock(ObjectProvider.class), messagingTemplate,
+                new SimpleMeterRegistry(), RULES, 10, 64);
+        nodes.add(node);
+        return node;
+    }
+
+    private void unresolved(Incident incident) {
+        when(repository.findAllUnresolved(any())).thenReturn(new PageImpl<>(List.of(incident)));
+    }
+
+    private void awaitPublished(int expected, List<EscalationService> cluster) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            cluster.forEach(EscalationService::tick);
+            synchronized (published) {
+                if (published.size() >= expected) {
+                    break;
+                }
+            }
+            Thread.sleep(10);
+        }
+        // Mais alguns ticks: nenhum nó publica de novo
+        for (int i = 0; i < 20; i++) {
+            cluster.forEach(EscalationService::tick);
+            Thread.sleep(10);
+        }
+        synchronized (published) {
+            assertEquals(expected, published.size(), "escalonamentos publicados: " + published);
+        }
+    }
+
+    private static Incident incident(Long id, int ageSeconds, int escalationLevel) {
+        return Incident.builder().id(id).zabbixEventId("ev-" + id).title("Link down").host("OLT-1")
+                .severity(SeverityLevel.CRITICAL).status(IncidentStatus.OPEN).source("zabbix")
+                .createdAt(LocalDateTime.now().minusSeconds(ageSeconds)).escalationLevel(escalationLevel).build();
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.infrastructure.persistence.IncidentExportCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * CSV RFC 4180: aspas só quando necessário, aspas internas duplicadas, CR/LF dentro do campo
+ * e colunas nulas vazias.
+ */
+class IncidentExportServiceTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+    @Test
+    void csvQuotesOnlyFieldsThatNeedIt() throws IOException {
+        Object[] row = row(7L, 3L);
+        row[3] = "Link \"OLT-1\" down";
+        row[4] = "linha 1\r\nlinha 2";
+        row[5] = "a,b";
+        row[6] = "sem aspas";
+        row[7] = "\"";
+        row[8] = "x\ry";
+
+        String csv = exportCsv(List.<Object[]>of(row));
+
+        String[] lines = csv.split("\r\n", 2);
+        assertEquals(String.join(",", IncidentExportCursor.COLUMNS), lines[0]);
+        assertEquals("7,,,\"Link \"\"OLT-1\"\" down\",\"linha 1\r\nlinha 2\",\"a,b\",sem aspas,\"\"\"\"," +
+                "\"x\ry\",,,,,,,,,,2026-01-02T03:04:05,,3\r\n", lines[1]);
+    }
+
+    @Test
+    void csvWritesNullColumnsAsEmptyFields() throws IOException {
+        String csv = exportCsv(List.of(row(null, null), row(8L, 1L)));
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals(",".repeat(18) + "2026-01-02T03:04:05,,", lines[1]);
+        assertEquals("8" + ",".repeat(18) + "2026-01-02T03:04:05,,1", lines[2]);
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertEquals(IncidentExportService.Format.CSV, IncidentExportService.Format.parse(" CSV "));
+        assertThrows(IllegalArgumentException.class, () -> IncidentExportService.Format.parse("xml"));
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static String exportCsv(List<Object[]> rows) throws IOException {
+        IncidentExportCursor cursor = new IncidentExportCursor(null, 0) {
+            @Override
+            public void stream(LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+                for (Object[] row : rows) {
+                    try {
+                        handler.processRow(resultSet(row));
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        };
+        IncidentExportService service = new IncidentExportService(cursor, new ObjectMapper(),
+                new SimpleMeterRegistry(), 1000, 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(FROM, TO, IncidentExportService.Format.CSV, false, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Linha com todas as colunas nulas, exceto id, createdAt e seq.
+     */
+    private static Object[] row(Long id, Long seq) {
+        Object[] row = new Object[IncidentExportCursor.COLUMNS.length];
+        row[IncidentExportCursor.ID - 1] = id;
+        row[IncidentExportCursor.CREATED_AT - 1] = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        row[IncidentExportCursor.SEQ - 1] = seq;
+        return row;
+    }
+
+    /**
+     * ResultSet somente leitura sobre uma linha (getString / getLong / getObject / wasNull).
+     */
+    private static ResultSet resultSet(Object[] row) {
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("wasNull")) {
+                        return wasNull[0];
+                    }
+                    Object value = row[(Integer) args[0] - 1];
+                    wasNull[0] = value == null;
+                    return switch (method.getName()) {
+                        case "getString" -> value == null ? null : value.toString();
+                        case "getLong" -> value == null ? 0L : value;
+                        case "getObject" -> value;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentTombstone;
+import br.com.cesaravb.zabbixincident.infrastructure.sse.SseConnection;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Last-Event-ID do SSE no formato "{epoch}-{seq}": o mesmo epoch vira replay; o epoch de outro nó
+ * (ou de antes de um restart) vira snapshot, mesmo que o seq exista no buffer local.
+ */
+class IncidentSseBroadcasterTests {
+
+    private static final SseConnection.Filter NO_FILTER = new SseConnection.Filter(null, null);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IncidentReplayBuffer replayBuffer = new IncidentReplayBuffer(registry, 64);
+    private final IncidentRepository repository = mock(IncidentRepository.class);
+    private final IncidentSseBroadcaster broadcaster = new IncidentSseBroadcaster(
+            new IncidentResumeService(replayBuffer, repository, new IncidentMapperImpl(), registry, 100, 0),
+            replayBuffer, new ObjectMapper(), new IncidentRouteIndex(100), registry, 10, 100, 60_000, 3000);
+
+    @AfterEach
+    void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void sameEpochIsReplayed() {
+        long seq = replayBuffer.append(IncidentEventType.DELETED, new IncidentTombstone(1L, 2L));
+        replayBuffer.append(IncidentEventType.DELETED, new IncidentTombstone(2L, 2L));
+
+        broadcaster.open(NO_FILTER, replayBuffer.epoch() + "-" + seq);
+
+        assertEquals(1.0, resumes("replay"));
+        assertEquals(0.0, resumes("snapshot"));
+    }
+
+    @Test
+    void otherEpochGetsSnapshotEvenIfSeqExistsLocally() {
+        when(repository.findAllUnresolved(any())).thenReturn(new PageImpl<>(List.of()));
+        long seq = replayBuffer.append(IncidentEventType.DELETED, new IncidentTombstone(1L, 2L));
+
+        broadcaster.open(NO_FILTER, (replayBuffer.epoch() - 5_000) + "-" + seq);
+        broadcaster.open(NO_FILTER, String.valueOf(seq));
+
+        assertEquals(0.0, resumes("replay"));
+        assertEquals(2.0, resumes("snapshot"));
+    }
+
+    @Test
+    void eventIdRoundTrip() {
+        IncidentSseBroadcaster.EventId id = new IncidentSseBroadcaster.EventId(1738730717000000L, 1738730717000042L);
+
+        assertEquals("1738730717000000-1738730717000042", id.toString());
+        assertEquals(id, IncidentSseBroadcaster.EventId.parse(id.toString()));
+        assertNull(IncidentSseBroadcaster.EventId.parse(null));
+        assertNull(IncidentSseBroadcaster.EventId.parse("1738730717000042"));
+        assertNull(IncidentSseBroadcaster.EventId.parse("abc-1"));
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private double resumes(String mode) {
+        return registry.get("incident.websocket.resume").tag("mode", mode).counter().count();
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Deltas e tombstones seguem para os mesmos destinos hierárquicos (severidade, host, source)
+ * da criação, sob /topic/incidents/updated e /topic/incidents/deleted, com a rota do
+ * IncidentRouteIndex; incidentes fora do índice ficam só nos destinos gerais.
+ */
+class IncidentTopicFanoutTests {
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final IncidentRouteIndex routeIndex = new IncidentRouteIndex(1000);
+    private final WebSocketNotificationService webSocketService = webSocketService();
+
+    @Test
+    void deltasAndTombstonesFollowTheIncidentRoute() {
+        Incident incident = incident(42L);
+        webSocketService.notifyIncidentCreated(incident);
+        assertEquals(List.of("/topic/incidents", "/topic/incidents/severity/HIGH", "/topic/incidents/host/10084",
+                "/topic/incidents/host/10085", "/topic/incidents/source/zabbix"), sentDestinations());
+
+        incident.setStatus(IncidentStatus.IN_PROGRESS);
+        incident.setVersion(1L);
+        webSocketService.notifyEvent(MAPPER.toStatusChangedEvent(incident, 1));
+        assertEquals(List.of("/topic/incidents/updated", "/topic/incidents/updated/severity/HIGH",
+                "/topic/incidents/updated/host/10084", "/topic/incidents/updated/host/10085",
+                "/topic/incidents/updated/source/zabbix"), sentDestinations());
+
+        webSocketService.notifyEvent(MAPPER.toDeletedEvent(incident, 2));
+        assertEquals(List.of("/topic/incidents/deleted", "/topic/incidents/deleted/severity/HIGH",
+                "/topic/incidents/deleted/host/10084", "/topic/incidents/deleted/host/10085",
+                "/topic/incidents/deleted/source/zabbix"), sentDestinations());
+        assertNull(routeIndex.get(42L), "a rota sai do índice depois do tombstone");
+    }
+
+    @Test
+    void resolutionIsRoutedBeforeTheRouteIsForgotten() {
+        Incident incident = incident(7L);
+        webSocketService.notifyIncidentCreated(incident);
+        sentDestinations();
+
+        incident.setStatus(IncidentStatus.RESOLVED);
+        incident.setVersion(1L);
+        webSocketService.notifyEvent(MAPPER.toStatusChangedEvent(incident, 1));
+
+        assertEquals(5, sentDestinations().size());
+        assertNull(routeIndex.get(7L));
+    }
+
+    @Test
+    void incidentOutsideTheIndexGoesOnlyToTheGeneralTopic() {
+        Incident incident = incident(99L);
+        incident.setStatus(IncidentStatus.IN_PROGRESS);
+        incident.setVersion(3L);
+
+        webSocketService.notifyEvent(MAPPER.toStatusChangedEvent(incident, 1));
+
+        assertEquals(List.of("/topic/incidents/updated"), sentDestinations());
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private List<String> sentDestinations() {
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        verify(messagingTemplate, atLeastOnce()).send(destinations.capture(), any(Message.class));
+        clearInvocations(messagingTemplate);
+        return destinations.getAllValues();
+    }
+
+    private WebSocketNotificationService webSocketService() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(new ObjectMapper().findAndRegisterModules());
+        when(messagingTemplate.getMessageConverter()).thenReturn(converter);
+        return new WebSocketNotificationService(messagingTemplate, MAPPER, mock(AlertStormDetector.class),
+                mock(StormSummaryAggregator.class), mock(IncidentBroadcastBatcher.class),
+                new IncidentTopicFanout(messagingTemplate, true), new IncidentReplayBuffer(new SimpleMeterRegistry(), 64),
+                mock(BinaryFrameInterceptor.class), mock(IncidentSseBroadcaster.class),
+                new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, false), routeIndex);
+    }
+
+    private static Incident incident(Long id) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return Incident.builder().id(id).zabbixEventId("ev-" + id).hostids("10084,10085").title("Link down")
+                .host("OLT-1").severity(SeverityLevel.HIGH).status(IncidentStatus.OPEN).source("zabbix")
+                .createdAt(now).updatedAt(now).version(0L).build();
+    }
+}
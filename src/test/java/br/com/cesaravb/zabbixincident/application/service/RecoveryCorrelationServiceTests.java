@@ -0,0 +1,127 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.request.CreateIncidentRequest;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.dtos.response.RecoveryResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventPublisher;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventSequencer;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Resolução por recuperação: UPDATE condicional seguido do STATUS_CHANGED com a versão relida
+ * do banco; problemas gravados por outro nó são encontrados no banco (na hora ou na varredura).
+ */
+class RecoveryCorrelationServiceTests {
+
+    private final IncidentRepository repository = mock(IncidentRepository.class);
+    private final IncidentEventPublisher publisher = mock(IncidentEventPublisher.class);
+    private final IncidentChangeTracker changeTracker = new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, true);
+    private final RecoveryCorrelationService service = new RecoveryCorrelationService(repository,
+            mock(IncidentAnalyticsService.class), mock(EscalationService.class), mock(IncidentTimelineService.class),
+            changeTracker, publisher, new IncidentMapperImpl(), new IncidentEventSequencer(), new SimpleMeterRegistry(),
+            "", 60, 100);
+
+    @Test
+    void recoveryPublishesStatusChangedWithStoredVersion() {
+        service.register(problem(42L, "ev-1", 3L));
+        when(repository.updateStatusIfIn(eq(42L), eq(IncidentStatus.RESOLVED), any(), any())).thenReturn(1);
+        // Outro nó alterou o incidente depois da indexação (versão 5); o UPDATE gravou a 6
+        when(repository.findVersionById(42L)).thenReturn(Optional.of(6L));
+
+        RecoveryResponse response = service.correlate(recovery("ev-1"));
+
+        assertEquals("RESOLVED", response.outcome());
+        ArgumentCaptor<IncidentEvent> event = ArgumentCaptor.forClass(IncidentEvent.class);
+        verify(publisher).publish(eq(RabbitMQConfig.routingKey(IncidentEventType.STATUS_CHANGED, SeverityLevel.HIGH)),
+                event.capture(), eq(SeverityLevel.HIGH));
+        assertEquals(IncidentEventType.STATUS_CHANGED, event.getValue().type());
+        assertEquals(42L, event.getValue().incidentId());
+        assertEquals(IncidentStatus.RESOLVED, event.getValue().status());
+        assertEquals(6L, event.getValue().revision());
+        assertEquals(6L, changeTracker.version(42L));
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    void problemReceivedByAnotherNodeIsFoundInDatabase() {
+        when(repository.findByZabbixEventId("ev-3")).thenReturn(Optional.of(problem(9L, "ev-3", 0L)));
+        when(repository.updateStatusIfIn(eq(9L), eq(IncidentStatus.RESOLVED), any(), any())).thenReturn(1);
+        when(repository.findVersionById(9L)).thenReturn(Optional.of(1L));
+
+        RecoveryResponse response = service.correlate(recovery("ev-3"));
+
+        assertEquals("RESOLVED", response.outcome());
+        assertEquals(9L, response.incidentId());
+        verify(publisher).publish(anyString(), any(), eq(SeverityLevel.HIGH));
+    }
+
+    @Test
+    void bufferedRecoveryIsResolvedWhenAnotherNodeStoresTheProblem() {
+        assertEquals("BUFFERED", service.correlate(recovery("ev-4")).outcome());
+
+        // O problema chega a outro nó depois da recuperação
+        when(repository.findByZabbixEventIdIn(List.of("ev-4"))).thenReturn(List.of(problem(11L, "ev-4", 0L)));
+        when(repository.updateStatusIfIn(eq(11L), eq(IncidentStatus.RESOLVED), any(), any())).thenReturn(1);
+        when(repository.findVersionById(11L)).thenReturn(Optional.of(1L));
+        service.expirePending();
+
+        verify(repository).updateStatusIfIn(eq(11L), eq(IncidentStatus.RESOLVED), any(), any());
+        assertEquals(1L, changeTracker.version(11L));
+        service.expirePending();
+        verify(repository, times(1)).findByZabbixEventIdIn(any());
+    }
+
+    @Test
+    void alreadyResolvedPublishesNothing() {
+        service.register(problem(7L, "ev-2", 0L));
+        when(repository.updateStatusIfIn(eq(7L), eq(IncidentStatus.RESOLVED), any(), any())).thenReturn(0);
+
+        RecoveryResponse response = service.correlate(recovery("ev-2"));
+
+        assertEquals("ALREADY_RESOLVED", response.outcome());
+        verify(publisher, never()).publish(anyString(), any(), any());
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static Incident problem(Long id, String eventId, Long version) {
+        return Incident.builder()
+                .id(id)
+                .zabbixEventId(eventId)
+                .hostids("10084")
+                .trigger("Link down")
+                .severity(SeverityLevel.HIGH)
+                .status(IncidentStatus.OPEN)
+                .version(version)
+                .build();
+    }
+
+    private static CreateIncidentRequest recovery(String problemEventId) {
+        return new CreateIncidentRequest("rec-" + problemEventId, "10084", "Link down", null, null, null, null,
+                null, null, null, null, "Link down", null, "RESOLVED", "HIGH", "zabbix", true, problemEventId);
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.cesaravb.zabbixincident.application.service;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentStreamEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Retentativa de um envio WebSocket que falhou: o evento não entra de novo no IncidentReplayBuffer
+ * nem no SSE, e o frame reenviado leva o mesmo x-seq da primeira tentativa.
+ */
+class WebSocketNotificationServiceTests {
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final IncidentReplayBuffer replayBuffer = new IncidentReplayBuffer(new SimpleMeterRegistry(), 64);
+    private final IncidentSseBroadcaster sseBroadcaster = mock(IncidentSseBroadcaster.class);
+    private final WebSocketNotificationService webSocketService = webSocketService();
+
+    @Test
+    void retriedDeltaIsStreamedOnce() {
+        IncidentEvent delta = MAPPER.toStatusChangedEvent(incident(42L, IncidentStatus.IN_PROGRESS, 1L), 1);
+        doThrow(new MessageDeliveryException("broker indisponível")).doNothing()
+                .when(messagingTemplate).send(anyString(), any(Message.class));
+
+        assertThrows(RuntimeException.class, () -> webSocketService.notifyEvent(delta));
+        webSocketService.notifyEvent(delta);
+
+        assertEquals(1, replayBuffer.since(replayBuffer.epoch()).size());
+        verify(sseBroadcaster, times(1)).publish(any(IncidentStreamEvent.class));
+        List<String> seqs = sentSeqs(2);
+        assertEquals(seqs.get(0), seqs.get(1), "a retentativa reaproveita o seq do stream");
+    }
+
+    @Test
+    void retriedTombstoneIsStreamedOnce() {
+        IncidentEvent tombstone = MAPPER.toDeletedEvent(incident(42L, IncidentStatus.OPEN, 3L), 1);
+        doThrow(new MessageDeliveryException("broker indisponível")).doNothing()
+                .when(messagingTemplate).send(anyString(), any(Message.class));
+
+        assertThrows(RuntimeException.class, () -> webSocketService.notifyEvent(tombstone));
+        webSocketService.notifyEvent(tombstone);
+
+        assertEquals(1, replayBuffer.since(replayBuffer.epoch()).size());
+        verify(sseBroadcaster, times(1)).publish(any(IncidentStreamEvent.class));
+    }
+
+    @Test
+    void newRevisionIsStreamedAgain() {
+        doNothing().when(messagingTemplate).send(anyString(), any(Message.class));
+
+        webSocketService.notifyEvent(MAPPER.toStatusChangedEvent(incident(42L, IncidentStatus.IN_PROGRESS, 1L), 1));
+        webSocketService.notifyEvent(MAPPER.toStatusChangedEvent(incident(42L, IncidentStatus.RESOLVED, 2L), 2));
+
+        assertEquals(2, replayBuffer.since(replayBuffer.epoch()).size());
+        verify(sseBroadcaster, times(2)).publish(any(IncidentStreamEvent.class));
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private List<String> sentSeqs(int attempts) {
+        ArgumentCaptor<Message<?>> messages = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(attempts)).send(anyString(), messages.capture());
+        return messages.getAllValues().stream()
+                .map(message -> SimpMessageHeaderAccessor.wrap(message).getFirstNativeHeader(IncidentReplayBuffer.SEQ_HEADER))
+                .toList();
+    }
+
+    private WebSocketNotificationService webSocketService() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(new ObjectMapper().findAndRegisterModules());
+        when(messagingTemplate.getMessageConverter()).thenReturn(converter);
+        return new WebSocketNotificationService(messagingTemplate, MAPPER, mock(AlertStormDetector.class),
+                mock(StormSummaryAggregator.class), mock(IncidentBroadcastBatcher.class),
+                new IncidentTopicFanout(messagingTemplate, true), replayBuffer, mock(BinaryFrameInterceptor.class),
+                sseBroadcaster, new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, false), new IncidentRouteIndex(1000));
+    }
+
+    private static Incident incident(Long id, IncidentStatus status, Long version) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return Incident.builder().id(id).zabbixEventId("ev-" + id).hostids("10084").title("Link down")
+                .host("OLT-1").severity(SeverityLevel.HIGH).status(status).source("zabbix")
+                .createdAt(now).updatedAt(now).version(version).build();
+    }
+}
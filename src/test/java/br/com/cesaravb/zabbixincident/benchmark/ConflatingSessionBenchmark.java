@@ -0,0 +1,221 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.ConflatingWebSocketSession;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Isolamento de consumidores lentos: um painel em VPN ruim (send-ms por frame) junto de
+ * painéis rápidos, recebendo atualizações dos mesmos incidentes.
+ *
+ * Mede o tempo que a thread do clientOutboundChannel fica em sendMessage() (direto no socket
+ * lento × ConflatingWebSocketSession), frames enviados × conflacionados na sessão lenta,
+ * a profundidade máxima da fila e se o último estado de cada incidente chegou a todas as sessões.
+ * Por fim, um socket travado deve ser fechado com 4000 "resync" ao passar de max-pending.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=ConflatingSessionBenchmark
+ * Parâmetros: -Dbenchmark.frames=20000 -Dbenchmark.incidents=200 -Dbenchmark.fast-sessions=50 -Dbenchmark.send-ms=2
+ */
+@Tag("benchmark")
+class ConflatingSessionBenchmark {
+
+    private static final int FRAMES = Integer.getInteger("benchmark.frames", 20_000);
+    private static final int INCIDENTS = Integer.getInteger("benchmark.incidents", 200);
+    private static final int FAST_SESSIONS = Integer.getInteger("benchmark.fast-sessions", 50);
+    private static final int SEND_MS = Integer.getInteger("benchmark.send-ms", 2);
+    private static final int MAX_PENDING = 1_000;
+
+    @Test
+    void slowConsumerIsolation() throws Exception {
+        TextMessage[] frames = new TextMessage[FRAMES];
+        int[] incidentOf = new int[FRAMES];
+        Random random = new Random(42);
+        for (int i = 0; i < FRAMES; i++) {
+            incidentOf[i] = random.nextInt(INCIDENTS);
+            frames[i] = frame(incidentOf[i], i);
+        }
+
+        // ====================================
+        // # Sem fila: a thread de saída espera o socket lento
+        // ====================================
+        int directFrames = Math.min(FRAMES, 500);
+        Receiver direct = new Receiver(SEND_MS);
+        long start = System.nanoTime();
+        for (int i = 0; i < directFrames; i++) {
+            direct.session.sendMessage(frames[i]);
+        }
+        double directMicros = (System.nanoTime() - start) / 1e3 / directFrames;
+
+        // ====================================
+        // # Com ConflatingWebSocketSession
+        // ====================================
+        ExecutorService writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().factory());
+        try {
+            Counters counters = new Counters();
+            Receiver slow = new Receiver(SEND_MS);
+            ConflatingWebSocketSession slowSession = new ConflatingWebSocketSession(slow.session, writers,
+                    counters, MAX_PENDING, TimeUnit.MINUTES.toMillis(1));
+            List<Receiver> fast = new ArrayList<>();
+            List<ConflatingWebSocketSession> fastSessions = new ArrayList<>();
+            for (int s = 0; s < FAST_SESSIONS; s++) {
+                Receiver receiver = new Receiver(0);
+                fast.add(receiver);
+                fastSessions.add(new ConflatingWebSocketSession(receiver.session, writers, counters,
+                        MAX_PENDING, TimeUnit.MINUTES.toMillis(1)));
+            }
+
+            int maxDepth = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < FRAMES; i++) {
+                slowSession.sendMessage(frames[i]);
+                for (ConflatingWebSocketSession session : fastSessions) {
+                    session.sendMessage(frames[i]);
+                }
+                maxDepth = Math.max(maxDepth, slowSession.depth());
+            }
+            double queuedMicros = (System.nanoTime() - start) / 1e3 / ((long) FRAMES * (FAST_SESSIONS + 1));
+
+            awaitDrained(slowSession);
+            for (ConflatingWebSocketSession session : fastSessions) {
+                awaitDrained(session);
+            }
+
+            System.out.printf("%n%d frames, %d incidentes, %d sessões rápidas + 1 lenta (%d ms/frame)%n",
+                    FRAMES, INCIDENTS, FAST_SESSIONS, SEND_MS);
+            System.out.printf("%-28s %14s%n", "cenário", "µs/sendMessage");
+            System.out.printf("%-28s %14.1f%n", "direto no socket lento", directMicros);
+            System.out.printf("%-28s %14.1f%n", "ConflatingWebSocketSession", queuedMicros);
+            System.out.printf("sessão lenta: %d enviados, %d conflacionados, fila máxima %d%n",
+                    slow.sent.get(), slowSession.conflatedCount(), maxDepth);
+
+            Map<Integer, Integer> latest = new ConcurrentHashMap<>();
+            for (int i = 0; i < FRAMES; i++) {
+                latest.put(incidentOf[i], i);
+            }
+            assertEquals(latest, slow.lastByIncident, "A sessão lenta deve terminar com o último estado de cada incidente");
+            for (Receiver receiver : fast) {
+                assertEquals(latest, receiver.lastByIncident);
+            }
+            assertEquals(FRAMES, slow.sent.get() + slowSession.conflatedCount());
+            assertTrue(maxDepth <= INCIDENTS + 1, "Com conflação a fila fica limitada a um frame por incidente");
+            assertTrue(queuedMicros < directMicros, "Enfileirar deve ser mais rápido que esperar o socket lento");
+
+            // ====================================
+            // # Socket travado: desconexão com resync ao passar de max-pending
+            // ====================================
+            CountDownLatch stuck = new CountDownLatch(1);
+            WebSocketSession blocked = mock(WebSocketSession.class);
+            when(blocked.getId()).thenReturn("blocked");
+            doAnswer(invocation -> {
+                stuck.await();
+                return null;
+            }).when(blocked).sendMessage(any());
+            ConflatingWebSocketSession blockedSession = new ConflatingWebSocketSession(blocked, writers, counters,
+                    MAX_PENDING, TimeUnit.MINUTES.toMillis(1));
+            for (int i = 0; i <= MAX_PENDING + 1; i++) {
+                blockedSession.sendMessage(frame(i, i));
+            }
+            verify(blocked, timeout(5_000)).close(ConflatingWebSocketSession.RESYNC);
+            stuck.countDown();
+            System.out.printf("socket travado: %d desconexão(ões), %d frames descartados%n",
+                    counters.disconnected.get(), counters.dropped.get());
+            assertEquals(1, counters.disconnected.get());
+            assertEquals(0, blockedSession.depth());
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static TextMessage frame(int incident, int seq) {
+        return new TextMessage("MESSAGE\n"
+                + "destination:/topic/incidents/updated\n"
+                + "subscription:sub-0\n"
+                + "message-id:" + seq + "\n"
+                + "x-seq:" + seq + "\n"
+                + ConflatingWebSocketSession.INCIDENT_HEADER + ":" + incident + "\n"
+                + "content-type:application/json\n"
+                + "\n"
+                + "{\"type\":\"STATUS_CHANGED\",\"id\":" + incident + ",\"seq\":" + seq
+                + ",\"changed\":{\"status\":\"IN_PROGRESS\"}}\0");
+    }
+
+    private static void awaitDrained(ConflatingWebSocketSession session) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (session.depth() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        // O último frame já saiu da fila; espera o escritor terminar de enviá-lo
+        TimeUnit.MILLISECONDS.sleep(SEND_MS * 2L + 20);
+    }
+
+    private static int header(String frame, String name) {
+        int start = frame.indexOf("\n" + name + ":") + name.length() + 2;
+        return Integer.parseInt(frame.substring(start, frame.indexOf('\n', start)));
+    }
+
+    private static final class Receiver {
+        private final WebSocketSession session = mock(WebSocketSession.class);
+        private final AtomicLong sent = new AtomicLong();
+        private final Map<Integer, Integer> lastByIncident = new ConcurrentHashMap<>();
+
+        private Receiver(int sendMillis) throws Exception {
+            when(session.getId()).thenReturn("session");
+            doAnswer(invocation -> {
+                if (sendMillis > 0) {
+                    TimeUnit.MILLISECONDS.sleep(sendMillis);
+                }
+                String frame = ((WebSocketMessage<?>) invocation.getArgument(0)).getPayload().toString();
+                lastByIncident.put(header(frame, ConflatingWebSocketSession.INCIDENT_HEADER), header(frame, "x-seq"));
+                sent.incrementAndGet();
+                return null;
+            }).when(session).sendMessage(any());
+        }
+    }
+
+    private static final class Counters implements ConflatingWebSocketSession.ConflationListener {
+        private final AtomicInteger disconnected = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+
+        @Override
+        public void conflated() {
+        }
+
+        @Override
+        public void dropped(int frames) {
+            dropped.addAndGet(frames);
+        }
+
+        @Override
+        public void disconnected(int droppedFrames) {
+            disconnected.incrementAndGet();
+            dropped.addAndGet(droppedFrames);
+        }
+    }
+}
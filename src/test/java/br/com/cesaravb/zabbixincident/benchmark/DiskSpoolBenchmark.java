@@ -0,0 +1,88 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.DiskSpool;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.DiskSpool.SpooledMessage;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Latência de ingestão durante uma queda do broker: custo de DiskSpool.append por evento,
+ * vazão do drain (peek + commit) e recuperação após reabrir os segmentos.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=DiskSpoolBenchmark
+ * Parâmetros: -Dbenchmark.records=500000 -Dbenchmark.body-bytes=467 (envelope binário CREATED)
+ */
+@Tag("benchmark")
+class DiskSpoolBenchmark {
+
+    private static final int RECORDS = Integer.getInteger("benchmark.records", 500_000);
+    private static final int BODY_BYTES = Integer.getInteger("benchmark.body-bytes", 467);
+    private static final int SEGMENT_BYTES = 16 * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendLatencyDrainAndRecovery() {
+        byte[] body = new byte[BODY_BYTES];
+        Arrays.fill(body, (byte) 7);
+        long[] latencies = new long[RECORDS];
+
+        // ====================================
+        // # append - Caminho da requisição com o circuito aberto
+        // ====================================
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 1024)) {
+            for (int i = 0; i < RECORDS; i++) {
+                SpooledMessage message = message(i, body);
+                long start = System.nanoTime();
+                spool.append(message);
+                latencies[i] = System.nanoTime() - start;
+            }
+            assertEquals(RECORDS, spool.depth());
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%nappend (%d registros de %d B): p50 %.1f µs, p99 %.1f µs, p99.9 %.1f µs, máx %.1f µs%n",
+                RECORDS, BODY_BYTES, latencies[RECORDS / 2] / 1e3, latencies[(int) (RECORDS * 0.99)] / 1e3,
+                latencies[(int) (RECORDS * 0.999)] / 1e3, latencies[RECORDS - 1] / 1e3);
+
+        // ====================================
+        // # recuperação + drain pela metade + recuperação de novo
+        // ====================================
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 1024)) {
+            assertEquals(RECORDS, spool.depth());
+            long start = System.nanoTime();
+            for (int i = 0; i < RECORDS / 2; i++) {
+                SpooledMessage message = spool.peek();
+                assertEquals("incident.created.k" + (i % 5), message.routingKey());
+                spool.commit();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("drain: %.0f registros/s%n", (RECORDS / 2) / seconds);
+        }
+        try (DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 1024)) {
+            assertEquals(RECORDS - RECORDS / 2, spool.depth());
+            SpooledMessage head = spool.peek();
+            assertEquals("incident.created.k" + ((RECORDS / 2) % 5), head.routingKey());
+            assertArrayEquals(body, head.body());
+            while (spool.peek() != null) {
+                spool.commit();
+            }
+            assertNull(spool.peek());
+            assertEquals(0, spool.depth());
+        }
+    }
+
+    private static SpooledMessage message(int i, byte[] body) {
+        return new SpooledMessage(System.currentTimeMillis(), "zabbix.incident.exchange", "incident.created.k" + (i % 5),
+                BinaryIncidentEventCodec.CONTENT_TYPE, null, String.valueOf(i), 9, body);
+    }
+}
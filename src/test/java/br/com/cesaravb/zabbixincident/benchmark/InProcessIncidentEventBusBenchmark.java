@@ -0,0 +1,115 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.InProcessIncidentEventBus;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.InProcessIncidentEventBus.WaitStrategy;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latência publish → entrega do barramento em memória (perfil single-node) por estratégia de
+ * espera, e vazão com o produtor sem pausa.
+ *
+ * O handler apenas registra o instante da entrega: mede o custo do barramento, não do envio
+ * WebSocket. Referência: o caminho via RabbitMQ custa um round trip de rede até o broker e de volta.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=InProcessIncidentEventBusBenchmark
+ * Parâmetros: -Dbenchmark.events=50000 -Dbenchmark.interval-micros=20
+ */
+@Tag("benchmark")
+class InProcessIncidentEventBusBenchmark {
+
+    private static final int EVENTS = Integer.getInteger("benchmark.events", 50_000);
+    private static final long INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(Long.getLong("benchmark.interval-micros", 20));
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    @Test
+    void latencyPerWaitStrategyAndThroughput() {
+        IncidentEvent[] events = new IncidentEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = MAPPER.toCreatedEvent(incident(i), i);
+        }
+
+        System.out.printf("%n%-10s %10s %10s %10s %14s%n", "espera", "p50", "p99", "p99.9", "vazão (ev/s)");
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            double[] latency = run(strategy, events, INTERVAL_NANOS);
+            double throughput = run(strategy, events, 0)[3];
+            System.out.printf("%-10s %8.1fµs %8.1fµs %8.1fµs %14.0f%n", strategy,
+                    latency[0], latency[1], latency[2], throughput);
+            if (strategy == WaitStrategy.SLEEPING) {
+                assertTrue(latency[0] < 1_000, "Entrega em memória deve ficar abaixo de 1 ms no p50");
+            }
+        }
+    }
+
+    // ====================================
+    // # run - Publica todos os eventos e mede a entrega
+    // ====================================
+    private double[] run(WaitStrategy strategy, IncidentEvent[] events, long intervalNanos) {
+        long[] publishedAt = new long[events.length];
+        long[] latencies = new long[events.length];
+        AtomicLong delivered = new AtomicLong();
+        AtomicLong outOfOrder = new AtomicLong();
+
+        InProcessIncidentEventBus bus = new InProcessIncidentEventBus(batch -> {
+            long now = System.nanoTime();
+            for (IncidentEvent event : batch) {
+                int index = (int) event.sequence();
+                latencies[index] = now - publishedAt[index];
+                if (index != delivered.getAndIncrement()) {
+                    outOfOrder.incrementAndGet();
+                }
+            }
+            return 0;
+        }, new SimpleMeterRegistry(), 65_536, 256, strategy);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < events.length; i++) {
+            publishedAt[i] = System.nanoTime();
+            bus.publish("incident.created.high", events[i], SeverityLevel.HIGH);
+            if (intervalNanos > 0) {
+                LockSupport.parkNanos(intervalNanos);
+            }
+        }
+        while (delivered.get() < events.length) {
+            Thread.onSpinWait();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        bus.shutdown();
+
+        assertEquals(0, outOfOrder.get(), "Eventos entregues fora da ordem de publicação com " + strategy);
+        Arrays.sort(latencies);
+        return new double[]{latencies[events.length / 2] / 1e3, latencies[(int) (events.length * 0.99)] / 1e3,
+                latencies[(int) (events.length * 0.999)] / 1e3, events.length / seconds};
+    }
+
+    private static Incident incident(int i) {
+        return Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .host("POP-" + (i % 50))
+                .severity(SeverityLevel.HIGH)
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
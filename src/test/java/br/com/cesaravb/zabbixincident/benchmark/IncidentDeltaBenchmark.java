@@ -0,0 +1,134 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentDelta;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentTombstone;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes enviados a cada navegador durante uma onda de reconhecimentos (OPEN → IN_PROGRESS):
+ * IncidentResponse completo por mudança (contrato antigo) contra IncidentDelta, e ID puro contra
+ * IncidentTombstone nas deleções.
+ *
+ * O canal de saída é substituído por um contador; a serialização JSON é a real
+ * (MappingJackson2MessageConverter), então os bytes medidos são os do corpo do frame.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=IncidentDeltaBenchmark
+ * Parâmetros: -Dbenchmark.incidents=10000 -Dbenchmark.description-bytes=600
+ */
+@Tag("benchmark")
+class IncidentDeltaBenchmark {
+
+    private static final int INCIDENTS = Integer.getInteger("benchmark.incidents", 10_000);
+    private static final int DESCRIPTION_BYTES = Integer.getInteger("benchmark.description-bytes", 600);
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    @Test
+    void bytesPerAcknowledgmentWave() {
+        AtomicLong bytes = new AtomicLong();
+        SimpMessagingTemplate template = countingTemplate(bytes);
+        Incident[] incidents = new Incident[INCIDENTS];
+        for (int i = 0; i < INCIDENTS; i++) {
+            incidents[i] = incident(i);
+            incidents[i].setStatus(IncidentStatus.IN_PROGRESS);
+            incidents[i].setVersion(1L);
+        }
+
+        // ====================================
+        // # Mudança de status: payload completo x delta
+        // ====================================
+        for (Incident incident : incidents) {
+            template.convertAndSend("/topic/incidents", MAPPER.toResponse(incident));
+        }
+        long full = bytes.getAndSet(0);
+        for (int i = 0; i < INCIDENTS; i++) {
+            IncidentEvent event = MAPPER.toStatusChangedEvent(incidents[i], i);
+            template.convertAndSend("/topic/incidents/updated", new IncidentDelta(event.incidentId(), event.revision(),
+                    event.status().name(), MAPPER.toLocalDateTime(event.updatedAt())));
+        }
+        long delta = bytes.getAndSet(0);
+
+        // ====================================
+        // # Deleção: ID puro x tombstone
+        // ====================================
+        for (Incident incident : incidents) {
+            template.convertAndSend("/topic/incidents/deleted", incident.getId());
+        }
+        long bareId = bytes.getAndSet(0);
+        for (int i = 0; i < INCIDENTS; i++) {
+            IncidentEvent event = MAPPER.toDeletedEvent(incidents[i], i);
+            template.convertAndSend("/topic/incidents/deleted", new IncidentTombstone(event.incidentId(), event.revision()));
+        }
+        long tombstone = bytes.getAndSet(0);
+
+        System.out.printf("%n%-28s %12s %12s%n", "mensagem", "B/mensagem", "KB/onda");
+        print("IncidentResponse completo", full);
+        print("IncidentDelta", delta);
+        print("ID (deleção antiga)", bareId);
+        print("IncidentTombstone", tombstone);
+        System.out.printf("redução na onda de status: %.1fx%n", (double) full / delta);
+
+        assertTrue(full >= delta * 5, "Delta deve reduzir os bytes da mudança de status em pelo menos 5x");
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static void print(String label, long bytes) {
+        System.out.printf("%-28s %12.1f %12.1f%n", label, (double) bytes / INCIDENTS, bytes / 1024.0);
+    }
+
+    private static SimpMessagingTemplate countingTemplate(AtomicLong bytes) {
+        MessageChannel channel = (message, timeout) -> {
+            bytes.addAndGet(((byte[]) message.getPayload()).length);
+            return true;
+        };
+        SimpMessagingTemplate template = new SimpMessagingTemplate(channel);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        template.setMessageConverter(converter);
+        return template;
+    }
+
+    private static Incident incident(int i) {
+        String text = "Last three attempts returned timeout. ".repeat(Math.max(1, DESCRIPTION_BYTES / 38));
+        return Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .hostids(String.valueOf(10_000 + i))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .description(text)
+                .alertMessage(text)
+                .eventName("ICMP Ping Down")
+                .eventOpdata("Down (0)")
+                .host("ENERGIA POP - SEROPEDICA " + (i % 50))
+                .hostIp("10.90.92." + (i % 250))
+                .item("ICMP ping")
+                .itemKey("icmpping")
+                .trigger("ICMP Ping Down")
+                .urlZabbix("https://zabbix.example.com/tr_events.php?triggerid=" + (20_000 + i) + "&eventid=" + (28_000_000 + i))
+                .valor("Down (0)")
+                .severity(SeverityLevel.HIGH)
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventMessageConverter;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.CborIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.IncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.JsonIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.SmileIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de bytes por mensagem e custo de encode/decode: entidade Incident em JSON
+ * (formato anterior) x envelope IncidentEvent em cada codec, com e sem gzip.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=IncidentEventCodecBenchmark
+ * Parâmetros: -Dbenchmark.iterations=200000
+ */
+@Tag("benchmark")
+class IncidentEventCodecBenchmark {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200_000);
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    private static final List<IncidentEventCodec> CODECS = List.of(new JsonIncidentEventCodec(),
+            new SmileIncidentEventCodec(), new CborIncidentEventCodec(), new BinaryIncidentEventCodec());
+
+    @Test
+    void bytesAndCostPerCodec() {
+        Incident incident = sampleIncident();
+        IncidentEvent created = MAPPER.toCreatedEvent(incident, 1_738_730_717_000_123L);
+        incident.setStatus(IncidentStatus.RESOLVED);
+        IncidentEvent statusChanged = MAPPER.toStatusChangedEvent(incident, 1_738_730_717_000_124L);
+
+        System.out.printf("%n%-36s %8s %12s %12s%n", "formato", "bytes", "encode ns", "decode ns");
+
+        // ====================================
+        // # Baseline: entidade JPA via Jackson2JsonMessageConverter
+        // ====================================
+        Jackson2JsonMessageConverter entityConverter = new Jackson2JsonMessageConverter();
+        Message entityMessage = entityConverter.toMessage(incident, new MessageProperties());
+        report("entidade Incident (JSON, anterior)", entityMessage.getBody().length,
+                () -> entityConverter.toMessage(incident, new MessageProperties()),
+                () -> entityConverter.fromMessage(entityMessage));
+
+        // ====================================
+        // # Envelope: cada codec, CREATED e STATUS_CHANGED, com e sem gzip
+        // ====================================
+        for (IncidentEventCodec codec : CODECS) {
+            for (IncidentEvent event : List.of(created, statusChanged)) {
+                byte[] body = codec.encode(event);
+                assertEquals(event, codec.decode(body));
+                String name = shortName(codec) + " " + event.type();
+                report(name, body.length, () -> codec.encode(event), () -> codec.decode(body));
+            }
+            byte[] gzipped = IncidentEventMessageConverter.gzip(codec.encode(created));
+            report(shortName(codec) + " CREATED + gzip", gzipped.length,
+                    () -> IncidentEventMessageConverter.gzip(codec.encode(created)),
+                    () -> codec.decode(IncidentEventMessageConverter.gunzip(gzipped)));
+        }
+    }
+
+    // ====================================
+    // # Medição simples (aquecimento + média por operação)
+    // ====================================
+    private static void report(String name, int bytes, Supplier<Object> encode, Supplier<Object> decode) {
+        double encodeNanos = measure(encode);
+        double decodeNanos = measure(decode);
+        System.out.printf("%-36s %8d %12.0f %12.0f%n", name, bytes, encodeNanos, decodeNanos);
+    }
+
+    private static double measure(Supplier<Object> operation) {
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            sink = operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == null) {
+            throw new IllegalStateException();
+        }
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static String shortName(IncidentEventCodec codec) {
+        Function<String, String> strip = s -> s.replace("IncidentEventCodec", "");
+        return strip.apply(codec.getClass().getSimpleName());
+    }
+
+    private static Incident sampleIncident() {
+        return Incident.builder()
+                .id(1234L)
+                .zabbixEventId("28316936")
+                .hostids("10584")
+                .title("Problem: ENERGIA POP - SEROPEDICA")
+                .description("Queda de energia no POP de Seropédica; nobreak em autonomia")
+                .alertMessage("Problem started at 04:45:17 on 2026.02.05\nProblem name: ENERGIA POP - SEROPEDICA\nHost: POP-SEROPEDICA\nSeverity: High")
+                .eventName("ENERGIA POP - SEROPEDICA")
+                .eventOpdata("Down (0)")
+                .host("POP-SEROPEDICA")
+                .hostIp("10.20.30.40")
+                .item("Status da energia")
+                .itemKey("energia.status")
+                .trigger("ENERGIA POP - SEROPEDICA")
+                .urlZabbix("https://zabbix.exemplo.com.br/tr_events.php?triggerid=24567&eventid=28316936")
+                .valor("0")
+                .severity(SeverityLevel.HIGH)
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.of(2026, 2, 5, 4, 45, 17))
+                .updatedAt(LocalDateTime.of(2026, 2, 5, 4, 45, 17))
+                .build();
+    }
+}
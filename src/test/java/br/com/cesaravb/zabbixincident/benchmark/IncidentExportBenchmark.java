@@ -0,0 +1,199 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentExportService;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.persistence.IncidentExportCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exportação em streaming (GET /api/incidents/export) sobre um ResultSet sintético de N linhas,
+ * sem banco: mede linhas/s, bytes gerados e o heap ocupado (após GC) ao longo da exportação,
+ * que deve ficar constante independentemente de N.
+ *
+ * Antes de medir, confere que cada linha NDJSON é exatamente o JSON do IncidentResponse e que o
+ * CSV aplica as aspas do RFC 4180.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=IncidentExportBenchmark
+ * Parâmetros: -Dbenchmark.rows=2000000
+ */
+@Tag("benchmark")
+class IncidentExportBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+    private static final long MAX_HEAP_GROWTH = 16L * 1024 * 1024;
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+    @Test
+    void streamingExport() throws Exception {
+        // Como o ObjectMapper do Spring Boot: datas em ISO-8601
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+        // ====================================
+        // # NDJSON = JSON do IncidentResponse; CSV com aspas RFC 4180
+        // ====================================
+        ByteArrayOutputStream sample = new ByteArrayOutputStream();
+        service(objectMapper, 3, null).export(FROM, TO, IncidentExportService.Format.NDJSON, false, sample);
+        String[] lines = sample.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        for (int row = 0; row < lines.length; row++) {
+            assertEquals(objectMapper.writeValueAsString(response(row)), lines[row]);
+        }
+        sample.reset();
+        service(objectMapper, 3, null).export(FROM, TO, IncidentExportService.Format.CSV, false, sample);
+        String csv = sample.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith(String.join(",", IncidentExportCursor.COLUMNS) + "\r\n"));
+        assertTrue(csv.contains(",\"Link \"\"down\"\", porta 1\nsegunda linha\","), csv);
+
+        // ====================================
+        // # Throughput e heap ao longo da exportação
+        // ====================================
+        System.out.printf("%n%d linhas%n", ROWS);
+        System.out.printf("%-14s %12s %12s %14s %14s%n", "formato", "linhas/s", "MB gerados", "heap 10% (MB)", "heap 100% (MB)");
+        for (IncidentExportService.Format format : IncidentExportService.Format.values()) {
+            for (boolean gzip : new boolean[] {false, true}) {
+                long[] heap = new long[2];
+                Counting out = new Counting();
+                IncidentExportService service = service(objectMapper, ROWS, row -> {
+                    if (row == ROWS / 10) {
+                        heap[0] = usedHeap();
+                    } else if (row == ROWS - 1) {
+                        heap[1] = usedHeap();
+                    }
+                });
+                long start = System.nanoTime();
+                long exported = service.export(FROM, TO, format, gzip, out);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                assertEquals(ROWS, exported);
+                System.out.printf("%-14s %,12.0f %12.1f %14.1f %14.1f%n", format + (gzip ? "+gzip" : ""),
+                        ROWS / seconds, out.bytes / 1e6, heap[0] / 1e6, heap[1] / 1e6);
+                assertTrue(heap[1] - heap[0] < MAX_HEAP_GROWTH,
+                        "O heap não pode crescer com o número de linhas exportadas");
+            }
+        }
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static IncidentExportService service(ObjectMapper objectMapper, int rows, RowProbe probe) {
+        IncidentExportCursor cursor = new IncidentExportCursor(null, 0) {
+            @Override
+            public void stream(LocalDateTime from, LocalDateTime to, RowCallbackHandler handler) {
+                int[] current = {0};
+                ResultSet rs = resultSet(current);
+                try {
+                    for (; current[0] < rows; current[0]++) {
+                        if (probe != null) {
+                            probe.at(current[0]);
+                        }
+                        handler.processRow(rs);
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        return new IncidentExportService(cursor, objectMapper, new SimpleMeterRegistry(), 1000, 1);
+    }
+
+    private static IncidentResponse response(int row) {
+        return new IncidentResponse((long) row + 1, "ev-" + row, row % 3 == 0 ? null : "10" + row,
+                row % 7 == 1 ? "Link \"down\", porta 1\nsegunda linha" : "Link down OLT-" + (row % 500),
+                "Descrição ç " + row, null, "ICMP ping", null, "OLT-" + (row % 500), "10.0." + (row % 250) + ".1",
+                "ICMP", "icmpping", "Unavailable by ICMP ping", "https://zabbix/tr_events.php?eventid=" + row,
+                "0", "HIGH", row % 2 == 0 ? "RESOLVED" : "OPEN", "zabbix",
+                FROM.plusSeconds(row), row % 5 == 0 ? null : FROM.plusSeconds(row).plusNanos(123_000_000), (long) row % 4);
+    }
+
+    /**
+     * ResultSet sintético: a linha corrente é gerada a partir do índice, na ordem de IncidentExportCursor.COLUMNS.
+     */
+    private static ResultSet resultSet(int[] current) {
+        Object[] row = new Object[1];
+        int[] cached = {-1};
+        boolean[] wasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("wasNull")) {
+                        return wasNull[0];
+                    }
+                    if (cached[0] != current[0]) {
+                        row[0] = response(current[0]);
+                        cached[0] = current[0];
+                    }
+                    IncidentResponse incident = (IncidentResponse) row[0];
+                    Object value = switch ((Integer) args[0]) {
+                        case 1 -> incident.id();
+                        case 2 -> incident.zabbixEventId();
+                        case 3 -> incident.hostids();
+                        case 4 -> incident.title();
+                        case 5 -> incident.description();
+                        case 6 -> incident.alertMessage();
+                        case 7 -> incident.eventName();
+                        case 8 -> incident.eventOpdata();
+                        case 9 -> incident.host();
+                        case 10 -> incident.hostIp();
+                        case 11 -> incident.item();
+                        case 12 -> incident.itemKey();
+                        case 13 -> incident.trigger();
+                        case 14 -> incident.urlZabbix();
+                        case 15 -> incident.valor();
+                        case 16 -> incident.severity();
+                        case 17 -> incident.status();
+                        case 18 -> incident.source();
+                        case 19 -> incident.createdAt();
+                        case 20 -> incident.updatedAt();
+                        default -> incident.seq();
+                    };
+                    wasNull[0] = value == null;
+                    return switch (method.getName()) {
+                        case "getLong" -> value == null ? 0L : value;
+                        case "getString" -> value == null ? null : value.toString();
+                        default -> value;
+                    };
+                });
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface RowProbe {
+        void at(int row);
+    }
+
+    private static final class Counting extends OutputStream {
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig.ListenerTuning;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de throughput e lag do consumo da fila de incidentes por configuração de listener.
+ *
+ * Requer um RabbitMQ acessível (RABBITMQ_HOST/RABBITMQ_PORT/RABBITMQ_USERNAME/RABBITMQ_PASSWORD,
+ * padrão localhost:5672 guest/guest); sem broker, o teste é ignorado.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=IncidentListenerBenchmark
+ * Parâmetros: -Dbenchmark.messages=20000 -Dbenchmark.work-micros=200 (custo simulado do envio WebSocket)
+ */
+@Tag("benchmark")
+class IncidentListenerBenchmark {
+
+    private static final int MESSAGES = Integer.getInteger("benchmark.messages", 20_000);
+    private static final long WORK_NANOS = TimeUnit.MICROSECONDS.toNanos(Long.getLong("benchmark.work-micros", 200));
+    private static final String PUBLISHED_AT = "x-published-at";
+
+    private static final List<Scenario> SCENARIOS = List.of(
+            new Scenario("padrão (1 consumer)", new ListenerTuning(1, 1, 250, false, 1, 0, false)),
+            new Scenario("4 consumers", new ListenerTuning(4, 4, 250, false, 1, 0, false)),
+            new Scenario("lote 100", new ListenerTuning(1, 1, 250, true, 100, 50, false)),
+            new Scenario("lote 100 x 4 consumers", new ListenerTuning(4, 4, 250, true, 100, 50, false)),
+            new Scenario("16 consumers virtual", new ListenerTuning(16, 16, 250, false, 1, 0, true))
+    );
+
+    @Test
+    void throughputAndLagPerConfiguration() throws Exception {
+        CachingConnectionFactory connectionFactory = new CachingConnectionFactory(
+                System.getenv().getOrDefault("RABBITMQ_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("RABBITMQ_PORT", "5672")));
+        connectionFactory.setUsername(System.getenv().getOrDefault("RABBITMQ_USERNAME", "guest"));
+        connectionFactory.setPassword(System.getenv().getOrDefault("RABBITMQ_PASSWORD", "guest"));
+        try {
+            connectionFactory.createConnection().close();
+        } catch (Exception e) {
+            Assumptions.abort("RabbitMQ indisponível: " + e.getMessage());
+        }
+
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(converter);
+
+        System.out.printf("%n%-26s %12s %10s %10s %10s%n", "configuração", "msgs/s", "lag p50", "lag p99", "lag máx");
+        try {
+            for (Scenario scenario : SCENARIOS) {
+                Result result = run(scenario, connectionFactory, admin, template, converter);
+                System.out.printf("%-26s %12.0f %8.1fms %8.1fms %8.1fms%n", scenario.name(), result.throughput(),
+                        result.p50Millis(), result.p99Millis(), result.maxMillis());
+                assertTrue(result.throughput() > 0);
+            }
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    // ====================================
+    // # run - Publica MESSAGES mensagens e mede o consumo com a configuração
+    // ====================================
+    private Result run(Scenario scenario, CachingConnectionFactory connectionFactory, RabbitAdmin admin,
+                       RabbitTemplate template, Jackson2JsonMessageConverter converter) throws InterruptedException {
+        Queue queue = new AnonymousQueue();
+        admin.declareQueue(queue);
+
+        long[] lags = new long[MESSAGES];
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(MESSAGES);
+
+        BatchMessageListener listener = new BatchMessageListener() {
+            @Override
+            public void onMessage(Message message) {
+                consume(message);
+            }
+
+            @Override
+            public void onMessageBatch(List<Message> messages) {
+                messages.forEach(this::consume);
+            }
+
+            private void consume(Message message) {
+                Incident incident = (Incident) converter.fromMessage(message);
+                LockSupport.parkNanos(WORK_NANOS);
+                Long publishedAt = message.getMessageProperties().getHeader(PUBLISHED_AT);
+                int index = received.getAndIncrement();
+                if (index < MESSAGES && incident != null && publishedAt != null) {
+                    lags[index] = System.nanoTime() - publishedAt;
+                }
+                done.countDown();
+            }
+        };
+
+        SimpleRabbitListenerContainerFactory factory =
+                RabbitMQConfig.listenerContainerFactory(connectionFactory, converter, scenario.tuning());
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId("benchmark-" + queue.getName());
+        endpoint.setQueueNames(queue.getName());
+        endpoint.setMessageListener(listener);
+        SimpleMessageListenerContainer container = factory.createListenerContainer(endpoint);
+        container.afterPropertiesSet();
+        container.start();
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < MESSAGES; i++) {
+                template.convertAndSend("", queue.getName(), sampleIncident(i), message -> {
+                    message.getMessageProperties().setHeader(PUBLISHED_AT, System.nanoTime());
+                    return message;
+                });
+            }
+            assertTrue(done.await(5, TimeUnit.MINUTES), "Timeout aguardando o consumo");
+        } finally {
+            container.stop();
+            admin.deleteQueue(queue.getName());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(lags);
+        return new Result(MESSAGES / (elapsed / 1e9),
+                lags[(int) (MESSAGES * 0.50)] / 1e6,
+                lags[Math.min(MESSAGES - 1, (int) (MESSAGES * 0.99))] / 1e6,
+                lags[MESSAGES - 1] / 1e6);
+    }
+
+    private static Incident sampleIncident(int i) {
+        return Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .hostids(String.valueOf(10_000 + i))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .description("Benchmark do listener")
+                .host("POP-" + (i % 50))
+                .trigger("Sem energia")
+                .severity(SeverityLevel.values()[i % SeverityLevel.values().length])
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private record Scenario(String name, ListenerTuning tuning) {}
+
+    private record Result(double throughput, double p50Millis, double p99Millis, double maxMillis) {}
+}
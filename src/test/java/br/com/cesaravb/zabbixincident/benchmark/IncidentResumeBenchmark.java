@@ -0,0 +1,154 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentReplayBuffer;
+import br.com.cesaravb.zabbixincident.application.service.IncidentResumeService;
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.domain.repository.IncidentRepository;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentDelta;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResumeResponse;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reconexão em massa dos painéis: após uma oscilação de rede (mesmo epoch, resume por replay)
+ * e após um deploy (epoch novo, snapshot), medindo resumes por segundo e consultas ao MySQL.
+ *
+ * O IncidentRepository é um mock que demora query-ms por consulta (simula o MySQL sob carga);
+ * sem o resume, cada painel faria seu próprio GET /api/incidents.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=IncidentResumeBenchmark
+ * Parâmetros: -Dbenchmark.clients=5000 -Dbenchmark.threads=32 -Dbenchmark.query-ms=50 -Dbenchmark.open=2000
+ */
+@Tag("benchmark")
+class IncidentResumeBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 5_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 32);
+    private static final int QUERY_MS = Integer.getInteger("benchmark.query-ms", 50);
+    private static final int OPEN = Integer.getInteger("benchmark.open", 2_000);
+    private static final int CAPACITY = 10_000;
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    @Test
+    void reconnectStorm() throws Exception {
+        AtomicInteger queries = new AtomicInteger();
+        IncidentRepository repository = mock(IncidentRepository.class);
+        List<Incident> open = new ArrayList<>(OPEN);
+        for (int i = 0; i < OPEN; i++) {
+            open.add(incident(i));
+        }
+        when(repository.findAllUnresolved(any(Pageable.class))).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            TimeUnit.MILLISECONDS.sleep(QUERY_MS);
+            return new PageImpl<>(open);
+        });
+
+        IncidentReplayBuffer buffer = new IncidentReplayBuffer(new SimpleMeterRegistry(), CAPACITY);
+        IncidentResumeService service = new IncidentResumeService(buffer, repository, MAPPER,
+                new SimpleMeterRegistry(), OPEN, 1000);
+        for (int i = 0; i < CAPACITY - 500; i++) {
+            buffer.append(IncidentEventType.STATUS_CHANGED,
+                    new IncidentDelta((long) i, 1L, "IN_PROGRESS", LocalDateTime.now()));
+        }
+
+        System.out.printf("%n%d painéis, %d threads, consulta de %d ms, %d incidentes abertos%n",
+                CLIENTS, THREADS, QUERY_MS, OPEN);
+        System.out.printf("%-26s %12s %12s %14s%n", "cenário", "resumes/s", "consultas", "eventos/resume");
+
+        // ====================================
+        // # Oscilação de rede: mesmo epoch, até 200 eventos perdidos
+        // ====================================
+        Random random = new Random(42);
+        long head = buffer.head();
+        long[] lastSeqs = new long[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            lastSeqs[i] = head - random.nextInt(200);
+        }
+        Result blip = run(i -> service.resume(buffer.epoch(), lastSeqs[i]));
+        report("oscilação (replay)", blip, queries.getAndSet(0));
+        assertEquals(CLIENTS, blip.replays());
+
+        // ====================================
+        // # Deploy: epoch desconhecido, snapshot compartilhado
+        // ====================================
+        Result deploy = run(i -> service.resume(1L, lastSeqs[i]));
+        int snapshotQueries = queries.getAndSet(0);
+        report("deploy (snapshot)", deploy, snapshotQueries);
+        assertEquals(0, deploy.replays());
+        assertTrue(snapshotQueries <= 1 + deploy.seconds(), "Snapshot deve ser consultado no máximo uma vez por TTL");
+        System.out.printf("sem resume: %d consultas (~%.0f s de MySQL)%n", CLIENTS, CLIENTS * QUERY_MS / 1000.0);
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static Result run(IntFunction<IncidentResumeResponse> resume) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<IncidentResumeResponse>> futures = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                int client = i;
+                futures.add(pool.submit(() -> resume.apply(client)));
+            }
+            int replays = 0;
+            long events = 0;
+            for (Future<IncidentResumeResponse> future : futures) {
+                IncidentResumeResponse response = future.get();
+                replays += IncidentResumeResponse.REPLAY.equals(response.mode()) ? 1 : 0;
+                events += response.events().size();
+            }
+            return new Result((System.nanoTime() - start) / 1e9, replays, events);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void report(String scenario, Result result, int queries) {
+        System.out.printf("%-26s %12.0f %12d %14.1f%n", scenario, CLIENTS / result.seconds(), queries,
+                (double) result.events() / CLIENTS);
+    }
+
+    private static Incident incident(int i) {
+        return Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .host("POP-" + (i % 50))
+                .severity(SeverityLevel.HIGH)
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(0L)
+                .build();
+    }
+
+    private record Result(double seconds, int replays, long events) {}
+}
@@ -0,0 +1,168 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentPageResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentSummary;
+import br.com.cesaravb.zabbixincident.dtos.response.SuccessResponse;
+import br.com.cesaravb.zabbixincident.infrastructure.json.IncidentResponseJsonSerializer;
+import br.com.cesaravb.zabbixincident.infrastructure.json.IncidentSummaryJsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Custo de serializar uma página de incidentes (GET /api/incidents) direto no stream de saída:
+ *
+ * • v1 reflexão: SuccessResponse<Page> com o ObjectMapper padrão (BeanSerializer por campo)
+ * • v1 manual: o mesmo envelope com IncidentResponseJsonSerializer / IncidentSummaryJsonSerializer
+ * • v2 manual: sem envelope (IncidentPageResponse), Accept: application/vnd.incident.v2+json
+ * • v2 manual + cache: página de incidentes resolvidos, JSON copiado do cache por ID + seq
+ *
+ * Antes de medir, confere que os serializadores manuais produzem exatamente o JSON da reflexão.
+ * Mede µs e bytes alocados por página (melhor de N rodadas).
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=IncidentSerializationBenchmark
+ * Parâmetros: -Dbenchmark.page-size=50 -Dbenchmark.iterations=20000 -Dbenchmark.rounds=5
+ */
+@Tag("benchmark")
+class IncidentSerializationBenchmark {
+
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.page-size", 50);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+
+    // Como o stream da resposta: writeValue fecha o alvo, então close() não pode invalidá-lo
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Test
+    void pageSerialization() throws Exception {
+        ObjectMapper reflection = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper tuned = Jackson2ObjectMapperBuilder.json().modulesToInstall(new SimpleModule()
+                .addSerializer(new IncidentResponseJsonSerializer(0))
+                .addSerializer(new IncidentSummaryJsonSerializer())).build();
+        ObjectMapper cached = Jackson2ObjectMapperBuilder.json().modulesToInstall(new SimpleModule()
+                .addSerializer(new IncidentResponseJsonSerializer(20_000))).build();
+
+        // ====================================
+        // # Mesma saída da reflexão
+        // ====================================
+        IncidentResponse tricky = new IncidentResponse(7L, "ev\"7", null, "Link \"down\" \\ ção\n", null, "✓ ok",
+                null, null, "OLT-01", "10.0.0.1", null, null, null, null, null, "HIGH", "RESOLVED", "zabbix",
+                LocalDateTime.of(2026, 2, 5, 4, 45), LocalDateTime.of(2026, 2, 5, 4, 45, 17, 102_311_000), 3L);
+        assertEquals(reflection.writeValueAsString(tricky), tuned.writeValueAsString(tricky));
+        assertEquals(reflection.writeValueAsString(tricky), cached.writeValueAsString(tricky));
+        assertEquals(reflection.writeValueAsString(tricky), cached.writeValueAsString(tricky), "Saída do cache");
+        IncidentSummary summary = new IncidentSummary(7L, "ev7", "10105", "Link down", "OLT-01", "CRITICAL",
+                "OPEN", "zabbix", LocalDateTime.of(2026, 2, 5, 4, 45, 17));
+        assertEquals(reflection.writeValueAsString(summary), tuned.writeValueAsString(summary));
+
+        Page<IncidentResponse> open = page("OPEN");
+        Page<IncidentResponse> resolved = page("RESOLVED");
+        SuccessResponse<Page<IncidentResponse>> envelope = new SuccessResponse<>(200, "Incidentes listados com sucesso",
+                open, LocalDateTime.now());
+        assertArrayEquals(reflection.writeValueAsBytes(envelope), tuned.writeValueAsBytes(envelope));
+
+        // ====================================
+        // # Custo por página
+        // ====================================
+        Map<String, Serialization> paths = new LinkedHashMap<>();
+        paths.put("v1 reflexão (SuccessResponse)", () -> reflection.writeValue(DISCARD,
+                new SuccessResponse<>(200, "Incidentes listados com sucesso", open, LocalDateTime.now())));
+        paths.put("v1 manual (SuccessResponse)", () -> tuned.writeValue(DISCARD,
+                new SuccessResponse<>(200, "Incidentes listados com sucesso", open, LocalDateTime.now())));
+        paths.put("v2 manual (sem envelope)", () -> tuned.writeValue(DISCARD, IncidentPageResponse.of(open)));
+        paths.put("v2 manual + cache (resolvidos)", () -> cached.writeValue(DISCARD, IncidentPageResponse.of(resolved)));
+        int[] bytes = {reflection.writeValueAsBytes(envelope).length, tuned.writeValueAsBytes(envelope).length,
+                tuned.writeValueAsBytes(IncidentPageResponse.of(open)).length,
+                cached.writeValueAsBytes(IncidentPageResponse.of(resolved)).length};
+
+        System.out.printf("%n%d incidentes por página, %d páginas por rodada%n", PAGE_SIZE, ITERATIONS);
+        System.out.printf("%-32s %10s %12s %8s%n", "caminho", "µs/página", "KB alocados", "bytes");
+        double[] micros = new double[paths.size()];
+        // Primeira passada só aquece o JIT de todos os caminhos
+        for (int pass = 0; pass < 2; pass++) {
+            int i = 0;
+            for (Map.Entry<String, Serialization> path : paths.entrySet()) {
+                micros[i] = run(path.getKey(), path.getValue(), bytes[i], pass == 1);
+                i++;
+            }
+        }
+        double v1Reflection = micros[0];
+        double v1Tuned = micros[1];
+        double v2Tuned = micros[2];
+        double v2Cached = micros[3];
+
+        assertTrue(v1Tuned < v1Reflection, "Serializador manual deve ser mais rápido que a reflexão");
+        assertTrue(v2Cached < v2Tuned, "Cache dos resolvidos deve ser mais rápido que serializar campo a campo");
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static double run(String name, Serialization serialization, int bytes, boolean print) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        double best = Double.MAX_VALUE;
+        double allocated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                serialization.run();
+            }
+            double micros = (System.nanoTime() - start) / 1e3 / ITERATIONS;
+            if (micros < best) {
+                best = micros;
+                allocated = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / 1024.0 / ITERATIONS;
+            }
+        }
+        if (print) {
+            System.out.printf("%-32s %10.1f %12.1f %8d%n", name, best, allocated, bytes);
+        }
+        return best;
+    }
+
+    private static Page<IncidentResponse> page(String status) {
+        List<IncidentResponse> content = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(new IncidentResponse((long) i, "evt-" + i, "10105", "ENERGIA POP - SEROPEDICA " + i,
+                    "Falha de energia no POP; gerador acionado e baterias em descarga há 12 minutos",
+                    "Problem started at 04:45:17 on 2026.02.05", "Energia POP", "Bateria: 47%", "POP-SEROPEDICA",
+                    "10.20.30." + (i % 255), "Tensão de entrada", "power.input.voltage", "Tensão abaixo de 180V",
+                    "https://zabbix.example.com/tr_events.php?triggerid=" + i, "0 V", "HIGH", status, "zabbix",
+                    LocalDateTime.of(2026, 2, 5, 4, 45, 17, 102_311_000), LocalDateTime.of(2026, 2, 5, 5, 20, 41, 120_000),
+                    (long) (i % 4)));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 4_200);
+    }
+
+    @FunctionalInterface
+    private interface Serialization {
+        void run() throws Exception;
+    }
+}
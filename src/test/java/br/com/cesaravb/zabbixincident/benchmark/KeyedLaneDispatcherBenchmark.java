@@ -0,0 +1,117 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentRetryInterceptor;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentRetryPolicy;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.KeyedLaneDispatcher;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput do consumo ordenado por incidente, por número de lanes, e verificação da ordem
+ * por chave (nenhum evento de um incidente é processado antes de um anterior do mesmo incidente).
+ *
+ * O consumer é simulado: uma única thread entrega as mensagens ao KeyedLaneDispatcher na ordem
+ * da fila, como o container com ack manual; o canal é um proxy que só conta os acks.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=KeyedLaneDispatcherBenchmark
+ * Parâmetros: -Dbenchmark.messages=20000 -Dbenchmark.incidents=500 -Dbenchmark.work-micros=200
+ * (custo simulado do envio WebSocket)
+ */
+@Tag("benchmark")
+class KeyedLaneDispatcherBenchmark {
+
+    private static final int MESSAGES = Integer.getInteger("benchmark.messages", 20_000);
+    private static final int INCIDENTS = Integer.getInteger("benchmark.incidents", 500);
+    private static final long WORK_NANOS = TimeUnit.MICROSECONDS.toNanos(Long.getLong("benchmark.work-micros", 200));
+    private static final List<Integer> LANES = List.of(0, 1, 4, 16);
+
+    @Test
+    void throughputAndPerKeyOrderPerLaneCount() {
+        long[] keys = new long[MESSAGES];
+        Random random = new Random(42);
+        for (int i = 0; i < MESSAGES; i++) {
+            // IDs sequenciais, como os gerados pelo banco
+            keys[i] = 1_000 + random.nextInt(INCIDENTS);
+        }
+
+        System.out.printf("%n%-10s %14s %12s%n", "lanes", "msgs/s", "desbalanço");
+        double inline = 0;
+        double best = 0;
+        for (int lanes : LANES) {
+            double throughput = run(lanes, keys);
+            if (lanes == 0) {
+                inline = throughput;
+            }
+            best = Math.max(best, throughput);
+        }
+        assertTrue(best > inline * 4, "Com lanes, o throughput deve escalar além do consumo inline");
+    }
+
+    // ====================================
+    // # run - Entrega todas as mensagens e espera os acks
+    // ====================================
+    private double run(int laneCount, long[] keys) {
+        AtomicLong acks = new AtomicLong();
+        Channel channel = countingChannel(acks);
+        KeyedLaneDispatcher dispatcher = new KeyedLaneDispatcher(
+                new IncidentRetryInterceptor(new RabbitTemplate(), new IncidentRetryPolicy(5, 1000, 4, 300_000),
+                        new SimpleMeterRegistry()),
+                new SimpleMeterRegistry(), laneCount);
+
+        ConcurrentHashMap<Long, Long> lastSequence = new ConcurrentHashMap<>();
+        AtomicLong outOfOrder = new AtomicLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            long sequence = i;
+            MessageProperties properties = new MessageProperties();
+            properties.setDeliveryTag(i + 1);
+            dispatcher.dispatch(key, new Message(new byte[0], properties), channel, () -> {
+                LockSupport.parkNanos(WORK_NANOS);
+                Long previous = lastSequence.put(key, sequence);
+                if (previous != null && previous > sequence) {
+                    outOfOrder.incrementAndGet();
+                }
+            });
+        }
+        long expectedAcks = laneCount == 0 ? 0 : keys.length;
+        while (acks.get() < expectedAcks) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double imbalance = dispatcher.imbalance();
+        dispatcher.shutdown();
+
+        double throughput = keys.length / seconds;
+        System.out.printf("%-10s %14.0f %12s%n", laneCount == 0 ? "inline" : laneCount,
+                throughput, laneCount == 0 ? "-" : String.format("%.2f", imbalance));
+        assertEquals(0, outOfOrder.get(), "Eventos do mesmo incidente fora de ordem com " + laneCount + " lanes");
+        return throughput;
+    }
+
+    private static Channel countingChannel(AtomicLong acks) {
+        return (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(), new Class<?>[]{Channel.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("basicAck")) {
+                        acks.incrementAndGet();
+                    }
+                    return null;
+                });
+    }
+}
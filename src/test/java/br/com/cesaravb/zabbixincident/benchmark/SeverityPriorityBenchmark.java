@@ -0,0 +1,189 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.IncidentEventMessageConverter;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latência de entrega por severidade com backlog profundo na fila de incidentes,
+ * com e sem x-max-priority.
+ *
+ * Usa um substituto local do broker (BrokerQueueStandIn) com a semântica de fila com
+ * prioridade do RabbitMQ: maior prioridade primeiro, FIFO dentro da mesma prioridade,
+ * prioridade limitada a x-max-priority e janela de prefetch FIFO no consumer. As mensagens
+ * são produzidas pelo IncidentEventMessageConverter real com RabbitMQConfig.priority().
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=SeverityPriorityBenchmark
+ * Parâmetros: -Dbenchmark.backlog=20000 -Dbenchmark.prefetch=250 -Dbenchmark.work-micros=50
+ */
+@Tag("benchmark")
+class SeverityPriorityBenchmark {
+
+    private static final int BACKLOG = Integer.getInteger("benchmark.backlog", 20_000);
+    private static final int PREFETCH = Integer.getInteger("benchmark.prefetch", 250);
+    private static final long WORK_NANOS = TimeUnit.MICROSECONDS.toNanos(Long.getLong("benchmark.work-micros", 50));
+
+    // Distribuição típica de uma tempestade: poucos críticos no meio de muito INFO/LOW
+    private static final double[] SEVERITY_WEIGHTS = {0.01, 0.04, 0.15, 0.30, 0.50};
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    @Test
+    void deliveryLatencyPerSeverityUnderBacklog() throws InterruptedException {
+        IncidentEventMessageConverter converter = new IncidentEventMessageConverter(
+                List.of(new BinaryIncidentEventCodec()), BinaryIncidentEventCodec.CONTENT_TYPE, 1024,
+                new Jackson2JsonMessageConverter(), incident -> MAPPER.toCreatedEvent(incident, 0));
+
+        System.out.printf("%n%-16s %-10s %10s %10s %10s%n", "fila", "severidade", "p50", "p99", "máx");
+        Map<SeverityLevel, double[]> fifo = run("sem prioridade", 0, converter);
+        Map<SeverityLevel, double[]> priority = run("x-max-priority", RabbitMQConfig.DEFAULT_MAX_PRIORITY, converter);
+
+        double criticalP99 = priority.get(SeverityLevel.CRITICAL)[1];
+        assertTrue(criticalP99 < priority.get(SeverityLevel.INFO)[0],
+                "Com prioridade, o p99 de CRITICAL deve ficar abaixo do p50 de INFO");
+        assertTrue(criticalP99 < fifo.get(SeverityLevel.CRITICAL)[0],
+                "Com prioridade, o p99 de CRITICAL deve ficar abaixo do p50 de CRITICAL sem prioridade");
+    }
+
+    // ====================================
+    // # run - Enche a fila, drena com um consumer e mede a latência por severidade
+    // ====================================
+    private Map<SeverityLevel, double[]> run(String name, int maxPriority, IncidentEventMessageConverter converter)
+            throws InterruptedException {
+        BrokerQueueStandIn broker = new BrokerQueueStandIn(maxPriority);
+        Random random = new Random(42);
+
+        // Backlog inicial + metade do volume chegando enquanto a fila é drenada
+        for (int i = 0; i < BACKLOG; i++) {
+            broker.publish(message(converter, i, pickSeverity(random)));
+        }
+        Thread publisher = Thread.ofPlatform().start(() -> {
+            for (int i = BACKLOG; i < BACKLOG + BACKLOG / 2; i++) {
+                broker.publish(message(converter, i, pickSeverity(random)));
+                LockSupport.parkNanos(WORK_NANOS * 2);
+            }
+        });
+
+        Map<SeverityLevel, List<Long>> latencies = new EnumMap<>(SeverityLevel.class);
+        ArrayDeque<Delivery> prefetchWindow = new ArrayDeque<>(PREFETCH);
+        int expected = BACKLOG + BACKLOG / 2;
+        for (int consumed = 0; consumed < expected; consumed++) {
+            while (prefetchWindow.size() < PREFETCH) {
+                Delivery next = prefetchWindow.isEmpty() ? broker.take() : broker.poll();
+                if (next == null) {
+                    break;
+                }
+                prefetchWindow.add(next);
+            }
+            Delivery delivery = prefetchWindow.poll();
+            IncidentEvent event = (IncidentEvent) converter.fromMessage(delivery.message());
+            LockSupport.parkNanos(WORK_NANOS);
+            latencies.computeIfAbsent(event.severity(), s -> new ArrayList<>())
+                    .add(System.nanoTime() - delivery.publishedAt());
+        }
+        publisher.join();
+
+        Map<SeverityLevel, double[]> result = new EnumMap<>(SeverityLevel.class);
+        for (SeverityLevel severity : SeverityLevel.values()) {
+            long[] sorted = latencies.getOrDefault(severity, List.of()).stream().mapToLong(Long::longValue).toArray();
+            if (sorted.length == 0) {
+                continue;
+            }
+            Arrays.sort(sorted);
+            double[] percentiles = {
+                    sorted[(int) (sorted.length * 0.50)] / 1e6,
+                    sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1e6,
+                    sorted[sorted.length - 1] / 1e6
+            };
+            result.put(severity, percentiles);
+            System.out.printf("%-16s %-10s %8.1fms %8.1fms %8.1fms%n", name, severity,
+                    percentiles[0], percentiles[1], percentiles[2]);
+        }
+        return result;
+    }
+
+    private static Message message(IncidentEventMessageConverter converter, int i, SeverityLevel severity) {
+        Incident incident = Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .host("POP-" + (i % 50))
+                .severity(severity)
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        Message message = converter.toMessage(MAPPER.toCreatedEvent(incident, i), new MessageProperties());
+        return RabbitMQConfig.priority(severity).postProcessMessage(message);
+    }
+
+    private static SeverityLevel pickSeverity(Random random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < SEVERITY_WEIGHTS.length; i++) {
+            r -= SEVERITY_WEIGHTS[i];
+            if (r < 0) {
+                return SeverityLevel.values()[i];
+            }
+        }
+        return SeverityLevel.INFO;
+    }
+
+    // ====================================
+    // # BrokerQueueStandIn - Fila com a semântica de prioridade do RabbitMQ
+    // ====================================
+    private static final class BrokerQueueStandIn {
+        private final int maxPriority;
+        private final AtomicLong sequence = new AtomicLong();
+        private final PriorityBlockingQueue<Delivery> queue = new PriorityBlockingQueue<>(1024,
+                Comparator.comparingInt(Delivery::priority).reversed().thenComparingLong(Delivery::sequence));
+
+        private BrokerQueueStandIn(int maxPriority) {
+            this.maxPriority = maxPriority;
+        }
+
+        private void publish(Message message) {
+            Integer requested = message.getMessageProperties().getPriority();
+            // Sem x-max-priority a fila ignora a prioridade; com ela, o valor é limitado ao máximo
+            int priority = maxPriority == 0 || requested == null ? 0 : Math.min(requested, maxPriority);
+            queue.add(new Delivery(message, priority, sequence.getAndIncrement(), System.nanoTime()));
+        }
+
+        private Delivery take() throws InterruptedException {
+            return queue.take();
+        }
+
+        private Delivery poll() {
+            return queue.poll();
+        }
+    }
+
+    private record Delivery(Message message, int priority, long sequence, long publishedAt) {}
+}
@@ -0,0 +1,144 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.infrastructure.sse.SseConnection;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Conexões Server-Sent Events ociosas e lentas.
+ *
+ * Abre N conexões (SseConnection com emitter em memória), mede as threads de plataforma
+ * com elas ociosas, o custo de publish() por conexão (quem publica só enfileira) e se uma
+ * conexão que leva send-ms por frame atrasa as demais. Por fim, a conexão travada deve ser
+ * encerrada ao passar de max-pending.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=SseBroadcastBenchmark
+ * Parâmetros: -Dbenchmark.connections=5000 -Dbenchmark.events=200 -Dbenchmark.send-ms=20
+ */
+@Tag("benchmark")
+class SseBroadcastBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 5_000);
+    private static final int EVENTS = Integer.getInteger("benchmark.events", 200);
+    private static final int SEND_MS = Integer.getInteger("benchmark.send-ms", 20);
+    private static final int MAX_PENDING = 1_000;
+
+    @Test
+    void idleAndSlowConnections() throws Exception {
+        ExecutorService writers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().factory());
+        try {
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+            List<Receiver> receivers = new ArrayList<>();
+            List<SseConnection> connections = new ArrayList<>();
+            AtomicLong lagging = new AtomicLong();
+            for (int i = 0; i < CONNECTIONS; i++) {
+                Receiver receiver = new Receiver(0);
+                receivers.add(receiver);
+                connections.add(open(receiver, writers, lagging));
+            }
+            Receiver slow = new Receiver(SEND_MS);
+            SseConnection slowConnection = open(slow, writers, lagging);
+            TimeUnit.MILLISECONDS.sleep(200);
+            int threadsIdle = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            // ====================================
+            // # publish: um frame formatado, enfileirado em todas as conexões
+            // ====================================
+            long start = System.nanoTime();
+            for (int e = 1; e <= EVENTS; e++) {
+                String frame = "id: " + e + "\nevent: status-changed\ndata: {\"id\":" + e + "}\n\n";
+                slowConnection.offer(e, frame);
+                for (SseConnection connection : connections) {
+                    connection.offer(e, frame);
+                }
+            }
+            double publishMicros = (System.nanoTime() - start) / 1e3 / ((long) EVENTS * (CONNECTIONS + 1));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (receivers.stream().anyMatch(r -> r.frames.get() < EVENTS + 1) && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+            double fastMillis = (System.nanoTime() - start) / 1e6;
+            long slowReceived = slow.frames.get() - 1;
+
+            System.out.printf("%n%d conexões rápidas + 1 lenta (%d ms/frame), %d eventos%n", CONNECTIONS, SEND_MS, EVENTS);
+            System.out.printf("threads de plataforma: %d antes, %d com as conexões ociosas%n", threadsBefore, threadsIdle);
+            System.out.printf("publish: %.2f µs por conexão; rápidas receberam tudo em %.0f ms; lenta em %d/%d%n",
+                    publishMicros, fastMillis, slowReceived, EVENTS);
+
+            for (Receiver receiver : receivers) {
+                assertEquals(EVENTS + 1, receiver.frames.get(), "Conexões rápidas não esperam a lenta");
+            }
+            assertTrue(threadsIdle - threadsBefore < 16, "Conexões ociosas não ocupam threads de plataforma");
+            assertTrue(slowReceived < EVENTS, "A lenta ainda está escrevendo quando as rápidas terminaram");
+
+            // ====================================
+            // # Conexão travada: encerrada ao passar de max-pending
+            // ====================================
+            Receiver stuck = new Receiver(60_000);
+            SseConnection stuckConnection = open(stuck, writers, lagging);
+            for (int e = 1; e <= MAX_PENDING + 2; e++) {
+                stuckConnection.offer(e, "id: " + e + "\n\n");
+            }
+            System.out.printf("conexão travada: %d encerrada(s) por atraso, completa: %s%n", lagging.get(), stuck.completed);
+            assertEquals(1, lagging.get());
+            assertTrue(stuck.completed);
+            connections.forEach(SseConnection::close);
+            slowConnection.close();
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    private static SseConnection open(Receiver receiver, ExecutorService writers, AtomicLong lagging) {
+        SseConnection connection = new SseConnection(receiver, writers, new SseConnection.Filter(Set.of(), null),
+                MAX_PENDING, lagging::incrementAndGet);
+        connection.start(List.of("retry: 3000\n\n"), 0);
+        return connection;
+    }
+
+    /**
+     * Emitter em memória: conta os frames e simula um cliente que leva sendMillis por frame.
+     */
+    private static final class Receiver extends ResponseBodyEmitter {
+        private final int sendMillis;
+        private final AtomicLong frames = new AtomicLong();
+        private volatile boolean completed;
+
+        private Receiver(int sendMillis) {
+            this.sendMillis = sendMillis;
+        }
+
+        @Override
+        public void send(Object object) throws IOException {
+            if (sendMillis > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(sendMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            frames.incrementAndGet();
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentBroadcastBatcher;
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Frames e bytes por segundo enviados a cada navegador durante uma tempestade, com um frame por
+ * incidente (/topic/incidents) e com o IncidentBroadcastBatcher (/topic/incidents/batch) em
+ * janelas de 50, 100 e 200 ms.
+ *
+ * O canal de saída é substituído por um contador; a serialização JSON é a real
+ * (MappingJackson2MessageConverter), então os bytes medidos são os do frame.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=WebSocketBatchBenchmark
+ * Parâmetros: -Dbenchmark.rate=5000 (incidentes/s) -Dbenchmark.seconds=2 -Dbenchmark.critical-ratio=0.01
+ */
+@Tag("benchmark")
+class WebSocketBatchBenchmark {
+
+    private static final int RATE = Integer.getInteger("benchmark.rate", 5_000);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 2);
+    private static final double CRITICAL_RATIO = Double.parseDouble(System.getProperty("benchmark.critical-ratio", "0.01"));
+    private static final List<Integer> WINDOWS_MS = List.of(50, 100, 200);
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    @Test
+    void framesPerSecondPerWindow() {
+        int total = RATE * SECONDS;
+        IncidentResponse[] responses = new IncidentResponse[total];
+        SeverityLevel[] severities = new SeverityLevel[total];
+        Random random = new Random(42);
+        for (int i = 0; i < total; i++) {
+            severities[i] = random.nextDouble() < CRITICAL_RATIO ? SeverityLevel.CRITICAL : SeverityLevel.HIGH;
+            responses[i] = MAPPER.toResponse(incident(i, severities[i]));
+        }
+
+        System.out.printf("%n%-22s %10s %12s %12s%n", "modo", "frames/s", "KB/s", "itens/frame");
+        AtomicLong frames = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        SimpMessagingTemplate template = countingTemplate(frames, bytes);
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            template.convertAndSend("/topic/incidents", responses[i]);
+            pace(start, i);
+        }
+        double individual = report("um frame por incidente", frames.get(), bytes.get(), total, start);
+        assertEquals(total, frames.get());
+
+        for (int windowMs : WINDOWS_MS) {
+            frames.set(0);
+            bytes.set(0);
+            IncidentBroadcastBatcher batcher = new IncidentBroadcastBatcher(countingTemplate(frames, bytes),
+                    new SimpleMeterRegistry(), true, 500);
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+            timer.scheduleAtFixedRate(batcher::flush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+            start = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                batcher.add(responses[i], severities[i], i + 1);
+                pace(start, i);
+            }
+            timer.shutdown();
+            batcher.flush();
+            double batched = report("lote " + windowMs + " ms", frames.get(), bytes.get(), total, start);
+            assertTrue(batched < individual / 5, "Frames em lote devem reduzir a taxa de frames em pelo menos 5x");
+        }
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static double report(String mode, long frames, long bytes, int items, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-22s %10.0f %12.1f %12.1f%n", mode, frames / seconds, bytes / 1024.0 / seconds,
+                (double) items / frames);
+        return frames / seconds;
+    }
+
+    private static void pace(long start, int i) {
+        long due = start + (long) (i * (1e9 / RATE));
+        long wait = due - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private static SimpMessagingTemplate countingTemplate(AtomicLong frames, AtomicLong bytes) {
+        MessageChannel channel = (message, timeout) -> {
+            frames.incrementAndGet();
+            bytes.addAndGet(((byte[]) message.getPayload()).length);
+            return true;
+        };
+        SimpMessagingTemplate template = new SimpMessagingTemplate(channel);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        template.setMessageConverter(converter);
+        return template;
+    }
+
+    private static Incident incident(int i, SeverityLevel severity) {
+        return Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .host("POP-" + (i % 50))
+                .severity(severity)
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
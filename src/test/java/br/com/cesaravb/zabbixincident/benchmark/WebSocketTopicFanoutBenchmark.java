@@ -0,0 +1,187 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.application.service.IncidentTopicFanout;
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Vazão do broker simples com 5.000 sessões inscritas nos destinos hierárquicos
+ * (/topic/incidents, severity/{level}, host/{hostids}, source/{source}): mensagens entregues
+ * às sessões por segundo (com todas em /topic/incidents seriam 5.000 entregas por incidente)
+ * e serializações JSON por incidente, serializando por destino
+ * (convertAndSend em cada um) e uma única vez (IncidentTopicFanout).
+ *
+ * O canal de saída dos clientes é substituído por um contador; o registro de inscrições
+ * (DefaultSubscriptionRegistry, cache e sem seletores como no WebSocketConfig) é o real.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=WebSocketTopicFanoutBenchmark
+ * Parâmetros: -Dbenchmark.subscribers=5000 -Dbenchmark.incidents=20000 -Dbenchmark.hosts=1000
+ */
+@Tag("benchmark")
+class WebSocketTopicFanoutBenchmark {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("benchmark.subscribers", 5_000);
+    private static final int INCIDENTS = Integer.getInteger("benchmark.incidents", 20_000);
+    private static final int HOSTS = Integer.getInteger("benchmark.hosts", 1_000);
+    private static final List<String> SOURCES = List.of("zabbix", "grafana", "prometheus");
+    private static final SeverityLevel[] SEVERITIES = SeverityLevel.values();
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    @Test
+    void deliveriesPerSecondAt5kSubscribers() {
+        Random random = new Random(42);
+        IncidentResponse[] responses = new IncidentResponse[INCIDENTS];
+        for (int i = 0; i < INCIDENTS; i++) {
+            responses[i] = MAPPER.toResponse(incident(i, random));
+        }
+
+        AtomicLong deliveries = new AtomicLong();
+        AtomicLong conversions = new AtomicLong();
+        SimpleBrokerMessageHandler broker = broker(deliveries, random);
+        SimpMessagingTemplate template = template(broker, conversions);
+        IncidentTopicFanout fanout = new IncidentTopicFanout(template, true);
+
+        System.out.printf("%n%d sessões, %d incidentes%n", SUBSCRIBERS, INCIDENTS);
+        System.out.printf("%-22s %14s %14s %14s %16s%n", "modo", "incidentes/s", "entregas/s", "entregas/inc",
+                "serializações/inc");
+
+        // ====================================
+        // # Aquecimento + serialização por destino
+        // ====================================
+        for (int round = 0; round < 2; round++) {
+            deliveries.set(0);
+            conversions.set(0);
+            long start = System.nanoTime();
+            for (IncidentResponse response : responses) {
+                for (String destination : IncidentTopicFanout.destinations(response)) {
+                    template.convertAndSend(destination, response);
+                }
+            }
+            if (round == 1) {
+                report("serializa por destino", start, deliveries.get(), conversions.get());
+            }
+        }
+        long perDestinationDeliveries = deliveries.get();
+        assertTrue(conversions.get() >= 3L * INCIDENTS);
+
+        // ====================================
+        // # Serialização única (IncidentTopicFanout)
+        // ====================================
+        deliveries.set(0);
+        conversions.set(0);
+        long start = System.nanoTime();
+        for (IncidentResponse response : responses) {
+            fanout.send(response, response.id());
+        }
+        report("serializa uma vez", start, deliveries.get(), conversions.get());
+
+        assertEquals(INCIDENTS, conversions.get());
+        assertEquals(perDestinationDeliveries, deliveries.get());
+        broker.stop();
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static void report(String mode, long start, long deliveries, long conversions) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-22s %14.0f %14.0f %14.0f %16.1f%n", mode, INCIDENTS / seconds, deliveries / seconds,
+                (double) deliveries / INCIDENTS, (double) conversions / INCIDENTS);
+    }
+
+    private static SimpleBrokerMessageHandler broker(AtomicLong deliveries, Random random) {
+        MessageChannel clientOutbound = (message, timeout) -> {
+            deliveries.incrementAndGet();
+            return true;
+        };
+        SimpleBrokerMessageHandler broker = new SimpleBrokerMessageHandler(new ExecutorSubscribableChannel(),
+                clientOutbound, new ExecutorSubscribableChannel(), List.of("/topic"));
+        broker.setCacheLimit(8192);
+        broker.setSelectorHeaderName(null);
+        broker.start();
+
+        // 20% geral, 30% por severidade, 40% por host, 10% por origem
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            double kind = random.nextDouble();
+            String destination;
+            if (kind < 0.2) {
+                destination = IncidentTopicFanout.TOPIC;
+            } else if (kind < 0.5) {
+                destination = IncidentTopicFanout.SEVERITY_TOPIC + SEVERITIES[random.nextInt(SEVERITIES.length)].name();
+            } else if (kind < 0.9) {
+                destination = IncidentTopicFanout.HOST_TOPIC + (10_000 + random.nextInt(HOSTS));
+            } else {
+                destination = IncidentTopicFanout.SOURCE_TOPIC + SOURCES.get(random.nextInt(SOURCES.size()));
+            }
+            SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+            connect.setSessionId("session-" + i);
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            accessor.setSessionId("session-" + i);
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination(destination);
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+        return broker;
+    }
+
+    private static SimpMessagingTemplate template(SimpleBrokerMessageHandler broker, AtomicLong conversions) {
+        MessageChannel brokerChannel = (message, timeout) -> {
+            broker.handleMessage(message);
+            return true;
+        };
+        SimpMessagingTemplate template = new SimpMessagingTemplate(brokerChannel);
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter() {
+            @Override
+            protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+                conversions.incrementAndGet();
+                return super.convertToInternal(payload, headers, conversionHint);
+            }
+        };
+        converter.setObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+        template.setMessageConverter(converter);
+        return template;
+    }
+
+    private static Incident incident(int i, Random random) {
+        return Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .hostids(String.valueOf(10_000 + random.nextInt(HOSTS)))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .host("POP-" + (i % 50))
+                .severity(SEVERITIES[random.nextInt(SEVERITIES.length)])
+                .status(IncidentStatus.OPEN)
+                .source(SOURCES.get(random.nextInt(SOURCES.size())))
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(0L)
+                .build();
+    }
+}
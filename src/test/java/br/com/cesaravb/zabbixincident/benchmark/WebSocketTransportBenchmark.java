@@ -0,0 +1,285 @@
+package br.com.cesaravb.zabbixincident.benchmark;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentDelta;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.ConflatingWebSocketSession;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.web.socket.sockjs.frame.Jackson2SockJsMessageCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes e CPU por broadcast em cada transporte do WebSocket, para uma onda de incidentes
+ * criados seguida dos deltas de reconhecimento (OPEN → IN_PROGRESS):
+ *
+ * • SockJS (websocket): frame STOMP como string JSON dentro de a["..."]
+ * • SockJS (xhr-streaming): o mesmo frame + "\n" + cabeçalho do chunk HTTP
+ * • Nativo (JSON) e Nativo (binário, BinaryIncidentEventCodec)
+ * • Os nativos com permessage-deflate (Deflater raw com context takeover por sessão e
+ *   SYNC_FLUSH, como o PerMessageDeflate do Tomcat)
+ *
+ * A CPU por sessão é o que cada sessão paga por frame (StompEncoder, escape do SockJS, deflate);
+ * a serialização do corpo (JSON ou binário) é feita uma vez por broadcast e aparece à parte.
+ *
+ * Execução: mvn test -Pbenchmark -Dtest=WebSocketTransportBenchmark
+ * Parâmetros: -Dbenchmark.incidents=5000 -Dbenchmark.description-bytes=600 -Dbenchmark.rounds=5
+ */
+@Tag("benchmark")
+class WebSocketTransportBenchmark {
+
+    private static final int INCIDENTS = Integer.getInteger("benchmark.incidents", 5_000);
+    private static final int DESCRIPTION_BYTES = Integer.getInteger("benchmark.description-bytes", 600);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+    private static final ObjectMapper JSON = Jackson2ObjectMapperBuilder.json().build();
+    private static final BinaryIncidentEventCodec BINARY = new BinaryIncidentEventCodec();
+    private static final StompEncoder STOMP = new StompEncoder();
+    private static final Jackson2SockJsMessageCodec SOCKJS = new Jackson2SockJsMessageCodec();
+    private static final String[] WORDS = ("link down timeout latency packet loss interface uplink olt pon "
+            + "router switch bgp ospf neighbor flapping power battery generator rectifier temperature fan "
+            + "cpu memory disk icmp ping snmp agent unreachable attempts returned last three minutes "
+            + "threshold exceeded recovered degraded customer circuit fiber optical signal dbm").split(" ");
+
+    @Test
+    void bytesAndCpuPerBroadcast() throws Exception {
+        List<Object> payloads = new ArrayList<>(INCIDENTS * 2);
+        List<IncidentEvent> events = new ArrayList<>(INCIDENTS * 2);
+        for (int i = 0; i < INCIDENTS; i++) {
+            Incident incident = incident(i);
+            payloads.add(MAPPER.toResponse(incident));
+            events.add(MAPPER.toCreatedEvent(incident, i));
+        }
+        for (int i = 0; i < INCIDENTS; i++) {
+            Incident incident = incident(i);
+            incident.setStatus(IncidentStatus.IN_PROGRESS);
+            incident.setVersion(1L);
+            payloads.add(new IncidentDelta(incident.getId(), 1L, IncidentStatus.IN_PROGRESS.name(), incident.getUpdatedAt()));
+            events.add(MAPPER.toStatusChangedEvent(incident, INCIDENTS + i));
+        }
+        int frames = payloads.size();
+
+        // ====================================
+        // # Serialização do corpo (uma vez por broadcast)
+        // ====================================
+        byte[][] json = new byte[frames][];
+        byte[][] binary = new byte[frames][];
+        double jsonMicros = Double.MAX_VALUE;
+        double binaryMicros = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                json[i] = JSON.writeValueAsBytes(payloads.get(i));
+            }
+            jsonMicros = Math.min(jsonMicros, (System.nanoTime() - start) / 1e3 / frames);
+            start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                binary[i] = BINARY.encode(events.get(i));
+            }
+            binaryMicros = Math.min(binaryMicros, (System.nanoTime() - start) / 1e3 / frames);
+        }
+
+        MessageHeaders[] jsonHeaders = new MessageHeaders[frames];
+        MessageHeaders[] binaryHeaders = new MessageHeaders[frames];
+        for (int i = 0; i < frames; i++) {
+            jsonHeaders[i] = headers(i, "application/json", i < INCIDENTS ? "/topic/incidents" : "/topic/incidents/updated");
+            binaryHeaders[i] = headers(i, BinaryFrameInterceptor.BINARY_CONTENT_TYPE.toString(),
+                    i < INCIDENTS ? "/topic/incidents" : "/topic/incidents/updated");
+        }
+
+        // ====================================
+        // # Custo por sessão em cada transporte
+        // ====================================
+        Map<String, ToIntFunction<Integer>> transports = new LinkedHashMap<>();
+        transports.put("SockJS (websocket)", i -> sockJs(STOMP.encode(jsonHeaders[i], json[i])).length);
+        transports.put("SockJS (xhr-streaming)", i -> {
+            int length = sockJs(STOMP.encode(jsonHeaders[i], json[i])).length + 1;
+            return length + Integer.toHexString(length).length() + 4;
+        });
+        transports.put("Nativo (JSON)", i -> STOMP.encode(jsonHeaders[i], json[i]).length);
+        transports.put("Nativo (binário)", i -> STOMP.encode(binaryHeaders[i], binary[i]).length);
+
+        System.out.printf("%n%d broadcasts (%d criados + %d deltas), descrição de %d bytes%n",
+                frames, INCIDENTS, INCIDENTS, DESCRIPTION_BYTES);
+        System.out.printf("serialização por broadcast: JSON %.2f µs, binário %.2f µs%n", jsonMicros, binaryMicros);
+        System.out.printf("%-30s %12s %12s %14s%n", "transporte", "B criado", "B delta", "µs/frame/sessão");
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        // Primeira passada só aquece o JIT de todos os caminhos
+        for (int pass = 0; pass < 2; pass++) {
+            for (Map.Entry<String, ToIntFunction<Integer>> transport : transports.entrySet()) {
+                results.put(transport.getKey(), run(transport.getValue(), frames));
+            }
+            results.put("Nativo (JSON) + deflate", runDeflate(i -> STOMP.encode(jsonHeaders[i], json[i]), frames));
+            results.put("Nativo (binário) + deflate", runDeflate(i -> STOMP.encode(binaryHeaders[i], binary[i]), frames));
+        }
+        results.forEach((name, result) -> System.out.printf("%-30s %12.1f %12.1f %14.2f%n", name,
+                (double) result[0] / INCIDENTS, (double) result[1] / INCIDENTS, result[2] / 1e3 / frames));
+
+        long sockJs = total(results.get("SockJS (websocket)"));
+        long nativeJson = total(results.get("Nativo (JSON)"));
+        long nativeBinary = total(results.get("Nativo (binário)"));
+        long deflated = total(results.get("Nativo (JSON) + deflate"));
+        System.out.printf("bytes x SockJS: nativo %.2f, deflate %.2f, binário %.2f, binário + deflate %.2f%n",
+                (double) nativeJson / sockJs, (double) deflated / sockJs, (double) nativeBinary / sockJs,
+                (double) total(results.get("Nativo (binário) + deflate")) / sockJs);
+
+        assertTrue(nativeJson < sockJs, "O endpoint nativo não deve pagar o envelope do SockJS");
+        assertTrue(deflated < nativeJson, "permessage-deflate deve reduzir os bytes");
+        assertTrue(nativeBinary < nativeJson, "O payload binário deve ser menor que o JSON");
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    /**
+     * @return {bytes dos criados, bytes dos deltas, melhor tempo total em ns}
+     */
+    private static long[] run(ToIntFunction<Integer> transport, int frames) {
+        long[] result = new long[3];
+        result[2] = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long created = 0;
+            long deltas = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                int bytes = transport.applyAsInt(i);
+                if (i < INCIDENTS) {
+                    created += bytes;
+                } else {
+                    deltas += bytes;
+                }
+            }
+            result[2] = Math.min(result[2], System.nanoTime() - start);
+            result[0] = created;
+            result[1] = deltas;
+        }
+        return result;
+    }
+
+    private static long[] runDeflate(IntFunction<byte[]> frame, int frames) {
+        long[] result = new long[3];
+        result[2] = Long.MAX_VALUE;
+        byte[] buffer = new byte[8192];
+        for (int round = 0; round < ROUNDS; round++) {
+            // Uma sessão: o dicionário (context takeover) acompanha todo o stream
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            long created = 0;
+            long deltas = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                int bytes = deflate(deflater, frame.apply(i), buffer);
+                if (i < INCIDENTS) {
+                    created += bytes;
+                } else {
+                    deltas += bytes;
+                }
+            }
+            result[2] = Math.min(result[2], System.nanoTime() - start);
+            result[0] = created;
+            result[1] = deltas;
+            deflater.end();
+        }
+        return result;
+    }
+
+    /**
+     * Tamanho da mensagem comprimida no fio (sem o 00 00 FF FF final, como manda a RFC 7692).
+     */
+    private static int deflate(Deflater deflater, byte[] input, byte[] buffer) {
+        deflater.setInput(input);
+        int total = 0;
+        int written;
+        do {
+            written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            total += written;
+        } while (written == buffer.length);
+        return total - 4;
+    }
+
+    private static byte[] sockJs(byte[] stompFrame) {
+        return SOCKJS.encode(new String(stompFrame, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Texto diferente por incidente (o deflate não pode reaproveitar a descrição inteira do anterior).
+     */
+    private static String text(int i) {
+        Random random = new Random(i);
+        StringBuilder text = new StringBuilder(DESCRIPTION_BYTES + 16);
+        while (text.length() < DESCRIPTION_BYTES) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            if (random.nextInt(6) == 0) {
+                text.append(random.nextInt(100_000)).append(' ');
+            }
+        }
+        return text.toString();
+    }
+
+    private static long total(long[] result) {
+        return result[0] + result[1];
+    }
+
+    private static MessageHeaders headers(int seq, String contentType, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setMessageId("a1b2c3d4-" + seq);
+        accessor.setNativeHeader("content-type", contentType);
+        accessor.setNativeHeader("x-seq", String.valueOf(seq));
+        accessor.setNativeHeader(ConflatingWebSocketSession.INCIDENT_HEADER, String.valueOf(seq % INCIDENTS));
+        return accessor.getMessageHeaders();
+    }
+
+    private static Incident incident(int i) {
+        String text = text(i);
+        return Incident.builder()
+                .id((long) i)
+                .zabbixEventId(String.valueOf(28_000_000 + i))
+                .hostids(String.valueOf(10_000 + i))
+                .title("Problem: ENERGIA POP - link " + (i % 50))
+                .description(text)
+                .alertMessage(text)
+                .eventName("ICMP Ping Down")
+                .eventOpdata("Down (0)")
+                .host("ENERGIA POP - SEROPEDICA " + (i % 50))
+                .hostIp("10.90.92." + (i % 250))
+                .item("ICMP ping")
+                .itemKey("icmpping")
+                .trigger("ICMP Ping Down")
+                .urlZabbix("https://zabbix.example.com/tr_events.php?triggerid=" + (20_000 + i) + "&eventid=" + (28_000_000 + i))
+                .valor("Down (0)")
+                .severity(SeverityLevel.HIGH)
+                .status(IncidentStatus.OPEN)
+                .source("zabbix")
+                .createdAt(LocalDateTime.of(2026, 2, 5, 10, 30).plusSeconds(i))
+                .updatedAt(LocalDateTime.of(2026, 2, 5, 10, 30).plusSeconds(i))
+                .version(0L)
+                .build();
+    }
+}
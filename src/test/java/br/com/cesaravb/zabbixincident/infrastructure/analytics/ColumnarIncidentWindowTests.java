@@ -0,0 +1,57 @@
+package br.com.cesaravb.zabbixincident.infrastructure.analytics;
+
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reinserção de um ID já presente (contado uma vez) e dicionários limitados ao conteúdo da janela.
+ */
+class ColumnarIncidentWindowTests {
+
+    private static final long NOW = 1_738_730_717_000L;
+
+    @Test
+    void reappendedIdIsCountedOnce() {
+        ColumnarIncidentWindow window = new ColumnarIncidentWindow(16);
+        window.append(1, NOW, SeverityLevel.HIGH, IncidentStatus.OPEN, "OLT-01", "zabbix");
+        window.append(2, NOW, SeverityLevel.HIGH, IncidentStatus.OPEN, "OLT-02", "zabbix");
+        window.append(1, NOW, SeverityLevel.CRITICAL, IncidentStatus.OPEN, "OLT-01", "zabbix");
+
+        List<ColumnarIncidentWindow.GroupCount> bySeverity = window.groupBy(NOW, NOW + 1,
+                AnalyticsDimension.SEVERITY, null, 10);
+
+        assertEquals(2, window.size());
+        assertEquals(List.of(new ColumnarIncidentWindow.GroupCount("CRITICAL", 1),
+                new ColumnarIncidentWindow.GroupCount("HIGH", 1)), sorted(bySeverity));
+        assertTrue(window.remove(1));
+        assertEquals(1, window.groupBy(NOW, NOW + 1, AnalyticsDimension.SEVERITY, null, 10).get(0).count());
+    }
+
+    @Test
+    void dictionariesAreCompactedWhenTheRingWraps() {
+        ColumnarIncidentWindow window = new ColumnarIncidentWindow(16);
+        for (long id = 0; id < 16 * 50; id++) {
+            window.append(id, NOW, SeverityLevel.HIGH, IncidentStatus.OPEN, "host-" + id, "source-" + (id % 3));
+        }
+
+        // No máximo os valores da volta atual + os da volta anterior ainda não compactada
+        assertTrue(window.dictionarySize() <= 2 * 16 + 3, "dicionário: " + window.dictionarySize());
+        List<ColumnarIncidentWindow.GroupCount> hosts = window.groupBy(NOW, NOW + 1, AnalyticsDimension.HOST, null, 100);
+        assertEquals(16, hosts.size());
+        assertTrue(hosts.stream().allMatch(group -> group.key().startsWith("host-7") && group.count() == 1), hosts.toString());
+        assertEquals(1, window.groupBy(NOW, NOW + 1, AnalyticsDimension.HOST,
+                new ColumnarIncidentWindow.Filter(null, null, "host-799", null), 10).get(0).count());
+        assertTrue(window.groupBy(NOW, NOW + 1, AnalyticsDimension.HOST,
+                new ColumnarIncidentWindow.Filter(null, null, "host-0", null), 10).isEmpty());
+    }
+
+    private static List<ColumnarIncidentWindow.GroupCount> sorted(List<ColumnarIncidentWindow.GroupCount> groups) {
+        return groups.stream().sorted((a, b) -> a.key().compareTo(b.key())).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.cesaravb.zabbixincident.infrastructure.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Remoção com backward-shift: depois de remover qualquer chave de um cluster de colisões,
+ * as demais continuam encontráveis (sem tombstones).
+ */
+class LongIntHashIndexTests {
+
+    @Test
+    void removeFromClusterKeepsOtherKeysReachable() {
+        // 8 slots (4 entradas esperadas): as 4 chaves formam clusters na tabela pequena
+        for (long removed = 1; removed <= 4; removed++) {
+            LongIntHashIndex index = new LongIntHashIndex(4);
+            for (long key = 1; key <= 4; key++) {
+                index.put(key, (int) key * 10);
+            }
+
+            index.remove(removed, (int) removed * 10);
+
+            assertEquals(3, index.size());
+            assertEquals(LongIntHashIndex.MISSING, index.get(removed));
+            for (long key = 1; key <= 4; key++) {
+                if (key != removed) {
+                    assertEquals((int) key * 10, index.get(key), "chave " + key + " após remover " + removed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void removeIgnoresStaleExpectedValue() {
+        LongIntHashIndex index = new LongIntHashIndex(16);
+        index.put(42, 1);
+        index.put(42, 7);
+
+        index.remove(42, 1);
+
+        assertEquals(7, index.get(42));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void randomPutRemoveMatchesHashMap() {
+        LongIntHashIndex index = new LongIntHashIndex(512);
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(7);
+        for (int op = 0; op < 200_000; op++) {
+            long key = random.nextInt(1024);
+            if (reference.size() < 512 && random.nextBoolean()) {
+                index.put(key, op);
+                reference.put(key, op);
+            } else if (reference.containsKey(key)) {
+                index.remove(key, reference.remove(key));
+            }
+        }
+
+        assertEquals(reference.size(), index.size());
+        for (long key = 0; key < 1024; key++) {
+            assertEquals(reference.getOrDefault(key, LongIntHashIndex.MISSING), index.get(key), "chave " + key);
+        }
+    }
+}
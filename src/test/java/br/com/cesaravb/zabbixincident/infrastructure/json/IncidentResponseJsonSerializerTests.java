@@ -0,0 +1,60 @@
+package br.com.cesaravb.zabbixincident.infrastructure.json;
+
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cache de JSON só para os status terminais (RESOLVED e CLOSED), invalidado pelo seq.
+ */
+class IncidentResponseJsonSerializerTests {
+
+    private final IncidentResponseJsonSerializer serializer = new IncidentResponseJsonSerializer(100);
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new SimpleModule().addSerializer(serializer))
+            .build();
+
+    @Test
+    void cachesResolvedAndClosedIncidents() throws Exception {
+        String resolved = mapper.writeValueAsString(response(1L, "RESOLVED", 3L));
+        String closed = mapper.writeValueAsString(response(2L, "CLOSED", 5L));
+
+        assertEquals(2, serializer.cachedCount());
+        assertEquals(resolved, mapper.writeValueAsString(response(1L, "RESOLVED", 3L)));
+        assertEquals(closed, mapper.writeValueAsString(response(2L, "CLOSED", 5L)));
+    }
+
+    @Test
+    void doesNotCacheOpenIncidentsOrMissingStatus() throws Exception {
+        mapper.writeValueAsString(response(1L, "OPEN", 1L));
+        mapper.writeValueAsString(response(2L, "IN_PROGRESS", 2L));
+        mapper.writeValueAsString(response(3L, null, 1L));
+
+        assertEquals(0, serializer.cachedCount());
+    }
+
+    @Test
+    void newSeqReplacesCachedJson() throws Exception {
+        mapper.writeValueAsString(response(1L, "RESOLVED", 3L));
+        String closed = mapper.writeValueAsString(response(1L, "CLOSED", 4L));
+
+        assertEquals(1, serializer.cachedCount());
+        assertEquals("CLOSED", mapper.readTree(closed).get("status").asText());
+        assertEquals(4L, mapper.readTree(closed).get("seq").asLong());
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static IncidentResponse response(Long id, String status, Long seq) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return new IncidentResponse(id, "ev-" + id, "10084", "Link down", null, null, null, null, "OLT-1", null,
+                null, null, "Link down", null, null, "HIGH", status, "zabbix", createdAt, createdAt, seq);
+    }
+}
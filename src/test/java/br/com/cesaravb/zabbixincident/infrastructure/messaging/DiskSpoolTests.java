@@ -0,0 +1,180 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recuperação após crash (pendentes em ordem, drenados não voltam), registro rasgado
+ * rejeitado pelo CRC32C e rotação de segmentos com remoção dos já drenados.
+ */
+class DiskSpoolTests {
+
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenRecoversPendingMessagesInOrder() {
+        // Sem close(): o processo "morre" com os segmentos mapeados
+        DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 4);
+        for (int i = 1; i <= 5; i++) {
+            spool.append(message(i));
+        }
+        assertEquals("1", body(spool.peek()));
+        spool.commit();
+        spool.commit();
+
+        DiskSpool reopened = new DiskSpool(directory, SEGMENT_BYTES, 4);
+
+        assertEquals(3, reopened.depth());
+        assertEquals(0, reopened.corrupted());
+        assertSameMessage(message(3), reopened.peek());
+        assertEquals(List.of("3", "4", "5"), drain(reopened));
+        reopened.close();
+    }
+
+    @Test
+    void tornRecordIsRejectedByCrc() throws IOException {
+        DiskSpool spool = new DiskSpool(directory, SEGMENT_BYTES, 4);
+        for (int i = 1; i <= 3; i++) {
+            spool.append(message(i));
+        }
+        spool.close();
+
+        // Escrita interrompida: o length do 3º registro chegou ao disco, parte do payload não
+        Path segment = segments().get(0);
+        int second = 9 + readInt(segment, 0);
+        int third = second + 9 + readInt(segment, second);
+        int length = readInt(segment, third);
+        write(segment, third + 9 + length - 1, (byte) 0x5A);
+
+        DiskSpool reopened = new DiskSpool(directory, SEGMENT_BYTES, 4);
+        assertEquals(2, reopened.depth());
+        assertEquals(1, reopened.corrupted());
+
+        // O próximo append ocupa o lugar do registro rasgado
+        reopened.append(message(4));
+        reopened.close();
+        DiskSpool again = new DiskSpool(directory, SEGMENT_BYTES, 4);
+        assertEquals(0, again.corrupted());
+        assertEquals(List.of("1", "2", "4"), drain(again));
+        again.close();
+    }
+
+    @Test
+    void rollsOverSegmentsAndDeletesDrainedOnes() throws IOException {
+        // Segmentos de 256 bytes: poucas mensagens por segmento
+        DiskSpool spool = new DiskSpool(directory, 256, 4);
+        int appended = fill(spool, 0);
+        assertEquals(4, segments().size());
+        assertTrue(appended > 4, "mais de uma mensagem por segmento");
+        assertEquals(appended, spool.depth());
+
+        // Drenar metade libera segmentos do início e abre espaço para novas mensagens
+        List<String> drained = new ArrayList<>();
+        for (int i = 0; i < appended / 2; i++) {
+            drained.add(body(spool.peek()));
+            spool.commit();
+        }
+        assertTrue(segments().size() < 4);
+        int total = fill(spool, appended);
+        assertTrue(total > appended, "segmentos drenados liberam espaço para novas mensagens");
+
+        drained.addAll(drain(spool));
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= total; i++) {
+            expected.add(String.valueOf(i));
+        }
+        assertEquals(expected, drained);
+        assertEquals(1, segments().size(), "só o último segmento (o que recebe escritas) permanece");
+        assertEquals(0, spool.sizeBytes());
+        spool.close();
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static DiskSpool.SpooledMessage message(int id) {
+        return new DiskSpool.SpooledMessage(1_700_000_000_000L + id, "incidents.exchange", "incident.created.high",
+                "application/octet-stream", id % 2 == 0 ? "gzip" : null, String.valueOf(id), id % 10,
+                String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertSameMessage(DiskSpool.SpooledMessage expected, DiskSpool.SpooledMessage actual) {
+        assertEquals(expected.appendedAt(), actual.appendedAt());
+        assertEquals(expected.exchange(), actual.exchange());
+        assertEquals(expected.routingKey(), actual.routingKey());
+        assertEquals(expected.contentType(), actual.contentType());
+        assertEquals(expected.contentEncoding(), actual.contentEncoding());
+        assertEquals(expected.correlationId(), actual.correlationId());
+        assertEquals(expected.priority(), actual.priority());
+        assertEquals(body(expected), body(actual));
+    }
+
+    private static String body(DiskSpool.SpooledMessage message) {
+        return new String(message.body(), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> drain(DiskSpool spool) {
+        List<String> bodies = new ArrayList<>();
+        for (DiskSpool.SpooledMessage message; (message = spool.peek()) != null; spool.commit()) {
+            bodies.add(body(message));
+        }
+        assertNull(spool.peek());
+        assertEquals(0, spool.depth());
+        return bodies;
+    }
+
+    /**
+     * Acrescenta mensagens a partir de last + 1 até o spool ficar cheio.
+     *
+     * @return ID da última mensagem gravada
+     */
+    private static int fill(DiskSpool spool, int last) {
+        try {
+            while (true) {
+                spool.append(message(last + 1));
+                last++;
+            }
+        } catch (IllegalStateException full) {
+            return last;
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static int readInt(Path file, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN);
+            channel.read(buffer, position);
+            return buffer.flip().getInt();
+        }
+    }
+
+    private static void write(Path file, int position, byte value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {value}), position);
+        }
+    }
+}
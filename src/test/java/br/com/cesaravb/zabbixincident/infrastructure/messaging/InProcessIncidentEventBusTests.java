@@ -0,0 +1,106 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Falhas isoladas por evento no barramento em memória: uma falha parcial do lote de CREATED ou
+ * a falha de um evento avulso não impede a entrega dos eventos seguintes do mesmo lote drenado.
+ */
+class InProcessIncidentEventBusTests {
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+
+    private final WebSocketNotificationService webSocketService = mock(WebSocketNotificationService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private InProcessIncidentEventBus bus;
+
+    @AfterEach
+    void shutdown() {
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    void failuresDoNotAbortTheRestOfTheBatch() {
+        // 2 de 3 CREATED falham, o STATUS_CHANGED falha; o CREATED e o DELETED seguintes são entregues
+        doThrow(new PartialBatchFailureException(List.of(0, 2), 3, new IllegalStateException("sessão fechada")))
+                .when(webSocketService).notifyEvents(argThat(batch -> batch.size() == 3));
+        doThrow(new IllegalStateException("broker STOMP indisponível"))
+                .when(webSocketService).notifyEvent(argThat(event -> event.type() == IncidentEventType.STATUS_CHANGED));
+        List<IncidentEvent> events = List.of(created(1L), created(2L), created(3L), statusChanged(1L),
+                created(4L), MAPPER.toDeletedEvent(2L, 5));
+
+        int failures = InProcessIncidentEventBus.dispatch(webSocketService, events);
+
+        assertEquals(3, failures);
+        verify(webSocketService).notifyEvents(List.of(events.get(4)));
+        verify(webSocketService).notifyEvent(events.get(5));
+    }
+
+    @Test
+    void busCountsFailedEventsAndKeepsDelivering() {
+        doThrow(new IllegalStateException("broker STOMP indisponível"))
+                .when(webSocketService).notifyEvent(argThat(event -> event.type() == IncidentEventType.STATUS_CHANGED));
+        bus = new InProcessIncidentEventBus(webSocketService, registry, 8, 16, "blocking");
+
+        bus.publish("incident.status", statusChanged(1L), SeverityLevel.HIGH);
+        bus.publish("incident.deleted", MAPPER.toDeletedEvent(1L, 1), SeverityLevel.HIGH);
+        bus.publish("incident.created", created(2L), SeverityLevel.HIGH);
+        bus.shutdown();
+
+        verify(webSocketService).notifyEvent(argThat(event -> event.type() == IncidentEventType.DELETED));
+        verify(webSocketService).notifyEvents(anyList());
+        assertEquals(1.0, registry.get("incident.bus.failed").counter().count());
+        assertEquals(0, bus.backlog());
+    }
+
+    @Test
+    void unexpectedFailureOfCreatedSegmentCountsEverySegmentEvent() {
+        doThrow(new IllegalStateException("falha inesperada")).when(webSocketService).notifyEvents(anyList());
+
+        int failures = InProcessIncidentEventBus.dispatch(webSocketService,
+                List.of(created(1L), created(2L), MAPPER.toDeletedEvent(1L, 2)));
+
+        assertEquals(2, failures);
+        verify(webSocketService).notifyEvent(any(IncidentEvent.class));
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static IncidentEvent created(Long id) {
+        return MAPPER.toCreatedEvent(incident(id), id);
+    }
+
+    private static IncidentEvent statusChanged(Long id) {
+        Incident incident = incident(id);
+        incident.setStatus(IncidentStatus.IN_PROGRESS);
+        return MAPPER.toStatusChangedEvent(incident, id + 100);
+    }
+
+    private static Incident incident(Long id) {
+        return Incident.builder().id(id).zabbixEventId("ev-" + id).title("Link down").host("OLT-1")
+                .severity(SeverityLevel.HIGH).status(IncidentStatus.OPEN).source("zabbix").version(0L).build();
+    }
+}
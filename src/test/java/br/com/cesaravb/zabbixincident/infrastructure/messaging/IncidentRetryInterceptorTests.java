@@ -0,0 +1,260 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.application.listener.IncidentListener;
+import br.com.cesaravb.zabbixincident.application.service.AlertStormDetector;
+import br.com.cesaravb.zabbixincident.application.service.IncidentBroadcastBatcher;
+import br.com.cesaravb.zabbixincident.application.service.IncidentChangeTracker;
+import br.com.cesaravb.zabbixincident.application.service.IncidentReplayBuffer;
+import br.com.cesaravb.zabbixincident.application.service.IncidentRouteIndex;
+import br.com.cesaravb.zabbixincident.application.service.IncidentSseBroadcaster;
+import br.com.cesaravb.zabbixincident.application.service.IncidentTopicFanout;
+import br.com.cesaravb.zabbixincident.application.service.StormSummaryAggregator;
+import br.com.cesaravb.zabbixincident.application.service.WebSocketNotificationService;
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.dtos.response.IncidentEvent;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.infrastructure.websocket.BinaryFrameInterceptor;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * • Lotes: quando só parte do lote falha, apenas essas mensagens vão para a fila de atraso;
+ *   as que já foram entregues ao WebSocket não são republicadas
+ * • Lanes (ack manual): uma falha antes do KeyedLaneDispatcher é recuperada e a entrega
+ *   original é confirmada (ou rejeitada sem requeue) — o slot de prefetch não fica preso
+ */
+class IncidentRetryInterceptorTests {
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+    private static final IncidentRetryPolicy POLICY = new IncidentRetryPolicy(3, 1000, 2.0, 10000);
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final IncidentRetryInterceptor interceptor =
+            new IncidentRetryInterceptor(rabbitTemplate, POLICY, new SimpleMeterRegistry());
+    private AnnotationConfigApplicationContext context;
+
+    @AfterEach
+    void closeContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void partialBatchFailureRecoversOnlyFailedMessages() throws Throwable {
+        // Envio do 2º incidente do lote falha; o 1º e o 3º chegam aos clientes
+        IncidentTopicFanout topicFanout = mock(IncidentTopicFanout.class);
+        doThrow(new IllegalStateException("broker STOMP indisponível"))
+                .when(topicFanout).send(eq(MAPPER.toResponse(incident(2L))), anyLong(), any());
+        WebSocketNotificationService webSocketService = webSocketService(topicFanout);
+        List<IncidentEvent> events = List.of(created(1L), created(2L), created(3L));
+
+        PartialBatchFailureException partial = assertThrows(PartialBatchFailureException.class,
+                () -> webSocketService.notifyEvents(events));
+        assertEquals(List.of(1), partial.failedIndexes());
+        verify(topicFanout, times(3)).send(any(), anyLong(), any());
+
+        // O container entrega o lote bruto (List<Message>) ao advice
+        List<Message> batch = List.of(message("1"), message("2"), message("3"));
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] {null, batch});
+        when(invocation.proceed()).thenThrow(new ListenerExecutionFailedException("falha no lote", partial));
+
+        interceptor.invoke(invocation);
+
+        ArgumentCaptor<Message> retried = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq(POLICY.retryQueue(1)), retried.capture());
+        assertEquals("2", new String(retried.getValue().getBody(), StandardCharsets.UTF_8));
+        assertEquals(1, (Integer) retried.getValue().getMessageProperties().getHeader(IncidentRetryInterceptor.ATTEMPTS_HEADER));
+    }
+
+    @Test
+    void otherBatchFailuresRecoverEveryMessage() throws Throwable {
+        List<Message> batch = List.of(message("1"), message("2"));
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] {null, batch});
+        when(invocation.proceed()).thenThrow(new IllegalStateException("falha antes do envio"));
+
+        interceptor.invoke(invocation);
+
+        verify(rabbitTemplate, times(2)).send(eq(""), eq(POLICY.retryQueue(1)), any(Message.class));
+    }
+
+    // ====================================
+    // # Lanes: falha de conversão no container com ack manual
+    // ====================================
+    @Test
+    void conversionFailureInLaneContainerIsParkedAndAcked() throws Exception {
+        Channel publishChannel = mock(Channel.class);
+        AbstractMessageListenerContainer container = laneContainer(publishChannel);
+        assertEquals(AcknowledgeMode.MANUAL, container.getAcknowledgeMode());
+        Channel deliveryChannel = mock(Channel.class);
+
+        ReflectionTestUtils.invokeMethod(container, "invokeListener", deliveryChannel, corrupted(7));
+
+        verify(publishChannel).basicPublish(eq(RabbitMQConfig.PARKING_LOT_EXCHANGE), eq(""), anyBoolean(),
+                any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(deliveryChannel).basicAck(7, false);
+        verify(deliveryChannel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        verifyNoInteractions(context.getBean(WebSocketNotificationService.class));
+    }
+
+    @Test
+    void failedRecoveryInLaneContainerIsNackedWithoutRequeue() throws Exception {
+        Channel publishChannel = mock(Channel.class);
+        doThrow(new IOException("broker fora")).when(publishChannel)
+                .basicPublish(anyString(), anyString(), anyBoolean(), any(AMQP.BasicProperties.class), any(byte[].class));
+        AbstractMessageListenerContainer container = laneContainer(publishChannel);
+        Channel deliveryChannel = mock(Channel.class);
+
+        ReflectionTestUtils.invokeMethod(container, "invokeListener", deliveryChannel, corrupted(9));
+
+        verify(deliveryChannel).basicNack(9, false, false);
+        verify(deliveryChannel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    /**
+     * Container real da fila de incidentes (RabbitMQConfig + IncidentListener) com 2 lanes; o
+     * parking lot é publicado no canal informado.
+     */
+    private AbstractMessageListenerContainer laneContainer(Channel publishChannel) throws Exception {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        Connection connection = mock(Connection.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createChannel(anyBoolean())).thenReturn(publishChannel);
+        when(publishChannel.isOpen()).thenReturn(true);
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("lanes",
+                Map.of("app.rabbitmq.listener.lanes", "2")));
+        context.registerBean(ConnectionFactory.class, () -> connectionFactory);
+        context.register(LaneConfig.class);
+        context.refresh();
+        return context.getBean(RabbitListenerEndpointRegistry.class).getListenerContainers().stream()
+                .map(AbstractMessageListenerContainer.class::cast)
+                .filter(c -> List.of(c.getQueueNames()).contains(RabbitMQConfig.INCIDENT_QUEUE))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Message corrupted(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(BinaryIncidentEventCodec.CONTENT_TYPE);
+        properties.setConsumerQueue(RabbitMQConfig.INCIDENT_QUEUE);
+        properties.setDeliveryTag(deliveryTag);
+        return new Message("não é um IncidentEvent".getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private static WebSocketNotificationService webSocketService(IncidentTopicFanout topicFanout) {
+        return new WebSocketNotificationService(mock(SimpMessagingTemplate.class), MAPPER, mock(AlertStormDetector.class),
+                mock(StormSummaryAggregator.class), mock(IncidentBroadcastBatcher.class), topicFanout,
+                new IncidentReplayBuffer(new SimpleMeterRegistry(), 64), mock(BinaryFrameInterceptor.class), mock(IncidentSseBroadcaster.class),
+                new IncidentChangeTracker(new SimpleMeterRegistry(), 1000, false), new IncidentRouteIndex(1000));
+    }
+
+    private static Incident incident(Long id) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+        return Incident.builder().id(id).zabbixEventId("ev-" + id).title("Link down").host("OLT-" + id)
+                .severity(SeverityLevel.HIGH).status(IncidentStatus.OPEN).source("zabbix")
+                .createdAt(now).updatedAt(now).version(0L).build();
+    }
+
+    private static IncidentEvent created(Long id) {
+        return MAPPER.toCreatedEvent(incident(id), id);
+    }
+
+    private static Message message(String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(RabbitMQConfig.INCIDENT_QUEUE);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    @Configuration
+    @EnableRabbit
+    @Import({RabbitMQConfig.class, KeyedLaneDispatcher.class, IncidentListener.class})
+    static class LaneConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        IncidentMapper incidentMapper() {
+            return MAPPER;
+        }
+
+        @Bean
+        WebSocketNotificationService webSocketNotificationService() {
+            return mock(WebSocketNotificationService.class);
+        }
+
+        // A entrega é feita pelo teste: os containers não conectam
+        @Bean
+        static BeanPostProcessor noAutoStartup() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof SimpleRabbitListenerContainerFactory factory) {
+                        factory.setAutoStartup(false);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.cesaravb.zabbixincident.infrastructure.messaging;
+
+import br.com.cesaravb.zabbixincident.domain.entity.Incident;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentEventType;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import br.com.cesaravb.zabbixincident.domain.enums.SeverityLevel;
+import br.com.cesaravb.zabbixincident.infrastructure.config.RabbitMQConfig;
+import br.com.cesaravb.zabbixincident.infrastructure.messaging.codec.BinaryIncidentEventCodec;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapper;
+import br.com.cesaravb.zabbixincident.mapper.IncidentMapperImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Prioridade por severidade: as filas declaradas pelo RabbitMQConfig comportam a prioridade
+ * de todas as severidades, e as mensagens publicadas pelo AmqpIncidentEventPublisher, entregues
+ * na ordem de uma fila com x-max-priority, trazem CRITICAL na frente de um backlog de severidades
+ * menores (FIFO dentro da mesma severidade).
+ */
+class SeverityPriorityTests {
+
+    private static final IncidentMapper MAPPER = new IncidentMapperImpl();
+    private static final int MAX_PRIORITY = RabbitMQConfig.DEFAULT_MAX_PRIORITY;
+
+    @TempDir
+    Path spoolDir;
+
+    private final RabbitMQConfig config = new RabbitMQConfig();
+    private AmqpIncidentEventPublisher publisher;
+
+    @AfterEach
+    void shutdown() {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    @Test
+    void everyQueueDeclaresMaxPriorityCoveringAllSeverities() {
+        int highest = Arrays.stream(SeverityLevel.values()).mapToInt(SeverityLevel::messagePriority).max().orElseThrow();
+        assertTrue(highest <= MAX_PRIORITY, "prioridades acima de x-max-priority seriam achatadas pelo broker");
+
+        List<Queue> queues = new ArrayList<>(List.of(config.incidentQueue(MAX_PRIORITY),
+                config.incidentStatusQueue(MAX_PRIORITY), config.incidentDeletedQueue(MAX_PRIORITY),
+                config.incidentBroadcastQueue(MAX_PRIORITY)));
+        Declarables shards = config.incidentShardTopology(new TopicExchange(RabbitMQConfig.INCIDENT_EXCHANGE), 2,
+                MAX_PRIORITY);
+        queues.addAll(shards.getDeclarablesByType(Queue.class));
+
+        assertEquals(6, queues.size());
+        for (Queue queue : queues) {
+            assertEquals(MAX_PRIORITY, queue.getArguments().get("x-max-priority"), queue.getName());
+        }
+        assertNull(config.incidentQueue(0).getArguments().get("x-max-priority"), "0 desativa");
+    }
+
+    @Test
+    void criticalOvertakesBacklogOfLowerSeverities() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new IncidentEventMessageConverter(
+                List.of(new BinaryIncidentEventCodec()), BinaryIncidentEventCodec.CONTENT_TYPE, 1024,
+                new Jackson2JsonMessageConverter(), incident -> MAPPER.toCreatedEvent(incident, 0)));
+        publisher = new AmqpIncidentEventPublisher(rabbitTemplate, mock(ConnectionFactory.class),
+                new SimpleMeterRegistry(), spoolDir.toString(), 64 * 1024, 4, 200, 1000, 3, 5000);
+
+        // Backlog de INFO/LOW/MEDIUM com HIGH e CRITICAL chegando por último
+        SeverityLevel[] published = {
+                SeverityLevel.INFO, SeverityLevel.LOW, SeverityLevel.INFO, SeverityLevel.MEDIUM, SeverityLevel.INFO,
+                SeverityLevel.LOW, SeverityLevel.HIGH, SeverityLevel.INFO, SeverityLevel.CRITICAL, SeverityLevel.MEDIUM,
+                SeverityLevel.CRITICAL, SeverityLevel.HIGH
+        };
+        for (int i = 0; i < published.length; i++) {
+            Incident incident = incident(i + 1L, published[i]);
+            publisher.publish(RabbitMQConfig.routingKey(IncidentEventType.CREATED, published[i]),
+                    MAPPER.toCreatedEvent(incident, i), published[i]);
+        }
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, atLeastOnce()).send(eq(RabbitMQConfig.INCIDENT_EXCHANGE), anyString(), sent.capture());
+
+        List<String> delivered = deliveryOrder(sent.getAllValues(), MAX_PRIORITY);
+
+        assertEquals(List.of("9", "11", "7", "12", "4", "10", "2", "6", "1", "3", "5", "8"), delivered);
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    /**
+     * Ordem de entrega de uma fila com x-max-priority (AMQP 0-9-1): prioridade maior primeiro,
+     * limitada a x-max-priority, FIFO dentro da mesma prioridade. Devolve os correlationIds.
+     */
+    private static List<String> deliveryOrder(List<Message> messages, int maxPriority) {
+        List<Message> queue = new ArrayList<>(messages);
+        queue.sort(Comparator.comparingInt((Message m) -> {
+            Integer priority = m.getMessageProperties().getPriority();
+            return -Math.min(priority == null ? 0 : priority, maxPriority);
+        }));
+        return queue.stream().map(m -> m.getMessageProperties().getCorrelationId()).toList();
+    }
+
+    private static Incident incident(Long id, SeverityLevel severity) {
+        return Incident.builder().id(id).zabbixEventId("ev-" + id).title("Link down").host("OLT-1")
+                .severity(severity).status(IncidentStatus.OPEN).source("zabbix").version(0L).build();
+    }
+}
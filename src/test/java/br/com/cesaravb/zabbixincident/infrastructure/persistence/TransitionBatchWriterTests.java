@@ -0,0 +1,103 @@
+package br.com.cesaravb.zabbixincident.infrastructure.persistence;
+
+import br.com.cesaravb.zabbixincident.domain.entity.IncidentStatusTransition;
+import br.com.cesaravb.zabbixincident.domain.enums.IncidentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lotes que esgotam as tentativas imediatas não são descartados: ficam visíveis em pending()
+ * e são gravados na retentativa seguinte, quando o banco volta.
+ */
+class TransitionBatchWriterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicBoolean databaseUp = new AtomicBoolean(false);
+    private final List<Long> stored = new ArrayList<>();
+    private TransitionBatchWriter writer;
+
+    @AfterEach
+    void shutdown() {
+        writer.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatchIsWrittenOnLaterRetry() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any())).thenAnswer(invocation -> {
+            if (!databaseUp.get()) {
+                throw new DataAccessResourceFailureException("banco fora");
+            }
+            Collection<IncidentStatusTransition> batch = invocation.getArgument(1);
+            synchronized (stored) {
+                batch.forEach(t -> stored.add(t.getIncidentId()));
+            }
+            return new int[0][];
+        });
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        writer = new TransitionBatchWriter(jdbcTemplate, transactionManager, meterRegistry, 10, 5, 100, 50);
+
+        writer.append(transition(1L));
+        writer.append(transition(2L));
+
+        // 3 tentativas imediatas falham (100 + 200 ms de espera) → fila de retentativa
+        awaitMeter("incident.timeline.retrying", 2);
+        assertEquals(1, writer.pending(1L).size(), "a transição continua visível na linha do tempo");
+        assertEquals(0, meterRegistry.counter("incident.timeline.failed").count());
+
+        databaseUp.set(true);
+        awaitMeter("incident.timeline.retrying", 0);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.counter("incident.timeline.written").count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        synchronized (stored) {
+            assertEquals(List.of(1L, 2L), stored);
+        }
+        assertTrue(writer.pending(1L).isEmpty());
+        assertEquals(0, meterRegistry.counter("incident.timeline.failed").count());
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private void awaitMeter(String name, double expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get(name).gauge().value() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, meterRegistry.get(name).gauge().value(), name);
+    }
+
+    private static IncidentStatusTransition transition(Long incidentId) {
+        return IncidentStatusTransition.builder()
+                .incidentId(incidentId)
+                .fromStatus(IncidentStatus.OPEN)
+                .toStatus(IncidentStatus.RESOLVED)
+                .actor("test")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.cesaravb.zabbixincident.infrastructure.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Timers de níveis superiores descem em cascata e vencem no tick certo (±1 tick);
+ * timers cancelados nunca executam.
+ */
+class HierarchicalTimingWheelTests {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    @Test
+    void timersCascadeAcrossLevels() {
+        // Nível 0 cobre 80 ms, nível 1 640 ms, nível 2 5120 ms
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        long[] deadlines = {30, 79, 80, 250, 639, 700, 4000, 5119};
+        List<Long> fired = new ArrayList<>();
+        List<Long> firedAt = new ArrayList<>();
+        long[] now = {0};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, () -> {
+                fired.add(deadline);
+                firedAt.add(now[0]);
+            });
+        }
+        assertEquals(deadlines.length, wheel.pending());
+
+        for (now[0] = TICK; now[0] <= 6000; now[0] += TICK) {
+            wheel.advance(now[0]);
+        }
+
+        assertEquals(deadlines.length, fired.size());
+        assertEquals(0, wheel.pending());
+        for (int i = 0; i < fired.size(); i++) {
+            long deadline = fired.get(i);
+            long at = firedAt.get(i);
+            assertTrue(at > deadline - TICK && at <= deadline + TICK, "timer " + deadline + " venceu em " + at);
+        }
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 1000);
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule(0, () -> fired.add(0L));
+
+        wheel.advance(1000);
+        assertTrue(fired.isEmpty(), "a tarefa nunca executa antes do próximo tick");
+        wheel.advance(1000 + TICK);
+        assertEquals(List.of(0L), fired);
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, WHEEL_SIZE, 0);
+        List<Long> fired = new ArrayList<>();
+        HierarchicalTimingWheel.Timeout level0 = wheel.schedule(50, () -> fired.add(50L));
+        HierarchicalTimingWheel.Timeout level1 = wheel.schedule(300, () -> fired.add(300L));
+        HierarchicalTimingWheel.Timeout level2 = wheel.schedule(3000, () -> fired.add(3000L));
+        wheel.schedule(310, () -> fired.add(310L));
+
+        assertTrue(wheel.cancel(level0));
+        assertTrue(wheel.cancel(level2));
+        assertFalse(wheel.cancel(level0), "cancelar duas vezes não altera pending");
+        assertEquals(2, wheel.pending());
+
+        // Cancelamento depois da cascata (o timer já desceu para o nível 0)
+        wheel.advance(290);
+        assertTrue(wheel.cancel(level1));
+        wheel.advance(4000);
+
+        assertEquals(List.of(310L), fired);
+        assertEquals(0, wheel.pending());
+        assertFalse(wheel.cancel(level1));
+    }
+}
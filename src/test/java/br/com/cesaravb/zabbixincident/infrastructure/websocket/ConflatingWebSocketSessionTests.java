@@ -0,0 +1,181 @@
+package br.com.cesaravb.zabbixincident.infrastructure.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chave de conflação de frames texto e binários, substituição do frame pendente na mesma
+ * posição da fila e desconexão para resync quando a fila passa de max-pending.
+ */
+class ConflatingWebSocketSessionTests {
+
+    private final WebSocketSession delegate = mock(WebSocketSession.class);
+    private final ConflatingWebSocketSession.ConflationListener listener =
+            mock(ConflatingWebSocketSession.ConflationListener.class);
+    private final ManualExecutor writer = new ManualExecutor();
+
+    // ====================================
+    // # conflationKey
+    // ====================================
+    @Test
+    void textMessageFrameIsKeyedBySubscriptionDestinationAndIncident() {
+        TextMessage frame = text("sub-0", "/topic/incidents", "42", "{\"status\":\"OPEN\"}");
+
+        assertEquals("sub-0|/topic/incidents|42", ConflatingWebSocketSession.conflationKey(frame));
+    }
+
+    @Test
+    void binaryMessageFrameIsKeyedByItsTextHeaders() {
+        BinaryMessage frame = binary("sub-1", "/topic/incidents/high", "42", new byte[] {0x0A, 0x0A, 0x00, 0x7F});
+
+        assertEquals("sub-1|/topic/incidents/high|42", ConflatingWebSocketSession.conflationKey(frame));
+    }
+
+    @Test
+    void framesWithoutIncidentHeaderAreNeverConflated() {
+        assertNull(ConflatingWebSocketSession.conflationKey(new TextMessage(
+                "MESSAGE\ndestination:/topic/incidents/batch\nsubscription:sub-0\n\n[]\u0000")));
+        assertNull(ConflatingWebSocketSession.conflationKey(new TextMessage(
+                "CONNECTED\nversion:1.2\nheart-beat:10000,10000\n\n\u0000")));
+        assertNull(ConflatingWebSocketSession.conflationKey(new TextMessage("\n")));
+        assertNull(ConflatingWebSocketSession.conflationKey(new BinaryMessage(
+                "MESSAGE\ndestination:/topic/incidents".getBytes(StandardCharsets.UTF_8))), "headers incompletos");
+    }
+
+    // ====================================
+    // # Conflação
+    // ====================================
+    @Test
+    void laggingSessionReplacesPendingFrameInPlace() throws IOException {
+        ConflatingWebSocketSession session = new ConflatingWebSocketSession(delegate, writer, listener, 100, 60_000);
+        TextMessage connected = new TextMessage("CONNECTED\nversion:1.2\n\n\u0000");
+        TextMessage first = text("sub-0", "/topic/incidents", "1", "{\"status\":\"OPEN\"}");
+        BinaryMessage second = binary("sub-0", "/topic/incidents", "2", new byte[] {1, 2, 3});
+        TextMessage firstAgain = text("sub-0", "/topic/incidents", "1", "{\"status\":\"ACKNOWLEDGED\"}");
+        BinaryMessage secondAgain = binary("sub-0", "/topic/incidents", "2", new byte[] {4, 5, 6});
+        TextMessage otherSubscription = text("sub-1", "/topic/incidents", "1", "{\"status\":\"ACKNOWLEDGED\"}");
+
+        // O escritor ainda não rodou: tudo fica na fila
+        for (WebSocketMessage<?> message : List.of(connected, first, second, firstAgain, secondAgain, otherSubscription)) {
+            session.sendMessage(message);
+        }
+
+        assertEquals(4, session.depth());
+        assertEquals(2, session.conflatedCount());
+        verify(listener, times(2)).conflated();
+
+        writer.runAll();
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(delegate, times(4)).sendMessage(sent.capture());
+        List<WebSocketMessage<?>> frames = sent.getAllValues();
+        assertSame(connected, frames.get(0));
+        assertSame(firstAgain, frames.get(1), "o estado mais recente ocupa a posição do frame substituído");
+        assertSame(secondAgain, frames.get(2));
+        assertSame(otherSubscription, frames.get(3), "outra assinatura não é conflacionada");
+        assertEquals(0, session.depth());
+    }
+
+    @Test
+    void emptyQueueSendsFrameWithoutConflation() throws IOException {
+        ConflatingWebSocketSession session = new ConflatingWebSocketSession(delegate, writer, listener, 100, 60_000);
+        TextMessage first = text("sub-0", "/topic/incidents", "1", "{\"status\":\"OPEN\"}");
+        TextMessage second = text("sub-0", "/topic/incidents", "1", "{\"status\":\"RESOLVED\"}");
+
+        session.sendMessage(first);
+        writer.runAll();
+        session.sendMessage(second);
+        writer.runAll();
+
+        verify(delegate).sendMessage(first);
+        verify(delegate).sendMessage(second);
+        verify(listener, never()).conflated();
+    }
+
+    // ====================================
+    // # Resync
+    // ====================================
+    @Test
+    void queueAboveMaxPendingClosesSessionForResync() throws IOException {
+        when(delegate.getId()).thenReturn("s-1");
+        ConflatingWebSocketSession session = new ConflatingWebSocketSession(delegate, writer, listener, 2, 60_000);
+
+        session.sendMessage(text("sub-0", "/topic/incidents", "1", "{}"));
+        session.sendMessage(text("sub-0", "/topic/incidents", "2", "{}"));
+        // Frames conflacionados não aumentam a fila
+        session.sendMessage(text("sub-0", "/topic/incidents", "2", "{}"));
+        verify(listener, never()).disconnected(3);
+
+        session.sendMessage(text("sub-0", "/topic/incidents", "3", "{}"));
+
+        verify(listener).disconnected(3);
+        assertEquals(0, session.depth());
+        writer.runAll();
+        verify(delegate).close(ConflatingWebSocketSession.RESYNC);
+        verify(delegate, never()).sendMessage(any());
+
+        // Depois do resync, novos frames são descartados
+        session.sendMessage(text("sub-0", "/topic/incidents", "4", "{}"));
+        verify(listener).dropped(1);
+        assertEquals(0, session.depth());
+    }
+
+    // ====================================
+    // # Métodos auxiliares
+    // ====================================
+    private static TextMessage text(String subscription, String destination, String incidentId, String body) {
+        return new TextMessage(headers(subscription, destination, incidentId) + body + "\u0000");
+    }
+
+    private static BinaryMessage binary(String subscription, String destination, String incidentId, byte[] body) {
+        byte[] headers = headers(subscription, destination, incidentId).getBytes(StandardCharsets.UTF_8);
+        byte[] frame = Arrays.copyOf(headers, headers.length + body.length + 1);
+        System.arraycopy(body, 0, frame, headers.length, body.length);
+        return new BinaryMessage(frame);
+    }
+
+    private static String headers(String subscription, String destination, String incidentId) {
+        return "MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\nsubscription:" + subscription
+                + "\nmessage-id:m-" + incidentId + "\n" + ConflatingWebSocketSession.INCIDENT_HEADER + ":" + incidentId
+                + "\n\n";
+    }
+
+    /**
+     * Escritor controlado pelo teste: as tarefas só rodam em runAll().
+     */
+    private static final class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            for (Runnable task; (task = tasks.poll()) != null; ) {
+                task.run();
+            }
+        }
+    }
+}